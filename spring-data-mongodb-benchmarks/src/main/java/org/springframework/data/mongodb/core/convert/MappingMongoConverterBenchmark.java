@@ -61,6 +61,9 @@ public class MappingMongoConverterBenchmark extends AbstractMicrobenchmark {
 	private Document documentWithFlatAndComplexPropertiesPlusListAndMap;
 	private SlightlyMoreComplexObject objectWithFlatAndComplexPropertiesPlusListAndMap;
 
+	private Document documentWithDottedFieldNames;
+	private ObjectWithDottedFieldNames objectWithDottedFieldNames;
+
 	@Setup
 	public void setUp() throws Exception {
 
@@ -107,6 +110,18 @@ public class MappingMongoConverterBenchmark extends AbstractMicrobenchmark {
 		objectWithFlatAndComplexPropertiesPlusListAndMap.stringOne = "¯\\_(ツ)_/¯";
 		objectWithFlatAndComplexPropertiesPlusListAndMap.stringTwo = " (╯°□°）╯︵ ┻━┻";
 
+		// object using field names that refer to nested documents
+		objectWithDottedFieldNames = new ObjectWithDottedFieldNames();
+		objectWithDottedFieldNames.id = UUID.randomUUID().toString();
+		objectWithDottedFieldNames.firstname = "Dave";
+		objectWithDottedFieldNames.lastname = "Matthews";
+		objectWithDottedFieldNames.city = "Some Place";
+		objectWithDottedFieldNames.zipCode = "ABCDE";
+
+		// JSON equivalent of objectWithDottedFieldNames
+		documentWithDottedFieldNames = Document.parse(
+				"{ \"_id\" : \"8b0e7ee4-2d33-4b6e-a1a1-9b5cfe8a4f35\", \"name\" : { \"first\" : \"Dave\", \"last\" : \"Matthews\" }, \"address\" : { \"location\" : { \"city\" : \"Some Place\", \"zipCode\" : \"ABCDE\" } } }");
+
 		// JSON equivalent of objectWithFlatAndComplexPropertiesPlusListAndMap
 		documentWithFlatAndComplexPropertiesPlusListAndMap = Document.parse(
 				"{ \"_id\" : \"517f6aee-e9e0-44f0-88ed-f3694a019f27\", \"intOne\" : -2147483648, \"intTwo\" : 2147483647, \"stringOne\" : \"¯\\\\_(ツ)_/¯\", \"stringTwo\" : \" (╯°□°）╯︵ ┻━┻\", \"explicit-field-name\" : \"supercalifragilisticexpialidocious\", \"location\" : { \"x\" : -33.865143, \"y\" : 151.2099 }, \"objectWith2PropertiesAnd1Nested\" : { \"firstname\" : \"Dave\", \"lastname\" : \"Matthews\", \"address\" : { \"zipCode\" : \"zipCode\", \"city\" : \"City\" } }, \"addressList\" : [{ \"zipCode\" : \"zip-1\", \"city\" : \"city-1\" }, { \"zipCode\" : \"zip-2\", \"city\" : \"city-2\" }], \"customerMap\" : { \"dave\" : { \"firstname\" : \"Dave\", \"lastname\" : \"Matthews\", \"address\" : { \"zipCode\" : \"zipCode\", \"city\" : \"City\" } }, \"deborah\" : { \"firstname\" : \"Deborah Anne\", \"lastname\" : \"Dyer\", \"address\" : { \"zipCode\" : \"?\", \"city\" : \"london\" } }, \"eddie\" : { \"firstname\" : \"Eddie\", \"lastname\" : \"Vedder\", \"address\" : { \"zipCode\" : \"??\", \"city\" : \"Seattle\" } } }, \"_class\" : \"org.springframework.data.mongodb.core.convert.MappingMongoConverterBenchmark$SlightlyMoreComplexObject\" }");
@@ -151,6 +166,19 @@ public class MappingMongoConverterBenchmark extends AbstractMicrobenchmark {
 		return sink;
 	}
 
+	@Benchmark
+	public Object readObjectWithDottedFieldNames() {
+		return converter.read(ObjectWithDottedFieldNames.class, documentWithDottedFieldNames);
+	}
+
+	@Benchmark
+	public Document writeObjectWithDottedFieldNames() {
+
+		Document sink = new Document();
+		converter.write(objectWithDottedFieldNames, sink);
+		return sink;
+	}
+
 	@Getter
 	@RequiredArgsConstructor
 	static class Customer {
@@ -178,4 +206,14 @@ public class MappingMongoConverterBenchmark extends AbstractMicrobenchmark {
 		List<Address> addressList;
 		Map<String, Customer> customerMap;
 	}
+
+	@Data
+	static class ObjectWithDottedFieldNames {
+
+		@Id String id;
+		@Field("name.first") String firstname;
+		@Field("name.last") String lastname;
+		@Field("address.location.city") String city;
+		@Field("address.location.zipCode") String zipCode;
+	}
 }
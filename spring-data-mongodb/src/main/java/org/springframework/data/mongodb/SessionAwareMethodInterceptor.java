@@ -15,6 +15,7 @@
  */
 package org.springframework.data.mongodb;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Optional;
@@ -39,6 +40,10 @@ import com.mongodb.session.ClientSession;
  * The {@link MethodInterceptor} is aware of methods on {@code MongoCollection} that my return new instances of itself
  * like (eg. {@link com.mongodb.reactivestreams.client.MongoCollection#withWriteConcern(WriteConcern)} and decorate them
  * if not already proxied.
+ * <p />
+ * The interceptor can be used as {@link InvocationHandler} of a plain JDK proxy created through
+ * {@link #createProxy(Class, ClassLoader)} to avoid the overhead of creating an AOP proxy configuration for each proxied
+ * database and collection.
  *
  * @param <D> Type of the actual Mongo Database.
  * @param <C> Type of the actual Mongo Collection.
@@ -46,9 +51,10 @@ import com.mongodb.session.ClientSession;
  * @author Mark Paluch
  * @since 2.1
  */
-public class SessionAwareMethodInterceptor<D, C> implements MethodInterceptor {
+public class SessionAwareMethodInterceptor<D, C> implements MethodInterceptor, InvocationHandler {
 
 	private static final MethodCache METHOD_CACHE = new MethodCache();
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
 
 	private final ClientSession session;
 	private final ClientSessionOperator collectionDecorator;
@@ -102,10 +108,53 @@ public class SessionAwareMethodInterceptor<D, C> implements MethodInterceptor {
 	@Nullable
 	@Override
 	public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+		return doInvoke(methodInvocation.getMethod(), methodInvocation.getArguments(), methodInvocation::proceed);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Nullable
+	@Override
+	public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+
+		if (ReflectionUtils.isEqualsMethod(method)) {
+			return proxy == args[0];
+		}
+
+		if (ReflectionUtils.isHashCodeMethod(method)) {
+			return System.identityHashCode(proxy);
+		}
+
+		Object[] arguments = args != null ? args : EMPTY_ARGUMENTS;
+
+		return doInvoke(method, arguments, () -> ReflectionUtils.invokeMethod(method, target, arguments));
+	}
 
-		if (requiresDecoration(methodInvocation.getMethod())) {
+	/**
+	 * Create a JDK dynamic proxy for the given {@code type} dispatching method invocations to this interceptor. Other than
+	 * an AOP proxy, the proxy invokes the interceptor directly without creating a proxy configuration and advice chain.
+	 * Proxy classes are generated once per type and {@link ClassLoader} and cached by the JDK.
+	 *
+	 * @param type the interface to proxy, must not be {@literal null}.
+	 * @param classLoader the {@link ClassLoader} to define the proxy class in.
+	 * @return the proxy.
+	 * @since 3.2
+	 */
+	public <T> T createProxy(Class<T> type, @Nullable ClassLoader classLoader) {
+
+		Assert.notNull(type, "Type must not be null!");
+
+		return type.cast(Proxy.newProxyInstance(classLoader, new Class<?>[] { type }, this));
+	}
+
+	@Nullable
+	private Object doInvoke(Method method, Object[] arguments, Invocation invocation) throws Throwable {
 
-			Object target = methodInvocation.proceed();
+		if (requiresDecoration(method)) {
+
+			Object target = invocation.proceed();
 			if (target instanceof Proxy) {
 				return target;
 			}
@@ -113,15 +162,14 @@ public class SessionAwareMethodInterceptor<D, C> implements MethodInterceptor {
 			return decorate(target);
 		}
 
-		if (!requiresSession(methodInvocation.getMethod())) {
-			return methodInvocation.proceed();
+		if (!requiresSession(method)) {
+			return invocation.proceed();
 		}
 
-		Optional<Method> targetMethod = METHOD_CACHE.lookup(methodInvocation.getMethod(), targetType, sessionType);
+		Optional<Method> targetMethod = METHOD_CACHE.lookup(method, targetType, sessionType);
 
-		return !targetMethod.isPresent() ? methodInvocation.proceed()
-				: ReflectionUtils.invokeMethod(targetMethod.get(), target,
-						prependSessionToArguments(session, methodInvocation));
+		return !targetMethod.isPresent() ? invocation.proceed()
+				: ReflectionUtils.invokeMethod(targetMethod.get(), target, prependSessionToArguments(session, arguments));
 	}
 
 	private boolean requiresDecoration(Method method) {
@@ -147,16 +195,25 @@ public class SessionAwareMethodInterceptor<D, C> implements MethodInterceptor {
 		return false;
 	}
 
-	private static Object[] prependSessionToArguments(ClientSession session, MethodInvocation invocation) {
+	private static Object[] prependSessionToArguments(ClientSession session, Object[] arguments) {
 
-		Object[] args = new Object[invocation.getArguments().length + 1];
+		Object[] args = new Object[arguments.length + 1];
 
 		args[0] = session;
-		System.arraycopy(invocation.getArguments(), 0, args, 1, invocation.getArguments().length);
+		System.arraycopy(arguments, 0, args, 1, arguments.length);
 
 		return args;
 	}
 
+	/**
+	 * Callback to proceed with the invocation on the original target.
+	 */
+	private interface Invocation {
+
+		@Nullable
+		Object proceed() throws Throwable;
+	}
+
 	/**
 	 * Simple {@link Method} to {@link Method} caching facility for {@link ClientSession} overloaded targets.
 	 *
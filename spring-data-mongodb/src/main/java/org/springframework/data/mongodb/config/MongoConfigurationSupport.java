@@ -35,6 +35,7 @@ import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions.MongoConverterConfigurationAdapter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.metadata.MappingMetadata;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
@@ -141,7 +142,8 @@ public abstract class MongoConfigurationSupport {
 
 	/**
 	 * Scans the given base package for entities, i.e. MongoDB specific types annotated with {@link Document} and
-	 * {@link Persistent}.
+	 * {@link Persistent}. Entities are obtained from {@link MappingMetadata} instead of scanning the classpath if
+	 * precomputed metadata {@link MappingMetadata#covers(String) covering} {@code basePackage} is present.
 	 *
 	 * @param basePackage must not be {@literal null}.
 	 * @return
@@ -154,6 +156,12 @@ public abstract class MongoConfigurationSupport {
 			return Collections.emptySet();
 		}
 
+		MappingMetadata metadata = MappingMetadata.load();
+
+		if (metadata != null && metadata.covers(basePackage)) {
+			return metadata.getEntityTypes(basePackage, MongoConfigurationSupport.class.getClassLoader());
+		}
+
 		Set<Class<?>> initialEntitySet = new HashSet<Class<?>>();
 
 		if (StringUtils.hasText(basePackage)) {
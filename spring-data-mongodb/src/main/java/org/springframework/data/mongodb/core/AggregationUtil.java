@@ -29,9 +29,11 @@ import org.springframework.data.mongodb.core.aggregation.AggregationOperationCon
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions.DomainTypeMapping;
 import org.springframework.data.mongodb.core.aggregation.CountOperation;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.aggregation.RelaxedTypeBasedAggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
@@ -112,6 +114,26 @@ class AggregationUtil {
 		return mapAggregationPipeline(aggregation.toPipeline(context));
 	}
 
+	/**
+	 * Render the given {@link TypedAggregation} into a {@link PreparedAggregation} using the given
+	 * {@link MongoConverter}.
+	 *
+	 * @param aggregation must not be {@literal null}.
+	 * @param converter must not be {@literal null}.
+	 * @return new instance of {@link PreparedAggregation}.
+	 * @since 3.2
+	 */
+	static <I> PreparedAggregation<I> prepareAggregation(TypedAggregation<I> aggregation, MongoConverter converter) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		AggregationUtil aggregationUtil = new AggregationUtil(new QueryMapper(converter), converter.getMappingContext());
+		List<Document> pipeline = aggregationUtil.createPipeline(aggregation,
+				aggregationUtil.createAggregationContext(aggregation, null));
+
+		return new PreparedAggregation<>(aggregation, pipeline, converter);
+	}
+
 	/**
 	 * Extract the command and map the aggregation pipeline.
 	 *
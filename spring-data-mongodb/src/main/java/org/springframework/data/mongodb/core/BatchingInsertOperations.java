@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Write-coalescing front-end for single-document inserts. Objects passed to {@link #insert(Object)} are queued per
+ * collection and written as unordered {@code insertMany} batches once a batch reaches its maximum size or the maximum
+ * linger time elapsed. Each insert returns its own {@link CompletableFuture} completed with the saved object or with
+ * the {@link org.springframework.dao.DataAccessException} mapped from the write error of the particular document.
+ * <p />
+ * Inserts run the same mapping events and entity callbacks as {@link MongoOperations#insert(Object)}. Objects are
+ * mapped on the thread calling {@link #insert(Object)}, batches are written outside of any session or transaction.
+ * Batches are written unordered, documents of a batch are therefore not guaranteed to be inserted in submission order
+ * and a failing document does not prevent the remaining documents from being inserted.
+ *
+ * <pre class="code">
+ * BatchingInsertOperations batching = template.batchingInsertOps(500, Duration.ofMillis(5));
+ *
+ * Person saved = batching.insert(new Person("Walter")).join();
+ * </pre>
+ *
+ * {@link BatchingInsertOperations} is thread-safe and intended to be shared. It must be {@link #close() closed} to
+ * write pending inserts and to release its resources.
+ *
+ * @since 3.2
+ * @see MongoTemplate#batchingInsertOps(int, java.time.Duration)
+ */
+public interface BatchingInsertOperations extends AutoCloseable {
+
+	/**
+	 * Queue the given object for insertion into the collection of its type.
+	 *
+	 * @param objectToSave the object to store in the collection. Must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completed with the saved object once its batch was written.
+	 * @throws IllegalStateException if this instance is closed or a transaction is active.
+	 */
+	<T> CompletableFuture<T> insert(T objectToSave);
+
+	/**
+	 * Queue the given object for insertion into the given collection.
+	 *
+	 * @param objectToSave the object to store in the collection. Must not be {@literal null}.
+	 * @param collectionName name of the collection to store the object in. Must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completed with the saved object once its batch was written.
+	 * @throws IllegalStateException if this instance is closed or a transaction is active.
+	 */
+	<T> CompletableFuture<T> insert(T objectToSave, String collectionName);
+
+	/**
+	 * Write all queued inserts without waiting for batches to fill up or the linger time to elapse. Returns once the
+	 * queued inserts were written.
+	 */
+	void flush();
+
+	/**
+	 * Write all queued inserts and release resources. Subsequent inserts are rejected.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.lang.Nullable;
+
+/**
+ * Subscriber collecting upstream elements into batches of up to {@code size} elements. Upstream demand is derived from
+ * downstream demand: a batch is requested only if downstream requested it, so the source is never read further ahead
+ * than a single batch. A partially filled batch is emitted once {@code maxWait} has elapsed since its first element
+ * arrived or, if there is no demand by then, as soon as the next batch is requested.
+ * <p />
+ * State is guarded by the subscriber monitor while signals to the sink and upstream requests are issued outside of it.
+ * Only a single thread signals at a time so that batches are emitted in order.
+ *
+ * @since 3.2
+ * @param <T> the element type.
+ */
+class BatchingSubscriber<T> extends BaseSubscriber<T> {
+
+	private final FluxSink<List<T>> sink;
+	private final int size;
+	private final Duration maxWait;
+	private final Scheduler scheduler;
+	private final Queue<List<T>> ready = new ArrayDeque<>();
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private long demand;
+	private long outstanding;
+	private long pendingRequest;
+	private long generation;
+	private List<T> batch;
+	private boolean overdue;
+	private boolean done;
+	private boolean terminated;
+	private @Nullable Throwable error;
+	private @Nullable Disposable timer;
+
+	private BatchingSubscriber(FluxSink<List<T>> sink, int size, Duration maxWait, Scheduler scheduler) {
+
+		this.sink = sink;
+		this.size = size;
+		this.maxWait = maxWait;
+		this.scheduler = scheduler;
+		this.batch = new ArrayList<>(size);
+	}
+
+	/**
+	 * Collect elements emitted by {@code source} into batches.
+	 *
+	 * @param source the source to batch.
+	 * @param size the maximum number of elements per batch.
+	 * @param maxWait the maximum time to wait for a batch to fill up.
+	 * @param scheduler the {@link Scheduler} to schedule timeouts on.
+	 * @return a {@link Flux} emitting batches. Never emits empty batches.
+	 */
+	static <T> Flux<List<T>> batch(Publisher<T> source, int size, Duration maxWait, Scheduler scheduler) {
+
+		return Flux.create(sink -> {
+
+			BatchingSubscriber<T> subscriber = new BatchingSubscriber<>(sink, size, maxWait, scheduler);
+
+			sink.onDispose(subscriber);
+			source.subscribe(subscriber);
+			sink.onRequest(subscriber::onRequest);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see reactor.core.publisher.BaseSubscriber#hookOnSubscribe(org.reactivestreams.Subscription)
+	 */
+	@Override
+	protected void hookOnSubscribe(Subscription subscription) {
+
+		synchronized (this) {
+			drain();
+		}
+
+		signal();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see reactor.core.publisher.BaseSubscriber#hookOnNext(java.lang.Object)
+	 */
+	@Override
+	protected void hookOnNext(T value) {
+
+		synchronized (this) {
+
+			outstanding--;
+			batch.add(value);
+
+			if (batch.size() < size && timer == null) {
+
+				long expectedGeneration = generation;
+				timer = scheduler.schedule(() -> onTimeout(expectedGeneration), maxWait.toNanos(),
+						TimeUnit.NANOSECONDS);
+			}
+
+			drain();
+		}
+
+		signal();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see reactor.core.publisher.BaseSubscriber#hookOnComplete()
+	 */
+	@Override
+	protected void hookOnComplete() {
+
+		synchronized (this) {
+
+			flush();
+			done = true;
+		}
+
+		signal();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see reactor.core.publisher.BaseSubscriber#hookOnError(java.lang.Throwable)
+	 */
+	@Override
+	protected void hookOnError(Throwable throwable) {
+
+		synchronized (this) {
+
+			flush();
+			error = throwable;
+			done = true;
+		}
+
+		signal();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see reactor.core.publisher.BaseSubscriber#hookFinally(reactor.core.publisher.SignalType)
+	 */
+	@Override
+	protected void hookFinally(SignalType type) {
+
+		synchronized (this) {
+			cancelTimer();
+		}
+	}
+
+	private void onRequest(long n) {
+
+		synchronized (this) {
+
+			demand = Operators.addCap(demand, n);
+			drain();
+		}
+
+		signal();
+	}
+
+	private void onTimeout(long expectedGeneration) {
+
+		synchronized (this) {
+
+			if (generation == expectedGeneration && !isDisposed()) {
+
+				// emit the batch now or, without demand, on the next request
+				timer = null;
+				overdue = true;
+				drain();
+			}
+		}
+
+		signal();
+	}
+
+	/**
+	 * Issue ready batches, upstream requests and the terminal signal outside of the monitor. Signals arriving while
+	 * another thread is signalling are picked up by that thread.
+	 */
+	private void signal() {
+
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+
+		int missed = 1;
+
+		do {
+
+			while (signalNext()) {
+				// keep signalling until there is nothing left to do
+			}
+
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private boolean signalNext() {
+
+		List<T> next;
+		long toRequest = 0;
+		boolean terminate = false;
+		Throwable failure;
+
+		synchronized (this) {
+
+			next = ready.poll();
+
+			if (next == null) {
+
+				toRequest = pendingRequest;
+				pendingRequest = 0;
+				terminate = done && !terminated;
+				terminated |= terminate;
+			}
+
+			failure = error;
+		}
+
+		if (next != null) {
+
+			sink.next(next);
+			return true;
+		}
+
+		if (terminate) {
+
+			if (failure != null) {
+				sink.error(failure);
+			} else {
+				sink.complete();
+			}
+
+			return false;
+		}
+
+		if (toRequest > 0) {
+
+			request(toRequest);
+			return true;
+		}
+
+		return false;
+	}
+
+	private void drain() {
+
+		while (!isDisposed() && upstream() != null && demand > 0) {
+
+			if (batch.size() >= size || (overdue && !batch.isEmpty())) {
+				emit();
+				continue;
+			}
+
+			long missing = size - batch.size() - outstanding;
+
+			if (missing > 0) {
+
+				outstanding += missing;
+				pendingRequest += missing;
+				continue;
+			}
+
+			return;
+		}
+	}
+
+	private void flush() {
+
+		if (!batch.isEmpty()) {
+			ready.add(takeBatch());
+		}
+	}
+
+	private void emit() {
+
+		if (demand != Long.MAX_VALUE) {
+			demand--;
+		}
+
+		ready.add(takeBatch());
+	}
+
+	private List<T> takeBatch() {
+
+		List<T> result = batch;
+
+		batch = new ArrayList<>(size);
+		overdue = false;
+		generation++;
+		cancelTimer();
+
+		return result;
+	}
+
+	private void cancelTimer() {
+
+		if (timer != null) {
+
+			timer.dispose();
+			timer = null;
+		}
+	}
+}
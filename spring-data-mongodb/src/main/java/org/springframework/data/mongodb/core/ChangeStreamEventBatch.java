@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.BsonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A batch of {@link ChangeStreamEvent events} emitted by
+ * {@link ReactiveChangeStreamOperation.TerminatingChangeStream#listenBatched(int, java.time.Duration)}. The
+ * {@link #getResumeToken() resume token} of a batch is the token of its last event so that processing can be resumed
+ * after a fully processed batch.
+ *
+ * @since 3.2
+ * @param <T> the event body type.
+ */
+public class ChangeStreamEventBatch<T> extends AbstractList<ChangeStreamEvent<T>> {
+
+	private final List<ChangeStreamEvent<T>> events;
+
+	/**
+	 * Creates a new {@link ChangeStreamEventBatch}.
+	 *
+	 * @param events must not be {@literal null}.
+	 */
+	public ChangeStreamEventBatch(List<ChangeStreamEvent<T>> events) {
+
+		Assert.notNull(events, "Events must not be null!");
+
+		this.events = Collections.unmodifiableList(new ArrayList<>(events));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public ChangeStreamEvent<T> get(int index) {
+		return events.get(index);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return events.size();
+	}
+
+	/**
+	 * Get the {@link ChangeStreamEvent#getResumeToken() resume token} of the last event within this batch.
+	 *
+	 * @return can be {@literal null} if the batch is empty or the last event does not carry a resume token.
+	 */
+	@Nullable
+	public BsonValue getResumeToken() {
+		return events.isEmpty() ? null : events.get(events.size() - 1).getResumeToken();
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.data.mongodb.core;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Optional;
@@ -50,6 +51,8 @@ public class ChangeStreamOptions {
 	private @Nullable Collation collation;
 	private @Nullable Object resumeTimestamp;
 	private Resume resume = Resume.UNDEFINED;
+	private @Nullable Integer batchSize;
+	private @Nullable Duration maxAwaitTime;
 
 	protected ChangeStreamOptions() {}
 
@@ -96,6 +99,22 @@ public class ChangeStreamOptions {
 		return Optional.ofNullable(resumeTimestamp).map(timestamp -> asTimestampOfType(timestamp, BsonTimestamp.class));
 	}
 
+	/**
+	 * @return {@link Optional#empty()} if not set.
+	 * @since 3.2
+	 */
+	public Optional<Integer> getBatchSize() {
+		return Optional.ofNullable(batchSize);
+	}
+
+	/**
+	 * @return {@link Optional#empty()} if not set.
+	 * @since 3.2
+	 */
+	public Optional<Duration> getMaxAwaitTime() {
+		return Optional.ofNullable(maxAwaitTime);
+	}
+
 	/**
 	 * @return {@literal true} if the change stream should be started after the {@link #getResumeToken() token}.
 	 * @since 2.2
@@ -176,6 +195,12 @@ public class ChangeStreamOptions {
 		if (!ObjectUtils.nullSafeEquals(this.resumeTimestamp, that.resumeTimestamp)) {
 			return false;
 		}
+		if (!ObjectUtils.nullSafeEquals(this.batchSize, that.batchSize)) {
+			return false;
+		}
+		if (!ObjectUtils.nullSafeEquals(this.maxAwaitTime, that.maxAwaitTime)) {
+			return false;
+		}
 		return resume == that.resume;
 	}
 
@@ -187,6 +212,8 @@ public class ChangeStreamOptions {
 		result = 31 * result + ObjectUtils.nullSafeHashCode(collation);
 		result = 31 * result + ObjectUtils.nullSafeHashCode(resumeTimestamp);
 		result = 31 * result + ObjectUtils.nullSafeHashCode(resume);
+		result = 31 * result + ObjectUtils.nullSafeHashCode(batchSize);
+		result = 31 * result + ObjectUtils.nullSafeHashCode(maxAwaitTime);
 		return result;
 	}
 
@@ -223,6 +250,8 @@ public class ChangeStreamOptions {
 		private @Nullable Collation collation;
 		private @Nullable Object resumeTimestamp;
 		private Resume resume = Resume.UNDEFINED;
+		private @Nullable Integer batchSize;
+		private @Nullable Duration maxAwaitTime;
 
 		private ChangeStreamOptionsBuilder() {}
 
@@ -381,6 +410,37 @@ public class ChangeStreamOptions {
 			return this;
 		}
 
+		/**
+		 * Set the number of events the server returns per batch.
+		 *
+		 * @param batchSize must be greater than zero.
+		 * @return this.
+		 * @since 3.2
+		 */
+		public ChangeStreamOptionsBuilder batchSize(int batchSize) {
+
+			Assert.isTrue(batchSize > 0, "BatchSize must be greater than zero!");
+
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Set the maximum time the server waits for new events before returning an empty batch.
+		 *
+		 * @param maxAwaitTime must not be {@literal null} nor negative.
+		 * @return this.
+		 * @since 3.2
+		 */
+		public ChangeStreamOptionsBuilder maxAwaitTime(Duration maxAwaitTime) {
+
+			Assert.notNull(maxAwaitTime, "MaxAwaitTime must not be null!");
+			Assert.isTrue(!maxAwaitTime.isNegative(), "MaxAwaitTime must not be negative!");
+
+			this.maxAwaitTime = maxAwaitTime;
+			return this;
+		}
+
 		/**
 		 * @return the built {@link ChangeStreamOptions}
 		 */
@@ -394,6 +454,8 @@ public class ChangeStreamOptions {
 			options.collation = this.collation;
 			options.resumeTimestamp = this.resumeTimestamp;
 			options.resume = this.resume;
+			options.batchSize = this.batchSize;
+			options.maxAwaitTime = this.maxAwaitTime;
 
 			return options;
 		}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Request-collapsing front-end for {@link MongoOperations#findById(Object, Class) findById} lookups. Lookups issued
+ * concurrently for the same collection and entity type within a short window are gathered and run as a single
+ * {@code _id $in} query. Each caller receives the entity matching its id.
+ * <p />
+ * Lookups run the same mapping events and entity callbacks as {@link MongoOperations#findById(Object, Class)}. Callers
+ * block until the batch containing their lookup was run, a lookup therefore takes up to the configured window longer
+ * than a plain {@code findById} in exchange for fewer round trips under load. A caller whose lookup is still pending
+ * once the window elapsed runs the batch itself. Lookups issued while a transaction is active or through a
+ * session-bound template are not collapsed and run as plain {@code findById}.
+ *
+ * <pre class="code">
+ * CollapsingFindOperations collapsing = template.collapsingFindOps(100, Duration.ofMillis(2));
+ *
+ * Person person = collapsing.findById(id, Person.class);
+ * </pre>
+ *
+ * {@link CollapsingFindOperations} is thread-safe and intended to be shared. It must be {@link #close() closed} to
+ * release its resources.
+ *
+ * @since 3.2
+ * @see MongoOperations#collapsingFindOps(int, java.time.Duration)
+ */
+public interface CollapsingFindOperations extends AutoCloseable {
+
+	/**
+	 * Look up the entity with the given id from the collection of the given type.
+	 *
+	 * @param id the id of the document to return. Must not be {@literal null}.
+	 * @param entityClass the type the document shall be converted into. Must not be {@literal null}.
+	 * @return the converted entity or {@literal null} if no document with the given id exists.
+	 * @throws IllegalStateException if this instance is closed.
+	 */
+	@Nullable
+	<T> T findById(Object id, Class<T> entityClass);
+
+	/**
+	 * Look up the entity with the given id from the given collection.
+	 *
+	 * @param id the id of the document to return. Must not be {@literal null}.
+	 * @param entityClass the type the document shall be converted into. Must not be {@literal null}.
+	 * @param collectionName name of the collection to look up the document in. Must not be {@literal null}.
+	 * @return the converted entity or {@literal null} if no document with the given id exists.
+	 * @throws IllegalStateException if this instance is closed.
+	 */
+	@Nullable
+	<T> T findById(Object id, Class<T> entityClass, String collectionName);
+
+	/**
+	 * Run pending lookups and release resources. Subsequent lookups are rejected.
+	 */
+	@Override
+	void close();
+}
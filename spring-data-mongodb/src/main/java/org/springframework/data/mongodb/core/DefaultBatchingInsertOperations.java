@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseUtils;
+import org.springframework.data.util.Pair;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Default implementation of {@link BatchingInsertOperations} queueing inserts per collection. Objects are mapped and
+ * {@code BeforeConvert}/{@code BeforeSave} events and callbacks are run on the submitting thread so that only mapped
+ * documents are queued. A batch reaching its maximum size is written by the thread submitting the last insert. Batches
+ * not filled up within the linger time are written by a scheduler thread. {@code AfterSave} events and callbacks run on
+ * the thread writing the batch.
+ *
+ * @since 3.2
+ */
+class DefaultBatchingInsertOperations implements BatchingInsertOperations {
+
+	private final MongoTemplate template;
+	private final int maxBatchSize;
+	private final long maxLingerNanos;
+	private final ScheduledExecutorService scheduler;
+	private final Map<String, CollectionBatch> batches = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new {@link DefaultBatchingInsertOperations}.
+	 *
+	 * @param template must not be {@literal null}.
+	 * @param maxBatchSize must be greater than zero.
+	 * @param maxLinger must not be {@literal null} or negative.
+	 */
+	DefaultBatchingInsertOperations(MongoTemplate template, int maxBatchSize, Duration maxLinger) {
+
+		Assert.notNull(template, "MongoTemplate must not be null!");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than zero!");
+		Assert.notNull(maxLinger, "Max linger must not be null!");
+		Assert.isTrue(!maxLinger.isNegative(), "Max linger must not be negative!");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mongo-batching-insert-");
+		threadFactory.setDaemon(true);
+
+		this.template = template;
+		this.maxBatchSize = maxBatchSize;
+		this.maxLingerNanos = maxLinger.toNanos();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BatchingInsertOperations#insert(java.lang.Object)
+	 */
+	@Override
+	public <T> CompletableFuture<T> insert(T objectToSave) {
+
+		Assert.notNull(objectToSave, "ObjectToSave must not be null!");
+
+		return insert(objectToSave, template.getCollectionName(ClassUtils.getUserClass(objectToSave)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BatchingInsertOperations#insert(java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public <T> CompletableFuture<T> insert(T objectToSave, String collectionName) {
+
+		Assert.notNull(objectToSave, "ObjectToSave must not be null!");
+		Assert.notNull(collectionName, "CollectionName must not be null!");
+		Assert.state(!closed, "BatchingInsertOperations is closed!");
+		Assert.state(!MongoDatabaseUtils.isTransactionActive(template.getMongoDbFactory()),
+				"BatchingInsertOperations cannot be used within a transaction!");
+
+		template.ensureNotIterable(objectToSave);
+
+		PendingInsert<T> insert;
+
+		try {
+			insert = new PendingInsert<>(template.prepareCoalescedInsert(collectionName, objectToSave));
+		} catch (RuntimeException e) {
+
+			CompletableFuture<T> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+
+		batches.computeIfAbsent(collectionName, CollectionBatch::new).add(insert);
+
+		return insert.result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BatchingInsertOperations#flush()
+	 */
+	@Override
+	public void flush() {
+		batches.values().forEach(CollectionBatch::flush);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BatchingInsertOperations#close()
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+
+		try {
+			flush();
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private void write(String collectionName, List<PendingInsert<?>> inserts) {
+
+		List<Pair<?, Document>> prepared = new ArrayList<>(inserts.size());
+		inserts.forEach(it -> prepared.add(it.prepared));
+
+		try {
+			template.doInsertCoalesced(collectionName, prepared,
+					(index, saved) -> inserts.get(index).complete(saved),
+					(index, error) -> inserts.get(index).result.completeExceptionally(error));
+		} catch (RuntimeException e) {
+			inserts.forEach(it -> it.result.completeExceptionally(e));
+		}
+	}
+
+	/**
+	 * Queued inserts for a single collection.
+	 */
+	private class CollectionBatch {
+
+		private final String collectionName;
+		private List<PendingInsert<?>> pending;
+		private @Nullable ScheduledFuture<?> lingerTask;
+
+		CollectionBatch(String collectionName) {
+
+			this.collectionName = collectionName;
+			this.pending = new ArrayList<>(maxBatchSize);
+		}
+
+		void add(PendingInsert<?> insert) {
+
+			List<PendingInsert<?>> toWrite = null;
+
+			synchronized (this) {
+
+				pending.add(insert);
+
+				if (pending.size() >= maxBatchSize || closed) {
+					toWrite = drain();
+				} else if (pending.size() == 1) {
+					lingerTask = scheduler.schedule(this::flush, maxLingerNanos, TimeUnit.NANOSECONDS);
+				}
+			}
+
+			if (toWrite != null) {
+				write(collectionName, toWrite);
+			}
+		}
+
+		void flush() {
+
+			List<PendingInsert<?>> toWrite;
+
+			synchronized (this) {
+				toWrite = drain();
+			}
+
+			if (!toWrite.isEmpty()) {
+				write(collectionName, toWrite);
+			}
+		}
+
+		private List<PendingInsert<?>> drain() {
+
+			List<PendingInsert<?>> drained = pending;
+			pending = new ArrayList<>(maxBatchSize);
+
+			if (lingerTask != null) {
+
+				lingerTask.cancel(false);
+				lingerTask = null;
+			}
+
+			return drained;
+		}
+	}
+
+	/**
+	 * A mapped object queued for insertion along with the future to complete.
+	 */
+	private static class PendingInsert<T> {
+
+		private final Pair<T, Document> prepared;
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+
+		PendingInsert(Pair<T, Document> prepared) {
+			this.prepared = prepared;
+		}
+
+		@SuppressWarnings("unchecked")
+		void complete(Object saved) {
+			result.complete((T) saved);
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.MongoDatabaseUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Default implementation of {@link CollapsingFindOperations} gathering lookups per collection and entity type. A batch
+ * reaching its maximum size is run by the thread submitting the last lookup. A caller whose lookup is still pending
+ * once the window elapsed runs the batch on its own thread. Lookups issued while a transaction is active bypass
+ * collapsing and run within that transaction.
+ *
+ * @since 3.2
+ */
+class DefaultCollapsingFindOperations implements CollapsingFindOperations {
+
+	private final MongoTemplate template;
+	private final int maxBatchSize;
+	private final long windowNanos;
+	private final Map<BatchKey, LookupBatch> batches = new ConcurrentHashMap<>();
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new {@link DefaultCollapsingFindOperations}.
+	 *
+	 * @param template must not be {@literal null}.
+	 * @param maxBatchSize must be greater than zero.
+	 * @param window must not be {@literal null} or negative.
+	 */
+	DefaultCollapsingFindOperations(MongoTemplate template, int maxBatchSize, Duration window) {
+
+		Assert.notNull(template, "MongoTemplate must not be null!");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than zero!");
+		Assert.notNull(window, "Window must not be null!");
+		Assert.isTrue(!window.isNegative(), "Window must not be negative!");
+
+		this.template = template;
+		this.maxBatchSize = maxBatchSize;
+		this.windowNanos = window.toNanos();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.CollapsingFindOperations#findById(java.lang.Object, java.lang.Class)
+	 */
+	@Nullable
+	@Override
+	public <T> T findById(Object id, Class<T> entityClass) {
+
+		Assert.notNull(entityClass, "EntityClass must not be null!");
+
+		return findById(id, entityClass, template.getCollectionName(entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.CollapsingFindOperations#findById(java.lang.Object, java.lang.Class, java.lang.String)
+	 */
+	@Nullable
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(entityClass, "EntityClass must not be null!");
+		Assert.notNull(collectionName, "CollectionName must not be null!");
+		Assert.state(!closed, "CollapsingFindOperations is closed!");
+
+		if (MongoDatabaseUtils.isTransactionActive(template.getMongoDbFactory())) {
+			return template.findById(id, entityClass, collectionName);
+		}
+
+		PendingLookup lookup = new PendingLookup(id);
+		LookupBatch batch = batches.computeIfAbsent(new BatchKey(collectionName, entityClass), LookupBatch::new);
+		batch.add(lookup);
+
+		return (T) await(batch, lookup);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.CollapsingFindOperations#close()
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+		batches.values().forEach(LookupBatch::flush);
+	}
+
+	@Nullable
+	private Object await(LookupBatch batch, PendingLookup lookup) {
+
+		try {
+			return lookup.result.get(windowNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+
+			// window elapsed, run the batch unless another caller is already running it
+			batch.flush();
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for lookup", e);
+		}
+
+		try {
+			return lookup.result.join();
+		} catch (CompletionException e) {
+			throw unwrap(e.getCause());
+		}
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+	}
+
+	private void run(BatchKey key, List<PendingLookup> lookups) {
+
+		List<Object> ids = new ArrayList<>(lookups.size());
+		lookups.forEach(it -> ids.add(it.id));
+
+		try {
+
+			List<?> entities = template.doFindByIds(key.collectionName, ids, key.entityClass);
+
+			for (int i = 0; i < lookups.size(); i++) {
+				lookups.get(i).result.complete(entities.get(i));
+			}
+		} catch (RuntimeException e) {
+			lookups.forEach(it -> it.result.completeExceptionally(e));
+		}
+	}
+
+	/**
+	 * Pending lookups for a single collection and entity type.
+	 */
+	private class LookupBatch {
+
+		private final BatchKey key;
+		private List<PendingLookup> pending;
+
+		LookupBatch(BatchKey key) {
+
+			this.key = key;
+			this.pending = new ArrayList<>(maxBatchSize);
+		}
+
+		void add(PendingLookup lookup) {
+
+			List<PendingLookup> toRun = null;
+
+			synchronized (this) {
+
+				pending.add(lookup);
+
+				if (pending.size() >= maxBatchSize || closed) {
+					toRun = drain();
+				}
+			}
+
+			if (toRun != null) {
+				run(key, toRun);
+			}
+		}
+
+		void flush() {
+
+			List<PendingLookup> toRun;
+
+			synchronized (this) {
+				toRun = drain();
+			}
+
+			if (!toRun.isEmpty()) {
+				run(key, toRun);
+			}
+		}
+
+		private List<PendingLookup> drain() {
+
+			List<PendingLookup> drained = pending;
+			pending = new ArrayList<>(maxBatchSize);
+
+			return drained;
+		}
+	}
+
+	/**
+	 * Collection name and entity type lookups are gathered by.
+	 */
+	static class BatchKey {
+
+		private final String collectionName;
+		private final Class<?> entityClass;
+
+		BatchKey(String collectionName, Class<?> entityClass) {
+
+			this.collectionName = collectionName;
+			this.entityClass = entityClass;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof BatchKey)) {
+				return false;
+			}
+
+			BatchKey that = (BatchKey) o;
+			return collectionName.equals(that.collectionName) && entityClass.equals(that.entityClass);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * ObjectUtils.nullSafeHashCode(collectionName) + ObjectUtils.nullSafeHashCode(entityClass);
+		}
+	}
+
+	/**
+	 * An id to look up along with the future to complete.
+	 */
+	private static class PendingLookup {
+
+		private final Object id;
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		PendingLookup(Object id) {
+			this.id = id;
+		}
+	}
+}
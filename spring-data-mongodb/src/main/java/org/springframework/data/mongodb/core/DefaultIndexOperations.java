@@ -33,6 +33,7 @@ import org.springframework.util.Assert;
 import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 
 /**
@@ -121,17 +122,49 @@ public class DefaultIndexOperations implements IndexOperations {
 		return execute(collection -> {
 
 			MongoPersistentEntity<?> entity = lookupPersistentEntity(type, collectionName);
+			IndexModel indexModel = createIndexModel(indexDefinition, entity);
 
-			IndexOptions indexOptions = IndexConverters.indexDefinitionToIndexOptionsConverter().convert(indexDefinition);
+			return collection.createIndex(indexModel.getKeys(), indexModel.getOptions());
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.index.IndexOperations#ensureIndexes(java.util.List)
+	 */
+	@Override
+	public List<String> ensureIndexes(List<? extends IndexDefinition> indexDefinitions) {
+
+		Assert.notNull(indexDefinitions, "IndexDefinitions must not be null!");
 
-			indexOptions = addPartialFilterIfPresent(indexOptions, indexDefinition.getIndexOptions(), entity);
-			indexOptions = addDefaultCollationIfRequired(indexOptions, entity);
+		if (indexDefinitions.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		return execute(collection -> {
 
-			Document mappedKeys = mapper.getMappedSort(indexDefinition.getIndexKeys(), entity);
-			return collection.createIndex(mappedKeys, indexOptions);
+			MongoPersistentEntity<?> entity = lookupPersistentEntity(type, collectionName);
+			List<IndexModel> indexModels = new ArrayList<>(indexDefinitions.size());
+
+			for (IndexDefinition indexDefinition : indexDefinitions) {
+				indexModels.add(createIndexModel(indexDefinition, entity));
+			}
+
+			return collection.createIndexes(indexModels);
 		});
 	}
 
+	private IndexModel createIndexModel(IndexDefinition indexDefinition, @Nullable MongoPersistentEntity<?> entity) {
+
+		IndexOptions indexOptions = IndexConverters.indexDefinitionToIndexOptionsConverter().convert(indexDefinition);
+
+		indexOptions = addPartialFilterIfPresent(indexOptions, indexDefinition.getIndexOptions(), entity);
+		indexOptions = addDefaultCollationIfRequired(indexOptions, entity);
+
+		Document mappedKeys = mapper.getMappedSort(indexDefinition.getIndexKeys(), entity);
+		return new IndexModel(mappedKeys, indexOptions);
+	}
+
 	@Nullable
 	private MongoPersistentEntity<?> lookupPersistentEntity(@Nullable Class<?> entityType, String collection) {
 
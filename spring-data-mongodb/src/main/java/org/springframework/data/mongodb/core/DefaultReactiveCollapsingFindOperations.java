@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.ReactiveMongoDatabaseUtils;
+import org.springframework.data.mongodb.core.DefaultCollapsingFindOperations.BatchKey;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementation of {@link ReactiveCollapsingFindOperations} gathering lookups per collection and entity type
+ * into {@link Sinks.One sinks}. A batch reaching its maximum size is run upon the subscription completing it using the
+ * {@link ContextView context} of that subscriber. Batches not filled up within the window are run on the
+ * {@link Schedulers#parallel() parallel scheduler} using the context of the first subscriber of the batch. Lookups
+ * subscribed to with a {@link com.mongodb.reactivestreams.client.ClientSession session} in the context or while a
+ * transaction is active bypass collapsing.
+ *
+ * @since 3.2
+ */
+class DefaultReactiveCollapsingFindOperations implements ReactiveCollapsingFindOperations {
+
+	private final ReactiveMongoTemplate template;
+	private final int maxBatchSize;
+	private final long windowNanos;
+	private final Scheduler scheduler = Schedulers.parallel();
+	private final Map<BatchKey, LookupBatch> batches = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link DefaultReactiveCollapsingFindOperations}.
+	 *
+	 * @param template must not be {@literal null}.
+	 * @param maxBatchSize must be greater than zero.
+	 * @param window must not be {@literal null} or negative.
+	 */
+	DefaultReactiveCollapsingFindOperations(ReactiveMongoTemplate template, int maxBatchSize, Duration window) {
+
+		Assert.notNull(template, "ReactiveMongoTemplate must not be null!");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than zero!");
+		Assert.notNull(window, "Window must not be null!");
+		Assert.isTrue(!window.isNegative(), "Window must not be negative!");
+
+		this.template = template;
+		this.maxBatchSize = maxBatchSize;
+		this.windowNanos = window.toNanos();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveCollapsingFindOperations#findById(java.lang.Object, java.lang.Class)
+	 */
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass) {
+
+		Assert.notNull(entityClass, "EntityClass must not be null!");
+
+		return findById(id, entityClass, template.getCollectionName(entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveCollapsingFindOperations#findById(java.lang.Object, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Mono<T> findById(Object id, Class<T> entityClass, String collectionName) {
+
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(entityClass, "EntityClass must not be null!");
+		Assert.notNull(collectionName, "CollectionName must not be null!");
+
+		Mono<T> collapsed = Mono.deferContextual(context -> {
+
+			PendingLookup lookup = new PendingLookup(id, context);
+			batches.computeIfAbsent(new BatchKey(collectionName, entityClass),
+					key -> new LookupBatch(collectionName, entityClass)).add(lookup);
+
+			return (Mono<T>) lookup.sink.asMono();
+		});
+
+		return ReactiveMongoContext.getSession().hasElement() //
+				.flatMap(hasSession -> hasSession ? Mono.just(true)
+						: ReactiveMongoDatabaseUtils.isTransactionActive(template.getMongoDatabaseFactory())) //
+				.flatMap(bypass -> bypass ? template.findById(id, entityClass, collectionName) : collapsed);
+	}
+
+	/**
+	 * Pending lookups for a single collection and entity type.
+	 */
+	private class LookupBatch {
+
+		private final String collectionName;
+		private final Class<?> entityClass;
+		private List<PendingLookup> pending;
+		private @Nullable Disposable windowTask;
+
+		LookupBatch(String collectionName, Class<?> entityClass) {
+
+			this.collectionName = collectionName;
+			this.entityClass = entityClass;
+			this.pending = new ArrayList<>(maxBatchSize);
+		}
+
+		void add(PendingLookup lookup) {
+
+			List<PendingLookup> toRun = null;
+
+			synchronized (this) {
+
+				pending.add(lookup);
+
+				if (pending.size() >= maxBatchSize) {
+					toRun = drain();
+				} else if (pending.size() == 1) {
+					windowTask = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+				}
+			}
+
+			if (toRun != null) {
+				run(toRun, lookup.context);
+			}
+		}
+
+		void flush() {
+
+			List<PendingLookup> toRun;
+
+			synchronized (this) {
+				toRun = drain();
+			}
+
+			if (!toRun.isEmpty()) {
+				run(toRun, toRun.get(0).context);
+			}
+		}
+
+		private List<PendingLookup> drain() {
+
+			List<PendingLookup> drained = pending;
+			pending = new ArrayList<>(maxBatchSize);
+
+			if (windowTask != null) {
+
+				windowTask.dispose();
+				windowTask = null;
+			}
+
+			return drained;
+		}
+
+		private void run(List<PendingLookup> lookups, ContextView context) {
+
+			List<Object> ids = new ArrayList<>(lookups.size());
+			lookups.forEach(it -> ids.add(it.id));
+
+			template.doFindByIds(collectionName, ids, entityClass).contextWrite(context).subscribe(entities -> {
+
+				for (int i = 0; i < lookups.size(); i++) {
+					lookups.get(i).complete(entities.get(i));
+				}
+			}, error -> lookups.forEach(it -> it.sink.tryEmitError(error)));
+		}
+	}
+
+	/**
+	 * An id to look up along with the subscriber context and the sink to complete.
+	 */
+	private static class PendingLookup {
+
+		private final Object id;
+		private final ContextView context;
+		private final Sinks.One<Object> sink = Sinks.one();
+
+		PendingLookup(Object id, ContextView context) {
+
+			this.id = id;
+			this.context = context;
+		}
+
+		void complete(@Nullable Object entity) {
+
+			if (entity != null) {
+				sink.tryEmitValue(entity);
+			} else {
+				sink.tryEmitEmpty();
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.ReadPreference;
+
+/**
+ * Immutable options for client-side hedged reads used by {@link ReactiveMongoTemplate} for {@code find} and
+ * {@code findOne} operations. If the initial read has not signalled a result within {@link #getDelay() the delay}, a
+ * duplicate read is issued. The duplicate read uses the read preference of the initial read with
+ * {@link com.mongodb.ReadPreferenceHedgeOptions hedging} enabled unless {@link #readPreference(ReadPreference) a hedge
+ * read preference} is configured. The first read to signal a result, completion or error wins and the other read is
+ * cancelled.
+ *
+ * <pre class="code">
+ * template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMillis(20)) //
+ * 		.readPreference(ReadPreference.nearest()) //
+ * 		.observer(new MicrometerHedgedReadObserver(meterRegistry)));
+ * </pre>
+ *
+ * Reads using a {@link ReadPreferenceAware query read preference}, reads within a transaction, reads through a
+ * session-bound template and reads whose hedge read preference does not support hedging, such as
+ * {@link ReadPreference#primary()}, are not hedged.
+ *
+ * @since 3.2
+ * @see ReactiveMongoTemplate#setHedgedReads(HedgedReadOptions)
+ */
+public final class HedgedReadOptions {
+
+	private final Duration delay;
+	private final @Nullable ReadPreference readPreference;
+	private final @Nullable HedgedReadObserver observer;
+
+	private HedgedReadOptions(Duration delay, @Nullable ReadPreference readPreference,
+			@Nullable HedgedReadObserver observer) {
+
+		this.delay = delay;
+		this.readPreference = readPreference;
+		this.observer = observer;
+	}
+
+	/**
+	 * Create {@link HedgedReadOptions} issuing a hedged read using the read preference of the initial read if the
+	 * initial read has not answered within the given {@code delay}.
+	 *
+	 * @param delay must not be {@literal null} or negative.
+	 * @return new instance of {@link HedgedReadOptions}.
+	 */
+	public static HedgedReadOptions hedgeAfter(Duration delay) {
+
+		Assert.notNull(delay, "Delay must not be null!");
+		Assert.isTrue(!delay.isNegative(), "Delay must not be negative!");
+
+		return new HedgedReadOptions(delay, null, null);
+	}
+
+	/**
+	 * Set the {@link ReadPreference} to route the hedged read with. Reads from members other than the primary may return
+	 * stale data.
+	 *
+	 * @param readPreference must not be {@literal null}.
+	 * @return new instance of {@link HedgedReadOptions}.
+	 */
+	public HedgedReadOptions readPreference(ReadPreference readPreference) {
+
+		Assert.notNull(readPreference, "ReadPreference must not be null!");
+
+		return new HedgedReadOptions(delay, readPreference, observer);
+	}
+
+	/**
+	 * Set the {@link HedgedReadObserver} to notify about reads, hedges and winners.
+	 *
+	 * @param observer can be {@literal null}.
+	 * @return new instance of {@link HedgedReadOptions}.
+	 */
+	public HedgedReadOptions observer(@Nullable HedgedReadObserver observer) {
+		return new HedgedReadOptions(delay, readPreference, observer);
+	}
+
+	/**
+	 * @return the delay after which a hedged read is issued.
+	 */
+	public Duration getDelay() {
+		return delay;
+	}
+
+	/**
+	 * @return the {@link ReadPreference} to route the hedged read with or {@literal null} to use the read preference of
+	 *         the initial read.
+	 */
+	@Nullable
+	public ReadPreference getReadPreference() {
+		return readPreference;
+	}
+
+	/**
+	 * @return the {@link HedgedReadObserver} or {@literal null} if not set.
+	 */
+	@Nullable
+	public HedgedReadObserver getObserver() {
+		return observer;
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.data.mongodb.core;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -28,6 +29,7 @@ import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
@@ -221,6 +223,24 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	MongoOperations withSession(ClientSession session);
 
+	/**
+	 * Run the given {@link SessionCallback} within a MongoDB transaction on a new {@link ClientSession} retrying
+	 * according to the given {@link TransactionRetryPolicy}. Errors labeled {@code TransientTransactionError} abort the
+	 * transaction and run the callback again within a new transaction. Commits failing with an
+	 * {@code UnknownTransactionCommitResult} label are retried without running the callback again.
+	 * <p/>
+	 * <strong>Note:</strong> The callback may be invoked multiple times and must therefore be idempotent apart from the
+	 * operations issued through the given {@link MongoOperations}.
+	 *
+	 * @param action the callback to run. Must not be {@literal null}.
+	 * @param retryPolicy must not be {@literal null}.
+	 * @param <T> return type.
+	 * @return the result of the callback invocation that was committed successfully. Can be {@literal null}.
+	 * @since 3.2
+	 */
+	@Nullable
+	<T> T inTransaction(SessionCallback<T> action, TransactionRetryPolicy retryPolicy);
+
 	/**
 	 * Executes the given {@link Query} on the entity collection of the specified {@code entityType} backed by a Mongo DB
 	 * {@link com.mongodb.client.FindIterable}.
@@ -593,6 +613,21 @@ public interface MongoOperations extends FluentMongoOperations {
 	 */
 	<O> CloseableIterator<O> aggregateStream(Aggregation aggregation, String collectionName, Class<O> outputType);
 
+	/**
+	 * Render the given {@link TypedAggregation} into a {@link PreparedAggregation} that can be executed many times with
+	 * different values bound to its {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter
+	 * parameters}. Field references are mapped against the input type once so that executions only bind values.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 3.2
+	 * @see org.springframework.data.mongodb.core.aggregation.Aggregation#parameter(String)
+	 */
+	default <I> PreparedAggregation<I> prepareAggregation(TypedAggregation<I> aggregation) {
+		return AggregationUtil.prepareAggregation(aggregation, getConverter());
+	}
+
 	/**
 	 * Execute a map-reduce operation. The map-reduce operation will be formed with an output type of INLINE
 	 *
@@ -821,6 +856,23 @@ public interface MongoOperations extends FluentMongoOperations {
 	@Nullable
 	<T> T findById(Object id, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Returns a new {@link CollapsingFindOperations} gathering {@code findById} lookups issued concurrently for the
+	 * same collection and entity type into a single {@code _id $in} query. A batch is run once it contains
+	 * {@code maxBatchSize} lookups or {@code window} elapsed since its first lookup was queued. The returned instance
+	 * must be {@link CollapsingFindOperations#close() closed} when no longer used.
+	 * <p />
+	 * The default implementation does not collapse lookups and runs each lookup as {@link #findById(Object, Class)}.
+	 *
+	 * @param maxBatchSize the maximum number of ids per query. Must be greater than zero.
+	 * @param window the maximum time to gather lookups. Must not be {@literal null} or negative.
+	 * @return new instance of {@link CollapsingFindOperations}.
+	 * @since 3.2
+	 */
+	default CollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+		return new NonCollapsingFindOperations(this);
+	}
+
 	/**
 	 * Finds the distinct values for a specified {@literal field} across a single {@link MongoCollection} or view and
 	 * returns the results in a {@link List}.
@@ -20,8 +20,15 @@ import static org.springframework.data.mongodb.core.query.SerializationUtils.*;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.bson.Document;
@@ -84,10 +91,16 @@ import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.mapping.event.*;
+import org.springframework.data.mongodb.core.mapping.metadata.PrecomputedIndexResolver;
 import org.springframework.data.mongodb.core.mapreduce.GroupBy;
 import org.springframework.data.mongodb.core.mapreduce.GroupByResults;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceResults;
+import org.springframework.data.mongodb.core.metrics.MongoOperationObserver;
+import org.springframework.data.mongodb.core.metrics.OperationPhase;
+import org.springframework.data.mongodb.core.metrics.OperationRecorder;
+import org.springframework.data.mongodb.core.metrics.SlowQueryCapture;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -101,6 +114,7 @@ import org.springframework.data.mongodb.core.validation.Validator;
 import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.Pair;
 import org.springframework.data.util.Optionals;
 import org.springframework.jca.cci.core.ConnectionCallback;
 import org.springframework.lang.Nullable;
@@ -113,9 +127,13 @@ import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
 
 import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.DistinctIterable;
@@ -162,6 +180,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MongoTemplate.class);
 	private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
+	private static final int DEFAULT_CONVERSION_BATCH_SIZE = 100;
 	private static final Collection<String> ITERABLE_CLASSES;
 
 	static {
@@ -190,10 +209,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	private WriteConcernResolver writeConcernResolver = DefaultWriteConcernResolver.INSTANCE;
 	private WriteResultChecking writeResultChecking = WriteResultChecking.NONE;
 	private @Nullable ReadPreference readPreference;
+	private @Nullable ReadYourWritesRouting readRouting;
 	private @Nullable ApplicationEventPublisher eventPublisher;
 	private @Nullable EntityCallbacks entityCallbacks;
 	private @Nullable ResourceLoader resourceLoader;
 	private @Nullable MongoPersistentEntityIndexCreator indexCreator;
+	private @Nullable MongoOperationObserver operationObserver;
+	private @Nullable SlowQueryReporter slowQueryReporter;
+	private Executor conversionExecutor = ForkJoinPool.commonPool();
 
 	private SessionSynchronization sessionSynchronization = SessionSynchronization.ON_ACTUAL_TRANSACTION;
 
@@ -248,7 +271,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 			if (mappingContext.isAutoIndexCreation()) {
 
-				indexCreator = new MongoPersistentEntityIndexCreator(mappingContext, this);
+				indexCreator = new MongoPersistentEntityIndexCreator(mappingContext, this,
+						PrecomputedIndexResolver.create(mappingContext));
 				eventPublisher = new MongoMappingEventPublisher(indexCreator);
 				mappingContext.setApplicationEventPublisher(eventPublisher);
 			}
@@ -277,6 +301,9 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		this.operations = that.operations;
 		this.propertyOperations = that.propertyOperations;
 		this.queryOperations = that.queryOperations;
+		this.operationObserver = that.operationObserver;
+		this.slowQueryReporter = that.slowQueryReporter;
+		this.readRouting = that.readRouting;
 	}
 
 	/**
@@ -319,6 +346,72 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		this.readPreference = readPreference;
 	}
 
+	/**
+	 * Configure {@link ReadYourWritesRouting} to route reads to the
+	 * {@link ReadYourWritesRouting#getDefaultReadPreference() default read preference} unless preceded by a write in the
+	 * current {@link ReadYourWritesRouting.Scope scope}. The routing takes precedence over
+	 * {@link #setReadPreference(ReadPreference) the template read preference}. Setting {@literal null} disables routing.
+	 *
+	 * @param readRouting can be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setReadRouting(@Nullable ReadYourWritesRouting readRouting) {
+		this.readRouting = readRouting;
+	}
+
+	/**
+	 * @return the configured {@link ReadYourWritesRouting} or {@literal null} if not set.
+	 * @since 3.2
+	 */
+	@Nullable
+	public ReadYourWritesRouting getReadRouting() {
+		return readRouting;
+	}
+
+	/**
+	 * Configure the {@link Executor} to convert streamed aggregation results on when using
+	 * {@link org.springframework.data.mongodb.core.aggregation.AggregationOptions#getConversionParallelism() parallel
+	 * conversion}. Defaults to the {@link ForkJoinPool#commonPool() common pool}. The template does not manage the
+	 * lifecycle of the given {@link Executor}.
+	 *
+	 * @param conversionExecutor must not be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setConversionExecutor(Executor conversionExecutor) {
+
+		Assert.notNull(conversionExecutor, "Conversion executor must not be null!");
+
+		this.conversionExecutor = conversionExecutor;
+	}
+
+	/**
+	 * Configures the {@link MongoOperationObserver} to be notified about the timing of operations performed through
+	 * this template. Operation timing is broken down into
+	 * {@link org.springframework.data.mongodb.core.metrics.OperationPhase phases} such as server round trips, query
+	 * mapping, conversion and entity callbacks.
+	 *
+	 * @param operationObserver can be {@literal null} to disable operation recording.
+	 * @since 3.2
+	 * @see org.springframework.data.mongodb.core.metrics.MicrometerMongoOperationObserver
+	 */
+	public void setOperationObserver(@Nullable MongoOperationObserver operationObserver) {
+		this.operationObserver = operationObserver;
+	}
+
+	/**
+	 * Configures capturing of slow find operations. Find operations exceeding the
+	 * {@link SlowQueryCapture#getThreshold() threshold} are reported with their mapped filter, sort and projection, the
+	 * number of returned documents and bytes as well as the conversion time through a log record and a
+	 * {@link org.springframework.data.mongodb.core.metrics.SlowQueryEvent} published to the
+	 * {@link ApplicationContext}.
+	 *
+	 * @param slowQueryCapture can be {@literal null} to disable capturing slow queries.
+	 * @since 3.2
+	 */
+	public void setSlowQueryCapture(@Nullable SlowQueryCapture slowQueryCapture) {
+		this.slowQueryReporter = slowQueryCapture != null ? new SlowQueryReporter(slowQueryCapture, mongoDbFactory) : null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -419,6 +512,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.hasText(collectionName, "Collection name must not be null or empty!");
 		Assert.notNull(returnType, "ReturnType must not be null!");
 
+		if (shouldObserve()) {
+			return observe("stream", collectionName, entityType,
+					() -> doStreamInternal(query, entityType, collectionName, returnType));
+		}
+
+		return doStreamInternal(query, entityType, collectionName, returnType);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private <T> CloseableIterator<T> doStreamInternal(Query query, Class<?> entityType, String collectionName,
+			Class<T> returnType) {
+
 		return execute(collectionName, (CollectionCallback<CloseableIterator<T>>) collection -> {
 
 			MongoPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entityType);
@@ -531,11 +636,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 		Assert.notNull(action, "DbCallback must not be null!");
 
+		OperationRecorder.enter(OperationPhase.SERVER);
 		try {
 			MongoDatabase db = prepareDatabase(this.doGetDatabase());
 			return action.doInDB(db);
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
@@ -558,11 +666,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(collectionName, "CollectionName must not be null!");
 		Assert.notNull(callback, "CollectionCallback must not be null!");
 
+		OperationRecorder.enter(OperationPhase.SERVER);
 		try {
 			MongoCollection<Document> collection = getAndPrepareCollection(doGetDatabase(), collectionName);
 			return callback.doInCollection(collection);
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
@@ -590,6 +701,93 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return new SessionBoundMongoTemplate(session, MongoTemplate.this);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#inTransaction(org.springframework.data.mongodb.core.SessionCallback, org.springframework.data.mongodb.core.TransactionRetryPolicy)
+	 */
+	@Override
+	@Nullable
+	public <T> T inTransaction(SessionCallback<T> action, TransactionRetryPolicy retryPolicy) {
+
+		Assert.notNull(action, "SessionCallback must not be null!");
+		Assert.notNull(retryPolicy, "TransactionRetryPolicy must not be null!");
+
+		try (ClientSession session = mongoDbFactory
+				.getSession(ClientSessionOptions.builder().causallyConsistent(true).build())) {
+
+			MongoOperations operations = withSession(session);
+
+			for (int attempt = 1;; attempt++) {
+
+				try {
+
+					session.startTransaction(retryPolicy.getTransactionOptions());
+
+					T result = action.doInSession(operations);
+					commitTransaction(session, retryPolicy);
+
+					return result;
+				} catch (RuntimeException e) {
+
+					abortTransaction(session, e);
+					retryPolicy.onAbort(e);
+
+					if (!retryPolicy.shouldRetryTransaction(attempt, e)) {
+						throw e;
+					}
+
+					backoff(retryPolicy, RetryScope.TRANSACTION, attempt, e);
+				}
+			}
+		}
+	}
+
+	private static void abortTransaction(ClientSession session, RuntimeException cause) {
+
+		if (!session.hasActiveTransaction()) {
+			return;
+		}
+
+		try {
+			session.abortTransaction();
+		} catch (RuntimeException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	private void commitTransaction(ClientSession session, TransactionRetryPolicy retryPolicy) {
+
+		for (int attempt = 1;; attempt++) {
+
+			try {
+
+				session.commitTransaction();
+				return;
+			} catch (RuntimeException e) {
+
+				if (!retryPolicy.shouldRetryCommit(attempt, e)) {
+					throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+				}
+
+				backoff(retryPolicy, RetryScope.COMMIT, attempt, e);
+			}
+		}
+	}
+
+	private static void backoff(TransactionRetryPolicy retryPolicy, RetryScope scope, int attempt,
+			RuntimeException cause) {
+
+		try {
+			Thread.sleep(retryPolicy.getBackoff(attempt).toMillis());
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw cause;
+		}
+
+		retryPolicy.onRetry(scope, attempt, cause);
+	}
+
 	/**
 	 * Define if {@link MongoTemplate} should participate in transactions. Default is set to
 	 * {@link SessionSynchronization#ON_ACTUAL_TRANSACTION}.<br />
@@ -771,6 +969,28 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return operations;
 	}
 
+	/**
+	 * Returns a new {@link BatchingInsertOperations} coalescing single-document inserts issued concurrently into
+	 * {@code insertMany} batches per collection. A batch is written once it contains {@code maxBatchSize} documents or
+	 * {@code maxLinger} elapsed since its first document was queued. The returned instance must be
+	 * {@link BatchingInsertOperations#close() closed} when no longer used.
+	 * <p />
+	 * Batches are written outside of any session or transaction. Inserts are therefore rejected while a transaction is
+	 * active.
+	 *
+	 * @param maxBatchSize the maximum number of documents per batch. Must be greater than zero.
+	 * @param maxLinger the maximum time to wait for a batch to fill up. Must not be {@literal null} or negative.
+	 * @return new instance of {@link BatchingInsertOperations}.
+	 * @throws IllegalStateException if this template is bound to a {@link ClientSession}.
+	 * @since 3.2
+	 */
+	public BatchingInsertOperations batchingInsertOps(int maxBatchSize, Duration maxLinger) {
+
+		Assert.state(getBoundSession() == null, "BatchingInsertOperations cannot be used with a ClientSession!");
+
+		return new DefaultBatchingInsertOperations(this, maxBatchSize, maxLinger);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.MongoOperations#scriptOps()
@@ -826,6 +1046,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		}
 		Assert.notNull(collectionName, "CollectionName must not be null!");
 
+		if (shouldObserve()) {
+			return observe("exists", collectionName, entityClass,
+					() -> existsInternal(query, entityClass, collectionName));
+		}
+
+		return existsInternal(query, entityClass, collectionName);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private boolean existsInternal(Query query, @Nullable Class<?> entityClass, String collectionName) {
+
 		QueryContext queryContext = queryOperations.createQueryContext(query);
 		Document mappedQuery = queryContext.getMappedQuery(entityClass, this::getPersistentEntity);
 
@@ -878,6 +1109,49 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return doFindOne(collectionName, new Document(idKey, id), new Document(), entityClass);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#collapsingFindOps(int, java.time.Duration)
+	 */
+	@Override
+	public CollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+		return new DefaultCollapsingFindOperations(this, maxBatchSize, window);
+	}
+
+	/**
+	 * Look up the entities with the given ids using a single {@code $in} query.
+	 *
+	 * @param collectionName the collection to query.
+	 * @param ids the ids to look up.
+	 * @param entityClass the entity type.
+	 * @return the entities in the order of the given {@code ids} containing {@literal null} for ids without a document.
+	 * @since 3.2
+	 */
+	<T> List<T> doFindByIds(String collectionName, List<?> ids, Class<T> entityClass) {
+
+		String idKey = operations.getIdPropertyName(entityClass);
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
+		ReadDocumentCallback<T> callback = new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName);
+		Map<Object, T> entitiesById = new HashMap<>(ids.size());
+
+		doFind(collectionName, new Document(idKey, new Document("$in", ids)), new Document(), entityClass, null,
+				document -> {
+
+					entitiesById.put(document.get("_id"), callback.doWith(document));
+					return null;
+				});
+
+		List<T> result = new ArrayList<>(ids.size());
+
+		for (Object id : ids) {
+
+			Document mappedId = queryMapper.getMappedObject(new Document(idKey, id), entity);
+			result.add(entitiesById.get(mappedId.get("_id")));
+		}
+
+		return result;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.MongoOperations#findDistinct(org.springframework.data.mongodb.core.query.Query, java.lang.String, java.lang.Class, java.lang.Class)
@@ -902,6 +1176,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(entityClass, "EntityClass must not be null!");
 		Assert.notNull(resultClass, "ResultClass must not be null!");
 
+		if (shouldObserve()) {
+			return observe("findDistinct", collectionName, entityClass,
+					() -> findDistinctInternal(query, field, collectionName, entityClass, resultClass));
+		}
+
+		return findDistinctInternal(query, field, collectionName, entityClass, resultClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> List<T> findDistinctInternal(Query query, String field, String collectionName, Class<?> entityClass,
+			Class<T> resultClass) {
+
 		MongoPersistentEntity<?> entity = entityClass != Object.class ? getPersistentEntity(entityClass) : null;
 		DistinctQueryContext distinctQueryContext = queryOperations.distinctQueryContext(query, field);
 
@@ -966,6 +1252,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(collectionName, "CollectionName must not be null!");
 		Assert.notNull(returnType, "ReturnType must not be null!");
 
+		if (shouldObserve()) {
+			return observe("geoNear", collectionName, domainType,
+					() -> geoNearInternal(near, domainType, collectionName, returnType));
+		}
+
+		return geoNearInternal(near, domainType, collectionName, returnType);
+	}
+
+	private <T> GeoResults<T> geoNearInternal(NearQuery near, Class<?> domainType, String collectionName,
+			Class<T> returnType) {
+
 		String collection = StringUtils.hasText(collectionName) ? collectionName : getCollectionName(domainType);
 		String distanceField = operations.nearQueryDistanceFieldName(domainType);
 
@@ -1023,6 +1320,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(entityClass, "EntityClass must not be null!");
 		Assert.notNull(collectionName, "CollectionName must not be null!");
 
+		if (shouldObserve()) {
+			return observe("findAndModify", collectionName, entityClass,
+					() -> findAndModifyInternal(query, update, options, entityClass, collectionName));
+		}
+
+		return findAndModifyInternal(query, update, options, entityClass, collectionName);
+	}
+
+	@Nullable
+	private <T> T findAndModifyInternal(Query query, UpdateDefinition update, FindAndModifyOptions options,
+			Class<T> entityClass, String collectionName) {
+
 		FindAndModifyOptions optionsToUse = FindAndModifyOptions.of(options);
 
 		Optionals.ifAllPresent(query.getCollation(), optionsToUse.getCollation(), (l, r) -> {
@@ -1056,6 +1365,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.isTrue(query.getLimit() <= 1, "Query must not define a limit other than 1 ore none!");
 		Assert.isTrue(query.getSkip() <= 0, "Query must not define skip.");
 
+		if (shouldObserve()) {
+			return observe("findAndReplace", collectionName, entityType,
+					() -> findAndReplaceInternal(query, replacement, options, entityType, collectionName, resultType));
+		}
+
+		return findAndReplaceInternal(query, replacement, options, entityType, collectionName, resultType);
+	}
+
+	private <S, T> T findAndReplaceInternal(Query query, S replacement, FindAndReplaceOptions options,
+			Class<S> entityType, String collectionName, Class<T> resultType) {
+
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityType);
 		QueryContext queryContext = queryOperations.createQueryContext(query);
 
@@ -1097,6 +1417,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(entityClass, "EntityClass must not be null!");
 		Assert.notNull(collectionName, "CollectionName must not be null!");
 
+		if (shouldObserve()) {
+			return observe("findAndRemove", collectionName, entityClass,
+					() -> findAndRemoveInternal(query, entityClass, collectionName));
+		}
+
+		return findAndRemoveInternal(query, entityClass, collectionName);
+	}
+
+	@Nullable
+	private <T> T findAndRemoveInternal(Query query, Class<T> entityClass, String collectionName) {
 		return doFindAndRemove(collectionName, query.getQueryObject(), query.getFieldsObject(),
 				getMappedSortObject(query, entityClass), operations.forType(entityClass).getCollation(query).orElse(null),
 				entityClass);
@@ -1123,6 +1453,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(query, "Query must not be null!");
 		Assert.hasText(collectionName, "Collection name must not be null or empty!");
 
+		if (shouldObserve()) {
+			return observe("count", collectionName, entityClass,
+					() -> countInternal(query, entityClass, collectionName));
+		}
+
+		return countInternal(query, entityClass, collectionName);
+	}
+
+	private long countInternal(Query query, @Nullable Class<?> entityClass, String collectionName) {
+
 		CountContext countContext = queryOperations.countQueryContext(query);
 
 		CountOptions options = countContext.getCountOptions(entityClass);
@@ -1152,6 +1492,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	}
 
 	protected long doEstimatedCount(String collectionName, EstimatedDocumentCountOptions options) {
+
+		if (shouldObserve()) {
+			return observe("estimatedCount", collectionName, null,
+					() -> doEstimatedCountInternal(collectionName, options));
+		}
+
+		return doEstimatedCountInternal(collectionName, options);
+	}
+
+	private long doEstimatedCountInternal(String collectionName, EstimatedDocumentCountOptions options) {
 		return execute(collectionName, collection -> collection.estimatedDocumentCount(options));
 	}
 
@@ -1203,6 +1553,15 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			collection = collection.withReadPreference(readPreference);
 		}
 
+		if (this.readRouting != null && !MongoDatabaseUtils.isTransactionActive(mongoDbFactory)) {
+
+			ReadPreference routed = readRouting.getReadPreference(getBoundSession());
+
+			if (routed != null) {
+				collection = collection.withReadPreference(routed);
+			}
+		}
+
 		return collection;
 	}
 
@@ -1218,10 +1577,30 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	@Nullable
 	protected WriteConcern prepareWriteConcern(MongoAction mongoAction) {
 
+		recordWrite();
+
 		WriteConcern wc = writeConcernResolver.resolve(mongoAction);
 		return potentiallyForceAcknowledgedWrite(wc);
 	}
 
+	/**
+	 * Record a write with the {@link ReadYourWritesRouting} so that subsequent reads in the same scope observe it.
+	 */
+	private void recordWrite() {
+
+		if (readRouting != null) {
+			readRouting.onWrite(getBoundSession());
+		}
+	}
+
+	/**
+	 * @return the {@link ClientSession} this template is bound to or {@literal null} if not bound to a session.
+	 */
+	@Nullable
+	ClientSession getBoundSession() {
+		return null;
+	}
+
 	@Nullable
 	private WriteConcern potentiallyForceAcknowledgedWrite(@Nullable WriteConcern wc) {
 
@@ -1236,6 +1615,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 	protected <T> T doInsert(String collectionName, T objectToSave, MongoWriter<T> writer) {
 
+		if (shouldObserve()) {
+			return observe("insert", collectionName, ClassUtils.getUserClass(objectToSave),
+					() -> doInsertInternal(collectionName, objectToSave, writer));
+		}
+
+		return doInsertInternal(collectionName, objectToSave, writer);
+	}
+
+	private <T> T doInsertInternal(String collectionName, T objectToSave, MongoWriter<T> writer) {
+
 		BeforeConvertEvent<T> event = new BeforeConvertEvent<>(objectToSave, collectionName);
 		T toConvert = maybeEmitEvent(event).getSource();
 		toConvert = maybeCallBeforeConvert(toConvert, collectionName);
@@ -1317,6 +1706,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 
 		Assert.notNull(writer, "MongoWriter must not be null!");
 
+		if (shouldObserve()) {
+			return observe("insertBatch", collectionName, null,
+					() -> doInsertBatchInternal(collectionName, batchToSave, writer));
+		}
+
+		return doInsertBatchInternal(collectionName, batchToSave, writer);
+	}
+
+	private <T> Collection<T> doInsertBatchInternal(String collectionName, Collection<? extends T> batchToSave,
+			MongoWriter<T> writer) {
+
 		List<Document> documentList = new ArrayList<>();
 		List<T> initializedBatchToSave = new ArrayList<>(batchToSave.size());
 		for (T uninitialized : batchToSave) {
@@ -1357,6 +1757,152 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return savedObjects;
 	}
 
+	/**
+	 * Prepare the given object for a coalesced insert. Emits {@link BeforeConvertEvent} and {@link BeforeSaveEvent},
+	 * invokes the associated entity callbacks and maps the object on the calling thread.
+	 *
+	 * @param collectionName the collection to insert into.
+	 * @param objectToSave the object to insert.
+	 * @return the initialized object along with its mapped {@link Document}.
+	 * @since 3.2
+	 */
+	<T> Pair<T, Document> prepareCoalescedInsert(String collectionName, T objectToSave) {
+
+		try {
+
+			BeforeConvertEvent<T> event = new BeforeConvertEvent<>(objectToSave, collectionName);
+			T toConvert = maybeEmitEvent(event).getSource();
+			toConvert = maybeCallBeforeConvert(toConvert, collectionName);
+
+			AdaptibleEntity<T> entity = operations.forEntity(toConvert, mongoConverter.getConversionService());
+			entity.assertUpdateableIdIfNotSet();
+
+			T initialized = entity.initializeVersionProperty();
+			Document document = entity.toMappedDocument(this.mongoConverter).getDocument();
+			maybeEmitEvent(new BeforeSaveEvent<>(initialized, document, collectionName));
+			initialized = maybeCallBeforeSave(initialized, document, collectionName);
+
+			return Pair.of(initialized, document);
+		} catch (RuntimeException e) {
+			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		}
+	}
+
+	/**
+	 * Insert the given {@link #prepareCoalescedInsert(String, Object) prepared} objects into the collection using a
+	 * single unordered {@code insertMany} reporting the outcome per object. Objects failing to insert are reported to
+	 * {@code onError} by their index without affecting the remaining objects.
+	 *
+	 * @param collectionName the collection to insert into.
+	 * @param batchToSave the prepared objects to insert.
+	 * @param onSaved callback receiving the index and saved object for each inserted object.
+	 * @param onError callback receiving the index and translated error for each failed object.
+	 * @since 3.2
+	 */
+	<T> void doInsertCoalesced(String collectionName, List<? extends Pair<? extends T, Document>> batchToSave,
+			BiConsumer<Integer, T> onSaved, BiConsumer<Integer, RuntimeException> onError) {
+
+		if (shouldObserve()) {
+
+			observe("insertBatch", collectionName, null, () -> {
+				doInsertCoalescedInternal(collectionName, batchToSave, onSaved, onError);
+				return null;
+			});
+			return;
+		}
+
+		doInsertCoalescedInternal(collectionName, batchToSave, onSaved, onError);
+	}
+
+	private <T> void doInsertCoalescedInternal(String collectionName,
+			List<? extends Pair<? extends T, Document>> batchToSave, BiConsumer<Integer, T> onSaved,
+			BiConsumer<Integer, RuntimeException> onError) {
+
+		List<Document> documentList = new ArrayList<>(batchToSave.size());
+		batchToSave.forEach(it -> documentList.add(it.getSecond()));
+
+		Map<Integer, RuntimeException> failures = insertDocumentListUnordered(collectionName, documentList);
+		List<Object> ids = MappedDocument.toIds(documentList);
+
+		for (int i = 0; i < documentList.size(); i++) {
+
+			RuntimeException failure = failures.get(i);
+
+			if (failure != null) {
+				onError.accept(i, failure);
+				continue;
+			}
+
+			try {
+
+				Document document = documentList.get(i);
+				T saved = populateIdIfNecessary(batchToSave.get(i).getFirst(), ids.get(i));
+				maybeEmitEvent(new AfterSaveEvent<>(saved, document, collectionName));
+				onSaved.accept(i, maybeCallAfterSave(saved, document, collectionName));
+			} catch (RuntimeException e) {
+				onError.accept(i, e);
+			}
+		}
+	}
+
+	/**
+	 * Insert the given documents using an unordered {@code insertMany}.
+	 *
+	 * @return translated errors by document index. Contains an entry for each document if the insert failed entirely.
+	 */
+	private Map<Integer, RuntimeException> insertDocumentListUnordered(String collectionName,
+			List<Document> documents) {
+
+		try {
+
+			execute(collectionName, collection -> {
+
+				MongoAction mongoAction = new MongoAction(writeConcern, MongoActionOperation.INSERT_LIST,
+						collectionName, null, null, null);
+				WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+
+				InsertManyOptions options = new InsertManyOptions().ordered(false);
+
+				if (writeConcernToUse == null) {
+					collection.insertMany(documents, options);
+				} else {
+					collection.withWriteConcern(writeConcernToUse).insertMany(documents, options);
+				}
+
+				return null;
+			});
+
+			return Collections.emptyMap();
+		} catch (RuntimeException e) {
+
+			Map<Integer, RuntimeException> failures = new HashMap<>();
+			Throwable cause = e instanceof MongoBulkWriteException ? e : e.getCause();
+
+			if (cause instanceof MongoBulkWriteException
+					&& ((MongoBulkWriteException) cause).getWriteConcernError() == null) {
+
+				MongoBulkWriteException bulkWriteException = (MongoBulkWriteException) cause;
+
+				for (BulkWriteError error : bulkWriteException.getWriteErrors()) {
+
+					MongoWriteException writeException = new MongoWriteException(
+							new WriteError(error.getCode(), error.getMessage(), error.getDetails()),
+							bulkWriteException.getServerAddress());
+					failures.put(error.getIndex(),
+							potentiallyConvertRuntimeException(writeException, exceptionTranslator));
+				}
+
+				return failures;
+			}
+
+			for (int i = 0; i < documents.size(); i++) {
+				failures.put(i, e);
+			}
+
+			return failures;
+		}
+	}
+
 	@Override
 	public <T> T save(T objectToSave) {
 
@@ -1371,12 +1917,22 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(objectToSave, "Object to save must not be null!");
 		Assert.hasText(collectionName, "Collection name must not be null or empty!");
 
+		if (shouldObserve()) {
+			return observe("save", collectionName, ClassUtils.getUserClass(objectToSave),
+					() -> saveInternal(objectToSave, collectionName));
+		}
+
+		return saveInternal(objectToSave, collectionName);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T saveInternal(T objectToSave, String collectionName) {
+
 		AdaptibleEntity<T> source = operations.forEntity(objectToSave, mongoConverter.getConversionService());
 
 		return source.isVersionedEntity() //
 				? doSaveVersioned(source, collectionName) //
 				: (T) doSave(collectionName, objectToSave, this.mongoConverter);
-
 	}
 
 	@SuppressWarnings("unchecked")
@@ -1597,6 +2153,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(query, "Query must not be null!");
 		Assert.notNull(update, "Update must not be null!");
 
+		if (shouldObserve()) {
+			return observe(upsert ? "upsert" : multi ? "updateMulti" : "updateFirst", collectionName, entityClass,
+					() -> doUpdateInternal(collectionName, query, update, entityClass, upsert, multi));
+		}
+
+		return doUpdateInternal(collectionName, query, update, entityClass, upsert, multi);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private UpdateResult doUpdateInternal(String collectionName, Query query, UpdateDefinition update,
+			@Nullable Class<?> entityClass, boolean upsert, boolean multi) {
+
 		if (query.isSorted() && LOGGER.isWarnEnabled()) {
 
 			LOGGER.warn("{} does not support sort ('{}'). Please use findAndModify() instead.",
@@ -1712,6 +2280,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(query, "Query must not be null!");
 		Assert.hasText(collectionName, "Collection name must not be null or empty!");
 
+		if (shouldObserve()) {
+			return observe(multi ? "removeMulti" : "remove", collectionName, entityClass,
+					() -> doRemoveInternal(collectionName, query, entityClass, multi));
+		}
+
+		return doRemoveInternal(collectionName, query, entityClass, multi);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private <T> DeleteResult doRemoveInternal(String collectionName, Query query, @Nullable Class<T> entityClass,
+			boolean multi) {
+
 		MongoPersistentEntity<?> entity = getPersistentEntity(entityClass);
 
 		DeleteContext deleteContext = multi ? queryOperations.deleteQueryContext(query)
@@ -1825,6 +2405,20 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(mapFunction, "Map function must not be null!");
 		Assert.notNull(reduceFunction, "Reduce function must not be null!");
 
+		if (shouldObserve()) {
+			return observe("mapReduce", inputCollectionName, domainType,
+					() -> mapReduceInternal(query, domainType, inputCollectionName, mapFunction, reduceFunction,
+							mapReduceOptions, resultType));
+		}
+
+		return mapReduceInternal(query, domainType, inputCollectionName, mapFunction, reduceFunction, mapReduceOptions,
+				resultType);
+	}
+
+	private <T> List<T> mapReduceInternal(Query query, Class<?> domainType, String inputCollectionName,
+			String mapFunction, String reduceFunction, @Nullable MapReduceOptions mapReduceOptions,
+			Class<T> resultType) {
+
 		String mapFunc = replaceWithResourceIfNecessary(mapFunction);
 		String reduceFunc = replaceWithResourceIfNecessary(reduceFunction);
 		MongoCollection<Document> inputCollection = getAndPrepareCollection(doGetDatabase(), inputCollectionName);
@@ -2082,6 +2676,16 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	 */
 	protected <T> List<T> doFindAndDelete(String collectionName, Query query, Class<T> entityClass) {
 
+		if (shouldObserve()) {
+			return observe("findAllAndRemove", collectionName, entityClass,
+					() -> doFindAndDeleteInternal(collectionName, query, entityClass));
+		}
+
+		return doFindAndDeleteInternal(collectionName, query, entityClass);
+	}
+
+	private <T> List<T> doFindAndDeleteInternal(String collectionName, Query query, Class<T> entityClass) {
+
 		List<T> result = find(query, entityClass, collectionName);
 
 		if (!CollectionUtils.isEmpty(result)) {
@@ -2114,6 +2718,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <O> AggregationResults<O> doAggregate(Aggregation aggregation, String collectionName, Class<O> outputType,
 			AggregationOperationContext context) {
 
+		if (shouldObserve()) {
+			return observe("aggregate", collectionName, outputType,
+					() -> doAggregateInternal(aggregation, collectionName, outputType, context));
+		}
+
+		return doAggregateInternal(aggregation, collectionName, outputType, context);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private <O> AggregationResults<O> doAggregateInternal(Aggregation aggregation, String collectionName,
+			Class<O> outputType, AggregationOperationContext context) {
+
 		ReadDocumentCallback<O> callback = new ReadDocumentCallback<>(mongoConverter, outputType, collectionName);
 
 		AggregationOptions options = aggregation.getOptions();
@@ -2195,6 +2811,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		Assert.notNull(outputType, "Output type must not be null!");
 		Assert.isTrue(!aggregation.getOptions().isExplain(), "Can't use explain option with streaming!");
 
+		if (shouldObserve()) {
+			return observe("aggregateStream", collectionName, outputType,
+					() -> aggregateStreamInternal(aggregation, collectionName, outputType, context));
+		}
+
+		return aggregateStreamInternal(aggregation, collectionName, outputType, context);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private <O> CloseableIterator<O> aggregateStreamInternal(Aggregation aggregation, String collectionName,
+			Class<O> outputType, @Nullable AggregationOperationContext context) {
+
 		AggregationDefinition aggregationDefinition = queryOperations.createAggregation(aggregation, context);
 
 		AggregationOptions options = aggregation.getOptions();
@@ -2226,6 +2854,22 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 					.map(Collation::toMongoCollation) //
 					.ifPresent(cursor::collation);
 
+			if (options.hasExecutionTimeLimit()) {
+				cursor = cursor.maxTime(options.getMaxTime().toMillis(), TimeUnit.MILLISECONDS);
+			}
+
+			// conversion may resolve DBRefs that must run within the session or transaction of the calling thread
+			if (options.getConversionParallelism() > 1 && getBoundSession() == null
+					&& !MongoDatabaseUtils.isTransactionActive(mongoDbFactory)) {
+
+				int batchSize = options.getCursorBatchSize() != null && options.getCursorBatchSize() > 0
+						? options.getCursorBatchSize()
+						: DEFAULT_CONVERSION_BATCH_SIZE;
+
+				return new BatchConvertingCursorAdapter<>(cursor.iterator(), exceptionTranslator, readCallback,
+						batchSize, options.getConversionParallelism(), conversionExecutor);
+			}
+
 			return new CloseableIterableCursorAdapter<>(cursor, exceptionTranslator, readCallback);
 		});
 	}
@@ -2343,7 +2987,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <E extends MongoMappingEvent<T>, T> E maybeEmitEvent(E event) {
 
 		if (eventPublisher != null) {
-			eventPublisher.publishEvent(event);
+
+			OperationRecorder.enter(OperationPhase.CALLBACKS);
+			try {
+				eventPublisher.publishEvent(event);
+			} finally {
+				OperationRecorder.exit();
+			}
 		}
 
 		return event;
@@ -2352,7 +3002,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T maybeCallBeforeConvert(T object, String collection) {
 
 		if (entityCallbacks != null) {
-			return entityCallbacks.callback(BeforeConvertCallback.class, object, collection);
+
+			OperationRecorder.enter(OperationPhase.CALLBACKS);
+			try {
+				return entityCallbacks.callback(BeforeConvertCallback.class, object, collection);
+			} finally {
+				OperationRecorder.exit();
+			}
 		}
 
 		return object;
@@ -2361,7 +3017,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T maybeCallBeforeSave(T object, Document document, String collection) {
 
 		if (entityCallbacks != null) {
-			return entityCallbacks.callback(BeforeSaveCallback.class, object, document, collection);
+
+			OperationRecorder.enter(OperationPhase.CALLBACKS);
+			try {
+				return entityCallbacks.callback(BeforeSaveCallback.class, object, document, collection);
+			} finally {
+				OperationRecorder.exit();
+			}
 		}
 
 		return object;
@@ -2370,7 +3032,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T maybeCallAfterSave(T object, Document document, String collection) {
 
 		if (entityCallbacks != null) {
-			return entityCallbacks.callback(AfterSaveCallback.class, object, document, collection);
+
+			OperationRecorder.enter(OperationPhase.CALLBACKS);
+			try {
+				return entityCallbacks.callback(AfterSaveCallback.class, object, document, collection);
+			} finally {
+				OperationRecorder.exit();
+			}
 		}
 
 		return object;
@@ -2379,7 +3047,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T maybeCallAfterConvert(T object, Document document, String collection) {
 
 		if (entityCallbacks != null) {
-			return entityCallbacks.callback(AfterConvertCallback.class, object, document, collection);
+
+			OperationRecorder.enter(OperationPhase.CALLBACKS);
+			try {
+				return entityCallbacks.callback(AfterConvertCallback.class, object, document, collection);
+			} finally {
+				OperationRecorder.exit();
+			}
 		}
 
 		return object;
@@ -2470,6 +3144,18 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T doFindOne(String collectionName, Document query, Document fields, CursorPreparer preparer,
 			Class<T> entityClass) {
 
+		if (shouldObserve()) {
+			return observe("findOne", collectionName, entityClass,
+					() -> doFindOneInternal(collectionName, query, fields, preparer, entityClass));
+		}
+
+		return doFindOneInternal(collectionName, query, fields, preparer, entityClass);
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	private <T> T doFindOneInternal(String collectionName, Document query, Document fields, CursorPreparer preparer,
+			Class<T> entityClass) {
+
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
 
 		QueryContext queryContext = queryOperations.createQueryContext(new BasicQuery(query, fields));
@@ -2522,6 +3208,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <S, T> List<T> doFind(String collectionName, Document query, Document fields, Class<S> entityClass,
 			@Nullable CursorPreparer preparer, DocumentCallback<T> objectCallback) {
 
+		if (shouldObserve()) {
+			return observe("find", collectionName, entityClass,
+					() -> doFindInternal(collectionName, query, fields, entityClass, preparer, objectCallback));
+		}
+
+		return doFindInternal(collectionName, query, fields, entityClass, preparer, objectCallback);
+	}
+
+	private <S, T> List<T> doFindInternal(String collectionName, Document query, Document fields, Class<S> entityClass,
+			@Nullable CursorPreparer preparer, DocumentCallback<T> objectCallback) {
+
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
 
 		QueryContext queryContext = queryOperations.createQueryContext(new BasicQuery(query, fields));
@@ -2546,6 +3243,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	<S, T> List<T> doFind(String collectionName, Document query, Document fields, Class<S> sourceClass,
 			Class<T> targetClass, CursorPreparer preparer) {
 
+		if (shouldObserve()) {
+			return observe("find", collectionName, sourceClass,
+					() -> doFindInternal(collectionName, query, fields, sourceClass, targetClass, preparer));
+		}
+
+		return doFindInternal(collectionName, query, fields, sourceClass, targetClass, preparer);
+	}
+
+	private <S, T> List<T> doFindInternal(String collectionName, Document query, Document fields, Class<S> sourceClass,
+			Class<T> targetClass, CursorPreparer preparer) {
+
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(sourceClass);
 
 		QueryContext queryContext = queryOperations.createQueryContext(new BasicQuery(query, fields));
@@ -2640,6 +3348,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T doFindAndRemove(String collectionName, Document query, Document fields, Document sort,
 			@Nullable Collation collation, Class<T> entityClass) {
 
+		recordWrite();
+
 		EntityReader<? super T, Bson> readerToUse = this.mongoConverter;
 
 		if (LOGGER.isDebugEnabled()) {
@@ -2658,6 +3368,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	protected <T> T doFindAndModify(String collectionName, Document query, Document fields, Document sort,
 			Class<T> entityClass, UpdateDefinition update, @Nullable FindAndModifyOptions options) {
 
+		recordWrite();
+
 		EntityReader<? super T, Bson> readerToUse = this.mongoConverter;
 
 		if (options == null) {
@@ -2706,6 +3418,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			Document mappedSort, @Nullable com.mongodb.client.model.Collation collation, Class<?> entityType,
 			Document replacement, FindAndReplaceOptions options, Class<T> resultType) {
 
+		recordWrite();
+
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug(
 					"findAndReplace using query: {} fields: {} sort: {} for class: {} and replacement: {} " + "in collection: {}",
@@ -2758,13 +3472,27 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	private <T> T executeFindOneInternal(CollectionCallback<Document> collectionCallback,
 			DocumentCallback<T> objectCallback, String collectionName) {
 
+		OperationRecorder.enter(OperationPhase.SERVER);
 		try {
 
-			T result = objectCallback
-					.doWith(collectionCallback.doInCollection(getAndPrepareCollection(doGetDatabase(), collectionName)));
+			MongoCollection<Document> collection = getAndPrepareCollection(doGetDatabase(), collectionName);
+
+			if (slowQueryReporter == null) {
+				return objectCallback.doWith(collectionCallback.doInCollection(collection));
+			}
+
+			SlowQueryReporter.Tracker tracker = slowQueryReporter.start(collection);
+			T result = tracker.convert(collectionCallback.doInCollection(tracker.getCollection()), objectCallback::doWith);
+
+			if (tracker.stop()) {
+				reportSlowQuery(tracker, collectionName, collectionCallback, CursorPreparer.NO_OP_PREPARER);
+			}
+
 			return result;
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
@@ -2789,21 +3517,31 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 	private <T> List<T> executeFindMultiInternal(CollectionCallback<FindIterable<Document>> collectionCallback,
 			CursorPreparer preparer, DocumentCallback<T> objectCallback, String collectionName) {
 
+		OperationRecorder.enter(OperationPhase.SERVER);
 		try {
 
 			MongoCursor<Document> cursor = null;
 
 			try {
 
+				MongoCollection<Document> collection = getAndPrepareCollection(doGetDatabase(), collectionName);
+				SlowQueryReporter.Tracker tracker = slowQueryReporter != null ? slowQueryReporter.start(collection) : null;
+
 				cursor = preparer
-						.initiateFind(getAndPrepareCollection(doGetDatabase(), collectionName), collectionCallback::doInCollection)
+						.initiateFind(tracker != null ? tracker.getCollection() : collection, collectionCallback::doInCollection)
 						.iterator();
 
 				List<T> result = new ArrayList<>();
 
 				while (cursor.hasNext()) {
 					Document object = cursor.next();
-					result.add(objectCallback.doWith(object));
+					result.add(tracker != null //
+							? tracker.convert(object, objectCallback::doWith) //
+							: objectCallback.doWith(object));
+				}
+
+				if (tracker != null && tracker.stop()) {
+					reportSlowQuery(tracker, collectionName, collectionCallback, preparer);
 				}
 
 				return result;
@@ -2815,12 +3553,51 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			}
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
+	private void reportSlowQuery(SlowQueryReporter.Tracker tracker, String collectionName,
+			CollectionCallback<?> collectionCallback, CursorPreparer preparer) {
+
+		Document filter = new Document();
+		Document projection = new Document();
+		Document sort = new Document();
+		CursorPreparer preparerToUse = preparer;
+
+		if (collectionCallback instanceof FindCallback) {
+
+			filter = ((FindCallback) collectionCallback).query;
+			projection = ((FindCallback) collectionCallback).fields;
+		} else if (collectionCallback instanceof FindOneCallback) {
+
+			FindOneCallback findOneCallback = (FindOneCallback) collectionCallback;
+
+			filter = findOneCallback.query;
+			projection = findOneCallback.fields.orElseGet(Document::new);
+			preparerToUse = findOneCallback.cursorPreparer;
+		}
+
+		if (preparerToUse instanceof QueryCursorPreparer) {
+
+			QueryCursorPreparer queryCursorPreparer = (QueryCursorPreparer) preparerToUse;
+			Document mappedSort = queryCursorPreparer.type != null
+					? getMappedSortObject(queryCursorPreparer.query, queryCursorPreparer.type)
+					: queryCursorPreparer.query.getSortObject();
+
+			if (mappedSort != null) {
+				sort = mappedSort;
+			}
+		}
+
+		tracker.report(collectionName, filter, sort, projection, eventPublisher);
+	}
+
 	private void executeQueryInternal(CollectionCallback<FindIterable<Document>> collectionCallback,
 			CursorPreparer preparer, DocumentCallbackHandler callbackHandler, String collectionName) {
 
+		OperationRecorder.enter(OperationPhase.SERVER);
 		try {
 
 			MongoCursor<Document> cursor = null;
@@ -2841,6 +3618,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			}
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
@@ -2848,6 +3627,19 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		return exceptionTranslator;
 	}
 
+	/**
+	 * @return {@literal true} if an {@link MongoOperationObserver} is configured and the current thread is not already
+	 *         recording an operation.
+	 */
+	private boolean shouldObserve() {
+		return operationObserver != null && !OperationRecorder.isRecording();
+	}
+
+	private <T> T observe(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+			Supplier<T> action) {
+		return OperationRecorder.observe(operationObserver, operation, collectionName, entityType, action);
+	}
+
 	@Nullable
 	private MongoPersistentEntity<?> getPersistentEntity(@Nullable Class<?> type) {
 		return type != null ? mappingContext.getPersistentEntity(type) : null;
@@ -3468,6 +4260,141 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 		}
 	}
 
+	/**
+	 * {@link CloseableIterator} reading documents from a {@link MongoCursor} in batches and converting each batch using
+	 * the calling thread and up to {@code parallelism - 1} tasks on the given {@link Executor} while retaining the result
+	 * order. Only the current batch is held in memory.
+	 *
+	 * @since 3.2
+	 */
+	static class BatchConvertingCursorAdapter<T> implements CloseableIterator<T> {
+
+		private volatile @Nullable MongoCursor<Document> cursor;
+		private final PersistenceExceptionTranslator exceptionTranslator;
+		private final DocumentCallback<T> objectReadCallback;
+		private final int batchSize;
+		private final int parallelism;
+		private final Executor executor;
+
+		private Iterator<T> batch = Collections.emptyIterator();
+
+		BatchConvertingCursorAdapter(MongoCursor<Document> cursor, PersistenceExceptionTranslator exceptionTranslator,
+				DocumentCallback<T> objectReadCallback, int batchSize, int parallelism, Executor executor) {
+
+			this.cursor = cursor;
+			this.exceptionTranslator = exceptionTranslator;
+			this.objectReadCallback = objectReadCallback;
+			this.batchSize = batchSize;
+			this.parallelism = parallelism;
+			this.executor = executor;
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (batch.hasNext()) {
+				return true;
+			}
+
+			MongoCursor<Document> cursor = this.cursor;
+
+			if (cursor == null) {
+				return false;
+			}
+
+			try {
+
+				List<Document> documents = new ArrayList<>(batchSize);
+
+				while (documents.size() < batchSize && cursor.hasNext()) {
+					documents.add(cursor.next());
+				}
+
+				batch = convert(documents).iterator();
+				return batch.hasNext();
+			} catch (RuntimeException ex) {
+				throw potentiallyConvertRuntimeException(ex, exceptionTranslator);
+			}
+		}
+
+		@Nullable
+		@Override
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return batch.next();
+		}
+
+		@Override
+		public void close() {
+
+			MongoCursor<Document> c = cursor;
+
+			try {
+
+				if (c != null) {
+					c.close();
+				}
+			} catch (RuntimeException ex) {
+				throw potentiallyConvertRuntimeException(ex, exceptionTranslator);
+			} finally {
+				cursor = null;
+				batch = Collections.emptyIterator();
+			}
+		}
+
+		private List<T> convert(List<Document> documents) {
+
+			int slices = Math.min(parallelism, documents.size());
+
+			if (slices <= 1) {
+				return convert(documents, 0, documents.size());
+			}
+
+			int sliceSize = (documents.size() + slices - 1) / slices;
+			List<CompletableFuture<List<T>>> futures = new ArrayList<>(slices - 1);
+
+			for (int start = sliceSize; start < documents.size(); start += sliceSize) {
+
+				int from = start;
+				int to = Math.min(documents.size(), start + sliceSize);
+				futures.add(CompletableFuture.supplyAsync(() -> convert(documents, from, to), executor));
+			}
+
+			List<T> result = new ArrayList<>(documents.size());
+			result.addAll(convert(documents, 0, sliceSize));
+
+			try {
+				for (CompletableFuture<List<T>> future : futures) {
+					result.addAll(future.join());
+				}
+			} catch (CompletionException ex) {
+
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+
+				throw ex;
+			}
+
+			return result;
+		}
+
+		private List<T> convert(List<Document> documents, int from, int to) {
+
+			List<T> converted = new ArrayList<>(to - from);
+
+			for (int i = from; i < to; i++) {
+				converted.add(objectReadCallback.doWith(documents.get(i)));
+			}
+
+			return converted;
+		}
+	}
+
 	/**
 	 * @deprecated since 3.1.4. Use {@link #getMongoDatabaseFactory()} instead.
 	 * @return the {@link MongoDatabaseFactory} in use.
@@ -3533,5 +4460,25 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware,
 			// native MongoDB objects that offer methods with ClientSession must not be proxied.
 			return delegate.getDb();
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.MongoTemplate#collapsingFindOps(int, java.time.Duration)
+		 */
+		@Override
+		public CollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+
+			// lookups of other callers must not run within the bound session.
+			return new NonCollapsingFindOperations(this);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.MongoTemplate#getBoundSession()
+		 */
+		@Override
+		ClientSession getBoundSession() {
+			return session;
+		}
 	}
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link ReactiveCollapsingFindOperations} running each lookup as plain
+ * {@link ReactiveMongoOperations#findById(Object, Class)}.
+ *
+ * @since 3.2
+ */
+class NonCollapsingReactiveFindOperations implements ReactiveCollapsingFindOperations {
+
+	private final ReactiveMongoOperations operations;
+
+	/**
+	 * Creates a new {@link NonCollapsingReactiveFindOperations}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 */
+	NonCollapsingReactiveFindOperations(ReactiveMongoOperations operations) {
+
+		Assert.notNull(operations, "ReactiveMongoOperations must not be null!");
+
+		this.operations = operations;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveCollapsingFindOperations#findById(java.lang.Object, java.lang.Class)
+	 */
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass) {
+		return operations.findById(id, entityClass);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveCollapsingFindOperations#findById(java.lang.Object, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass, String collectionName) {
+		return operations.findById(id, entityClass, collectionName);
+	}
+}
@@ -16,7 +16,9 @@
 package org.springframework.data.mongodb.core;
 
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.function.Consumer;
 
@@ -25,6 +27,7 @@ import org.bson.BsonValue;
 import org.springframework.data.mongodb.core.ChangeStreamOptions.ChangeStreamOptionsBuilder;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.util.Assert;
 
 /**
  * {@link ReactiveChangeStreamOperation} allows creation and execution of reactive MongoDB
@@ -75,6 +78,29 @@ public interface ReactiveChangeStreamOperation {
 		 * However, the stream may become dead, or invalid, if all watched collections, databases are dropped.
 		 */
 		Flux<ChangeStreamEvent<T>> listen();
+
+		/**
+		 * Start listening to changes emitting events in batches of up to {@code size} events. A batch is emitted once
+		 * it is full or {@code maxWait} has elapsed since its first event arrived. Events are read only on downstream
+		 * demand so a slow consumer does not cause events to pile up in memory. Implementations may set the server batch
+		 * size to {@code size} unless {@link ChangeStreamOptionsBuilder#batchSize(int) configured} otherwise so that
+		 * batches align with server responses. Use {@link ChangeStreamEventBatch#getResumeToken()} to resume after the
+		 * last fully processed batch.
+		 *
+		 * @param size the maximum number of events per batch. Must be greater than zero.
+		 * @param maxWait the maximum time to wait for a batch to fill up. Must not be {@literal null} nor negative.
+		 * @return never {@literal null}.
+		 * @since 3.2
+		 */
+		default Flux<ChangeStreamEventBatch<T>> listenBatched(int size, Duration maxWait) {
+
+			Assert.isTrue(size > 0, "Size must be greater than zero!");
+			Assert.notNull(maxWait, "MaxWait must not be null!");
+			Assert.isTrue(!maxWait.isNegative(), "MaxWait must not be negative!");
+
+			return Flux.defer(() -> BatchingSubscriber.batch(listen(), size, maxWait, Schedulers.parallel())) //
+					.map(ChangeStreamEventBatch::new);
+		}
 	}
 
 	/**
@@ -16,7 +16,9 @@
 package org.springframework.data.mongodb.core;
 
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Consumer;
@@ -197,6 +199,25 @@ class ReactiveChangeStreamOperationSupport implements ReactiveChangeStreamOperat
 			return template.changeStream(collection, options != null ? options : ChangeStreamOptions.empty(), returnType);
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.ReactiveChangeStreamOperation.TerminatingChangeStream#listenBatched(int, java.time.Duration)
+		 */
+		@Override
+		public Flux<ChangeStreamEventBatch<T>> listenBatched(int size, Duration maxWait) {
+
+			Assert.isTrue(size > 0, "Size must be greater than zero!");
+			Assert.notNull(maxWait, "MaxWait must not be null!");
+			Assert.isTrue(!maxWait.isNegative(), "MaxWait must not be negative!");
+
+			ReactiveChangeStreamSupport<T> changeStream = options != null && options.getBatchSize().isPresent() ? this
+					: withOptions(builder -> builder.batchSize(size));
+
+			return Flux
+					.defer(() -> BatchingSubscriber.batch(changeStream.listen(), size, maxWait, Schedulers.parallel())) //
+					.map(ChangeStreamEventBatch::new);
+		}
+
 		private ChangeStreamOptionsBuilder initOptionsBuilder() {
 
 			ChangeStreamOptionsBuilder builder = ChangeStreamOptions.builder();
@@ -213,6 +234,8 @@ class ReactiveChangeStreamOperationSupport implements ReactiveChangeStreamOperat
 			});
 			options.getFullDocumentLookup().ifPresent(builder::fullDocumentLookup);
 			options.getCollation().ifPresent(builder::collation);
+			options.getBatchSize().ifPresent(builder::batchSize);
+			options.getMaxAwaitTime().ifPresent(builder::maxAwaitTime);
 
 			if (options.isResumeAfter()) {
 				options.getResumeToken().ifPresent(builder::resumeAfter);
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Request-collapsing front-end for {@link ReactiveMongoOperations#findById(Object, Class) findById} lookups. Lookups
+ * subscribed to concurrently for the same collection and entity type within a short window are gathered and run as a
+ * single {@code _id $in} query. Each subscriber receives the entity matching its id.
+ * <p />
+ * Lookups run the same mapping events and entity callbacks as {@link ReactiveMongoOperations#findById(Object, Class)}.
+ * A batch runs with the {@link reactor.util.context.Context} of the subscriber triggering it. Lookups subscribed to
+ * with a {@link com.mongodb.reactivestreams.client.ClientSession session} in the context, while a transaction is active
+ * or through a session-bound template are not collapsed and run as plain {@code findById}.
+ *
+ * <pre class="code">
+ * ReactiveCollapsingFindOperations collapsing = template.collapsingFindOps(100, Duration.ofMillis(2));
+ *
+ * Mono&lt;Person&gt; person = collapsing.findById(id, Person.class);
+ * </pre>
+ *
+ * @since 3.2
+ * @see ReactiveMongoOperations#collapsingFindOps(int, java.time.Duration)
+ */
+public interface ReactiveCollapsingFindOperations {
+
+	/**
+	 * Look up the entity with the given id from the collection of the given type. The lookup is queued upon
+	 * subscription.
+	 *
+	 * @param id the id of the document to return. Must not be {@literal null}.
+	 * @param entityClass the type the document shall be converted into. Must not be {@literal null}.
+	 * @return a {@link Mono} emitting the converted entity or completing empty if no document with the given id exists.
+	 */
+	<T> Mono<T> findById(Object id, Class<T> entityClass);
+
+	/**
+	 * Look up the entity with the given id from the given collection. The lookup is queued upon subscription.
+	 *
+	 * @param id the id of the document to return. Must not be {@literal null}.
+	 * @param entityClass the type the document shall be converted into. Must not be {@literal null}.
+	 * @param collectionName name of the collection to look up the document in. Must not be {@literal null}.
+	 * @return a {@link Mono} emitting the converted entity or completing empty if no document with the given id exists.
+	 */
+	<T> Mono<T> findById(Object id, Class<T> entityClass, String collectionName);
+}
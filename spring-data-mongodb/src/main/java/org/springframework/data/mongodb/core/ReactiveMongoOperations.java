@@ -18,6 +18,7 @@ package org.springframework.data.mongodb.core;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -30,6 +31,7 @@ import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.PreparedAggregation;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
@@ -246,6 +248,24 @@ public interface ReactiveMongoOperations extends ReactiveFluentMongoOperations {
 	@Deprecated
 	ReactiveSessionScoped inTransaction(Publisher<ClientSession> sessionProvider);
 
+	/**
+	 * Run the given {@link ReactiveSessionCallback} within a MongoDB transaction on a new {@link ClientSession}
+	 * retrying according to the given {@link TransactionRetryPolicy}. Errors labeled {@code TransientTransactionError}
+	 * abort the transaction and run the callback again within a new transaction. Commits failing with an
+	 * {@code UnknownTransactionCommitResult} label are retried without running the callback again.
+	 * <p/>
+	 * Elements emitted by the callback are buffered and emitted once the transaction is committed so that subscribers
+	 * never observe results of an aborted attempt. The callback may be invoked multiple times and must therefore be
+	 * idempotent apart from the operations issued through the given {@link ReactiveMongoOperations}.
+	 *
+	 * @param action the callback to run. Must not be {@literal null}.
+	 * @param retryPolicy must not be {@literal null}.
+	 * @param <T> element type.
+	 * @return a {@link Flux} emitting the results of the committed callback invocation.
+	 * @since 3.2
+	 */
+	<T> Flux<T> inTransaction(ReactiveSessionCallback<T> action, TransactionRetryPolicy retryPolicy);
+
 	/**
 	 * Create an uncapped collection with a name based on the provided entity class.
 	 *
@@ -486,6 +506,22 @@ public interface ReactiveMongoOperations extends ReactiveFluentMongoOperations {
 	 */
 	<T> Mono<T> findById(Object id, Class<T> entityClass, String collectionName);
 
+	/**
+	 * Returns a new {@link ReactiveCollapsingFindOperations} gathering {@code findById} lookups subscribed to
+	 * concurrently for the same collection and entity type into a single {@code _id $in} query. A batch is run once it
+	 * contains {@code maxBatchSize} lookups or {@code window} elapsed since its first lookup was queued.
+	 * <p />
+	 * The default implementation does not collapse lookups and runs each lookup as {@link #findById(Object, Class)}.
+	 *
+	 * @param maxBatchSize the maximum number of ids per query. Must be greater than zero.
+	 * @param window the maximum time to gather lookups. Must not be {@literal null} or negative.
+	 * @return new instance of {@link ReactiveCollapsingFindOperations}.
+	 * @since 3.2
+	 */
+	default ReactiveCollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+		return new NonCollapsingReactiveFindOperations(this);
+	}
+
 	/**
 	 * Finds the distinct values for a specified {@literal field} across a single {@link MongoCollection} or view and
 	 * returns the results in a {@link Flux}.
@@ -622,6 +658,21 @@ public interface ReactiveMongoOperations extends ReactiveFluentMongoOperations {
 	 */
 	<O> Flux<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType);
 
+	/**
+	 * Render the given {@link TypedAggregation} into a {@link PreparedAggregation} that can be executed many times with
+	 * different values bound to its {@link org.springframework.data.mongodb.core.aggregation.AggregationParameter
+	 * parameters}. Field references are mapped against the input type once so that executions only bind values.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @return the {@link PreparedAggregation}.
+	 * @since 3.2
+	 * @see org.springframework.data.mongodb.core.aggregation.Aggregation#parameter(String)
+	 */
+	default <I> PreparedAggregation<I> prepareAggregation(TypedAggregation<I> aggregation) {
+		return AggregationUtil.prepareAggregation(aggregation, getConverter());
+	}
+
 	/**
 	 * Returns {@link Flux} of {@link GeoResult} for all entities matching the given {@link NearQuery}. Will consider
 	 * entity mapping information to determine the collection the query is ran against. Note, that MongoDB limits the
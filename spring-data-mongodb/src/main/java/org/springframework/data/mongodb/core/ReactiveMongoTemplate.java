@@ -21,11 +21,14 @@ import org.springframework.data.mongodb.core.QueryOperations.AggregationDefiniti
 import org.springframework.data.mongodb.core.aggregation.RelaxedTypeBasedAggregationOperationContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -92,7 +95,13 @@ import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.mapping.MongoSimpleTypes;
 import org.springframework.data.mongodb.core.mapping.event.*;
+import org.springframework.data.mongodb.core.mapping.metadata.PrecomputedIndexResolver;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver;
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver.ReadAttempt;
+import org.springframework.data.mongodb.core.metrics.MongoOperationObserver;
+import org.springframework.data.mongodb.core.metrics.ReactiveOperationRecorder;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Meta;
@@ -118,6 +127,8 @@ import com.mongodb.ClientSessionOptions;
 import com.mongodb.CursorType;
 import com.mongodb.MongoException;
 import com.mongodb.ReadPreference;
+import com.mongodb.ReadPreferenceHedgeOptions;
+import com.mongodb.TaggableReadPreference;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.model.*;
 import com.mongodb.client.model.changestream.FullDocument;
@@ -157,6 +168,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveMongoTemplate.class);
 	private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
+	private static final int DEFAULT_CONVERSION_BATCH_SIZE = 100;
 	private static final Collection<Class<?>> ITERABLE_CLASSES;
 
 	static {
@@ -187,9 +199,11 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 	private WriteConcernResolver writeConcernResolver = DefaultWriteConcernResolver.INSTANCE;
 	private WriteResultChecking writeResultChecking = WriteResultChecking.NONE;
 	private @Nullable ReadPreference readPreference;
+	private @Nullable HedgedReadOptions hedgedReads;
 	private @Nullable ApplicationEventPublisher eventPublisher;
 	private @Nullable ReactiveEntityCallbacks entityCallbacks;
 	private @Nullable ReactiveMongoPersistentEntityIndexCreator indexCreator;
+	private @Nullable MongoOperationObserver operationObserver;
 
 	private SessionSynchronization sessionSynchronization = SessionSynchronization.ON_ACTUAL_TRANSACTION;
 
@@ -260,7 +274,8 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			MongoMappingContext mongoMappingContext = (MongoMappingContext) this.mappingContext;
 
 			if (mongoMappingContext.isAutoIndexCreation()) {
-				this.indexCreator = new ReactiveMongoPersistentEntityIndexCreator(mongoMappingContext, this::indexOps);
+				this.indexCreator = new ReactiveMongoPersistentEntityIndexCreator(mongoMappingContext, this::indexOps,
+						PrecomputedIndexResolver.create(mongoMappingContext));
 				this.eventPublisher = new MongoMappingEventPublisher(this.indexCreatorListener);
 
 				mongoMappingContext.setApplicationEventPublisher(this.eventPublisher);
@@ -286,6 +301,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		this.propertyOperations = that.propertyOperations;
 		this.sessionSynchronization = that.sessionSynchronization;
 		this.queryOperations = that.queryOperations;
+		this.operationObserver = that.operationObserver;
 	}
 
 	private void onCheckForIndexes(MongoPersistentEntity<?> entity, Consumer<Throwable> subscriptionExceptionHandler) {
@@ -338,6 +354,30 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		this.readPreference = readPreference;
 	}
 
+	/**
+	 * Configure {@link HedgedReadOptions} to hedge {@code find} and {@code findOne} operations with a duplicate read if
+	 * the initial read has not answered within {@link HedgedReadOptions#getDelay() the delay}. Session-bound templates
+	 * do not hedge reads. Setting {@literal null} disables hedged reads.
+	 *
+	 * @param hedgedReads can be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setHedgedReads(@Nullable HedgedReadOptions hedgedReads) {
+		this.hedgedReads = hedgedReads;
+	}
+
+	/**
+	 * Configures the {@link MongoOperationObserver} to be notified about the timing of operations performed through
+	 * this template. Reactive operations are timed from subscription until completion, error or cancellation.
+	 *
+	 * @param operationObserver can be {@literal null} to disable operation recording.
+	 * @since 3.2
+	 * @see org.springframework.data.mongodb.core.metrics.MicrometerMongoOperationObserver
+	 */
+	public void setOperationObserver(@Nullable MongoOperationObserver operationObserver) {
+		this.operationObserver = operationObserver;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -569,6 +609,78 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		};
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#inTransaction(org.springframework.data.mongodb.core.ReactiveSessionCallback, org.springframework.data.mongodb.core.TransactionRetryPolicy)
+	 */
+	@Override
+	public <T> Flux<T> inTransaction(ReactiveSessionCallback<T> action, TransactionRetryPolicy retryPolicy) {
+
+		Assert.notNull(action, "ReactiveSessionCallback must not be null!");
+		Assert.notNull(retryPolicy, "TransactionRetryPolicy must not be null!");
+
+		ClientSessionOptions sessionOptions = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+		return Mono.from(mongoDatabaseFactory.getSession(sessionOptions)) //
+				.flatMapMany(session -> doInTransaction(session, action, retryPolicy, 1) //
+						.flatMapIterable(Function.identity()) //
+						.doFinally(signalType -> session.close()));
+	}
+
+	private <T> Mono<List<T>> doInTransaction(ClientSession session, ReactiveSessionCallback<T> action,
+			TransactionRetryPolicy retryPolicy, int attempt) {
+
+		return Mono.defer(() -> {
+
+			session.startTransaction(retryPolicy.getTransactionOptions());
+
+			return withSession(action, session).collectList() //
+					.flatMap(result -> commitTransaction(session, retryPolicy, 1).thenReturn(result));
+		}).onErrorResume(error -> abortTransaction(session, error).then(Mono.defer(() -> {
+
+			retryPolicy.onAbort(error);
+
+			if (!retryPolicy.shouldRetryTransaction(attempt, error)) {
+				return Mono.error(error);
+			}
+
+			return backoff(retryPolicy, RetryScope.TRANSACTION, attempt, error)
+					.then(doInTransaction(session, action, retryPolicy, attempt + 1));
+		})));
+	}
+
+	private Mono<Void> commitTransaction(ClientSession session, TransactionRetryPolicy retryPolicy, int attempt) {
+
+		return Mono.from(session.commitTransaction()).onErrorResume(error -> {
+
+			if (!retryPolicy.shouldRetryCommit(attempt, error)) {
+				return Mono.error(translateException().apply(error));
+			}
+
+			return backoff(retryPolicy, RetryScope.COMMIT, attempt, error)
+					.then(commitTransaction(session, retryPolicy, attempt + 1));
+		});
+	}
+
+	private static Mono<Void> abortTransaction(ClientSession session, Throwable cause) {
+
+		return Mono.defer(() -> session.hasActiveTransaction() //
+				? Mono.from(session.abortTransaction()).onErrorResume(error -> {
+
+					cause.addSuppressed(error);
+					return Mono.empty();
+				}) //
+				: Mono.empty());
+	}
+
+	private static Mono<Void> backoff(TransactionRetryPolicy retryPolicy, RetryScope scope, int attempt,
+			Throwable cause) {
+
+		return Mono.delay(retryPolicy.getBackoff(attempt)) //
+				.doOnNext(it -> retryPolicy.onRetry(scope, attempt, cause)) //
+				.then();
+	}
+
 	private <T> Flux<T> withSession(ReactiveSessionCallback<T> action, ClientSession session) {
 
 		ReactiveSessionBoundMongoTemplate operations = new ReactiveSessionBoundMongoTemplate(session,
@@ -881,6 +993,48 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		return doFindOne(collectionName, new Document(idKey, id), null, entityClass, (Collation) null);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#collapsingFindOps(int, java.time.Duration)
+	 */
+	@Override
+	public ReactiveCollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+		return new DefaultReactiveCollapsingFindOperations(this, maxBatchSize, window);
+	}
+
+	/**
+	 * Look up the entities with the given ids using a single {@code $in} query.
+	 *
+	 * @param collectionName the collection to query.
+	 * @param ids the ids to look up.
+	 * @param entityClass the entity type.
+	 * @return the entities in the order of the given {@code ids} containing {@literal null} for ids without a document.
+	 * @since 3.2
+	 */
+	<T> Mono<List<T>> doFindByIds(String collectionName, List<?> ids, Class<T> entityClass) {
+
+		String idKey = operations.getIdPropertyName(entityClass);
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
+		ReadDocumentCallback<T> callback = new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName);
+
+		return doFind(collectionName, new Document(idKey, new Document("$in", ids)), new Document(), entityClass,
+				FindPublisherPreparer.NO_OP_PREPARER,
+				document -> callback.doWith(document).map(it -> Tuples.of(document.get("_id"), it))) //
+						.collectMap(Tuple2::getT1, Tuple2::getT2) //
+						.map(entitiesById -> {
+
+							List<T> result = new ArrayList<>(ids.size());
+
+							for (Object id : ids) {
+
+								Document mappedId = queryMapper.getMappedObject(new Document(idKey, id), entity);
+								result.add(entitiesById.get(mappedId.get("_id")));
+							}
+
+							return result;
+						});
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.ReactiveMongoOperations#findDistinct(org.springframework.data.mongodb.core.query.Query, java.lang.String, java.lang.Class, java.lang.Class)
@@ -993,10 +1147,10 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		}
 
 		ReadDocumentCallback<O> readCallback = new ReadDocumentCallback<>(mongoConverter, outputType, collectionName);
-		return execute(collectionName,
+		return observe("aggregate", collectionName, inputType != null ? inputType : outputType, execute(collectionName,
 				collection -> aggregateAndMap(collection, ctx.getAggregationPipeline(), ctx.isOutOrMerge(), options,
 						readCallback,
-						ctx.getInputType()));
+						ctx.getInputType())));
 	}
 
 	private <O> Flux<O> aggregateAndMap(MongoCollection<Document> collection, List<Document> pipeline,
@@ -1025,6 +1179,20 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			return (isOutOrMerge ? Flux.from(cursor.toCollection()) : Flux.from(cursor.first())).thenMany(Mono.empty());
 		}
 
+		int parallelism = options.getConversionParallelism();
+
+		if (parallelism > 1) {
+
+			int batchSize = options.getCursorBatchSize() != null && options.getCursorBatchSize() > 0
+					? options.getCursorBatchSize()
+					: DEFAULT_CONVERSION_BATCH_SIZE;
+
+			return Flux.from(cursor) //
+					.buffer(Math.max(1, batchSize / parallelism)) //
+					.flatMapSequential(it -> Flux.fromIterable(it).concatMap(readCallback::doWith)
+							.subscribeOn(Schedulers.parallel()), parallelism);
+		}
+
 		return Flux.from(cursor).concatMap(readCallback::doWith);
 	}
 
@@ -1254,13 +1422,14 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 	 */
 	protected Mono<Long> doCount(String collectionName, Document filter, CountOptions options) {
 
-		return createMono(collectionName,
-				collection -> collection.countDocuments(CountQuery.of(filter).toQueryDocument(), options));
+		return observe("count", collectionName, null, createMono(collectionName,
+				collection -> collection.countDocuments(CountQuery.of(filter).toQueryDocument(), options)));
 	}
 
 	protected Mono<Long> doEstimatedCount(String collectionName, EstimatedDocumentCountOptions options) {
 
-		return createMono(collectionName, collection -> collection.estimatedDocumentCount(options));
+		return observe("estimatedCount", collectionName, null,
+				createMono(collectionName, collection -> collection.estimatedDocumentCount(options)));
 	}
 
 	/*
@@ -1322,7 +1491,8 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 	protected <T> Mono<T> doInsert(String collectionName, T objectToSave, MongoWriter<Object> writer) {
 
-		return Mono.just(PersistableEntityModel.of(objectToSave, collectionName)) //
+		return observe("insert", collectionName, ClassUtils.getUserClass(objectToSave),
+				Mono.just(PersistableEntityModel.of(objectToSave, collectionName)) //
 				.doOnNext(it -> maybeEmitEvent(new BeforeConvertEvent<>(it.getSource(), it.getCollection()))) //
 				.flatMap(it -> maybeCallBeforeConvert(it.getSource(), it.getCollection()).map(it::mutate)) //
 				.map(it -> {
@@ -1347,7 +1517,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 						maybeEmitEvent(new AfterSaveEvent<>(saved, it.getTarget(), collectionName));
 						return maybeCallAfterSave(saved, it.getTarget(), collectionName);
 					});
-				});
+				}));
 	}
 
 	/*
@@ -1431,7 +1601,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			return insertDocumentList(collectionName, documents).thenMany(Flux.fromIterable(tuples));
 		});
 
-		return insertDocuments.flatMap(tuple -> {
+		return observe("insertBatch", collectionName, null, insertDocuments.flatMap(tuple -> {
 
 			Document document = tuple.getT2();
 			Object id = MappedDocument.of(document).getId();
@@ -1439,7 +1609,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			T saved = tuple.getT1().populateIdIfNecessary(id);
 			maybeEmitEvent(new AfterSaveEvent<>(saved, document, collectionName));
 			return maybeCallAfterSave(saved, document, collectionName);
-		});
+		}));
 	}
 
 	/*
@@ -1532,7 +1702,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 		assertUpdateableIdIfNotSet(objectToSave);
 
-		return createMono(collectionName, collection -> {
+		return observe("save", collectionName, ClassUtils.getUserClass(objectToSave), createMono(collectionName, collection -> {
 
 			T toSave = maybeEmitEvent(new BeforeConvertEvent<T>(objectToSave, collectionName)).getSource();
 
@@ -1552,7 +1722,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					});
 				});
 			});
-		});
+		}));
 	}
 
 	protected Mono<Object> insertDocument(String collectionName, Document dbDoc, Class<?> entityClass) {
@@ -1838,7 +2008,8 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			}
 		});
 
-		return result.next();
+		return observe(upsert ? "upsert" : multi ? "updateMulti" : "updateFirst", collectionName, entityClass,
+				result.next());
 	}
 
 	private boolean containsVersionProperty(Document document, @Nullable MongoPersistentEntity<?> persistentEntity) {
@@ -1954,7 +2125,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 				null, removeQuery);
 		WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
 
-		return execute(collectionName, collection -> {
+		return observe("remove", collectionName, entityClass, execute(collectionName, collection -> {
 
 			maybeEmitEvent(new BeforeDeleteEvent<>(removeQuery, entityClass, collectionName));
 
@@ -1983,7 +2154,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			}
 
 		}).doOnNext(it -> maybeEmitEvent(new AfterDeleteEvent<>(queryObject, entityClass, collectionName))) //
-				.next();
+				.next());
 	}
 
 	/*
@@ -2084,6 +2255,12 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					publisher = options.getCollation().map(Collation::toMongoCollation).map(publisher::collation)
 							.orElse(publisher);
 					publisher = options.getResumeBsonTimestamp().map(publisher::startAtOperationTime).orElse(publisher);
+					publisher = options.getBatchSize().map(publisher::batchSize).orElse(publisher);
+
+					if (options.getMaxAwaitTime().isPresent()) {
+						publisher = publisher.maxAwaitTime(options.getMaxAwaitTime().get().toMillis(), TimeUnit.MILLISECONDS);
+					}
+
 					return publisher.fullDocument(options.getFullDocumentLookup().orElse(fullDocument));
 				}) //
 				.flatMapMany(publisher -> Flux.from(publisher)
@@ -2381,8 +2558,11 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					serializeToJsonSafely(query), mappedFields, entityClass, collectionName));
 		}
 
-		return executeFindOneInternal(new FindOneCallback(mappedQuery, mappedFields, preparer),
-				new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName), collectionName);
+		Flux<T> result = hedge(collectionName, preparer,
+				preparerToUse -> executeFindOneInternal(new FindOneCallback(mappedQuery, mappedFields, preparerToUse),
+						new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName), collectionName));
+
+		return observe("findOne", collectionName, entityClass, result.next());
 	}
 
 	/**
@@ -2433,8 +2613,9 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					serializeToJsonSafely(mappedQuery), mappedFields, entityClass, collectionName));
 		}
 
-		return executeFindMultiInternal(new FindCallback(mappedQuery, mappedFields), preparer, objectCallback,
-				collectionName);
+		return observe("find", collectionName, entityClass,
+				hedge(collectionName, preparer, preparerToUse -> executeFindMultiInternal(
+						new FindCallback(mappedQuery, mappedFields), preparerToUse, objectCallback, collectionName)));
 	}
 
 	/**
@@ -2457,8 +2638,103 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					serializeToJsonSafely(mappedQuery), mappedFields, sourceClass, collectionName);
 		}
 
-		return executeFindMultiInternal(new FindCallback(mappedQuery, mappedFields), preparer,
-				new ProjectingReadCallback<>(mongoConverter, sourceClass, targetClass, collectionName), collectionName);
+		DocumentCallback<T> objectCallback = new ProjectingReadCallback<>(mongoConverter, sourceClass, targetClass,
+				collectionName);
+
+		return hedge(collectionName, preparer, preparerToUse -> executeFindMultiInternal(
+				new FindCallback(mappedQuery, mappedFields), preparerToUse, objectCallback, collectionName));
+	}
+
+	/**
+	 * Run the given {@code read} hedging it with a duplicate read routed through
+	 * {@link HedgedReadOptions#getReadPreference()} or the read preference of the initial read with hedging enabled if
+	 * {@link #setHedgedReads(HedgedReadOptions) hedged reads} are configured and the initial read has not answered
+	 * within the delay. The first read to signal wins, the other read is cancelled. Reads using a query read preference,
+	 * reads within a transaction and reads whose effective read preference does not support hedging (such as
+	 * {@link ReadPreference#primary()}) are not hedged.
+	 *
+	 * @param collectionName the collection to read from.
+	 * @param preparer the preparer of the initial read.
+	 * @param read function creating a read for the given preparer.
+	 * @return the hedged read.
+	 */
+	private <T> Flux<T> hedge(String collectionName, @Nullable FindPublisherPreparer preparer,
+			Function<FindPublisherPreparer, Publisher<T>> read) {
+
+		FindPublisherPreparer preparerToUse = preparer != null ? preparer : FindPublisherPreparer.NO_OP_PREPARER;
+		HedgedReadOptions options = this.hedgedReads;
+
+		if (options == null || preparerToUse.hasReadPreference()) {
+			return Flux.from(read.apply(preparerToUse));
+		}
+
+		return ReactiveMongoDatabaseUtils.isTransactionActive(mongoDatabaseFactory).flatMapMany(transactionActive -> {
+
+			if (transactionActive) {
+				return read.apply(preparerToUse);
+			}
+
+			return getHedgeReadPreference(options).flatMapMany(readPreference -> {
+
+				if (!(readPreference instanceof TaggableReadPreference)) {
+					return read.apply(preparerToUse);
+				}
+
+				return hedge(collectionName, preparerToUse, read, options, readPreference);
+			});
+		});
+	}
+
+	private <T> Flux<T> hedge(String collectionName, FindPublisherPreparer preparerToUse,
+			Function<FindPublisherPreparer, Publisher<T>> read, HedgedReadOptions options,
+			ReadPreference readPreference) {
+
+		HedgedReadObserver observer = options.getObserver();
+		AtomicBoolean answered = new AtomicBoolean();
+
+		if (observer != null) {
+			observer.onRead(collectionName);
+		}
+
+		Flux<T> initial = Flux.from(read.apply(preparerToUse)) //
+				.doOnEach(signal -> onAnswer(collectionName, ReadAttempt.INITIAL, answered, observer));
+
+		FindPublisherPreparer hedgePreparer = new HedgingFindPublisherPreparer(preparerToUse, readPreference);
+
+		Flux<T> hedged = Mono.delay(options.getDelay()) //
+				.doOnNext(it -> {
+					if (observer != null) {
+						observer.onHedge(collectionName);
+					}
+				}) //
+				.thenMany(Flux.defer(() -> read.apply(hedgePreparer))) //
+				.doOnEach(signal -> onAnswer(collectionName, ReadAttempt.HEDGE, answered, observer));
+
+		return Flux.firstWithSignal(initial, hedged);
+	}
+
+	/**
+	 * Resolve the {@link ReadPreference} of the hedged read: {@link HedgedReadOptions#getReadPreference()} if
+	 * configured, otherwise the read preference of the initial read with hedging enabled.
+	 */
+	private Mono<ReadPreference> getHedgeReadPreference(HedgedReadOptions options) {
+
+		if (options.getReadPreference() != null) {
+			return Mono.just(options.getReadPreference());
+		}
+
+		Mono<ReadPreference> readPreference = this.readPreference != null ? Mono.just(this.readPreference)
+				: doGetDatabase().map(MongoDatabase::getReadPreference);
+
+		return readPreference.map(HedgingFindPublisherPreparer::withHedging);
+	}
+
+	private static void onAnswer(String collectionName, ReadAttempt attempt, AtomicBoolean answered,
+			@Nullable HedgedReadObserver observer) {
+
+		if (observer != null && answered.compareAndSet(false, true)) {
+			observer.onWin(collectionName, attempt);
+		}
 	}
 
 	private Document getMappedFieldsObject(Document fields, @Nullable MongoPersistentEntity<?> entity,
@@ -2544,9 +2820,9 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
 
-		return executeFindOneInternal(
+		return observe("findAndRemove", collectionName, entityClass, executeFindOneInternal(
 				new FindAndRemoveCallback(queryMapper.getMappedObject(query, entity), fields, sort, collation),
-				new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName), collectionName);
+				new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName), collectionName));
 	}
 
 	protected <T> Mono<T> doFindAndModify(String collectionName, Document query, Document fields, Document sort,
@@ -2556,7 +2832,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		UpdateContext updateContext = queryOperations.updateSingleContext(update, query, false);
 		updateContext.increaseVersionForUpdateIfNecessary(entity);
 
-		return Mono.defer(() -> {
+		return observe("findAndModify", collectionName, entityClass, Mono.defer(() -> {
 
 			Document mappedQuery = updateContext.getMappedQuery(entity);
 			Object mappedUpdate = updateContext.isAggregationUpdate() ? updateContext.getUpdatePipeline(entityClass)
@@ -2573,7 +2849,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					new FindAndModifyCallback(mappedQuery, fields, sort, mappedUpdate,
 							update.getArrayFilters().stream().map(ArrayFilter::asDocument).collect(Collectors.toList()), options),
 					new ReadDocumentCallback<>(this.mongoConverter, entityClass, collectionName), collectionName);
-		});
+		}));
 	}
 
 	/**
@@ -2596,7 +2872,7 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			Document mappedSort, com.mongodb.client.model.Collation collation, Class<?> entityType, Document replacement,
 			FindAndReplaceOptions options, Class<T> resultType) {
 
-		return Mono.defer(() -> {
+		return observe("findAndReplace", collectionName, entityType, Mono.defer(() -> {
 
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug(
@@ -2610,7 +2886,17 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 					new FindAndReplaceCallback(mappedQuery, mappedFields, mappedSort, replacement, collation, options),
 					new ProjectingReadCallback<>(this.mongoConverter, entityType, resultType, collectionName), collectionName);
 
-		});
+		}));
+	}
+
+	private <T> Mono<T> observe(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+			Mono<T> source) {
+		return ReactiveOperationRecorder.observe(operationObserver, operation, collectionName, entityType, source);
+	}
+
+	private <T> Flux<T> observe(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+			Flux<T> source) {
+		return ReactiveOperationRecorder.observe(operationObserver, operation, collectionName, entityType, source);
 	}
 
 	protected <E extends MongoMappingEvent<T>, T> E maybeEmitEvent(E event) {
@@ -3256,6 +3542,62 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 		}
 	}
 
+	/**
+	 * {@link FindPublisherPreparer} routing a hedged read through its own {@link ReadPreference} while preparing the
+	 * {@link FindPublisher} like the initial read.
+	 *
+	 * @since 3.2
+	 */
+	private static class HedgingFindPublisherPreparer implements FindPublisherPreparer {
+
+		private static final ReadPreferenceHedgeOptions HEDGE_OPTIONS = ReadPreferenceHedgeOptions.builder() //
+				.enabled(true) //
+				.build();
+
+		private final FindPublisherPreparer delegate;
+		private final ReadPreference readPreference;
+
+		HedgingFindPublisherPreparer(FindPublisherPreparer delegate, ReadPreference readPreference) {
+
+			this.delegate = delegate;
+			this.readPreference = readPreference;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.FindPublisherPreparer#initiateFind(com.mongodb.reactivestreams.client.MongoCollection, java.util.function.Function)
+		 */
+		@Override
+		public FindPublisher<Document> initiateFind(MongoCollection<Document> collection,
+				Function<MongoCollection<Document>, FindPublisher<Document>> find) {
+			return delegate.initiateFind(collection.withReadPreference(readPreference), find);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.FindPublisherPreparer#prepare(com.mongodb.reactivestreams.client.FindPublisher)
+		 */
+		@Override
+		public FindPublisher<Document> prepare(FindPublisher<Document> findPublisher) {
+			return delegate.prepare(findPublisher);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.FindPublisherPreparer#getReadPreference()
+		 */
+		@Override
+		public ReadPreference getReadPreference() {
+			return readPreference;
+		}
+
+		static ReadPreference withHedging(ReadPreference readPreference) {
+			return readPreference instanceof TaggableReadPreference
+					? ((TaggableReadPreference) readPreference).withHedgeOptions(HEDGE_OPTIONS)
+					: readPreference;
+		}
+	}
+
 	/**
 	 * @author Mark Paluch
 	 */
@@ -3407,6 +3749,17 @@ public class ReactiveMongoTemplate implements ReactiveMongoOperations, Applicati
 			// native MongoDB objects that offer methods with ClientSession must not be proxied.
 			return delegate.getMongoDatabase();
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.ReactiveMongoTemplate#collapsingFindOps(int, java.time.Duration)
+		 */
+		@Override
+		public ReactiveCollapsingFindOperations collapsingFindOps(int maxBatchSize, Duration window) {
+
+			// lookups of other subscribers must not run within the bound session.
+			return new NonCollapsingReactiveFindOperations(this);
+		}
 	}
 
 	class IndexCreatorEventListener implements ApplicationListener<MappingContextEvent<?, ?>> {
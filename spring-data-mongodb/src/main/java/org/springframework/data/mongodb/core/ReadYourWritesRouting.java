@@ -0,0 +1,251 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.bson.BsonTimestamp;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.session.ClientSession;
+
+/**
+ * Opt-in read routing for {@link MongoTemplate} sending reads to secondaries by default while preserving
+ * read-your-writes consistency within a logical request. Writes are recorded in the current {@link Scope scope}, a
+ * thread-bound unit of work {@link #openScope() opened} for the request. Writes outside of a scope are not recorded and
+ * reads outside of a scope use the {@link #defaultReadPreference(ReadPreference) default read preference}. Reads
+ * following a write in the same scope are routed as follows:
+ * <ul>
+ * <li>Reads through a causally consistent {@link ClientSession}, such as a template obtained from
+ * {@code MongoOperations.withSession(…)}, advance the session to the operation time captured from the most recent
+ * write of a session in the scope. The driver then reads with {@code afterClusterTime} so the read remains on the
+ * {@link #defaultReadPreference(ReadPreference) default read preference} while observing the write.</li>
+ * <li>All other reads are pinned to the {@link ReadPreference#primary() primary} until the
+ * {@link #primaryWindow(Duration) primary window} since the last write elapses.</li>
+ * </ul>
+ * Reads within an active transaction and reads using a {@link ReadPreferenceAware query read preference} are not
+ * routed. Causal reads from secondaries require majority read and write concerns to guarantee that the write is
+ * observed.
+ *
+ * <pre class="code">
+ * template.setReadRouting(ReadYourWritesRouting.secondaryReads().primaryWindow(Duration.ofSeconds(2)));
+ *
+ * try (ReadYourWritesRouting.Scope scope = template.getReadRouting().openScope()) {
+ * 	template.save(order);
+ * 	template.findById(order.getId(), Order.class); // routed to the primary
+ * }
+ * </pre>
+ *
+ * @since 3.2
+ * @see MongoTemplate#setReadRouting(ReadYourWritesRouting)
+ */
+public final class ReadYourWritesRouting {
+
+	private final ReadPreference defaultReadPreference;
+	private final Duration primaryWindow;
+	private final LongSupplier nanoClock;
+	private final ThreadLocal<ScopeState> state = new ThreadLocal<>();
+
+	ReadYourWritesRouting(ReadPreference defaultReadPreference, Duration primaryWindow, LongSupplier nanoClock) {
+
+		this.defaultReadPreference = defaultReadPreference;
+		this.primaryWindow = primaryWindow;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Obtain a routing reading from {@link ReadPreference#secondaryPreferred() secondaries} and pinning reads to the
+	 * primary for {@literal 1s} after a write.
+	 *
+	 * @return new instance of {@link ReadYourWritesRouting}.
+	 */
+	public static ReadYourWritesRouting secondaryReads() {
+		return new ReadYourWritesRouting(ReadPreference.secondaryPreferred(), Duration.ofSeconds(1), System::nanoTime);
+	}
+
+	/**
+	 * Configure the {@link ReadPreference} to use for reads that are not preceded by a write in the current scope.
+	 *
+	 * @param readPreference must not be {@literal null}.
+	 * @return new instance of {@link ReadYourWritesRouting}.
+	 */
+	public ReadYourWritesRouting defaultReadPreference(ReadPreference readPreference) {
+
+		Assert.notNull(readPreference, "ReadPreference must not be null!");
+
+		return new ReadYourWritesRouting(readPreference, primaryWindow, nanoClock);
+	}
+
+	/**
+	 * Configure the duration for which reads are pinned to the primary after a write in the current scope.
+	 *
+	 * @param primaryWindow must not be {@literal null} or negative.
+	 * @return new instance of {@link ReadYourWritesRouting}.
+	 */
+	public ReadYourWritesRouting primaryWindow(Duration primaryWindow) {
+
+		Assert.notNull(primaryWindow, "Primary window must not be null!");
+		Assert.isTrue(!primaryWindow.isNegative(), "Primary window must not be negative!");
+
+		return new ReadYourWritesRouting(defaultReadPreference, primaryWindow, nanoClock);
+	}
+
+	/**
+	 * @return the {@link ReadPreference} for reads that are not preceded by a write in the current scope.
+	 */
+	public ReadPreference getDefaultReadPreference() {
+		return defaultReadPreference;
+	}
+
+	/**
+	 * @return the duration for which reads are pinned to the primary after a write.
+	 */
+	public Duration getPrimaryWindow() {
+		return primaryWindow;
+	}
+
+	/**
+	 * Open a new {@link Scope} for the current thread discarding writes recorded previously. Closing the scope discards
+	 * the writes recorded within the scope.
+	 *
+	 * @return the opened {@link Scope}.
+	 */
+	public Scope openScope() {
+
+		ScopeState previous = state.get();
+		state.set(new ScopeState());
+
+		return new Scope(previous);
+	}
+
+	/**
+	 * Record a write in the current scope. Writes outside of a scope are not recorded.
+	 *
+	 * @param session the session the write is performed with. Can be {@literal null}.
+	 */
+	void onWrite(@Nullable ClientSession session) {
+
+		ScopeState scope = state.get();
+
+		if (scope != null) {
+			scope.onWrite(nanoClock.getAsLong(), session);
+		}
+	}
+
+	/**
+	 * Determine the {@link ReadPreference} for a read in the current scope. Advances the operation time of a causally
+	 * consistent {@code session} to the operation time of the last write in the current scope.
+	 *
+	 * @param session the session the read is performed with. Can be {@literal null}.
+	 * @return the {@link ReadPreference} to use or {@literal null} to leave the read preference unchanged.
+	 */
+	@Nullable
+	ReadPreference getReadPreference(@Nullable ClientSession session) {
+
+		if (session != null && session.hasActiveTransaction()) {
+			return null;
+		}
+
+		ScopeState scope = state.get();
+
+		if (scope == null || !scope.hasWritten()) {
+			return defaultReadPreference;
+		}
+
+		BsonTimestamp operationTime = scope.getOperationTime();
+
+		if (session != null && session.isCausallyConsistent() && operationTime != null) {
+
+			session.advanceOperationTime(operationTime);
+			return defaultReadPreference;
+		}
+
+		return nanoClock.getAsLong() - scope.lastWrite < primaryWindow.toNanos() ? ReadPreference.primary()
+				: defaultReadPreference;
+	}
+
+	/**
+	 * A thread-bound unit of work, typically a request, within which reads observe preceding writes. Scopes must be
+	 * closed by the thread that opened them and restore the previously active scope on {@link #close()}.
+	 */
+	public class Scope implements AutoCloseable {
+
+		private final @Nullable ScopeState previous;
+
+		private Scope(@Nullable ScopeState previous) {
+			this.previous = previous;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void close() {
+
+			if (previous != null) {
+				state.set(previous);
+			} else {
+				state.remove();
+			}
+		}
+	}
+
+	/**
+	 * Writes recorded in a scope. The operation time is captured lazily from the session of the last write as the
+	 * session advances its operation time only once the write has completed.
+	 */
+	private static class ScopeState {
+
+		private boolean written;
+		private long lastWrite;
+		private @Nullable ClientSession writeSession;
+		private @Nullable BsonTimestamp operationTime;
+
+		void onWrite(long time, @Nullable ClientSession session) {
+
+			if (writeSession != null && writeSession != session) {
+				operationTime = max(operationTime, writeSession.getOperationTime());
+			}
+
+			this.written = true;
+			this.lastWrite = time;
+			this.writeSession = session;
+		}
+
+		boolean hasWritten() {
+			return written;
+		}
+
+		@Nullable
+		BsonTimestamp getOperationTime() {
+			return writeSession != null ? max(operationTime, writeSession.getOperationTime()) : operationTime;
+		}
+
+		@Nullable
+		private static BsonTimestamp max(@Nullable BsonTimestamp left, @Nullable BsonTimestamp right) {
+
+			if (left == null) {
+				return right;
+			}
+
+			return right == null || left.compareTo(right) >= 0 ? left : right;
+		}
+	}
+}
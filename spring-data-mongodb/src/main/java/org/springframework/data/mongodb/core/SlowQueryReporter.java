@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.springframework.data.mongodb.core.query.SerializationUtils.*;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BsonInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.metrics.SlowQuery;
+import org.springframework.data.mongodb.core.metrics.SlowQueryCapture;
+import org.springframework.data.mongodb.core.metrics.SlowQueryEvent;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Captures find operations exceeding the threshold of a {@link SlowQueryCapture} and reports them as {@link SlowQuery}
+ * through a log record and a {@link SlowQueryEvent}. Operations are measured through a {@link Tracker} that decorates
+ * the {@link MongoCollection} with a codec counting the BSON bytes of decoded documents.
+ *
+ * @since 3.2
+ */
+class SlowQueryReporter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryReporter.class);
+	private static final String SLOW_QUERY_MESSAGE = "Slow query on collection '{}' took {} ms (conversion {} ms), "
+			+ "returned {} document(s) / {} bytes, plan: {}";
+
+	private final SlowQueryCapture capture;
+	private final long thresholdNanos;
+	private final MongoDatabaseFactory databaseFactory;
+
+	/**
+	 * @param capture the capture configuration.
+	 * @param databaseFactory the factory to obtain the database to run {@code explain} against. Must not be bound to a
+	 *          session as {@code explain} runs asynchronously.
+	 */
+	SlowQueryReporter(SlowQueryCapture capture, MongoDatabaseFactory databaseFactory) {
+
+		this.capture = capture;
+		this.thresholdNanos = capture.getThreshold().toNanos();
+		this.databaseFactory = databaseFactory;
+	}
+
+	/**
+	 * Start tracking an operation against the given {@link MongoCollection}. The operation must use
+	 * {@link Tracker#getCollection()} to count received bytes and report through {@link Tracker#report}.
+	 *
+	 * @param collection the collection to decorate.
+	 * @return a new {@link Tracker}.
+	 */
+	Tracker start(MongoCollection<Document> collection) {
+		return new Tracker(collection);
+	}
+
+	private void report(Tracker tracker, String collectionName, Document filter, Document sort, Document projection,
+			@Nullable ApplicationEventPublisher publisher) {
+
+		SlowQuery slowQuery = new SlowQuery(collectionName, filter, sort, projection, Duration.ofNanos(tracker.duration),
+				Duration.ofNanos(tracker.conversionNanos), tracker.documentCount, tracker.codec.getBytes());
+
+		Executor executor = capture.getExplainExecutor();
+
+		if (executor == null) {
+			publish(slowQuery, publisher);
+			return;
+		}
+
+		try {
+			executor.execute(() -> publish(explain(slowQuery), publisher));
+		} catch (RejectedExecutionException e) {
+
+			LOGGER.debug("Cannot explain slow query, executor rejected the task", e);
+			publish(slowQuery, publisher);
+		}
+	}
+
+	private SlowQuery explain(SlowQuery slowQuery) {
+
+		Document find = new Document("find", slowQuery.getCollectionName()).append("filter", slowQuery.getFilter());
+
+		if (!slowQuery.getSort().isEmpty()) {
+			find.append("sort", slowQuery.getSort());
+		}
+
+		if (!slowQuery.getProjection().isEmpty()) {
+			find.append("projection", slowQuery.getProjection());
+		}
+
+		try {
+
+			Document result = databaseFactory.getMongoDatabase()
+					.runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+			Object queryPlanner = result.get("queryPlanner");
+
+			if (queryPlanner instanceof Document && ((Document) queryPlanner).get("winningPlan") instanceof Document) {
+				return slowQuery.withPlan(((Document) queryPlanner).get("winningPlan", Document.class));
+			}
+		} catch (RuntimeException e) {
+			LOGGER.debug("Cannot explain slow query", e);
+		}
+
+		return slowQuery;
+	}
+
+	private static void publish(SlowQuery slowQuery, @Nullable ApplicationEventPublisher publisher) {
+
+		if (LOGGER.isWarnEnabled()) {
+
+			String planSummary = slowQuery.getPlanSummary();
+
+			LOGGER.warn(SLOW_QUERY_MESSAGE, slowQuery.getCollectionName(), slowQuery.getDuration().toMillis(),
+					slowQuery.getConversionDuration().toMillis(), slowQuery.getDocumentCount(),
+					slowQuery.getBytesReceived() >= 0 ? slowQuery.getBytesReceived() : "n/a",
+					planSummary != null ? planSummary : "n/a");
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Slow query on collection '{}' used filter: {}, sort: {}, projection: {}",
+					slowQuery.getCollectionName(), serializeToJsonSafely(slowQuery.getFilter()),
+					serializeToJsonSafely(slowQuery.getSort()), serializeToJsonSafely(slowQuery.getProjection()));
+		}
+
+		if (publisher != null) {
+			publisher.publishEvent(new SlowQueryEvent(slowQuery));
+		}
+	}
+
+	/**
+	 * Measures a single find operation.
+	 */
+	class Tracker {
+
+		private final long start = System.nanoTime();
+		private final ByteCountingCodec codec;
+		private final MongoCollection<Document> collection;
+
+		private long conversionNanos;
+		private long documentCount;
+		private long duration;
+
+		Tracker(MongoCollection<Document> collection) {
+
+			CodecRegistry codecRegistry = collection.getCodecRegistry();
+
+			this.codec = new ByteCountingCodec(codecRegistry.get(Document.class));
+			this.collection = collection
+					.withCodecRegistry(CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(codec), codecRegistry));
+		}
+
+		/**
+		 * @return the decorated {@link MongoCollection} to run the operation against.
+		 */
+		MongoCollection<Document> getCollection() {
+			return collection;
+		}
+
+		/**
+		 * Convert the given {@link Document} using {@code converter} and account for the conversion time.
+		 *
+		 * @param document the document to convert. Can be {@literal null}.
+		 * @param converter the converter.
+		 * @return the conversion result.
+		 */
+		@Nullable
+		<T> T convert(@Nullable Document document, Function<Document, T> converter) {
+
+			long conversionStart = System.nanoTime();
+
+			try {
+				return converter.apply(document);
+			} finally {
+
+				conversionNanos += System.nanoTime() - conversionStart;
+
+				if (document != null) {
+					documentCount++;
+				}
+			}
+		}
+
+		/**
+		 * Stop tracking.
+		 *
+		 * @return {@literal true} if the operation exceeded the threshold and should be {@link #report reported}.
+		 */
+		boolean stop() {
+
+			duration = System.nanoTime() - start;
+			return duration >= thresholdNanos;
+		}
+
+		/**
+		 * Report the tracked operation as {@link SlowQuery}. Runs {@code explain} before publishing if configured.
+		 *
+		 * @param collectionName the collection name.
+		 * @param filter the mapped filter.
+		 * @param sort the mapped sort.
+		 * @param projection the mapped projection.
+		 * @param publisher the publisher to publish {@link SlowQueryEvent} to. Can be {@literal null}.
+		 */
+		void report(String collectionName, Document filter, Document sort, Document projection,
+				@Nullable ApplicationEventPublisher publisher) {
+			SlowQueryReporter.this.report(this, collectionName, filter, sort, projection, publisher);
+		}
+	}
+
+	/**
+	 * {@link Codec} decorator counting the BSON bytes of decoded {@link Document documents}. Byte counts are only
+	 * available if documents are decoded from binary BSON.
+	 */
+	static class ByteCountingCodec implements Codec<Document> {
+
+		private final Codec<Document> delegate;
+		private long bytes;
+		private boolean unknown;
+
+		ByteCountingCodec(Codec<Document> delegate) {
+			this.delegate = delegate;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.codecs.Decoder#decode(org.bson.BsonReader, org.bson.codecs.DecoderContext)
+		 */
+		@Override
+		public Document decode(BsonReader reader, DecoderContext decoderContext) {
+
+			if (!(reader instanceof BsonBinaryReader)) {
+
+				unknown = true;
+				return delegate.decode(reader, decoderContext);
+			}
+
+			BsonInput input = ((BsonBinaryReader) reader).getBsonInput();
+			int start = input.getPosition();
+
+			Document document = delegate.decode(reader, decoderContext);
+			bytes += input.getPosition() - start;
+
+			return document;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.codecs.Encoder#encode(org.bson.BsonWriter, java.lang.Object, org.bson.codecs.EncoderContext)
+		 */
+		@Override
+		public void encode(BsonWriter writer, Document value, EncoderContext encoderContext) {
+			delegate.encode(writer, value, encoderContext);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.codecs.Encoder#getEncoderClass()
+		 */
+		@Override
+		public Class<Document> getEncoderClass() {
+			return Document.class;
+		}
+
+		/**
+		 * @return the number of decoded bytes or {@literal -1} if unknown.
+		 */
+		long getBytes() {
+			return unknown ? -1 : bytes;
+		}
+	}
+}
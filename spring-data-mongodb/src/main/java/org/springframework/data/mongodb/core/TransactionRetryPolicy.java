@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.data.mongodb.core.metrics.TransactionObserver;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+
+/**
+ * Immutable policy describing how {@link MongoOperations#inTransaction(SessionCallback, TransactionRetryPolicy)} and
+ * {@link ReactiveMongoOperations#inTransaction(ReactiveSessionCallback, TransactionRetryPolicy)} retry transactions.
+ * Errors labeled {@link MongoException#TRANSIENT_TRANSACTION_ERROR_LABEL TransientTransactionError} retry the whole
+ * callback in a new transaction, errors labeled {@link MongoException#UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL
+ * UnknownTransactionCommitResult} retry the commit only. Retries are delayed using exponential backoff starting with
+ * {@link #getInitialBackoff() the initial backoff}, doubling per attempt up to {@link #getMaxBackoff() the maximum
+ * backoff} while reducing each delay by a random {@link #getJitter() jitter} fraction to spread out competing
+ * transactions.
+ *
+ * <pre class="code">
+ * TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy() //
+ * 		.maxAttempts(5) //
+ * 		.backoff(Duration.ofMillis(20), Duration.ofSeconds(2));
+ *
+ * template.inTransaction(operations -&gt; {
+ * 	operations.updateFirst(…);
+ * 	return operations.insert(…);
+ * }, policy);
+ * </pre>
+ *
+ * @since 3.2
+ */
+public final class TransactionRetryPolicy {
+
+	private static final TransactionRetryPolicy DEFAULT = new TransactionRetryPolicy(3, 3, Duration.ofMillis(10),
+			Duration.ofSeconds(1), 0.5, TransactionOptions.builder().build(), null);
+
+	private final int maxAttempts;
+	private final int maxCommitAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final double jitter;
+	private final TransactionOptions transactionOptions;
+	private final @Nullable TransactionObserver observer;
+
+	private TransactionRetryPolicy(int maxAttempts, int maxCommitAttempts, Duration initialBackoff, Duration maxBackoff,
+			double jitter, TransactionOptions transactionOptions, @Nullable TransactionObserver observer) {
+
+		this.maxAttempts = maxAttempts;
+		this.maxCommitAttempts = maxCommitAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.jitter = jitter;
+		this.transactionOptions = transactionOptions;
+		this.observer = observer;
+	}
+
+	/**
+	 * Obtain the default policy attempting transactions and commits up to three times backing off from {@literal 10ms}
+	 * up to {@literal 1s} with a jitter of {@literal 0.5}.
+	 *
+	 * @return the default {@link TransactionRetryPolicy}.
+	 */
+	public static TransactionRetryPolicy defaultPolicy() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Obtain a policy running the transaction exactly once.
+	 *
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public static TransactionRetryPolicy noRetry() {
+		return DEFAULT.maxAttempts(1).maxCommitAttempts(1);
+	}
+
+	/**
+	 * Set the maximum number of transaction attempts including the initial one.
+	 *
+	 * @param maxAttempts must be greater than zero.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy maxAttempts(int maxAttempts) {
+
+		Assert.isTrue(maxAttempts > 0, "Max attempts must be greater than zero!");
+
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * Set the maximum number of commit attempts per transaction including the initial one.
+	 *
+	 * @param maxCommitAttempts must be greater than zero.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy maxCommitAttempts(int maxCommitAttempts) {
+
+		Assert.isTrue(maxCommitAttempts > 0, "Max commit attempts must be greater than zero!");
+
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * Set the backoff bounds. The delay doubles per attempt starting at {@code initialBackoff} and is capped at
+	 * {@code maxBackoff}.
+	 *
+	 * @param initialBackoff must not be {@literal null} or negative.
+	 * @param maxBackoff must not be {@literal null} or less than {@code initialBackoff}.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy backoff(Duration initialBackoff, Duration maxBackoff) {
+
+		Assert.notNull(initialBackoff, "Initial backoff must not be null!");
+		Assert.notNull(maxBackoff, "Max backoff must not be null!");
+		Assert.isTrue(!initialBackoff.isNegative(), "Initial backoff must not be negative!");
+		Assert.isTrue(maxBackoff.compareTo(initialBackoff) >= 0, "Max backoff must not be less than initial backoff!");
+
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * Set the jitter fraction. Each delay is reduced by a random fraction between zero and {@code jitter}.
+	 *
+	 * @param jitter must be between {@literal 0} and {@literal 1}.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy jitter(double jitter) {
+
+		Assert.isTrue(jitter >= 0 && jitter <= 1, "Jitter must be between 0 and 1!");
+
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * Set the {@link TransactionOptions} to start each transaction with.
+	 *
+	 * @param transactionOptions must not be {@literal null}.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy transactionOptions(TransactionOptions transactionOptions) {
+
+		Assert.notNull(transactionOptions, "TransactionOptions must not be null!");
+
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * Set the {@link TransactionObserver} to notify about retries and aborts.
+	 *
+	 * @param observer can be {@literal null}.
+	 * @return new instance of {@link TransactionRetryPolicy}.
+	 */
+	public TransactionRetryPolicy observer(@Nullable TransactionObserver observer) {
+		return new TransactionRetryPolicy(maxAttempts, maxCommitAttempts, initialBackoff, maxBackoff, jitter,
+				transactionOptions, observer);
+	}
+
+	/**
+	 * @return the maximum number of transaction attempts.
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * @return the maximum number of commit attempts per transaction.
+	 */
+	public int getMaxCommitAttempts() {
+		return maxCommitAttempts;
+	}
+
+	/**
+	 * @return the delay before the first retry.
+	 */
+	public Duration getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	/**
+	 * @return the upper bound for delays.
+	 */
+	public Duration getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * @return the jitter fraction.
+	 */
+	public double getJitter() {
+		return jitter;
+	}
+
+	/**
+	 * @return the {@link TransactionOptions} to start transactions with.
+	 */
+	public TransactionOptions getTransactionOptions() {
+		return transactionOptions;
+	}
+
+	/**
+	 * @return the {@link TransactionObserver} or {@literal null} if not set.
+	 */
+	@Nullable
+	public TransactionObserver getObserver() {
+		return observer;
+	}
+
+	/**
+	 * Compute the jittered delay before the retry following the given failed attempt.
+	 *
+	 * @param attempt the number of the failed attempt, starting at {@literal 1}.
+	 * @return the delay to apply.
+	 */
+	public Duration getBackoff(int attempt) {
+		return getBackoff(attempt, ThreadLocalRandom.current().nextDouble());
+	}
+
+	Duration getBackoff(int attempt, double random) {
+
+		long initial = initialBackoff.toNanos();
+		long max = maxBackoff.toNanos();
+		long base = initial;
+
+		for (int i = 1; i < attempt && base < max; i++) {
+			base = base > max / 2 ? max : base * 2;
+		}
+
+		base = Math.min(base, max);
+
+		return Duration.ofNanos((long) (base * (1 - jitter * random)));
+	}
+
+	/**
+	 * Determine whether the transaction failing with the given error should be retried.
+	 *
+	 * @param attempt the number of the failed attempt, starting at {@literal 1}.
+	 * @param error the error.
+	 * @return {@literal true} to retry the transaction.
+	 */
+	boolean shouldRetryTransaction(int attempt, Throwable error) {
+		return attempt < maxAttempts && hasErrorLabel(error, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+	}
+
+	/**
+	 * Determine whether the commit failing with the given error should be retried.
+	 *
+	 * @param attempt the number of the failed commit attempt, starting at {@literal 1}.
+	 * @param error the error.
+	 * @return {@literal true} to retry the commit.
+	 */
+	boolean shouldRetryCommit(int attempt, Throwable error) {
+		return attempt < maxCommitAttempts
+				&& hasErrorLabel(error, MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+	}
+
+	void onRetry(RetryScope scope, int attempt, Throwable cause) {
+
+		if (observer != null) {
+			observer.onRetry(scope, attempt, cause);
+		}
+	}
+
+	void onAbort(Throwable cause) {
+
+		if (observer != null) {
+			observer.onAbort(cause);
+		}
+	}
+
+	/**
+	 * Check whether the given error or one of its causes is a {@link MongoException} carrying the given error label.
+	 * Translated {@link org.springframework.dao.DataAccessException}s retain the driver exception as cause.
+	 */
+	static boolean hasErrorLabel(Throwable error, String label) {
+
+		Throwable current = error;
+
+		while (current != null) {
+
+			if (current instanceof MongoException && ((MongoException) current).hasErrorLabel(label)) {
+				return true;
+			}
+
+			current = current.getCause() != current ? current.getCause() : null;
+		}
+
+		return false;
+	}
+}
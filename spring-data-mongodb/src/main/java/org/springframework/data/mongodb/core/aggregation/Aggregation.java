@@ -142,6 +142,17 @@ public class Aggregation {
 		return new Aggregation(this.pipeline.getOperations(), options);
 	}
 
+	/**
+	 * Returns a copy of this {@link Aggregation} with its pipeline rewritten by the {@link AggregationPipelineOptimizer}.
+	 * Use {@link AggregationPipelineOptimizer#optimize(AggregationPipeline)} to obtain a report of the applied rewrites.
+	 *
+	 * @return new instance of {@link Aggregation}.
+	 * @since 3.2
+	 */
+	public Aggregation optimize() {
+		return new Aggregation(AggregationPipelineOptimizer.optimize(pipeline).getPipeline().getOperations(), options);
+	}
+
 	/**
 	 * Creates a new {@link TypedAggregation} for the given type and {@link AggregationOperation}s.
 	 *
@@ -499,6 +510,18 @@ public class Aggregation {
 		return new MatchOperation(criteria);
 	}
 
+	/**
+	 * Creates a new {@link AggregationParameter} placeholder for a value that is bound when executing a
+	 * {@link PreparedAggregation}.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @return new instance of {@link AggregationParameter}.
+	 * @since 3.2
+	 */
+	public static AggregationParameter parameter(String name) {
+		return AggregationParameter.named(name);
+	}
+
 	/**
 	 * Creates a new {@link GeoNearOperation} instance from the given {@link NearQuery} and the {@code distanceField}. The
 	 * {@code distanceField} defines output field that contains the calculated distance.
@@ -57,6 +57,7 @@ public class AggregationOptions {
 	private Duration maxTime = Duration.ZERO;
 	private ResultOptions resultOptions = ResultOptions.READ;
 	private DomainTypeMapping domainTypeMapping = DomainTypeMapping.RELAXED;
+	private int conversionParallelism = 1;
 
 	/**
 	 * Creates a new {@link AggregationOptions}.
@@ -270,6 +271,15 @@ public class AggregationOptions {
 		return domainTypeMapping;
 	}
 
+	/**
+	 * @return the number of threads converting streamed results into the output type. {@literal 1} converts results
+	 *         sequentially.
+	 * @since 3.2
+	 */
+	public int getConversionParallelism() {
+		return conversionParallelism;
+	}
+
 	/**
 	 * Returns a new potentially adjusted copy for the given {@code aggregationCommandObject} with the configuration
 	 * applied.
@@ -368,6 +378,7 @@ public class AggregationOptions {
 		private @Nullable Duration maxTime;
 		private @Nullable ResultOptions resultOptions;
 		private @Nullable DomainTypeMapping domainTypeMapping;
+		private int conversionParallelism = 1;
 
 		/**
 		 * Defines whether to off-load intensive sort-operations to disk.
@@ -523,6 +534,27 @@ public class AggregationOptions {
 			return this;
 		}
 
+		/**
+		 * Convert streamed results into the output type using up to {@code conversionParallelism} threads. Results are
+		 * read from the cursor in batches of the {@link #cursorBatchSize(int) cursor batch size} (defaulting to
+		 * {@literal 100}) and each batch is converted in parallel while retaining the result order, so that at most one
+		 * batch of raw documents is held in memory. {@link org.springframework.data.mongodb.core.MongoTemplate} converts
+		 * on its {@link org.springframework.data.mongodb.core.MongoTemplate#setConversionExecutor conversion executor} and
+		 * falls back to sequential conversion on the calling thread while a session is bound or a transaction is active.
+		 * Defaults to {@literal 1} to convert results sequentially.
+		 *
+		 * @param conversionParallelism must be greater than zero.
+		 * @return this.
+		 * @since 3.2
+		 */
+		public Builder conversionParallelism(int conversionParallelism) {
+
+			Assert.isTrue(conversionParallelism > 0, "Conversion parallelism must be greater than zero!");
+
+			this.conversionParallelism = conversionParallelism;
+			return this;
+		}
+
 		/**
 		 * Returns a new {@link AggregationOptions} instance with the given configuration.
 		 *
@@ -540,6 +572,7 @@ public class AggregationOptions {
 			if (domainTypeMapping != null) {
 				options.domainTypeMapping = domainTypeMapping;
 			}
+			options.conversionParallelism = conversionParallelism;
 
 			return options;
 		}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import org.bson.BsonString;
+import org.springframework.util.Assert;
+
+/**
+ * Named placeholder for a value within an aggregation pipeline that is bound when executing a
+ * {@link PreparedAggregation}. Placeholders can be used wherever a pipeline stage accepts a value, such as
+ * {@link org.springframework.data.mongodb.core.query.Criteria} values of a {@link MatchOperation}. Placeholders are
+ * passed on unchanged when rendering the pipeline and cannot be sent to the server without being bound.
+ *
+ * @since 3.2
+ * @see Aggregation#parameter(String)
+ */
+public final class AggregationParameter extends BsonString {
+
+	private final String name;
+
+	private AggregationParameter(String name) {
+
+		super("?" + name);
+		this.name = name;
+	}
+
+	/**
+	 * Create a new {@link AggregationParameter} with the given {@code name}.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @return new instance of {@link AggregationParameter}.
+	 */
+	public static AggregationParameter named(String name) {
+
+		Assert.hasText(name, "Parameter name must not be null or empty!");
+
+		return new AggregationParameter(name);
+	}
+
+	/**
+	 * @return the parameter name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.bson.BsonString#toString()
+	 */
+	@Override
+	public String toString() {
+		return "AggregationParameter{name='" + name + "'}";
+	}
+}
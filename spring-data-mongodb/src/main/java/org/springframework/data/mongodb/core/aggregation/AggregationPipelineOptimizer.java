@@ -0,0 +1,483 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Client-side optimizer rewriting the {@link AggregationOperation stages} of an {@link AggregationPipeline} before it
+ * gets rendered. The optimizer applies rewrites that do not change the result of the pipeline:
+ * <ul>
+ * <li>Adjacent {@code $match} stages are merged into a single stage.</li>
+ * <li>{@code $match} stages are moved ahead of {@code $lookup}, {@code $unwind} and {@code $project} stages if they do
+ * not reference fields added, unwound or changed by these stages.</li>
+ * <li>{@code $limit} and {@code $skip} stages are moved ahead of {@code $lookup} stages.</li>
+ * <li>{@code $sort} stages directly preceding a {@code $group} stage that uses only order-insensitive accumulators are
+ * removed.</li>
+ * </ul>
+ * Stages are inspected by rendering them without a type context. Stages that cannot be analyzed, such as
+ * {@code $match} stages using {@code $expr}, remain in place. Rewrites are repeated until no further rewrite applies.
+ *
+ * <pre class="code">
+ * Optimization optimization = AggregationPipelineOptimizer.optimize(aggregation.getPipeline());
+ *
+ * LOGGER.debug(optimization.explain());
+ * </pre>
+ *
+ * @since 3.2
+ * @see Aggregation#optimize()
+ */
+public final class AggregationPipelineOptimizer {
+
+	private static final Set<String> LOGICAL_OPERATORS = new HashSet<>(Arrays.asList("$and", "$or", "$nor"));
+	private static final Set<String> ORDER_INSENSITIVE_ACCUMULATORS = new HashSet<>(
+			Arrays.asList("$sum", "$avg", "$min", "$max", "$addToSet", "$stdDevPop", "$stdDevSamp"));
+
+	private AggregationPipelineOptimizer() {}
+
+	/**
+	 * Optimize the given {@link AggregationPipeline}. The given pipeline remains unchanged.
+	 *
+	 * @param pipeline must not be {@literal null}.
+	 * @return the {@link Optimization} holding the rewritten pipeline and the applied rewrites.
+	 */
+	public static Optimization optimize(AggregationPipeline pipeline) {
+
+		Assert.notNull(pipeline, "AggregationPipeline must not be null!");
+
+		List<AggregationOperation> operations = new ArrayList<>(pipeline.getOperations());
+		List<Rewrite> rewrites = new ArrayList<>();
+
+		boolean rewritten;
+
+		do {
+
+			rewritten = false;
+
+			for (int i = 1; i < operations.size() && !rewritten; i++) {
+				rewritten = rewrite(operations, i, rewrites);
+			}
+		} while (rewritten);
+
+		return new Optimization(new AggregationPipeline(operations), rewrites);
+	}
+
+	private static boolean rewrite(List<AggregationOperation> operations, int index, List<Rewrite> rewrites) {
+
+		AggregationOperation previous = operations.get(index - 1);
+		AggregationOperation current = operations.get(index);
+		String previousOperator = previous.getOperator();
+		String operator = current.getOperator();
+
+		if ("$match".equals(operator)) {
+
+			Document criteria = render(current).get(operator, Document.class);
+
+			if ("$match".equals(previousOperator)) {
+
+				Document merged = merge(render(previous).get(previousOperator, Document.class), criteria);
+
+				operations.set(index - 1, new MatchOperation(new DocumentCriteria(merged)));
+				operations.remove(index);
+				rewrites.add(new Rewrite(RewriteType.MERGE_MATCH,
+						String.format("Merged $match stages at positions %d and %d", index - 1, index)));
+				return true;
+			}
+
+			Set<String> fields = getReferencedFields(criteria);
+
+			if (fields != null && isIndependentOf(previous, previousOperator, fields)) {
+
+				swap(operations, index);
+				rewrites.add(new Rewrite(RewriteType.MOVE_MATCH, String.format(
+						"Moved $match at position %d ahead of %s at position %d", index, previousOperator, index - 1)));
+				return true;
+			}
+		}
+
+		if (("$limit".equals(operator) || "$skip".equals(operator)) && "$lookup".equals(previousOperator)) {
+
+			swap(operations, index);
+			rewrites.add(new Rewrite(RewriteType.MOVE_LIMIT, String.format(
+					"Moved %s at position %d ahead of $lookup at position %d", operator, index, index - 1)));
+			return true;
+		}
+
+		if ("$group".equals(operator) && "$sort".equals(previousOperator)
+				&& hasOrderInsensitiveAccumulators(render(current).get(operator, Document.class))) {
+
+			operations.remove(index - 1);
+			rewrites.add(new Rewrite(RewriteType.REMOVE_SORT,
+					String.format("Removed $sort at position %d preceding $group", index - 1)));
+			return true;
+		}
+
+		return false;
+	}
+
+	private static Document render(AggregationOperation operation) {
+		return operation.toDocument(Aggregation.DEFAULT_CONTEXT);
+	}
+
+	private static void swap(List<AggregationOperation> operations, int index) {
+		operations.set(index - 1, operations.set(index, operations.get(index - 1)));
+	}
+
+	private static Document merge(Document first, Document second) {
+
+		if (Collections.disjoint(first.keySet(), second.keySet())) {
+
+			Document merged = new Document(first);
+			merged.putAll(second);
+			return merged;
+		}
+
+		return new Document("$and", Arrays.asList(first, second));
+	}
+
+	/**
+	 * Collect the field names referenced by the given {@code $match} criteria.
+	 *
+	 * @param criteria the criteria.
+	 * @return the referenced field names or {@literal null} if the criteria use top-level operators that may reference
+	 *         fields not known to the optimizer.
+	 */
+	@Nullable
+	private static Set<String> getReferencedFields(Document criteria) {
+
+		Set<String> fields = new LinkedHashSet<>();
+
+		for (Entry<String, Object> entry : criteria.entrySet()) {
+
+			String key = entry.getKey();
+
+			if (!key.startsWith("$")) {
+
+				fields.add(key);
+				continue;
+			}
+
+			if (!LOGICAL_OPERATORS.contains(key) || !(entry.getValue() instanceof List)) {
+				return null;
+			}
+
+			for (Object element : (List<?>) entry.getValue()) {
+
+				Set<String> nested = element instanceof Document ? getReferencedFields((Document) element) : null;
+
+				if (nested == null) {
+					return null;
+				}
+
+				fields.addAll(nested);
+			}
+		}
+
+		return fields;
+	}
+
+	private static boolean isIndependentOf(AggregationOperation operation, String operator, Set<String> fields) {
+
+		if ("$lookup".equals(operator)) {
+
+			Document lookup = render(operation).get(operator, Document.class);
+			return !overlaps(fields, lookup.getString("as"));
+		}
+
+		if ("$unwind".equals(operator)) {
+
+			Object unwind = render(operation).get(operator);
+
+			if (unwind instanceof String) {
+				return !overlaps(fields, ((String) unwind).substring(1));
+			}
+
+			Document arguments = (Document) unwind;
+			String arrayIndex = arguments.getString("includeArrayIndex");
+
+			return !overlaps(fields, arguments.getString("path").substring(1))
+					&& (arrayIndex == null || !overlaps(fields, arrayIndex));
+		}
+
+		if ("$project".equals(operator)) {
+			return retainsFields(render(operation).get(operator, Document.class), fields);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Check whether the given projection passes on the given fields unchanged.
+	 */
+	private static boolean retainsFields(Document projection, Set<String> fields) {
+
+		boolean inclusion = false;
+
+		for (Entry<String, Object> entry : projection.entrySet()) {
+			if (!Fields.UNDERSCORE_ID.equals(entry.getKey()) && !isExclusion(entry.getValue())) {
+				inclusion = true;
+			}
+		}
+
+		for (String field : fields) {
+
+			boolean projected = false;
+
+			for (Entry<String, Object> entry : projection.entrySet()) {
+
+				if (!overlaps(field, entry.getKey())) {
+					continue;
+				}
+
+				if (!isInclusion(entry.getValue()) || entry.getKey().length() > field.length()) {
+					return false;
+				}
+
+				projected = true;
+			}
+
+			if (!projected && inclusion && !Fields.UNDERSCORE_ID.equals(field.split("\\.")[0])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean hasOrderInsensitiveAccumulators(Document group) {
+
+		for (Entry<String, Object> entry : group.entrySet()) {
+
+			if (Fields.UNDERSCORE_ID.equals(entry.getKey())) {
+				continue;
+			}
+
+			if (!(entry.getValue() instanceof Document)) {
+				return false;
+			}
+
+			Document accumulator = (Document) entry.getValue();
+
+			if (accumulator.size() != 1
+					|| !ORDER_INSENSITIVE_ACCUMULATORS.contains(accumulator.keySet().iterator().next())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean overlaps(Set<String> fields, String path) {
+
+		for (String field : fields) {
+			if (overlaps(field, path)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean overlaps(String field, String path) {
+		return field.equals(path) || field.startsWith(path + ".") || path.startsWith(field + ".");
+	}
+
+	private static boolean isInclusion(@Nullable Object value) {
+		return Boolean.TRUE.equals(value) || (value instanceof Number && ((Number) value).intValue() != 0);
+	}
+
+	private static boolean isExclusion(@Nullable Object value) {
+		return Boolean.FALSE.equals(value) || (value instanceof Number && ((Number) value).intValue() == 0);
+	}
+
+	/**
+	 * Result of optimizing an {@link AggregationPipeline} holding the rewritten pipeline along with the applied
+	 * {@link Rewrite rewrites}.
+	 */
+	public static final class Optimization {
+
+		private final AggregationPipeline pipeline;
+		private final List<Rewrite> rewrites;
+
+		private Optimization(AggregationPipeline pipeline, List<Rewrite> rewrites) {
+
+			this.pipeline = pipeline;
+			this.rewrites = Collections.unmodifiableList(rewrites);
+		}
+
+		/**
+		 * @return the rewritten pipeline.
+		 */
+		public AggregationPipeline getPipeline() {
+			return pipeline;
+		}
+
+		/**
+		 * @return the applied rewrites in the order they were applied.
+		 */
+		public List<Rewrite> getRewrites() {
+			return rewrites;
+		}
+
+		/**
+		 * @return {@literal true} if at least one rewrite was applied.
+		 */
+		public boolean isRewritten() {
+			return !rewrites.isEmpty();
+		}
+
+		/**
+		 * Render a report of the applied rewrites listing one rewrite per line.
+		 *
+		 * @return the report.
+		 */
+		public String explain() {
+
+			if (rewrites.isEmpty()) {
+				return "No rewrites applied.";
+			}
+
+			StringBuilder report = new StringBuilder();
+
+			for (int i = 0; i < rewrites.size(); i++) {
+
+				if (i > 0) {
+					report.append(System.lineSeparator());
+				}
+
+				report.append(i + 1).append(". ").append(rewrites.get(i));
+			}
+
+			return report.toString();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return explain();
+		}
+	}
+
+	/**
+	 * A single rewrite applied to the pipeline.
+	 */
+	public static final class Rewrite {
+
+		private final RewriteType type;
+		private final String description;
+
+		private Rewrite(RewriteType type, String description) {
+
+			this.type = type;
+			this.description = description;
+		}
+
+		/**
+		 * @return the type of the rewrite.
+		 */
+		public RewriteType getType() {
+			return type;
+		}
+
+		/**
+		 * @return the description of the rewrite referring to stage positions at the time the rewrite was applied.
+		 */
+		public String getDescription() {
+			return description;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return type + ": " + description;
+		}
+	}
+
+	/**
+	 * Types of rewrites applied by the {@link AggregationPipelineOptimizer}.
+	 */
+	public enum RewriteType {
+
+		/**
+		 * Adjacent {@code $match} stages merged into one.
+		 */
+		MERGE_MATCH,
+
+		/**
+		 * {@code $match} moved ahead of a stage not affecting the fields it references.
+		 */
+		MOVE_MATCH,
+
+		/**
+		 * {@code $limit} or {@code $skip} moved ahead of a {@code $lookup}.
+		 */
+		MOVE_LIMIT,
+
+		/**
+		 * {@code $sort} preceding a {@code $group} with order-insensitive accumulators removed.
+		 */
+		REMOVE_SORT
+	}
+
+	/**
+	 * {@link CriteriaDefinition} for already rendered criteria.
+	 */
+	private static class DocumentCriteria implements CriteriaDefinition {
+
+		private final Document criteria;
+
+		DocumentCriteria(Document criteria) {
+			this.criteria = criteria;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.query.CriteriaDefinition#getCriteriaObject()
+		 */
+		@Override
+		public Document getCriteriaObject() {
+			return criteria;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.query.CriteriaDefinition#getKey()
+		 */
+		@Nullable
+		@Override
+		public String getKey() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.SerializationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TypedAggregation} rendered once into a pipeline template containing {@link AggregationParameter parameter
+ * placeholders}. {@link #bind(Map) Binding} parameter values creates a ready-to-run {@link TypedAggregation} by
+ * replacing the placeholders in a copy of the template without mapping field references or computing exposed fields
+ * again. Stages without placeholders are shared across bound aggregations.
+ *
+ * <pre class="code">
+ * PreparedAggregation&lt;Order&gt; prepared = template.prepareAggregation(newAggregation(Order.class,
+ * 		match(where("status").is(parameter("status"))), group("customerId").count().as("count")));
+ *
+ * AggregationResults&lt;Result&gt; results = template.aggregate(prepared.bind(Collections.singletonMap("status", "A")),
+ * 		Result.class);
+ * </pre>
+ *
+ * Values bound to placeholders compared with a property of the input type in the leading {@link MatchOperation
+ * $match} stages are converted through the {@link QueryMapper} like query values, so that a {@link String} bound to an
+ * identifier becomes an {@link org.bson.types.ObjectId} and {@link org.springframework.data.mongodb.core.mapping.Field
+ * field target types} are considered. Other values are converted using the {@link MongoConverter} without considering a
+ * property type. A placeholder within an array is replaced with the elements of a bound {@link Collection} so that
+ * placeholders can be used with {@code $in}. Prepared aggregations are immutable and can be bound concurrently.
+ *
+ * @since 3.2
+ * @see Aggregation#parameter(String)
+ */
+public class PreparedAggregation<I> {
+
+	private final Class<I> inputType;
+	private final AggregationOptions options;
+	private final List<Document> pipeline;
+	private final BitSet parameterizedStages;
+	private final Set<String> parameterNames;
+	private final Map<String, String> parameterPaths;
+	private final MongoConverter converter;
+	private final QueryMapper queryMapper;
+	private final @Nullable MongoPersistentEntity<?> entity;
+
+	/**
+	 * Creates a new {@link PreparedAggregation}.
+	 *
+	 * @param aggregation the aggregation the pipeline was rendered from. Must not be {@literal null}.
+	 * @param pipeline the rendered pipeline. Must not be {@literal null}.
+	 * @param converter converter for bound values into their MongoDB representation. Must not be {@literal null}.
+	 */
+	public PreparedAggregation(TypedAggregation<I> aggregation, List<Document> pipeline, MongoConverter converter) {
+
+		Assert.notNull(aggregation, "Aggregation must not be null!");
+		Assert.notNull(pipeline, "Pipeline must not be null!");
+		Assert.notNull(converter, "MongoConverter must not be null!");
+
+		this.inputType = aggregation.getInputType();
+		this.options = withoutMapping(aggregation.getOptions());
+		this.pipeline = Collections.unmodifiableList(new ArrayList<>(pipeline));
+		this.parameterizedStages = new BitSet(pipeline.size());
+		this.parameterPaths = collectParameterPaths(aggregation);
+		this.converter = converter;
+		this.queryMapper = new QueryMapper(converter);
+		this.entity = converter.getMappingContext().getPersistentEntity(inputType);
+
+		Set<String> parameterNames = new LinkedHashSet<>();
+
+		for (int i = 0; i < pipeline.size(); i++) {
+			if (collectParameterNames(pipeline.get(i), parameterNames)) {
+				parameterizedStages.set(i);
+			}
+		}
+
+		this.parameterNames = Collections.unmodifiableSet(parameterNames);
+	}
+
+	/**
+	 * @return the input type of the aggregation.
+	 */
+	public Class<I> getInputType() {
+		return inputType;
+	}
+
+	/**
+	 * @return the names of the parameters to bind.
+	 */
+	public Set<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	/**
+	 * @return the rendered pipeline containing {@link AggregationParameter parameter placeholders}.
+	 */
+	public List<Document> getPipeline() {
+		return pipeline;
+	}
+
+	/**
+	 * Bind the given parameter values and create a {@link TypedAggregation} running the rendered pipeline.
+	 *
+	 * @param parameters values by parameter name. Must contain a value for each {@link #getParameterNames() parameter}.
+	 *          Values can be {@literal null}.
+	 * @return new instance of {@link TypedAggregation}.
+	 * @throws IllegalArgumentException if a parameter value is missing.
+	 */
+	public TypedAggregation<I> bind(Map<String, ?> parameters) {
+
+		Assert.notNull(parameters, "Parameters must not be null!");
+
+		Map<String, Object> values = new HashMap<>(parameterNames.size(), 1);
+
+		for (String name : parameterNames) {
+
+			Assert.isTrue(parameters.containsKey(name), () -> String.format("No value bound for parameter %s!", name));
+			values.put(name, convertValue(name, parameters.get(name)));
+		}
+
+		List<AggregationOperation> operations = new ArrayList<>(pipeline.size());
+
+		for (int i = 0; i < pipeline.size(); i++) {
+
+			Document stage = pipeline.get(i);
+			operations.add(new RenderedStage(parameterizedStages.get(i) ? (Document) bindValue(stage, values) : stage));
+		}
+
+		return new TypedAggregation<>(inputType, operations, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return SerializationUtils.serializeToJsonSafely(pipeline);
+	}
+
+	@Nullable
+	private Object convertValue(String name, @Nullable Object value) {
+
+		String path = parameterPaths.get(name);
+
+		if (path == null || entity == null || value == null) {
+			return converter.convertToMongoType(value);
+		}
+
+		if (value instanceof Collection) {
+
+			List<Object> target = new ArrayList<>(((Collection<?>) value).size());
+
+			for (Object element : (Collection<?>) value) {
+				target.add(mapValue(path, element));
+			}
+
+			return target;
+		}
+
+		return mapValue(path, value);
+	}
+
+	@Nullable
+	private Object mapValue(String path, @Nullable Object value) {
+		return queryMapper.getMappedObject(new Document(path, value), entity).values().iterator().next();
+	}
+
+	/**
+	 * Collect the property paths of placeholders within the leading {@link MatchOperation $match} stages. Stages that
+	 * retain the shape of the input documents may precede a {@link MatchOperation}. Placeholders that are not compared
+	 * with a single property path are not considered.
+	 */
+	private static Map<String, String> collectParameterPaths(TypedAggregation<?> aggregation) {
+
+		Map<String, String> paths = new HashMap<>();
+		Set<String> ambiguous = new HashSet<>();
+
+		for (AggregationOperation operation : aggregation.getPipeline().getOperations()) {
+
+			if (operation instanceof MatchOperation) {
+				collectParameterPaths(operation.toDocument(Aggregation.DEFAULT_CONTEXT).get("$match"), "", paths,
+						ambiguous);
+			} else if (!(operation instanceof SortOperation || operation instanceof SkipOperation
+					|| operation instanceof LimitOperation)) {
+				break;
+			}
+		}
+
+		paths.keySet().removeAll(ambiguous);
+
+		return paths;
+	}
+
+	private static void collectParameterPaths(@Nullable Object value, String path, Map<String, String> paths,
+			Set<String> ambiguous) {
+
+		if (value instanceof AggregationParameter) {
+
+			String name = ((AggregationParameter) value).getName();
+			String previous = paths.put(name, path);
+
+			if (path.isEmpty() || (previous != null && !previous.equals(path))) {
+				ambiguous.add(name);
+			}
+		}
+
+		if (value instanceof Document) {
+			for (Entry<String, Object> entry : ((Document) value).entrySet()) {
+
+				String key = entry.getKey();
+				String nestedPath = key.startsWith("$") ? path : path.isEmpty() ? key : path + "." + key;
+
+				collectParameterPaths(entry.getValue(), nestedPath, paths, ambiguous);
+			}
+		}
+
+		if (value instanceof Collection) {
+			for (Object nested : (Collection<?>) value) {
+				collectParameterPaths(nested, path, paths, ambiguous);
+			}
+		}
+	}
+
+	private static boolean collectParameterNames(@Nullable Object value, Set<String> parameterNames) {
+
+		if (value instanceof AggregationParameter) {
+
+			parameterNames.add(((AggregationParameter) value).getName());
+			return true;
+		}
+
+		boolean found = false;
+
+		if (value instanceof Document) {
+			for (Object nested : ((Document) value).values()) {
+				found |= collectParameterNames(nested, parameterNames);
+			}
+		}
+
+		if (value instanceof Collection) {
+			for (Object nested : (Collection<?>) value) {
+				found |= collectParameterNames(nested, parameterNames);
+			}
+		}
+
+		return found;
+	}
+
+	@Nullable
+	private static Object bindValue(@Nullable Object value, Map<String, Object> values) {
+
+		if (value instanceof AggregationParameter) {
+			return values.get(((AggregationParameter) value).getName());
+		}
+
+		if (value instanceof Document) {
+
+			Document target = new Document();
+
+			for (Entry<String, Object> entry : ((Document) value).entrySet()) {
+				target.put(entry.getKey(), bindValue(entry.getValue(), values));
+			}
+
+			return target;
+		}
+
+		if (value instanceof Collection) {
+
+			List<Object> target = new ArrayList<>(((Collection<?>) value).size());
+
+			for (Object element : (Collection<?>) value) {
+
+				Object bound = bindValue(element, values);
+
+				if (element instanceof AggregationParameter && bound instanceof Collection) {
+					target.addAll((Collection<?>) bound);
+				} else {
+					target.add(bound);
+				}
+			}
+
+			return target;
+		}
+
+		return value;
+	}
+
+	private static AggregationOptions withoutMapping(AggregationOptions options) {
+
+		AggregationOptions.Builder builder = AggregationOptions.builder() //
+				.allowDiskUse(options.isAllowDiskUse()) //
+				.explain(options.isExplain()) //
+				.collation(options.getCollation().orElse(null)) //
+				.comment(options.getComment().orElse(null)) //
+				.hint(options.getHint().orElse(null)) //
+				.maxTime(options.getMaxTime()) //
+				.conversionParallelism(options.getConversionParallelism()) //
+				.noMapping();
+
+		options.getCursor().ifPresent(builder::cursor);
+
+		if (options.isSkipResults()) {
+			builder.skipOutput();
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * {@link AggregationOperation} for an already rendered and mapped pipeline stage.
+	 */
+	private static class RenderedStage implements AggregationOperation {
+
+		private final Document stage;
+
+		RenderedStage(Document stage) {
+			this.stage = stage;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperation#toDocument(org.springframework.data.mongodb.core.aggregation.AggregationOperationContext)
+		 */
+		@Override
+		public Document toDocument(AggregationOperationContext context) {
+			return stage;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.aggregation.AggregationOperation#getOperator()
+		 */
+		@Override
+		public String getOperator() {
+			return stage.keySet().iterator().next();
+		}
+	}
+}
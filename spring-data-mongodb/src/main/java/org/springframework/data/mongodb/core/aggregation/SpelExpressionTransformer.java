@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
 
 import org.bson.Document;
 import org.springframework.core.GenericTypeResolver;
@@ -45,6 +47,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.NumberUtils;
 import org.springframework.util.ObjectUtils;
 
@@ -60,7 +63,14 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 	// TODO: remove explicit usage of a configuration once SPR-11031 gets fixed
 	private static final SpelParserConfiguration CONFIG = new SpelParserConfiguration(false, false);
 	private static final SpelExpressionParser PARSER = new SpelExpressionParser(CONFIG);
+	private static final Object[] NO_PARAMETERS = new Object[0];
+	private static final int CACHE_SIZE = 256;
+
 	private final List<ExpressionNodeConversion<? extends ExpressionNode>> conversions;
+	private final ConcurrentLruCache<String, SpelExpression> expressionCache = new ConcurrentLruCache<>(CACHE_SIZE,
+			it -> (SpelExpression) PARSER.parseExpression(it));
+	private final ConcurrentLruCache<String, Optional<Object>> renderedExpressionCache = new ConcurrentLruCache<>(
+			CACHE_SIZE, it -> Optional.ofNullable(doTransform(it, Aggregation.DEFAULT_CONTEXT, NO_PARAMETERS)));
 
 	/**
 	 * Creates a new {@link SpelExpressionTransformer}.
@@ -86,6 +96,10 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 	 * {@link AggregationOperationContext} {@code context}.
 	 * <p>
 	 * Exposes the given @{code params} as <code>[0] ... [n]</code>.
+	 * <p>
+	 * Parsed expressions are cached. Expressions without parameters transformed against the
+	 * {@link Aggregation#DEFAULT_CONTEXT default context} are cached in their rendered form unless they construct
+	 * objects on evaluation. Cached results are copied before being returned.
 	 *
 	 * @param expression must not be {@literal null}
 	 * @param context must not be {@literal null}
@@ -98,13 +112,67 @@ class SpelExpressionTransformer implements AggregationExpressionTransformer {
 		Assert.notNull(context, "AggregationOperationContext must not be null!");
 		Assert.notNull(params, "Parameters must not be null!");
 
-		SpelExpression spelExpression = (SpelExpression) PARSER.parseExpression(expression);
+		if (context == Aggregation.DEFAULT_CONTEXT && params.length == 0
+				&& !constructsObjects(expressionCache.get(expression).getAST())) {
+			return copy(renderedExpressionCache.get(expression).orElse(null));
+		}
+
+		return doTransform(expression, context, params);
+	}
+
+	@Nullable
+	private Object doTransform(String expression, AggregationOperationContext context, Object[] params) {
+
+		SpelExpression spelExpression = expressionCache.get(expression);
 		ExpressionState state = new ExpressionState(new StandardEvaluationContext(params), CONFIG);
 		ExpressionNode node = ExpressionNode.from(spelExpression.getAST(), state);
 
 		return transform(new AggregationExpressionTransformationContext<ExpressionNode>(node, null, null, context));
 	}
 
+	private static boolean constructsObjects(SpelNode node) {
+
+		if (node instanceof ConstructorReference) {
+			return true;
+		}
+
+		for (int i = 0; i < node.getChildCount(); i++) {
+			if (constructsObjects(node.getChild(i))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Nullable
+	private static Object copy(@Nullable Object value) {
+
+		if (value instanceof Document) {
+
+			Document copy = new Document();
+
+			for (Entry<String, Object> entry : ((Document) value).entrySet()) {
+				copy.put(entry.getKey(), copy(entry.getValue()));
+			}
+
+			return copy;
+		}
+
+		if (value instanceof List) {
+
+			List<Object> copy = new ArrayList<>(((List<?>) value).size());
+
+			for (Object element : (List<?>) value) {
+				copy.add(copy(element));
+			}
+
+			return copy;
+		}
+
+		return value;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.spel.ExpressionTransformer#transform(org.springframework.data.mongodb.core.spel.ExpressionTransformationContextSupport)
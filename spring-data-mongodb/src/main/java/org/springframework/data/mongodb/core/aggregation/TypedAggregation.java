@@ -83,4 +83,15 @@ public class TypedAggregation<I> extends Aggregation {
 		Assert.notNull(options, "AggregationOptions must not be null.");
 		return new TypedAggregation<I>(inputType, pipeline.getOperations(), options);
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.aggregation.Aggregation#optimize()
+	 */
+	@Override
+	public TypedAggregation<I> optimize() {
+
+		AggregationPipeline optimized = AggregationPipelineOptimizer.optimize(pipeline).getPipeline();
+		return new TypedAggregation<>(inputType, optimized.getOperations(), getOptions());
+	}
 }
@@ -15,8 +15,7 @@
  */
 package org.springframework.data.mongodb.core.convert;
 
-import java.util.Arrays;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.bson.Document;
@@ -91,26 +90,15 @@ class DocumentAccessor {
 	public void put(MongoPersistentProperty prop, @Nullable Object value) {
 
 		Assert.notNull(prop, "MongoPersistentProperty must not be null!");
-		String fieldName = prop.getFieldName();
-
-		if (!fieldName.contains(".")) {
-			BsonUtils.addToMap(document, fieldName, value);
-			return;
-		}
-
-		Iterator<String> parts = Arrays.asList(fieldName.split("\\.")).iterator();
+		List<String> path = prop.getFieldNameSegments();
+		int last = path.size() - 1;
 		Bson document = this.document;
 
-		while (parts.hasNext()) {
-
-			String part = parts.next();
-
-			if (parts.hasNext()) {
-				document = getOrCreateNestedDocument(part, document);
-			} else {
-				BsonUtils.addToMap(document, part, value);
-			}
+		for (int i = 0; i < last; i++) {
+			document = getOrCreateNestedDocument(path.get(i), document);
 		}
+
+		BsonUtils.addToMap(document, path.get(last), value);
 	}
 
 	/**
@@ -124,22 +112,16 @@ class DocumentAccessor {
 	@Nullable
 	public Object get(MongoPersistentProperty property) {
 
-		String fieldName = property.getFieldName();
-		Map<String, Object> map = BsonUtils.asMap(document);
-
-		if (!fieldName.contains(".")) {
-			return map.get(fieldName);
-		}
-
-		Iterator<String> parts = Arrays.asList(fieldName.split("\\.")).iterator();
-		Map<String, Object> source = map;
+		List<String> path = property.getFieldNameSegments();
+		int last = path.size() - 1;
+		Map<String, Object> source = BsonUtils.asMap(document);
 		Object result = null;
 
-		while (source != null && parts.hasNext()) {
+		for (int i = 0; source != null && i <= last; i++) {
 
-			result = source.get(parts.next());
+			result = source.get(path.get(i));
 
-			if (parts.hasNext()) {
+			if (i < last) {
 				source = getAsMap(result);
 			}
 		}
@@ -172,7 +154,6 @@ class DocumentAccessor {
 
 		String fieldName = property.getFieldName();
 
-
 		if (this.document instanceof Document) {
 
 			if (((Document) this.document).containsKey(fieldName)) {
@@ -184,11 +165,12 @@ class DocumentAccessor {
 			}
 		}
 
-		if (!fieldName.contains(".")) {
+		List<String> path = property.getFieldNameSegments();
+
+		if (path.size() == 1) {
 			return false;
 		}
 
-		String[] parts = fieldName.split("\\.");
 		Map<String, Object> source;
 
 		if (this.document instanceof Document) {
@@ -197,19 +179,18 @@ class DocumentAccessor {
 			source = ((DBObject) this.document).toMap();
 		}
 
-		Object result = null;
+		int last = path.size() - 1;
 
-		for (int i = 1; i < parts.length; i++) {
+		for (int i = 0; i < last; i++) {
 
-			result = source.get(parts[i - 1]);
-			source = getAsMap(result);
+			source = getAsMap(source.get(path.get(i)));
 
 			if (source == null) {
 				return false;
 			}
 		}
 
-		return source.containsKey(parts[parts.length - 1]);
+		return source.containsKey(path.get(last));
 	}
 
 	/**
@@ -70,6 +70,8 @@ import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
 import org.springframework.data.mongodb.core.mapping.event.AfterConvertEvent;
 import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
 import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.data.mongodb.core.metrics.OperationPhase;
+import org.springframework.data.mongodb.core.metrics.OperationRecorder;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.Nullable;
@@ -245,7 +247,13 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 	 * @see org.springframework.data.mongodb.core.core.MongoReader#read(java.lang.Class, com.mongodb.Document)
 	 */
 	public <S extends Object> S read(Class<S> clazz, final Bson bson) {
-		return read(ClassTypeInformation.from(clazz), bson);
+
+		OperationRecorder.enter(OperationPhase.READ_CONVERSION);
+		try {
+			return read(ClassTypeInformation.from(clazz), bson);
+		} finally {
+			OperationRecorder.exit();
+		}
 	}
 
 	protected <S extends Object> S read(TypeInformation<S> type, Bson bson) {
@@ -535,13 +543,19 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 
 		Object target = obj instanceof LazyLoadingProxy ? ((LazyLoadingProxy) obj).getTarget() : obj;
 
-		writeInternal(target, bson, type);
-		if (asMap(bson).containsKey("_id") && asMap(bson).get("_id") == null) {
-			removeFromMap(bson, "_id");
-		}
+		OperationRecorder.enter(OperationPhase.WRITE_CONVERSION);
+		try {
 
-		if (requiresTypeHint(entityType)) {
-			typeMapper.writeType(type, bson);
+			writeInternal(target, bson, type);
+			if (asMap(bson).containsKey("_id") && asMap(bson).get("_id") == null) {
+				removeFromMap(bson, "_id");
+			}
+
+			if (requiresTypeHint(entityType)) {
+				typeMapper.writeType(type, bson);
+			}
+		} finally {
+			OperationRecorder.exit();
 		}
 	}
 
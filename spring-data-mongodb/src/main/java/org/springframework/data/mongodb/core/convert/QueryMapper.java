@@ -41,6 +41,8 @@ import org.springframework.data.mongodb.core.convert.MappingMongoConverter.Neste
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty.PropertyToFieldNameConverter;
+import org.springframework.data.mongodb.core.metrics.OperationPhase;
+import org.springframework.data.mongodb.core.metrics.OperationRecorder;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.data.mongodb.util.DotPath;
@@ -110,9 +112,19 @@ public class QueryMapper {
 	 * @param entity can be {@literal null}.
 	 * @return
 	 */
-	@SuppressWarnings("deprecation")
 	public Document getMappedObject(Bson query, @Nullable MongoPersistentEntity<?> entity) {
 
+		OperationRecorder.enter(OperationPhase.QUERY_MAPPING);
+		try {
+			return mapObject(query, entity);
+		} finally {
+			OperationRecorder.exit();
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private Document mapObject(Bson query, @Nullable MongoPersistentEntity<?> entity) {
+
 		if (isNestedKeyword(query)) {
 			return getMappedKeyword(new Keyword(query), entity);
 		}
@@ -185,6 +197,16 @@ public class QueryMapper {
 
 		Assert.notNull(sortObject, "SortObject must not be null!");
 
+		OperationRecorder.enter(OperationPhase.QUERY_MAPPING);
+		try {
+			return mapSort(sortObject, entity);
+		} finally {
+			OperationRecorder.exit();
+		}
+	}
+
+	private Document mapSort(Document sortObject, @Nullable MongoPersistentEntity<?> entity) {
+
 		if (sortObject.isEmpty()) {
 			return new Document();
 		}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * {@link ApplicationEvent} published once {@link MongoPersistentEntityIndexSynchronizer} has synchronized indexes for
+ * all collections.
+ *
+ * @since 3.2
+ */
+public class IndexSynchronizationCompletedEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	private final IndexSynchronizationResult result;
+
+	/**
+	 * Creates a new {@link IndexSynchronizationCompletedEvent}.
+	 *
+	 * @param source the synchronizer that published the event. Must not be {@literal null}.
+	 * @param result must not be {@literal null}.
+	 */
+	public IndexSynchronizationCompletedEvent(Object source, IndexSynchronizationResult result) {
+
+		super(source);
+		this.result = result;
+	}
+
+	/**
+	 * @return the {@link IndexSynchronizationResult}.
+	 */
+	public IndexSynchronizationResult getResult() {
+		return result;
+	}
+}
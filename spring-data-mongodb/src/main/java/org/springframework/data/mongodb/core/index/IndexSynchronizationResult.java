@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of synchronizing indexes through {@link MongoPersistentEntityIndexSynchronizer}.
+ *
+ * @since 3.2
+ */
+public class IndexSynchronizationResult {
+
+	private final Map<String, List<String>> createdIndexes;
+	private final Map<String, Throwable> failures;
+	private final Duration duration;
+
+	IndexSynchronizationResult(Map<String, List<String>> createdIndexes, Map<String, Throwable> failures,
+			Duration duration) {
+
+		this.createdIndexes = Collections.unmodifiableMap(createdIndexes);
+		this.failures = Collections.unmodifiableMap(failures);
+		this.duration = duration;
+	}
+
+	/**
+	 * @return names of the indexes created per collection. Collections without missing indexes are not contained.
+	 */
+	public Map<String, List<String>> getCreatedIndexes() {
+		return createdIndexes;
+	}
+
+	/**
+	 * @return failures per collection name.
+	 */
+	public Map<String, Throwable> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @return {@literal true} if synchronizing indexes failed for at least one collection.
+	 */
+	public boolean hasFailures() {
+		return !failures.isEmpty();
+	}
+
+	/**
+	 * @return the time it took to synchronize indexes across all collections.
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("Index synchronization took %d ms, created: %s, failed collections: %s", duration.toMillis(),
+				createdIndexes, failures.keySet());
+	}
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Component that synchronizes the indexes of all {@link MongoPersistentEntity entities} known to a
+ * {@link MongoMappingContext} with the indexes present in the database. Unlike {@link MongoPersistentEntityIndexCreator}
+ * that ensures each index serially, the synchronizer lists existing indexes once per collection, creates only missing
+ * indexes using a single {@code createIndexes} command per collection and processes collections in parallel.
+ * <p>
+ * Indexes are matched by name. Indexes without an explicit name are matched using the default name MongoDB assigns
+ * (e.g. {@code lastname_1}). An existing index with a matching name must have the same keys and the same
+ * {@code unique}, {@code sparse}, {@code expireAfterSeconds} and {@code partialFilterExpression} options. Otherwise,
+ * synchronization of its collection fails with a {@link DataIntegrityViolationException} describing the conflict.
+ * Existing indexes are neither modified nor dropped.
+ * <p>
+ * When registered as bean, indexes are synchronized once all singletons are instantiated. Startup blocks until indexes
+ * are synchronized unless configured {@link #setBlocking(boolean) otherwise}. Completion is reported through an
+ * {@link IndexSynchronizationCompletedEvent}. Disable {@link MongoMappingContext#setAutoIndexCreation(boolean)
+ * automatic index creation} when using the synchronizer.
+ *
+ * @since 3.2
+ */
+public class MongoPersistentEntityIndexSynchronizer
+		implements SmartInitializingSingleton, ApplicationEventPublisherAware {
+
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MongoPersistentEntityIndexSynchronizer.class);
+
+	private final MongoMappingContext mappingContext;
+	private final IndexOperationsProvider indexOperationsProvider;
+	private final IndexResolver indexResolver;
+
+	private @Nullable Executor executor;
+	private int parallelism = DEFAULT_PARALLELISM;
+	private boolean blocking = true;
+	private @Nullable ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Creates a new {@link MongoPersistentEntityIndexSynchronizer} for the given {@link MongoMappingContext} and
+	 * {@link IndexOperationsProvider}.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @param indexOperationsProvider must not be {@literal null}.
+	 */
+	public MongoPersistentEntityIndexSynchronizer(MongoMappingContext mappingContext,
+			IndexOperationsProvider indexOperationsProvider) {
+		this(mappingContext, indexOperationsProvider, IndexResolver.create(mappingContext));
+	}
+
+	/**
+	 * Creates a new {@link MongoPersistentEntityIndexSynchronizer} for the given {@link MongoMappingContext},
+	 * {@link IndexOperationsProvider} and {@link IndexResolver}.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @param indexOperationsProvider must not be {@literal null}.
+	 * @param indexResolver must not be {@literal null}.
+	 */
+	public MongoPersistentEntityIndexSynchronizer(MongoMappingContext mappingContext,
+			IndexOperationsProvider indexOperationsProvider, IndexResolver indexResolver) {
+
+		Assert.notNull(mappingContext, "MongoMappingContext must not be null!");
+		Assert.notNull(indexOperationsProvider, "IndexOperationsProvider must not be null!");
+		Assert.notNull(indexResolver, "IndexResolver must not be null!");
+
+		this.mappingContext = mappingContext;
+		this.indexOperationsProvider = indexOperationsProvider;
+		this.indexResolver = indexResolver;
+	}
+
+	/**
+	 * Configure the {@link Executor} to synchronize collections on. If not set, a pool with
+	 * {@link #setParallelism(int) parallelism} threads is created for each synchronization and shut down afterwards.
+	 *
+	 * @param executor can be {@literal null}.
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Configure the number of collections to synchronize concurrently if no {@link #setExecutor(Executor) executor} is
+	 * set. Defaults to {@link #DEFAULT_PARALLELISM}.
+	 *
+	 * @param parallelism must be greater than zero.
+	 */
+	public void setParallelism(int parallelism) {
+
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Configure whether startup blocks until indexes are synchronized. Failures are propagated to the application
+	 * startup when blocking and logged otherwise. Defaults to {@literal true}.
+	 *
+	 * @param blocking {@literal true} to block startup until indexes are synchronized, {@literal false} to synchronize
+	 *          in the background.
+	 */
+	public void setBlocking(boolean blocking) {
+		this.blocking = blocking;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationEventPublisherAware#setApplicationEventPublisher(org.springframework.context.ApplicationEventPublisher)
+	 */
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.eventPublisher = applicationEventPublisher;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.SmartInitializingSingleton#afterSingletonsInstantiated()
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+
+		CompletableFuture<IndexSynchronizationResult> synchronization = synchronize();
+
+		if (!blocking) {
+			return;
+		}
+
+		IndexSynchronizationResult result = synchronization.join();
+
+		if (result.hasFailures()) {
+
+			RuntimeException exception = null;
+
+			for (Throwable failure : result.getFailures().values()) {
+
+				if (exception == null) {
+					exception = failure instanceof RuntimeException ? (RuntimeException) failure
+							: new IllegalStateException(failure.getMessage(), failure);
+				} else {
+					exception.addSuppressed(failure);
+				}
+			}
+
+			throw exception;
+		}
+	}
+
+	/**
+	 * Synchronize indexes of all entities known to the {@link MongoMappingContext}. Failures are captured per collection
+	 * in the {@link IndexSynchronizationResult} instead of failing the returned {@link CompletableFuture}.
+	 *
+	 * @return a {@link CompletableFuture} completing with the {@link IndexSynchronizationResult} once all collections are
+	 *         synchronized.
+	 */
+	public CompletableFuture<IndexSynchronizationResult> synchronize() {
+
+		long start = System.nanoTime();
+		Map<String, List<IndexDefinitionHolder>> indexesByCollection = resolveIndexes();
+
+		ExecutorService ownedExecutor = executor == null && !indexesByCollection.isEmpty()
+				? Executors.newFixedThreadPool(Math.min(parallelism, indexesByCollection.size()), createThreadFactory())
+				: null;
+		Executor executorToUse = ownedExecutor != null ? ownedExecutor : executor != null ? executor : Runnable::run;
+
+		Map<String, List<String>> createdIndexes = new LinkedHashMap<>();
+		Map<String, Throwable> failures = new LinkedHashMap<>();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByCollection.size());
+
+		indexesByCollection.forEach((collection, indexes) -> {
+
+			CompletableFuture<Void> future = CompletableFuture
+					.supplyAsync(() -> synchronizeCollection(collection, indexes), executorToUse)
+					.handle((created, error) -> {
+
+						synchronized (createdIndexes) {
+
+							if (error != null) {
+								failures.put(collection, error instanceof CompletionException ? error.getCause() : error);
+							} else if (!created.isEmpty()) {
+								createdIndexes.put(collection, created);
+							}
+						}
+
+						return null;
+					});
+
+			futures.add(future);
+		});
+
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((ignore, error) -> {
+
+			if (ownedExecutor != null) {
+				ownedExecutor.shutdown();
+			}
+
+			IndexSynchronizationResult result;
+
+			synchronized (createdIndexes) {
+				result = new IndexSynchronizationResult(createdIndexes, failures, Duration.ofNanos(System.nanoTime() - start));
+			}
+
+			if (result.hasFailures()) {
+				result.getFailures().forEach((collection, failure) -> LOGGER
+						.error(String.format("Failed to synchronize indexes for collection '%s'.", collection), failure));
+			} else if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(result.toString());
+			}
+
+			if (eventPublisher != null) {
+				eventPublisher.publishEvent(new IndexSynchronizationCompletedEvent(this, result));
+			}
+
+			return result;
+		});
+	}
+
+	private Map<String, List<IndexDefinitionHolder>> resolveIndexes() {
+
+		Map<String, List<IndexDefinitionHolder>> indexesByCollection = new LinkedHashMap<>();
+		Map<String, Set<String>> indexNamesByCollection = new LinkedHashMap<>();
+
+		for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+
+			if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+				continue;
+			}
+
+			String collection = entity.getCollection();
+
+			for (IndexDefinition indexDefinition : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+
+				IndexDefinitionHolder holder = indexDefinition instanceof IndexDefinitionHolder
+						? (IndexDefinitionHolder) indexDefinition
+						: new IndexDefinitionHolder("", indexDefinition, collection);
+
+				Set<String> indexNames = indexNamesByCollection.computeIfAbsent(holder.getCollection(),
+						key -> new HashSet<>());
+
+				if (indexNames.add(getIndexName(holder))) {
+					indexesByCollection.computeIfAbsent(holder.getCollection(), key -> new ArrayList<>()).add(holder);
+				}
+			}
+		}
+
+		return indexesByCollection;
+	}
+
+	private List<String> synchronizeCollection(String collection, List<IndexDefinitionHolder> indexes) {
+
+		IndexOperations indexOperations = indexOperationsProvider.indexOps(collection);
+		Map<String, IndexInfo> existingIndexes = new HashMap<>();
+
+		for (IndexInfo indexInfo : indexOperations.getIndexInfo()) {
+			existingIndexes.put(indexInfo.getName(), indexInfo);
+		}
+
+		List<IndexDefinitionHolder> missingIndexes = new ArrayList<>(indexes.size());
+		List<String> conflicts = new ArrayList<>();
+
+		for (IndexDefinitionHolder index : indexes) {
+
+			IndexInfo existingIndex = existingIndexes.get(getIndexName(index));
+
+			if (existingIndex == null) {
+				missingIndexes.add(index);
+			} else if (!isEquivalent(index, existingIndex)) {
+				conflicts.add(String.format("'%s' with keys '%s' and options '%s' (already defined as '%s')",
+						getIndexName(index), index.getIndexKeys(), index.getIndexOptions(), existingIndex));
+			}
+		}
+
+		if (!conflicts.isEmpty()) {
+			throw new DataIntegrityViolationException(String.format("Conflicting index(es) in collection '%s': %s.",
+					collection, String.join(", ", conflicts)));
+		}
+
+		if (missingIndexes.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Creating %d missing index(es) in collection '%s'.", missingIndexes.size(),
+					collection));
+		}
+
+		return indexOperations.ensureIndexes(missingIndexes);
+	}
+
+	/**
+	 * Check whether the existing index has the same keys and options as the index definition. Keys of text and geo
+	 * indexes are not compared as their key representation differs in {@link IndexInfo}.
+	 */
+	static boolean isEquivalent(IndexDefinition indexDefinition, IndexInfo existingIndex) {
+
+		Document options = indexDefinition.getIndexOptions();
+
+		if (Boolean.TRUE.equals(options.get("unique")) != existingIndex.isUnique()
+				|| Boolean.TRUE.equals(options.get("sparse")) != existingIndex.isSparse()) {
+			return false;
+		}
+
+		Number expireAfterSeconds = options.get("expireAfterSeconds", Number.class);
+		Long existingExpireAfterSeconds = existingIndex.getExpireAfter().map(Duration::getSeconds).orElse(null);
+
+		if (!ObjectUtils.nullSafeEquals(expireAfterSeconds != null ? expireAfterSeconds.longValue() : null,
+				existingExpireAfterSeconds)) {
+			return false;
+		}
+
+		Object partialFilter = options.get("partialFilterExpression");
+		String existingPartialFilter = existingIndex.getPartialFilterExpression();
+
+		if (!ObjectUtils.nullSafeEquals(partialFilter,
+				existingPartialFilter != null ? Document.parse(existingPartialFilter) : null)) {
+			return false;
+		}
+
+		return hasSameKeys(indexDefinition.getIndexKeys(), existingIndex.getIndexFields());
+	}
+
+	private static boolean hasSameKeys(Document keys, List<IndexField> existingFields) {
+
+		for (Object value : keys.values()) {
+			if (!(value instanceof Number) && !"hashed".equals(value)) {
+				return true;
+			}
+		}
+
+		if (keys.size() != existingFields.size()) {
+			return false;
+		}
+
+		int index = 0;
+
+		for (Map.Entry<String, Object> key : keys.entrySet()) {
+
+			IndexField field = existingFields.get(index++);
+
+			if (!field.getKey().equals(key.getKey())) {
+				return false;
+			}
+
+			if ("hashed".equals(key.getValue())) {
+
+				if (!field.isHashed()) {
+					return false;
+				}
+
+				continue;
+			}
+
+			Direction direction = ((Number) key.getValue()).intValue() < 0 ? Direction.DESC : Direction.ASC;
+
+			if (field.getDirection() != direction) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determine the name of the index. Returns the {@code name} option if set or the default name MongoDB generates from
+	 * the index keys otherwise.
+	 *
+	 * @param indexDefinition must not be {@literal null}.
+	 * @return the index name.
+	 */
+	static String getIndexName(IndexDefinition indexDefinition) {
+
+		Object name = indexDefinition.getIndexOptions().get("name");
+
+		if (name != null) {
+			return name.toString();
+		}
+
+		StringBuilder indexName = new StringBuilder();
+		Document keys = indexDefinition.getIndexKeys();
+
+		for (Map.Entry<String, Object> key : keys.entrySet()) {
+
+			if (indexName.length() > 0) {
+				indexName.append('_');
+			}
+
+			indexName.append(key.getKey()).append('_');
+
+			Object value = key.getValue();
+			if (value instanceof Number) {
+				indexName.append(((Number) value).intValue());
+			} else if (value != null) {
+				indexName.append(value.toString().replace(' ', '_'));
+			}
+		}
+
+		return indexName.toString();
+	}
+
+	private static CustomizableThreadFactory createThreadFactory() {
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mongo-index-sync-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+}
@@ -15,13 +15,16 @@
  */
 package org.springframework.data.mongodb.core.mapping;
 
+import java.util.List;
+
 import org.springframework.data.mapping.model.FieldNamingStrategy;
 import org.springframework.data.mapping.model.Property;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.lang.Nullable;
 
 /**
- * {@link MongoPersistentProperty} caching access to {@link #isIdProperty()} and {@link #getFieldName()}.
+ * {@link MongoPersistentProperty} caching access to {@link #isIdProperty()}, {@link #getFieldName()} and
+ * {@link #getFieldNameSegments()}.
  *
  * @author Oliver Gierke
  * @author Mark Paluch
@@ -33,6 +36,7 @@ public class CachingMongoPersistentProperty extends BasicMongoPersistentProperty
 	private boolean dbRefResolved;
 	private @Nullable DBRef dbref;
 	private @Nullable String fieldName;
+	private @Nullable List<String> fieldNameSegments;
 	private @Nullable Class<?> fieldType;
 	private @Nullable Boolean usePropertyAccess;
 	private @Nullable Boolean isTransient;
@@ -90,6 +94,20 @@ public class CachingMongoPersistentProperty extends BasicMongoPersistentProperty
 		return this.fieldName;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.mapping.MongoPersistentProperty#getFieldNameSegments()
+	 */
+	@Override
+	public List<String> getFieldNameSegments() {
+
+		if (this.fieldNameSegments == null) {
+			this.fieldNameSegments = super.getFieldNameSegments();
+		}
+
+		return this.fieldNameSegments;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.mapping.BasicMongoPersistentProperty#getFieldType()
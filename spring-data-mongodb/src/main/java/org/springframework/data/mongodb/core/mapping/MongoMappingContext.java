@@ -63,6 +63,14 @@ public class MongoMappingContext extends AbstractMappingContext<MongoPersistentE
 		this.fieldNamingStrategy = fieldNamingStrategy == null ? DEFAULT_NAMING_STRATEGY : fieldNamingStrategy;
 	}
 
+	/**
+	 * @return the {@link FieldNamingStrategy} used to determine the field name if no manual mapping is applied.
+	 * @since 3.2
+	 */
+	public FieldNamingStrategy getFieldNamingStrategy() {
+		return fieldNamingStrategy;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mapping.context.AbstractMappingContext#shouldCreatePersistentEntityFor(org.springframework.data.util.TypeInformation)
@@ -15,6 +15,10 @@
  */
 package org.springframework.data.mongodb.core.mapping;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mapping.PersistentEntity;
@@ -38,6 +42,21 @@ public interface MongoPersistentProperty extends PersistentProperty<MongoPersist
 	 */
 	String getFieldName();
 
+	/**
+	 * Returns the segments of the {@link #getFieldName() field name} split by dots. A field name consists of multiple
+	 * segments if it refers to a field within a nested document through a path such as {@code address.city}.
+	 *
+	 * @return the field name segments. Never {@literal null} or empty.
+	 * @since 3.2
+	 */
+	default List<String> getFieldNameSegments() {
+
+		String fieldName = getFieldName();
+
+		return fieldName.contains(".") ? Collections.unmodifiableList(Arrays.asList(fieldName.split("\\.")))
+				: Collections.singletonList(fieldName);
+	}
+
 	/**
 	 * Returns the {@link Class Java FieldType} of the field a property is persisted to.
 	 *
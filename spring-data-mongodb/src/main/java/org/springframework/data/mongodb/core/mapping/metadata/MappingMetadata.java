@@ -0,0 +1,554 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.mapping.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.annotation.Persistent;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Precomputed mapping metadata of {@link Persistent} entities such as
+ * {@link org.springframework.data.mongodb.core.mapping.Document} types. The metadata captures the base packages it was
+ * generated for, the entity types found in these packages and the index definitions of entities whose mapping does not
+ * depend on runtime state. It is generated at build time through {@link MappingMetadataGenerator} and stored as JSON
+ * in {@link #METADATA_LOCATION}. At startup, the entity types replace classpath scanning for base packages covered by
+ * the metadata and index definitions are served by {@link PrecomputedIndexResolver} instead of introspecting entities.
+ * <p>
+ * Index definitions of entities using SpEL expressions in their mapping annotations (e.g. a collection name or index
+ * options computed from an expression) are not precomputed but resolved at runtime. Metadata found on the classpath
+ * (possibly contained in multiple resources) is used unless the {@link #IGNORE_METADATA_PROPERTY} Spring property is
+ * set to {@literal true}. Metadata must be regenerated whenever mapped types change. Precomputed index definitions
+ * are only used if the {@link org.springframework.data.mapping.model.FieldNamingStrategy} recorded at generation time
+ * matches the one of the runtime {@link MongoMappingContext}.
+ *
+ * @since 3.2
+ */
+public final class MappingMetadata {
+
+	/**
+	 * Classpath location of the mapping metadata.
+	 */
+	public static final String METADATA_LOCATION = "META-INF/spring-data-mongodb/mapping-metadata.json";
+
+	/**
+	 * Spring property to ignore mapping metadata on the classpath.
+	 */
+	public static final String IGNORE_METADATA_PROPERTY = "spring.data.mongodb.mapping-metadata.ignore";
+
+	private static final int VERSION = 3;
+	private static final String EXPRESSION_PREFIX = "#{";
+	private static final MappingMetadata NONE = new MappingMetadata(Collections.emptySet(), null,
+			Collections.emptyMap());
+	private static final Map<ClassLoader, MappingMetadata> CACHE = new ConcurrentReferenceHashMap<>();
+
+	private final Set<String> basePackages;
+	private final @Nullable String fieldNamingStrategy;
+	private final Map<String, PersistentEntityMetadata> entities;
+
+	private MappingMetadata(Set<String> basePackages, @Nullable String fieldNamingStrategy,
+			Map<String, PersistentEntityMetadata> entities) {
+
+		this.basePackages = basePackages;
+		this.fieldNamingStrategy = fieldNamingStrategy;
+		this.entities = entities;
+	}
+
+	/**
+	 * Compute {@link MappingMetadata} for all {@link Persistent} entities known to the given {@link MongoMappingContext}
+	 * that were obtained by scanning {@code basePackages}. Index definitions are resolved for
+	 * {@link org.springframework.data.mongodb.core.mapping.Document} entities that do not use SpEL expressions in their
+	 * mapping annotations.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @param indexResolver must not be {@literal null}.
+	 * @param basePackages the base packages scanned for entities. Must not be {@literal null}.
+	 * @return new instance of {@link MappingMetadata}.
+	 */
+	public static MappingMetadata of(MongoMappingContext mappingContext, IndexResolver indexResolver,
+			Collection<String> basePackages) {
+
+		Assert.notNull(mappingContext, "MongoMappingContext must not be null!");
+		Assert.notNull(indexResolver, "IndexResolver must not be null!");
+		Assert.notNull(basePackages, "Base packages must not be null!");
+
+		Map<String, PersistentEntityMetadata> entities = new LinkedHashMap<>();
+
+		for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+
+			if (!entity.isAnnotationPresent(Persistent.class)) {
+				continue;
+			}
+
+			String typeName = entity.getType().getName();
+
+			if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)
+					|| usesExpressions(entity, mappingContext, new HashSet<>())) {
+
+				entities.put(typeName, new PersistentEntityMetadata(typeName, null));
+				continue;
+			}
+
+			List<Document> indexes = new ArrayList<>();
+
+			for (IndexDefinition indexDefinition : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+
+				IndexDefinitionHolder holder = indexDefinition instanceof IndexDefinitionHolder
+						? (IndexDefinitionHolder) indexDefinition
+						: new IndexDefinitionHolder("", indexDefinition, entity.getCollection());
+
+				indexes.add(new Document("collection", holder.getCollection()).append("path", holder.getPath())
+						.append("keys", holder.getIndexKeys()).append("options", holder.getIndexOptions()));
+			}
+
+			entities.put(typeName, new PersistentEntityMetadata(typeName, indexes));
+		}
+
+		return new MappingMetadata(new LinkedHashSet<>(basePackages), getFieldNamingStrategy(mappingContext), entities);
+	}
+
+	/**
+	 * Load {@link MappingMetadata} from all {@link #METADATA_LOCATION} resources visible to the {@link ClassLoader} of
+	 * Spring Data MongoDB. Configuration and templates both load metadata through this class loader so that entity
+	 * scanning and index resolution operate on the same metadata.
+	 *
+	 * @return the {@link MappingMetadata} or {@literal null} if no metadata is present or metadata is
+	 *         {@link #IGNORE_METADATA_PROPERTY ignored}.
+	 * @see #load(ClassLoader)
+	 */
+	@Nullable
+	public static MappingMetadata load() {
+		return load(MappingMetadata.class.getClassLoader());
+	}
+
+	/**
+	 * Load {@link MappingMetadata} from all {@link #METADATA_LOCATION} resources visible to the given
+	 * {@link ClassLoader}. Loaded metadata is cached per {@link ClassLoader}.
+	 *
+	 * @param classLoader can be {@literal null} to use the default class loader.
+	 * @return the {@link MappingMetadata} or {@literal null} if no metadata is present or metadata is
+	 *         {@link #IGNORE_METADATA_PROPERTY ignored}.
+	 */
+	@Nullable
+	public static MappingMetadata load(@Nullable ClassLoader classLoader) {
+
+		if (SpringProperties.getFlag(IGNORE_METADATA_PROPERTY)) {
+			return null;
+		}
+
+		ClassLoader classLoaderToUse = classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+
+		if (classLoaderToUse == null) {
+			return null;
+		}
+
+		MappingMetadata metadata = CACHE.computeIfAbsent(classLoaderToUse, MappingMetadata::doLoad);
+		return metadata == NONE ? null : metadata;
+	}
+
+	private static MappingMetadata doLoad(ClassLoader classLoader) {
+
+		MappingMetadata metadata = NONE;
+
+		try {
+
+			Enumeration<URL> resources = classLoader.getResources(METADATA_LOCATION);
+
+			while (resources.hasMoreElements()) {
+
+				URL resource = resources.nextElement();
+
+				try (InputStream stream = resource.openStream()) {
+
+					String json = new String(FileCopyUtils.copyToByteArray(stream), StandardCharsets.UTF_8);
+					metadata = metadata.merge(parse(json));
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot read mapping metadata from %s", METADATA_LOCATION), e);
+		}
+
+		return metadata;
+	}
+
+	/**
+	 * Read {@link MappingMetadata} from the given {@link Reader}.
+	 *
+	 * @param reader must not be {@literal null}.
+	 * @return the {@link MappingMetadata}.
+	 * @throws IOException in case of I/O errors.
+	 */
+	public static MappingMetadata read(Reader reader) throws IOException {
+
+		Assert.notNull(reader, "Reader must not be null!");
+
+		return parse(FileCopyUtils.copyToString(reader));
+	}
+
+	private static MappingMetadata parse(String json) {
+
+		Document document = Document.parse(json);
+		Integer version = document.getInteger("version");
+
+		if (version == null || version != VERSION) {
+			throw new IllegalStateException(String.format("Unsupported mapping metadata version %s", version));
+		}
+
+		Map<String, PersistentEntityMetadata> entities = new LinkedHashMap<>();
+
+		for (Document entity : document.getList("entities", Document.class, Collections.emptyList())) {
+
+			String typeName = entity.getString("type");
+			entities.put(typeName, new PersistentEntityMetadata(typeName, entity.getList("indexes", Document.class)));
+		}
+
+		return new MappingMetadata(
+				new LinkedHashSet<>(document.getList("basePackages", String.class, Collections.emptyList())),
+				document.getString("fieldNamingStrategy"), entities);
+	}
+
+	/**
+	 * Write this {@link MappingMetadata} as JSON to the given {@link Writer}.
+	 *
+	 * @param writer must not be {@literal null}.
+	 * @throws IOException in case of I/O errors.
+	 */
+	public void write(Writer writer) throws IOException {
+
+		Assert.notNull(writer, "Writer must not be null!");
+
+		List<Document> entityDocuments = new ArrayList<>(entities.size());
+
+		for (PersistentEntityMetadata entity : entities.values()) {
+
+			Document entityDocument = new Document("type", entity.getTypeName());
+
+			if (entity.indexes != null) {
+				entityDocument.append("indexes", entity.indexes);
+			}
+
+			entityDocuments.add(entityDocument);
+		}
+
+		Document document = new Document("version", VERSION).append("basePackages", new ArrayList<>(basePackages))
+				.append("fieldNamingStrategy", fieldNamingStrategy).append("entities", entityDocuments);
+
+		writer.write(document.toJson(JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).indent(true).build()));
+		writer.flush();
+	}
+
+	/**
+	 * Check whether the metadata was generated with the same
+	 * {@link org.springframework.data.mapping.model.FieldNamingStrategy} as used by the given
+	 * {@link MongoMappingContext}. Precomputed index definitions must not be used otherwise as their field names differ
+	 * from the ones derived at runtime.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @return {@literal true} if precomputed index definitions match {@code mappingContext}.
+	 */
+	public boolean isCompatibleWith(MongoMappingContext mappingContext) {
+
+		Assert.notNull(mappingContext, "MongoMappingContext must not be null!");
+
+		return fieldNamingStrategy != null && fieldNamingStrategy.equals(getFieldNamingStrategy(mappingContext));
+	}
+
+	/**
+	 * Check whether the metadata was generated for {@code basePackage} or one of its parent packages and therefore
+	 * contains all entities of {@code basePackage} known at generation time.
+	 *
+	 * @param basePackage must not be {@literal null}.
+	 * @return {@literal true} if the metadata covers {@code basePackage}.
+	 */
+	public boolean covers(String basePackage) {
+
+		Assert.notNull(basePackage, "Base package must not be null!");
+
+		for (String candidate : basePackages) {
+			if (isInPackage(basePackage, candidate)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Resolve the entity types contained in the metadata that reside in {@code basePackage} or one of its sub-packages.
+	 *
+	 * @param basePackage must not be {@literal null}.
+	 * @param classLoader can be {@literal null} to use the default class loader.
+	 * @return the entity types.
+	 * @throws IllegalStateException if an entity type cannot be loaded indicating outdated metadata.
+	 * @see #covers(String)
+	 */
+	public Set<Class<?>> getEntityTypes(String basePackage, @Nullable ClassLoader classLoader) {
+
+		Assert.notNull(basePackage, "Base package must not be null!");
+
+		Set<Class<?>> types = new LinkedHashSet<>();
+
+		for (String typeName : entities.keySet()) {
+
+			if (!isInPackage(ClassUtils.getPackageName(typeName), basePackage)) {
+				continue;
+			}
+
+			try {
+				types.add(ClassUtils.forName(typeName, classLoader));
+			} catch (ClassNotFoundException | LinkageError e) {
+				throw new IllegalStateException(String.format(
+						"Cannot load entity type %s listed in mapping metadata. Mapping metadata is likely outdated.", typeName),
+						e);
+			}
+		}
+
+		return types;
+	}
+
+	/**
+	 * @param type must not be {@literal null}.
+	 * @return the {@link PersistentEntityMetadata} for {@code type} or {@literal null} if the type is not contained in
+	 *         the metadata.
+	 */
+	@Nullable
+	public PersistentEntityMetadata getEntity(Class<?> type) {
+
+		Assert.notNull(type, "Type must not be null!");
+
+		return entities.get(type.getName());
+	}
+
+	private MappingMetadata merge(MappingMetadata other) {
+
+		if (this == NONE) {
+			return other;
+		}
+
+		Set<String> basePackages = new LinkedHashSet<>(this.basePackages);
+		basePackages.addAll(other.basePackages);
+
+		Map<String, PersistentEntityMetadata> entities = new LinkedHashMap<>(this.entities);
+		other.entities.forEach(entities::putIfAbsent);
+
+		// metadata generated with different naming strategies is not compatible with any mapping context
+		String fieldNamingStrategy = ObjectUtils.nullSafeEquals(this.fieldNamingStrategy, other.fieldNamingStrategy)
+				? this.fieldNamingStrategy
+				: null;
+
+		return new MappingMetadata(basePackages, fieldNamingStrategy, entities);
+	}
+
+	private static String getFieldNamingStrategy(MongoMappingContext mappingContext) {
+		return mappingContext.getFieldNamingStrategy().getClass().getName();
+	}
+
+	private static boolean isInPackage(String packageName, String basePackage) {
+		return packageName.equals(basePackage) || packageName.startsWith(basePackage + ".");
+	}
+
+	/**
+	 * Check whether the mapping annotations of {@code entity} or the entities reachable through its properties contain
+	 * SpEL expressions that can evaluate differently at runtime.
+	 */
+	private static boolean usesExpressions(MongoPersistentEntity<?> entity, MongoMappingContext mappingContext,
+			Set<Class<?>> visited) {
+
+		if (!visited.add(entity.getType())) {
+			return false;
+		}
+
+		if (containsExpression(entity.getType())) {
+			return true;
+		}
+
+		for (MongoPersistentProperty property : entity) {
+
+			if (containsExpression(property.getField()) || containsExpression(property.getGetter())) {
+				return true;
+			}
+
+			if (property.isEntity()) {
+
+				MongoPersistentEntity<?> propertyEntity = mappingContext.getPersistentEntity(property);
+
+				if (propertyEntity != null && usesExpressions(propertyEntity, mappingContext, visited)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean containsExpression(@Nullable AnnotatedElement element) {
+
+		if (element == null) {
+			return false;
+		}
+
+		for (Annotation annotation : element.getAnnotations()) {
+			if (containsExpression(AnnotationUtils.getAnnotationAttributes(annotation, false, true))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean containsExpression(@Nullable Object value) {
+
+		if (value instanceof String) {
+			return ((String) value).contains(EXPRESSION_PREFIX);
+		}
+
+		if (value instanceof Object[]) {
+
+			for (Object element : (Object[]) value) {
+				if (containsExpression(element)) {
+					return true;
+				}
+			}
+		}
+
+		if (value instanceof Map) {
+
+			for (Object element : ((Map<?, ?>) value).values()) {
+				if (containsExpression(element)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Precomputed metadata of a single persistent entity.
+	 */
+	public static class PersistentEntityMetadata {
+
+		private final String typeName;
+		private final @Nullable List<Document> indexes;
+
+		PersistentEntityMetadata(String typeName, @Nullable List<Document> indexes) {
+
+			this.typeName = typeName;
+			this.indexes = indexes;
+		}
+
+		public String getTypeName() {
+			return typeName;
+		}
+
+		/**
+		 * @return {@literal true} if index definitions were precomputed. Index definitions of entities whose mapping
+		 *         depends on SpEL expressions are not precomputed.
+		 */
+		public boolean hasIndexDefinitions() {
+			return indexes != null;
+		}
+
+		/**
+		 * @return the precomputed {@link IndexDefinitionHolder index definitions}.
+		 * @throws IllegalStateException if index definitions were not precomputed.
+		 * @see #hasIndexDefinitions()
+		 */
+		public List<IndexDefinitionHolder> getIndexDefinitions() {
+
+			if (indexes == null) {
+				throw new IllegalStateException(String.format("No precomputed index definitions for %s", typeName));
+			}
+
+			List<IndexDefinitionHolder> indexDefinitions = new ArrayList<>(indexes.size());
+
+			for (Document index : indexes) {
+				indexDefinitions.add(new IndexDefinitionHolder(index.getString("path"),
+						new PrecomputedIndexDefinition(index.get("keys", Document.class), index.get("options", Document.class)),
+						index.getString("collection")));
+			}
+
+			return indexDefinitions;
+		}
+	}
+
+	/**
+	 * {@link IndexDefinition} backed by precomputed keys and options.
+	 */
+	static class PrecomputedIndexDefinition implements IndexDefinition {
+
+		private final Document keys;
+		private final Document options;
+
+		PrecomputedIndexDefinition(Document keys, Document options) {
+
+			this.keys = keys;
+			this.options = options;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.index.IndexDefinition#getIndexKeys()
+		 */
+		@Override
+		public Document getIndexKeys() {
+			return new Document(keys);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.core.index.IndexDefinition#getIndexOptions()
+		 */
+		@Override
+		public Document getIndexOptions() {
+			return new Document(options);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.mapping.metadata;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.annotation.Persistent;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Build-time generator for {@link MappingMetadata}. Scans base packages for {@link Document} and {@link Persistent}
+ * types, introspects them through a {@link MongoMappingContext} and writes the resulting metadata to
+ * {@link MappingMetadata#METADATA_LOCATION} below an output directory. Run it after compilation, e.g. using the
+ * {@code exec-maven-plugin} in the {@code process-classes} phase:
+ *
+ * <pre class="code">
+ * java org.springframework.data.mongodb.core.mapping.metadata.MappingMetadataGenerator target/classes com.example.domain
+ * </pre>
+ *
+ * Metadata is generated using default mapping settings. Applications customizing the
+ * {@link org.springframework.data.mapping.model.FieldNamingStrategy} or simple types should configure a
+ * {@link MongoMappingContext} accordingly and use {@link #generate(MongoMappingContext, Collection, Path)}.
+ *
+ * @since 3.2
+ */
+public class MappingMetadataGenerator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MappingMetadataGenerator.class);
+
+	/**
+	 * Generate mapping metadata.
+	 *
+	 * @param args the output directory followed by one or more base packages to scan.
+	 * @throws Exception in case of errors.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		if (args.length < 2) {
+			throw new IllegalArgumentException(
+					"Usage: MappingMetadataGenerator <output directory> <base package> [<base package>…]");
+		}
+
+		List<String> basePackages = Arrays.asList(Arrays.copyOfRange(args, 1, args.length));
+
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setInitialEntitySet(scanForEntities(basePackages));
+		mappingContext.initialize();
+
+		Path file = generate(mappingContext, basePackages, Paths.get(args[0]));
+
+		LOGGER.info("Mapping metadata for {} written to {}", basePackages, file);
+	}
+
+	/**
+	 * Generate {@link MappingMetadata} for all entities known to {@link MongoMappingContext} and write it to
+	 * {@link MappingMetadata#METADATA_LOCATION} below {@code outputDirectory}. The mapping context must hold all entities
+	 * of {@code basePackages} as the metadata replaces classpath scanning for these packages.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @param basePackages the base packages the entities were scanned from. Must not be {@literal null}.
+	 * @param outputDirectory must not be {@literal null}.
+	 * @return the path of the written metadata file.
+	 * @throws IOException in case of I/O errors.
+	 */
+	public static Path generate(MongoMappingContext mappingContext, Collection<String> basePackages,
+			Path outputDirectory) throws IOException {
+
+		Assert.notNull(mappingContext, "MongoMappingContext must not be null!");
+		Assert.notNull(basePackages, "Base packages must not be null!");
+		Assert.notNull(outputDirectory, "Output directory must not be null!");
+
+		MappingMetadata metadata = MappingMetadata.of(mappingContext, IndexResolver.create(mappingContext),
+				basePackages);
+		Path file = outputDirectory.resolve(MappingMetadata.METADATA_LOCATION);
+
+		Files.createDirectories(file.getParent());
+
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			metadata.write(writer);
+		}
+
+		return file;
+	}
+
+	private static Set<Class<?>> scanForEntities(Collection<String> basePackages) throws ClassNotFoundException {
+
+		ClassPathScanningCandidateComponentProvider componentProvider = new ClassPathScanningCandidateComponentProvider(
+				false);
+		componentProvider.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+		componentProvider.addIncludeFilter(new AnnotationTypeFilter(Persistent.class));
+
+		Set<Class<?>> entities = new LinkedHashSet<>();
+
+		for (String basePackage : basePackages) {
+			for (BeanDefinition candidate : componentProvider.findCandidateComponents(basePackage)) {
+				entities.add(ClassUtils.forName(candidate.getBeanClassName(), MappingMetadataGenerator.class.getClassLoader()));
+			}
+		}
+
+		return entities;
+	}
+}
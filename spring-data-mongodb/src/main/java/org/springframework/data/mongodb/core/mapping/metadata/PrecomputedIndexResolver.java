@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.mapping.metadata;
+
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.metadata.MappingMetadata.PersistentEntityMetadata;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link IndexResolver} serving {@link IndexDefinition index definitions} from {@link MappingMetadata}. Types not
+ * contained in the metadata and types whose index definitions depend on runtime state (e.g. SpEL expressions) are
+ * resolved through a delegate {@link IndexResolver}.
+ *
+ * @since 3.2
+ */
+public class PrecomputedIndexResolver implements IndexResolver {
+
+	private final MappingMetadata metadata;
+	private final IndexResolver delegate;
+
+	/**
+	 * Creates a new {@link PrecomputedIndexResolver}.
+	 *
+	 * @param metadata must not be {@literal null}.
+	 * @param delegate must not be {@literal null}.
+	 */
+	public PrecomputedIndexResolver(MappingMetadata metadata, IndexResolver delegate) {
+
+		Assert.notNull(metadata, "MappingMetadata must not be null!");
+		Assert.notNull(delegate, "Delegate IndexResolver must not be null!");
+
+		this.metadata = metadata;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Create an {@link IndexResolver} for the given {@link MappingContext} that uses {@link MappingMetadata#load()
+	 * MappingMetadata} present on the classpath and falls back to {@link IndexResolver#create(MappingContext)
+	 * introspection} if there is no metadata or the metadata is not {@link MappingMetadata#isCompatibleWith compatible}
+	 * with {@code mappingContext}.
+	 *
+	 * @param mappingContext must not be {@literal null}.
+	 * @return the {@link IndexResolver} to use.
+	 */
+	public static IndexResolver create(
+			MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+		return create(mappingContext, MappingMetadata.load());
+	}
+
+	static IndexResolver create(
+			MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+			@Nullable MappingMetadata metadata) {
+
+		IndexResolver indexResolver = IndexResolver.create(mappingContext);
+
+		if (metadata == null || !(mappingContext instanceof MongoMappingContext)
+				|| !metadata.isCompatibleWith((MongoMappingContext) mappingContext)) {
+			return indexResolver;
+		}
+
+		return new PrecomputedIndexResolver(metadata, indexResolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.index.IndexResolver#resolveIndexFor(org.springframework.data.util.TypeInformation)
+	 */
+	@Override
+	public Iterable<? extends IndexDefinition> resolveIndexFor(TypeInformation<?> typeInformation) {
+
+		PersistentEntityMetadata entity = metadata.getEntity(typeInformation.getType());
+
+		return entity != null && entity.hasIndexDefinitions() ? entity.getIndexDefinitions()
+				: delegate.resolveIndexFor(typeInformation);
+	}
+}
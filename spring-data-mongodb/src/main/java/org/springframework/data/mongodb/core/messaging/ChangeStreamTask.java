@@ -15,6 +15,7 @@
  */
 package org.springframework.data.mongodb.core.messaging;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
@@ -92,6 +93,8 @@ class ChangeStreamTask extends CursorReadingTask<ChangeStreamDocument<Document>,
 				: FullDocument.UPDATE_LOOKUP;
 		BsonTimestamp startAt = null;
 		boolean resumeAfter = true;
+		Integer batchSize = null;
+		Duration maxAwaitTime = options.maxAwaitTime();
 
 		if (options instanceof ChangeStreamRequest.ChangeStreamRequestOptions) {
 
@@ -118,6 +121,11 @@ class ChangeStreamTask extends CursorReadingTask<ChangeStreamDocument<Document>,
 							: FullDocument.UPDATE_LOOKUP);
 
 			startAt = changeStreamOptions.getResumeBsonTimestamp().orElse(null);
+			batchSize = changeStreamOptions.getBatchSize().orElse(null);
+
+			if (maxAwaitTime.isZero()) {
+				maxAwaitTime = changeStreamOptions.getMaxAwaitTime().orElse(maxAwaitTime);
+			}
 		}
 
 		MongoDatabase db = StringUtils.hasText(options.getDatabaseName())
@@ -134,8 +142,12 @@ class ChangeStreamTask extends CursorReadingTask<ChangeStreamDocument<Document>,
 			iterable = filter.isEmpty() ? db.watch(Document.class) : db.watch(filter, Document.class);
 		}
 
-		if (!options.maxAwaitTime().isZero()) {
-			iterable = iterable.maxAwaitTime(options.maxAwaitTime().toMillis(), TimeUnit.MILLISECONDS);
+		if (!maxAwaitTime.isZero()) {
+			iterable = iterable.maxAwaitTime(maxAwaitTime.toMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		if (batchSize != null) {
+			iterable = iterable.batchSize(batchSize);
 		}
 
 		if (!resumeToken.isEmpty()) {
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Evaluates a mapped query filter against a {@link Document} in memory. Supports field equality, regular expressions,
+ * the comparison operators {@code $eq}, {@code $ne}, {@code $gt}, {@code $gte}, {@code $lt}, {@code $lte},
+ * {@code $in}, {@code $nin}, {@code $exists} and the logical operators {@code $and}, {@code $or} and {@code $nor}.
+ * Filters using other operators are not supported. Documents containing arrays along a dotted path cannot be evaluated.
+ *
+ * @since 3.2
+ */
+class DocumentMatcher {
+
+	private static final Set<String> LOGICAL_OPERATORS = new HashSet<>(Arrays.asList("$and", "$or", "$nor"));
+	private static final Set<String> FIELD_OPERATORS = new HashSet<>(
+			Arrays.asList("$eq", "$ne", "$gt", "$gte", "$lt", "$lte", "$in", "$nin", "$exists"));
+
+	private static final Object MISSING = new Object();
+
+	private final Document filter;
+
+	private DocumentMatcher(Document filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Create a {@link DocumentMatcher} for the given mapped {@code filter}.
+	 *
+	 * @param filter the mapped filter.
+	 * @return the {@link DocumentMatcher} or {@literal null} if the filter uses unsupported operators.
+	 */
+	@Nullable
+	static DocumentMatcher of(Document filter) {
+		return isSupported(filter) ? new DocumentMatcher(filter) : null;
+	}
+
+	/**
+	 * Evaluate the filter against the given {@link Document}.
+	 *
+	 * @param document the document to evaluate.
+	 * @return {@literal true} if the document matches, {@literal false} if not or {@literal null} if the document
+	 *         cannot be evaluated.
+	 */
+	@Nullable
+	Boolean matches(Document document) {
+
+		try {
+			return matches(filter, document);
+		} catch (UndecidableException e) {
+			return null;
+		}
+	}
+
+	private static boolean isSupported(Map<String, Object> filter) {
+
+		for (Map.Entry<String, Object> entry : filter.entrySet()) {
+
+			if (LOGICAL_OPERATORS.contains(entry.getKey())) {
+
+				if (!(entry.getValue() instanceof Collection)) {
+					return false;
+				}
+
+				for (Object element : (Collection<?>) entry.getValue()) {
+					if (!(element instanceof Document) || !isSupported((Document) element)) {
+						return false;
+					}
+				}
+			} else if (entry.getKey().startsWith("$") || !isSupportedCondition(entry.getValue())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isSupportedCondition(@Nullable Object condition) {
+
+		if (!isOperatorDocument(condition)) {
+			return true;
+		}
+
+		for (Map.Entry<String, Object> entry : ((Document) condition).entrySet()) {
+
+			if (!FIELD_OPERATORS.contains(entry.getKey())) {
+				return false;
+			}
+
+			boolean inOperator = entry.getKey().equals("$in") || entry.getKey().equals("$nin");
+
+			if (inOperator && !(entry.getValue() instanceof Collection)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean matches(Document filter, Document document) {
+
+		for (Map.Entry<String, Object> entry : filter.entrySet()) {
+
+			boolean matches;
+
+			switch (entry.getKey()) {
+				case "$and":
+					matches = getFilters(entry.getValue()).allMatch(it -> matches(it, document));
+					break;
+				case "$or":
+					matches = getFilters(entry.getValue()).anyMatch(it -> matches(it, document));
+					break;
+				case "$nor":
+					matches = getFilters(entry.getValue()).noneMatch(it -> matches(it, document));
+					break;
+				default:
+					matches = matchesCondition(getValue(document, entry.getKey()), entry.getValue());
+			}
+
+			if (!matches) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static Stream<Document> getFilters(Object filters) {
+		return ((Collection<?>) filters).stream().map(Document.class::cast);
+	}
+
+	private static boolean matchesCondition(Object value, @Nullable Object condition) {
+
+		if (!isOperatorDocument(condition)) {
+			return isEqual(value, condition);
+		}
+
+		for (Map.Entry<String, Object> entry : ((Document) condition).entrySet()) {
+			if (!matchesOperator(value, entry.getKey(), entry.getValue())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean matchesOperator(Object value, String operator, @Nullable Object operand) {
+
+		switch (operator) {
+			case "$eq":
+				return isEqual(value, operand);
+			case "$ne":
+				return !isEqual(value, operand);
+			case "$in":
+				return ((Collection<?>) operand).stream().anyMatch(it -> isEqual(value, it));
+			case "$nin":
+				return ((Collection<?>) operand).stream().noneMatch(it -> isEqual(value, it));
+			case "$exists":
+
+				boolean exists = !Boolean.FALSE.equals(operand)
+						&& !(operand instanceof Number && ((Number) operand).intValue() == 0);
+				return (value != MISSING) == exists;
+			default:
+				return anyElement(value, it -> {
+
+					Integer comparison = compare(it, operand);
+					return comparison != null && matchesComparison(operator, comparison);
+				});
+		}
+	}
+
+	private static boolean matchesComparison(String operator, int comparison) {
+
+		switch (operator) {
+			case "$gt":
+				return comparison > 0;
+			case "$gte":
+				return comparison >= 0;
+			case "$lt":
+				return comparison < 0;
+			default:
+				return comparison <= 0;
+		}
+	}
+
+	/**
+	 * Equality following MongoDB semantics: {@literal null} matches missing fields, arrays match if the array or any of
+	 * its elements equals the expected value and regular expressions match string values. Differing embedded documents
+	 * and arrays are undecidable as their elements may differ in numeric type only.
+	 */
+	private static boolean isEqual(Object value, @Nullable Object expected) {
+
+		if (expected == null) {
+			return value == MISSING || value == null
+					|| (value instanceof Collection && ((Collection<?>) value).contains(null));
+		}
+
+		if (value == MISSING) {
+			return false;
+		}
+
+		if (ObjectUtils.nullSafeEquals(value, expected)) {
+			return true;
+		}
+
+		return anyElement(value, it -> {
+
+			if (expected instanceof Pattern) {
+				return it instanceof String && ((Pattern) expected).matcher((String) it).find();
+			}
+
+			if (isComposite(expected) && isComposite(it)) {
+
+				if (ObjectUtils.nullSafeEquals(it, expected)) {
+					return true;
+				}
+
+				throw new UndecidableException();
+			}
+
+			Integer comparison = compare(it, expected);
+			return comparison != null ? comparison == 0 : ObjectUtils.nullSafeEquals(it, expected);
+		});
+	}
+
+	private static boolean isComposite(@Nullable Object value) {
+		return value instanceof Document || value instanceof Collection;
+	}
+
+	private static boolean anyElement(Object value, Predicate<Object> predicate) {
+
+		if (value == MISSING) {
+			return false;
+		}
+
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).stream().anyMatch(predicate);
+		}
+
+		return predicate.test(value);
+	}
+
+	/**
+	 * Compare values of the same BSON type bracket.
+	 *
+	 * @return the comparison result or {@literal null} if the values are not comparable.
+	 */
+	@Nullable
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Integer compare(@Nullable Object left, @Nullable Object right) {
+
+		if (left instanceof Number && right instanceof Number) {
+
+			try {
+				return toBigDecimal((Number) left).compareTo(toBigDecimal((Number) right));
+			} catch (ArithmeticException | NumberFormatException e) {
+
+				// NaN and infinity
+				throw new UndecidableException();
+			}
+		}
+
+		if ((left instanceof String && right instanceof String) || (left instanceof Date && right instanceof Date)
+				|| (left instanceof ObjectId && right instanceof ObjectId)
+				|| (left instanceof Boolean && right instanceof Boolean)) {
+			return ((Comparable) left).compareTo(right);
+		}
+
+		return null;
+	}
+
+	private static BigDecimal toBigDecimal(Number number) {
+
+		if (number instanceof Decimal128) {
+			return ((Decimal128) number).bigDecimalValue();
+		}
+
+		if (number instanceof BigDecimal) {
+			return (BigDecimal) number;
+		}
+
+		if (number instanceof Double || number instanceof Float) {
+			return BigDecimal.valueOf(number.doubleValue());
+		}
+
+		return BigDecimal.valueOf(number.longValue());
+	}
+
+	private static Object getValue(Document document, String path) {
+
+		Object current = document;
+
+		for (String segment : path.split("\\.")) {
+
+			if (current instanceof List) {
+				throw new UndecidableException();
+			}
+
+			if (!(current instanceof Document) || !((Document) current).containsKey(segment)) {
+				return MISSING;
+			}
+
+			current = ((Document) current).get(segment);
+		}
+
+		return current;
+	}
+
+	private static boolean isOperatorDocument(@Nullable Object condition) {
+		return condition instanceof Document && !((Document) condition).isEmpty()
+				&& ((Document) condition).keySet().iterator().next().startsWith("$");
+	}
+
+	/**
+	 * Signals that a document cannot be evaluated in memory.
+	 */
+	private static class UndecidableException extends RuntimeException {
+
+		UndecidableException() {
+			super(null, null, false, false);
+		}
+	}
+}
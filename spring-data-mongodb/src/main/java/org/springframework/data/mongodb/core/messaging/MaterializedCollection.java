@@ -0,0 +1,599 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest.ChangeStreamRequestBuilder;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.util.BsonUtils;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+/**
+ * In-memory view of a MongoDB collection, or a filtered subset of it, kept in sync through a change stream registered
+ * with a {@link MessageListenerContainer}. Documents are held in a concurrent map keyed by their {@literal _id} and
+ * served from memory via {@link #get(Object)} and {@link #query(String, Object)} using secondary indexes on chosen
+ * keys.
+ * <p>
+ * The change stream is registered before loading the collection so that no change is lost while loading. Changes
+ * observed during the load are applied in order and converge to the current state. If the change stream fails, it is
+ * resumed after the last observed resume token. If the resume token is no longer available in the oplog, the view is
+ * reloaded.
+ *
+ * <pre class="code">
+ * MaterializedCollection&lt;Country&gt; countries = MaterializedCollection
+ * 		.builder(template, container, Country.class) //
+ * 		.filter(where("active").is(true)) //
+ * 		.index("code", Country::getCode) //
+ * 		.start();
+ *
+ * Country country = countries.get(id);
+ * List&lt;Country&gt; byCode = countries.query("code", "DE");
+ * </pre>
+ *
+ * Changes of a filtered view are matched against the filter in memory using the full document of the change event to
+ * detect documents entering or leaving the subset. The document is looked up using the filter only if the filter or
+ * the document cannot be evaluated in memory. The {@link MessageListenerContainer} must be running to start the view.
+ *
+ * @since 3.2
+ */
+public class MaterializedCollection<T> implements Cancelable {
+
+	private static final Log LOGGER = LogFactory.getLog(MaterializedCollection.class);
+
+	private static final Set<Integer> HISTORY_LOST_CODES = new HashSet<>(Arrays.asList(280, 286));
+
+	private final MongoTemplate template;
+	private final MessageListenerContainer container;
+	private final Class<T> type;
+	private final String collectionName;
+	private final @Nullable Document filter;
+	private final @Nullable DocumentMatcher matcher;
+	private final Map<String, Index<T>> indexes;
+	private final Duration startTimeout;
+	private final ErrorHandler errorHandler;
+	private final QueryMapper queryMapper;
+	private final @Nullable MongoPersistentEntity<?> entity;
+
+	private final Map<Object, T> entries = new ConcurrentHashMap<>();
+	private final Object lock = new Object();
+
+	private volatile @Nullable Subscription subscription;
+	private volatile @Nullable BsonValue resumeToken;
+	private volatile boolean cancelled;
+
+	private MaterializedCollection(MaterializedCollectionBuilder<T> builder) {
+
+		this.template = builder.template;
+		this.container = builder.container;
+		this.type = builder.type;
+		this.collectionName = builder.collectionName != null ? builder.collectionName
+				: template.getCollectionName(builder.type);
+		this.queryMapper = new QueryMapper(template.getConverter());
+		this.entity = template.getConverter().getMappingContext().getPersistentEntity(type);
+		this.filter = builder.filter != null ? queryMapper.getMappedObject(builder.filter.getCriteriaObject(), entity)
+				: null;
+		this.matcher = filter != null ? DocumentMatcher.of(filter) : null;
+		this.indexes = new LinkedHashMap<>(builder.indexes.size(), 1);
+		this.startTimeout = builder.startTimeout;
+		this.errorHandler = builder.errorHandler;
+
+		builder.indexes.forEach((name, keyFunction) -> indexes.put(name, new Index<>(keyFunction)));
+	}
+
+	/**
+	 * Obtain a {@link MaterializedCollectionBuilder} to define a {@link MaterializedCollection}.
+	 *
+	 * @param template the template to load documents with. Must not be {@literal null}.
+	 * @param container the container to register the change stream with. Must not be {@literal null}.
+	 * @param type the domain type. Must not be {@literal null}.
+	 * @return new instance of {@link MaterializedCollectionBuilder}.
+	 */
+	public static <T> MaterializedCollectionBuilder<T> builder(MongoTemplate template,
+			MessageListenerContainer container, Class<T> type) {
+
+		Assert.notNull(template, "MongoTemplate must not be null!");
+		Assert.notNull(container, "MessageListenerContainer must not be null!");
+		Assert.notNull(type, "Type must not be null!");
+
+		return new MaterializedCollectionBuilder<>(template, container, type);
+	}
+
+	/**
+	 * Look up the entry with the given {@code id}.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return the entry or {@literal null} if not present.
+	 */
+	@Nullable
+	public T get(Object id) {
+
+		Assert.notNull(id, "Id must not be null!");
+
+		return entries.get(getMappedId(id));
+	}
+
+	/**
+	 * Look up entries by the key of the {@link MaterializedCollectionBuilder#index(String, Function) index} with the
+	 * given {@code name}.
+	 *
+	 * @param name the index name. Must not be {@literal null}.
+	 * @param key the key to look up. Can be {@literal null}.
+	 * @return the matching entries. Never {@literal null}.
+	 * @throws IllegalArgumentException if no index with the given name is defined.
+	 */
+	public List<T> query(String name, @Nullable Object key) {
+
+		Index<T> index = indexes.get(name);
+
+		Assert.notNull(index, () -> String.format("No index with name %s defined!", name));
+
+		if (key == null) {
+			return Collections.emptyList();
+		}
+
+		List<T> result = new ArrayList<>();
+
+		for (Object id : index.get(key)) {
+
+			T entry = entries.get(id);
+
+			if (entry != null) {
+				result.add(entry);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Look up entries matching the given {@link Predicate} by scanning all entries.
+	 *
+	 * @param predicate must not be {@literal null}.
+	 * @return the matching entries. Never {@literal null}.
+	 */
+	public List<T> query(Predicate<? super T> predicate) {
+
+		Assert.notNull(predicate, "Predicate must not be null!");
+
+		return entries.values().stream().filter(predicate).collect(Collectors.toList());
+	}
+
+	/**
+	 * @return the number of entries.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the name of the materialized collection.
+	 */
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	/**
+	 * @return {@literal true} if the change stream keeping the entries in sync is active.
+	 */
+	public boolean isActive() {
+
+		Subscription subscription = this.subscription;
+		return !cancelled && subscription != null && subscription.isActive();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.messaging.Cancelable#cancel()
+	 */
+	@Override
+	public void cancel() throws DataAccessResourceFailureException {
+
+		cancelled = true;
+
+		Subscription subscription = this.subscription;
+
+		if (subscription != null) {
+			container.remove(subscription);
+		}
+	}
+
+	void start() {
+
+		subscribe(null);
+		reload();
+	}
+
+	private void subscribe(@Nullable BsonValue resumeToken) {
+
+		ChangeStreamRequestBuilder<Document> builder = ChangeStreamRequest.<Document> builder(this::onMessage) //
+				.collection(collectionName) //
+				.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+
+		if (resumeToken != null) {
+			builder.resumeAfter(resumeToken);
+		}
+
+		Subscription subscription = container.register(builder.build(), Document.class, this::onError);
+		this.subscription = subscription;
+
+		try {
+			if (!subscription.await(startTimeout)) {
+				throw new DataAccessResourceFailureException(String.format(
+						"Change stream for collection %s not active within %s", collectionName, startTimeout));
+			}
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException(
+					String.format("Interrupted while starting change stream for collection %s", collectionName), e);
+		}
+	}
+
+	/**
+	 * Load all documents matching the filter retaining entries during the load and removing entries not found anymore
+	 * afterwards.
+	 */
+	private void reload() {
+
+		synchronized (lock) {
+
+			Set<Object> loaded = new HashSet<>(Math.max(16, entries.size() * 2));
+
+			try (CloseableIterator<Document> documents = template.stream(
+					new BasicQuery(filter != null ? filter : new Document()), Document.class, collectionName)) {
+
+				documents.forEachRemaining(document -> {
+
+					Object id = document.get("_id");
+					loaded.add(id);
+					put(id, template.getConverter().read(type, document));
+				});
+			}
+
+			new ArrayList<>(entries.keySet()).stream().filter(it -> !loaded.contains(it)).forEach(this::remove);
+		}
+	}
+
+	void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+
+		ChangeStreamDocument<Document> event = message.getRaw();
+
+		if (event == null) {
+			return;
+		}
+
+		synchronized (lock) {
+			apply(event);
+		}
+
+		if (event.getResumeToken() != null) {
+			resumeToken = event.getResumeToken();
+		}
+	}
+
+	private void apply(ChangeStreamDocument<Document> event) {
+
+		BsonDocument documentKey = event.getDocumentKey();
+		Object id = documentKey != null && documentKey.containsKey("_id") ? BsonUtils.toJavaType(documentKey.get("_id"))
+				: null;
+
+		switch (event.getOperationType()) {
+
+			case INSERT:
+			case UPDATE:
+			case REPLACE:
+
+				if (id != null) {
+					refresh(id, event.getFullDocument());
+				}
+				break;
+			case DELETE:
+
+				if (id != null) {
+					remove(id);
+				}
+				break;
+			case DROP:
+			case RENAME:
+			case DROP_DATABASE:
+				new ArrayList<>(entries.keySet()).forEach(this::remove);
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void refresh(Object id, @Nullable Document fullDocument) {
+
+		Document document = fullDocument;
+
+		if (filter != null && fullDocument != null) {
+
+			Boolean matches = matcher != null ? matcher.matches(fullDocument) : null;
+
+			if (matches != null) {
+				document = matches ? fullDocument : null;
+			} else {
+
+				Document query = new Document("$and", Arrays.asList(filter, new Document("_id", id)));
+				document = template.findOne(new BasicQuery(query), Document.class, collectionName);
+			}
+		}
+
+		if (document == null) {
+			remove(id);
+		} else {
+			put(id, template.getConverter().read(type, document));
+		}
+	}
+
+	/**
+	 * Resume the change stream after a failure using the last observed resume token. Reload the entries if the resume
+	 * token is no longer available.
+	 *
+	 * @param error the failure.
+	 */
+	void onError(Throwable error) {
+
+		Subscription subscription = this.subscription;
+
+		if (cancelled || subscription == null || subscription.isActive()) {
+			errorHandler.handleError(error);
+			return;
+		}
+
+		container.remove(subscription);
+
+		boolean historyLost = isHistoryLost(error);
+
+		if (LOGGER.isWarnEnabled()) {
+			LOGGER.warn(String.format("Change stream for collection %s failed, %s", collectionName,
+					historyLost ? "reloading" : "resuming"), error);
+		}
+
+		try {
+
+			subscribe(historyLost ? null : resumeToken);
+
+			if (historyLost) {
+				reload();
+			}
+		} catch (RuntimeException e) {
+			errorHandler.handleError(e);
+		}
+	}
+
+	private static boolean isHistoryLost(Throwable error) {
+
+		Throwable current = error;
+
+		while (current != null) {
+
+			if (current instanceof MongoException
+					&& HISTORY_LOST_CODES.contains(((MongoException) current).getCode())) {
+				return true;
+			}
+
+			current = current.getCause() != current ? current.getCause() : null;
+		}
+
+		return false;
+	}
+
+	private void put(Object id, T entry) {
+
+		T previous = entries.put(id, entry);
+
+		for (Index<T> index : indexes.values()) {
+			index.update(id, previous, entry);
+		}
+	}
+
+	private void remove(Object id) {
+
+		T previous = entries.remove(id);
+
+		if (previous != null) {
+			for (Index<T> index : indexes.values()) {
+				index.update(id, previous, null);
+			}
+		}
+	}
+
+	private Object getMappedId(Object id) {
+
+		Object mappedId = queryMapper.getMappedObject(new Document("_id", id), entity).get("_id");
+		return mappedId != null ? mappedId : id;
+	}
+
+	/**
+	 * Secondary index mapping keys to the ids of the entries. Modified only while holding the lock of the
+	 * {@link MaterializedCollection}.
+	 */
+	private static class Index<T> {
+
+		private final Function<? super T, ?> keyFunction;
+		private final Map<Object, Set<Object>> ids = new ConcurrentHashMap<>();
+
+		Index(Function<? super T, ?> keyFunction) {
+			this.keyFunction = keyFunction;
+		}
+
+		void update(Object id, @Nullable T previous, @Nullable T current) {
+
+			Object previousKey = previous != null ? keyFunction.apply(previous) : null;
+			Object currentKey = current != null ? keyFunction.apply(current) : null;
+
+			if (previousKey != null && !previousKey.equals(currentKey)) {
+				ids.computeIfPresent(previousKey, (key, values) -> {
+
+					values.remove(id);
+					return values.isEmpty() ? null : values;
+				});
+			}
+
+			if (currentKey != null) {
+				ids.computeIfAbsent(currentKey, key -> ConcurrentHashMap.newKeySet()).add(id);
+			}
+		}
+
+		Set<Object> get(Object key) {
+			return ids.getOrDefault(key, Collections.emptySet());
+		}
+	}
+
+	/**
+	 * Builder for {@link MaterializedCollection}.
+	 */
+	public static class MaterializedCollectionBuilder<T> {
+
+		private final MongoTemplate template;
+		private final MessageListenerContainer container;
+		private final Class<T> type;
+		private final Map<String, Function<? super T, ?>> indexes = new LinkedHashMap<>();
+
+		private @Nullable String collectionName;
+		private @Nullable CriteriaDefinition filter;
+		private Duration startTimeout = Duration.ofSeconds(10);
+		private ErrorHandler errorHandler = error -> LOGGER.error("Unexpected error in materialized collection", error);
+
+		private MaterializedCollectionBuilder(MongoTemplate template, MessageListenerContainer container,
+				Class<T> type) {
+
+			this.template = template;
+			this.container = container;
+			this.type = type;
+		}
+
+		/**
+		 * Set the name of the collection to materialize. Defaults to the collection of the domain type.
+		 *
+		 * @param collectionName must not be {@literal null} or empty.
+		 * @return this.
+		 */
+		public MaterializedCollectionBuilder<T> collection(String collectionName) {
+
+			Assert.hasText(collectionName, "CollectionName must not be null or empty!");
+
+			this.collectionName = collectionName;
+			return this;
+		}
+
+		/**
+		 * Restrict the materialized documents to those matching the given {@link CriteriaDefinition}.
+		 *
+		 * @param filter must not be {@literal null}.
+		 * @return this.
+		 */
+		public MaterializedCollectionBuilder<T> filter(CriteriaDefinition filter) {
+
+			Assert.notNull(filter, "Filter must not be null!");
+
+			this.filter = filter;
+			return this;
+		}
+
+		/**
+		 * Define a secondary index with the given {@code name} mapping the key extracted by {@code keyFunction} to its
+		 * entries. Entries with a {@literal null} key are not indexed.
+		 *
+		 * @param name must not be {@literal null} or empty.
+		 * @param keyFunction must not be {@literal null}.
+		 * @return this.
+		 */
+		public MaterializedCollectionBuilder<T> index(String name, Function<? super T, ?> keyFunction) {
+
+			Assert.hasText(name, "Name must not be null or empty!");
+			Assert.notNull(keyFunction, "Key function must not be null!");
+
+			this.indexes.put(name, keyFunction);
+			return this;
+		}
+
+		/**
+		 * Set the maximum time to wait for the change stream to become active. Defaults to {@literal 10s}.
+		 *
+		 * @param startTimeout must not be {@literal null} or negative.
+		 * @return this.
+		 */
+		public MaterializedCollectionBuilder<T> startTimeout(Duration startTimeout) {
+
+			Assert.notNull(startTimeout, "Start timeout must not be null!");
+			Assert.isTrue(!startTimeout.isNegative(), "Start timeout must not be negative!");
+
+			this.startTimeout = startTimeout;
+			return this;
+		}
+
+		/**
+		 * Set the {@link ErrorHandler} notified about errors that cannot be recovered from. Defaults to logging.
+		 *
+		 * @param errorHandler must not be {@literal null}.
+		 * @return this.
+		 */
+		public MaterializedCollectionBuilder<T> errorHandler(ErrorHandler errorHandler) {
+
+			Assert.notNull(errorHandler, "ErrorHandler must not be null!");
+
+			this.errorHandler = errorHandler;
+			return this;
+		}
+
+		/**
+		 * Register the change stream, load the documents and return the started {@link MaterializedCollection}.
+		 *
+		 * @return the started {@link MaterializedCollection}.
+		 * @throws DataAccessResourceFailureException if the change stream does not become active within the
+		 *           {@link #startTimeout(Duration) start timeout}.
+		 */
+		public MaterializedCollection<T> start() {
+
+			MaterializedCollection<T> collection = new MaterializedCollection<>(this);
+			collection.start();
+			return collection;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+/**
+ * Callback interface notified about reads, hedges and winners of hedged reads configured through
+ * {@link org.springframework.data.mongodb.core.HedgedReadOptions}. The hedge rate is the number of
+ * {@link #onHedge(String) hedges} relative to the number of {@link #onRead(String) reads}.
+ *
+ * @since 3.2
+ * @see MicrometerHedgedReadObserver
+ */
+public interface HedgedReadObserver {
+
+	/**
+	 * Called when a read eligible for hedging is started.
+	 *
+	 * @param collectionName the name of the collection read from. Never {@literal null}.
+	 */
+	default void onRead(String collectionName) {}
+
+	/**
+	 * Called when a hedged read is issued because the initial read has not answered within the delay.
+	 *
+	 * @param collectionName the name of the collection read from. Never {@literal null}.
+	 */
+	default void onHedge(String collectionName) {}
+
+	/**
+	 * Called when a read answered first.
+	 *
+	 * @param collectionName the name of the collection read from. Never {@literal null}.
+	 * @param winner the {@link ReadAttempt} that answered first. Never {@literal null}.
+	 */
+	default void onWin(String collectionName, ReadAttempt winner) {}
+
+	/**
+	 * The attempts of a hedged read.
+	 */
+	enum ReadAttempt {
+
+		/**
+		 * The initial read using the regular read preference.
+		 */
+		INITIAL,
+
+		/**
+		 * The duplicate read issued after the delay.
+		 */
+		HEDGE
+	}
+}
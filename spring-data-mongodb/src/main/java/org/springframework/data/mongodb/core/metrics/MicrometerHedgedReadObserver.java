@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HedgedReadObserver} publishing hedged reads as Micrometer {@link Counter counters} tagged with
+ * {@code collection}:
+ * <ul>
+ * <li>{@code spring.data.mongodb.hedged-reads.reads} counting reads eligible for hedging.</li>
+ * <li>{@code spring.data.mongodb.hedged-reads.hedges} counting issued hedged reads.</li>
+ * <li>{@code spring.data.mongodb.hedged-reads.wins} counting winners additionally tagged with {@code attempt}
+ * ({@code initial} or {@code hedge}).</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMillis(20))
+ * 		.observer(new MicrometerHedgedReadObserver(meterRegistry)));
+ * </pre>
+ *
+ * @since 3.2
+ */
+public class MicrometerHedgedReadObserver implements HedgedReadObserver {
+
+	public static final String DEFAULT_METRIC_PREFIX = "spring.data.mongodb.hedged-reads";
+
+	private final MeterRegistry registry;
+	private final String readsMetricName;
+	private final String hedgesMetricName;
+	private final String winsMetricName;
+	private final Map<Tags, Counter> reads = new ConcurrentHashMap<>();
+	private final Map<Tags, Counter> hedges = new ConcurrentHashMap<>();
+	private final Map<Tags, Counter> wins = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link MicrometerHedgedReadObserver} using {@link #DEFAULT_METRIC_PREFIX}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 */
+	public MicrometerHedgedReadObserver(MeterRegistry registry) {
+		this(registry, DEFAULT_METRIC_PREFIX);
+	}
+
+	/**
+	 * Creates a new {@link MicrometerHedgedReadObserver}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param metricPrefix must not be {@literal null} or empty.
+	 */
+	public MicrometerHedgedReadObserver(MeterRegistry registry, String metricPrefix) {
+
+		Assert.notNull(registry, "MeterRegistry must not be null!");
+		Assert.hasText(metricPrefix, "Metric prefix must not be null or empty!");
+
+		this.registry = registry;
+		this.readsMetricName = metricPrefix + ".reads";
+		this.hedgesMetricName = metricPrefix + ".hedges";
+		this.winsMetricName = metricPrefix + ".wins";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.HedgedReadObserver#onRead(java.lang.String)
+	 */
+	@Override
+	public void onRead(String collectionName) {
+		increment(reads, readsMetricName, Tags.of("collection", collectionName));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.HedgedReadObserver#onHedge(java.lang.String)
+	 */
+	@Override
+	public void onHedge(String collectionName) {
+		increment(hedges, hedgesMetricName, Tags.of("collection", collectionName));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.HedgedReadObserver#onWin(java.lang.String, org.springframework.data.mongodb.core.metrics.HedgedReadObserver.ReadAttempt)
+	 */
+	@Override
+	public void onWin(String collectionName, ReadAttempt winner) {
+		increment(wins, winsMetricName,
+				Tags.of("collection", collectionName).and("attempt", winner.name().toLowerCase(Locale.ROOT)));
+	}
+
+	private void increment(Map<Tags, Counter> counters, String name, Tags tags) {
+		counters.computeIfAbsent(tags, key -> Counter.builder(name).tags(key).register(registry)).increment();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link MongoOperationObserver} publishing {@link OperationSample samples} as Micrometer {@link Timer timers}. Each
+ * operation is recorded by a timer named {@code spring.data.mongodb.operations} (unless configured otherwise) tagged
+ * with:
+ * <ul>
+ * <li>{@code operation}: the operation name, e.g. {@code find}.</li>
+ * <li>{@code collection}: the collection name or {@code none}.</li>
+ * <li>{@code entity}: the fully qualified domain type name or {@code none}.</li>
+ * <li>{@code outcome}: {@code success}, {@code error} or {@code cancelled}.</li>
+ * <li>{@code exception}: the simple class name of the error or {@code none}.</li>
+ * </ul>
+ * Samples carrying a phase breakdown are additionally recorded by {@code spring.data.mongodb.operations.phase} timers
+ * using the same tags along with a {@code phase} tag per {@link OperationPhase}. Time not attributed to a phase is
+ * recorded with {@code phase=other}. Phases without recorded time are skipped.
+ *
+ * <pre class="code">
+ * MongoTemplate template = new MongoTemplate(factory);
+ * template.setOperationObserver(new MicrometerMongoOperationObserver(meterRegistry));
+ * </pre>
+ *
+ * Repository query methods report samples using their declaring type and method signature as operation, next to the
+ * samples of the template operations they issue. Use {@link #DEFAULT_REPOSITORY_METRIC_NAME} to keep them apart from
+ * template operations:
+ *
+ * <pre class="code">
+ * repositoryFactory.setOperationObserver(new MicrometerMongoOperationObserver(meterRegistry,
+ * 		MicrometerMongoOperationObserver.DEFAULT_REPOSITORY_METRIC_NAME));
+ * </pre>
+ *
+ * @since 3.2
+ */
+public class MicrometerMongoOperationObserver implements MongoOperationObserver {
+
+	public static final String DEFAULT_METRIC_NAME = "spring.data.mongodb.operations";
+	public static final String DEFAULT_REPOSITORY_METRIC_NAME = "spring.data.mongodb.repository.invocations";
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry registry;
+	private final String metricName;
+	private final String phaseMetricName;
+	private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link MicrometerMongoOperationObserver} using {@link #DEFAULT_METRIC_NAME}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 */
+	public MicrometerMongoOperationObserver(MeterRegistry registry) {
+		this(registry, DEFAULT_METRIC_NAME);
+	}
+
+	/**
+	 * Creates a new {@link MicrometerMongoOperationObserver}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param metricName must not be {@literal null} or empty.
+	 */
+	public MicrometerMongoOperationObserver(MeterRegistry registry, String metricName) {
+
+		Assert.notNull(registry, "MeterRegistry must not be null!");
+		Assert.hasText(metricName, "Metric name must not be null or empty!");
+
+		this.registry = registry;
+		this.metricName = metricName;
+		this.phaseMetricName = metricName + ".phase";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.MongoOperationObserver#onOperation(org.springframework.data.mongodb.core.metrics.OperationSample)
+	 */
+	@Override
+	public void onOperation(OperationSample sample) {
+
+		Tags tags = getTags(sample);
+
+		record(metricName, tags, sample.getDuration());
+
+		if (!sample.hasPhases()) {
+			return;
+		}
+
+		for (OperationPhase phase : OperationPhase.values()) {
+			recordPhase(tags, phase.name().toLowerCase(Locale.ROOT), sample.getPhaseDuration(phase));
+		}
+
+		recordPhase(tags, "other", sample.getUnattributedDuration());
+	}
+
+	/**
+	 * Obtain the {@link Tags} to apply to the timers of the given {@link OperationSample}. Subclasses may override this
+	 * method to add or remove tags.
+	 *
+	 * @param sample never {@literal null}.
+	 * @return the {@link Tags} to use.
+	 */
+	protected Tags getTags(OperationSample sample) {
+
+		String collectionName = sample.getCollectionName();
+		Class<?> entityType = sample.getEntityType();
+		Throwable error = sample.getError();
+
+		return Tags.of("operation", sample.getOperation()) //
+				.and("collection", collectionName != null ? collectionName : NONE) //
+				.and("entity", entityType != null ? entityType.getName() : NONE) //
+				.and("outcome", sample.getOutcome().name().toLowerCase(Locale.ROOT)) //
+				.and("exception", error != null ? error.getClass().getSimpleName() : NONE);
+	}
+
+	private void recordPhase(Tags tags, String phase, Duration duration) {
+
+		if (!duration.isZero()) {
+			record(phaseMetricName, tags.and("phase", phase), duration);
+		}
+	}
+
+	private void record(String name, Tags tags, Duration duration) {
+		timers.computeIfAbsent(new TimerKey(name, tags), key -> Timer.builder(name).tags(tags).register(registry))
+				.record(duration);
+	}
+
+	/**
+	 * Cache key for registered {@link Timer timers}.
+	 */
+	private static class TimerKey {
+
+		private final String name;
+		private final Tags tags;
+
+		TimerKey(String name, Tags tags) {
+
+			this.name = name;
+			this.tags = tags;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof TimerKey)) {
+				return false;
+			}
+
+			TimerKey that = (TimerKey) o;
+			return name.equals(that.name) && tags.equals(that.tags);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = ObjectUtils.nullSafeHashCode(name);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(tags);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+
+/**
+ * {@link TransactionObserver} publishing retries and aborts as Micrometer {@link Counter counters}:
+ * <ul>
+ * <li>{@code spring.data.mongodb.transactions.retries} tagged with {@code scope} ({@code transaction} or
+ * {@code commit}) and {@code cause}.</li>
+ * <li>{@code spring.data.mongodb.transactions.aborts} tagged with {@code cause}.</li>
+ * </ul>
+ * The {@code cause} is the server error code name (e.g. {@code WriteConflict}), the error label (e.g.
+ * {@code TransientTransactionError}) or the simple class name of the error, whichever is available first.
+ *
+ * <pre class="code">
+ * TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy()
+ * 		.observer(new MicrometerTransactionObserver(meterRegistry));
+ * </pre>
+ *
+ * @since 3.2
+ */
+public class MicrometerTransactionObserver implements TransactionObserver {
+
+	public static final String DEFAULT_METRIC_PREFIX = "spring.data.mongodb.transactions";
+
+	private final MeterRegistry registry;
+	private final String retriesMetricName;
+	private final String abortsMetricName;
+	private final Map<Tags, Counter> retries = new ConcurrentHashMap<>();
+	private final Map<Tags, Counter> aborts = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link MicrometerTransactionObserver} using {@link #DEFAULT_METRIC_PREFIX}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 */
+	public MicrometerTransactionObserver(MeterRegistry registry) {
+		this(registry, DEFAULT_METRIC_PREFIX);
+	}
+
+	/**
+	 * Creates a new {@link MicrometerTransactionObserver}.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param metricPrefix must not be {@literal null} or empty.
+	 */
+	public MicrometerTransactionObserver(MeterRegistry registry, String metricPrefix) {
+
+		Assert.notNull(registry, "MeterRegistry must not be null!");
+		Assert.hasText(metricPrefix, "Metric prefix must not be null or empty!");
+
+		this.registry = registry;
+		this.retriesMetricName = metricPrefix + ".retries";
+		this.abortsMetricName = metricPrefix + ".aborts";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.TransactionObserver#onRetry(org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope, int, java.lang.Throwable)
+	 */
+	@Override
+	public void onRetry(RetryScope scope, int attempt, Throwable cause) {
+
+		increment(retries, retriesMetricName,
+				Tags.of("scope", scope.name().toLowerCase(Locale.ROOT)).and("cause", getCause(cause)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.metrics.TransactionObserver#onAbort(java.lang.Throwable)
+	 */
+	@Override
+	public void onAbort(Throwable cause) {
+		increment(aborts, abortsMetricName, Tags.of("cause", getCause(cause)));
+	}
+
+	/**
+	 * Obtain the {@code cause} tag value for the given error. Subclasses may override this method to customize the tag.
+	 *
+	 * @param error never {@literal null}.
+	 * @return the tag value. Never {@literal null}.
+	 */
+	protected String getCause(Throwable error) {
+
+		MongoException mongoException = findMongoException(error);
+
+		if (mongoException == null) {
+			return error.getClass().getSimpleName();
+		}
+
+		if (mongoException instanceof MongoCommandException
+				&& StringUtils.hasText(((MongoCommandException) mongoException).getErrorCodeName())) {
+			return ((MongoCommandException) mongoException).getErrorCodeName();
+		}
+
+		if (mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+			return MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL;
+		}
+
+		if (mongoException.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)) {
+			return MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL;
+		}
+
+		return mongoException.getClass().getSimpleName();
+	}
+
+	private void increment(Map<Tags, Counter> counters, String name, Tags tags) {
+		counters.computeIfAbsent(tags, key -> Counter.builder(name).tags(key).register(registry)).increment();
+	}
+
+	@Nullable
+	private static MongoException findMongoException(Throwable error) {
+
+		Throwable current = error;
+
+		while (current != null) {
+
+			if (current instanceof MongoException) {
+				return (MongoException) current;
+			}
+
+			current = current.getCause() != current ? current.getCause() : null;
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+/**
+ * Callback interface notified about completed MongoDB operations.
+ *
+ * @since 3.2
+ * @see MicrometerMongoOperationObserver
+ */
+@FunctionalInterface
+public interface MongoOperationObserver {
+
+	/**
+	 * Called once an operation has completed, either successfully or exceptionally. Invoked on the thread that completed
+	 * the operation. Implementations should return quickly.
+	 *
+	 * @param sample the recorded {@link OperationSample}. Never {@literal null}.
+	 */
+	void onOperation(OperationSample sample);
+}
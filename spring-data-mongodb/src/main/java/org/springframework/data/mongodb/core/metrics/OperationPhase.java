@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+/**
+ * Phases of a MongoDB operation measured by {@link OperationRecorder}. Phases are exclusive: time spent in a nested
+ * phase (e.g. reading a document while iterating a cursor) is attributed to the nested phase only.
+ *
+ * @since 3.2
+ */
+public enum OperationPhase {
+
+	/**
+	 * Time spent in driver calls, including network round trips and server execution.
+	 */
+	SERVER,
+
+	/**
+	 * Time spent converting {@link org.bson.Document documents} into domain objects.
+	 */
+	READ_CONVERSION,
+
+	/**
+	 * Time spent converting domain objects into {@link org.bson.Document documents}.
+	 */
+	WRITE_CONVERSION,
+
+	/**
+	 * Time spent mapping queries, updates, sort and field specifications to their store representation.
+	 */
+	QUERY_MAPPING,
+
+	/**
+	 * Time spent in entity callbacks and mapping event listeners.
+	 */
+	CALLBACKS,
+
+	/**
+	 * Time spent binding repository query method arguments, including argument conversion and dynamic projection
+	 * resolution.
+	 */
+	PARAMETER_BINDING,
+
+	/**
+	 * Time spent creating evaluation contexts for and evaluating SpEL expressions in repository queries.
+	 */
+	EXPRESSION_EVALUATION,
+
+	/**
+	 * Time spent creating the {@link org.springframework.data.mongodb.core.query.Query} of a repository query method
+	 * from the bound arguments.
+	 */
+	QUERY_CREATION,
+
+	/**
+	 * Time spent post-processing repository query results, e.g. applying projections and wrapper types.
+	 */
+	RESULT_PROCESSING
+}
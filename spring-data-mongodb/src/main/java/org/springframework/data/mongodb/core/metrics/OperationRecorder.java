@@ -0,0 +1,270 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Records the duration of imperative MongoDB operations along with the exclusive time spent in each
+ * {@link OperationPhase}. Recording state is bound to the current thread: an operation is recorded through
+ * {@link #observe(MongoOperationObserver, String, String, Class, Supplier)} while the code executing the operation
+ * marks its phases using {@link #enter(OperationPhase)} and {@link #exit()}. Operations invoked while another operation
+ * is recorded on the same thread (e.g. {@code findOne} delegating to {@code find}) are accounted to the outermost
+ * operation. <br />
+ * Invocations spanning several operations (e.g. repository query methods) are recorded through
+ * {@link #observeInvocation(MongoOperationObserver, String, String, Class, Supplier)}. Operations issued during an
+ * invocation are reported individually and their phases are additionally accounted to the invocation. <br />
+ * Entering and exiting phases is a no-op if no operation is recorded on the current thread.
+ *
+ * <pre class="code">
+ * OperationRecorder.enter(OperationPhase.READ_CONVERSION);
+ * try {
+ * 	return converter.read(type, document);
+ * } finally {
+ * 	OperationRecorder.exit();
+ * }
+ * </pre>
+ *
+ * @since 3.2
+ */
+public final class OperationRecorder {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OperationRecorder.class);
+
+	private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+	private static final OperationPhase[] PHASES = OperationPhase.values();
+
+	private OperationRecorder() {}
+
+	/**
+	 * Run the given {@code action} and report its timing to the {@link MongoOperationObserver}. Runs the action without
+	 * recording if {@code observer} is {@literal null} or if an operation is already recorded on the current thread.
+	 *
+	 * @param observer the observer to notify. Can be {@literal null}.
+	 * @param operation the operation name. Must not be {@literal null}.
+	 * @param collectionName the collection name. Can be {@literal null}.
+	 * @param entityType the domain type. Can be {@literal null}.
+	 * @param action the operation to run. Must not be {@literal null}.
+	 * @return the result of {@code action}.
+	 */
+	public static <T> T observe(@Nullable MongoOperationObserver observer, String operation,
+			@Nullable String collectionName, @Nullable Class<?> entityType, Supplier<T> action) {
+		return observe(observer, operation, collectionName, entityType, action, System::nanoTime);
+	}
+
+	/**
+	 * Run the given {@code action} spanning one or more operations and report its timing to the
+	 * {@link MongoOperationObserver}. Operations observed while running {@code action} are reported on their own and
+	 * their phases are accounted to the invocation as well. Runs the action without recording if {@code observer} is
+	 * {@literal null} or if an operation is already recorded on the current thread.
+	 *
+	 * @param observer the observer to notify. Can be {@literal null}.
+	 * @param invocation the invocation name. Must not be {@literal null}.
+	 * @param collectionName the collection name. Can be {@literal null}.
+	 * @param entityType the domain type. Can be {@literal null}.
+	 * @param action the invocation to run. Must not be {@literal null}.
+	 * @return the result of {@code action}.
+	 */
+	public static <T> T observeInvocation(@Nullable MongoOperationObserver observer, String invocation,
+			@Nullable String collectionName, @Nullable Class<?> entityType, Supplier<T> action) {
+		return observe(observer, invocation, collectionName, entityType, action, System::nanoTime, true);
+	}
+
+	static <T> T observe(@Nullable MongoOperationObserver observer, String operation, @Nullable String collectionName,
+			@Nullable Class<?> entityType, Supplier<T> action, LongSupplier ticker) {
+		return observe(observer, operation, collectionName, entityType, action, ticker, false);
+	}
+
+	static <T> T observe(@Nullable MongoOperationObserver observer, String operation, @Nullable String collectionName,
+			@Nullable Class<?> entityType, Supplier<T> action, LongSupplier ticker, boolean invocation) {
+
+		Recording parent = CURRENT.get();
+
+		if (observer == null || (parent != null && !parent.invocation)) {
+			return action.get();
+		}
+
+		Assert.hasText(operation, "Operation must not be null or empty!");
+
+		Recording recording = new Recording(ticker, invocation);
+		if (parent != null) {
+			parent.suspend(recording.start);
+		}
+		CURRENT.set(recording);
+
+		Throwable error = null;
+		try {
+			return action.get();
+		} catch (RuntimeException | Error e) {
+			error = e;
+			throw e;
+		} finally {
+
+			OperationSample sample = recording.stop(operation, collectionName, entityType, error);
+
+			if (parent != null) {
+				parent.resume(recording);
+				CURRENT.set(parent);
+			} else {
+				CURRENT.remove();
+			}
+
+			notify(observer, sample);
+		}
+	}
+
+	/**
+	 * Enter the given {@link OperationPhase}. Time spent until the matching {@link #exit()} is attributed to
+	 * {@code phase}, except for time spent in phases entered in the meantime.
+	 *
+	 * @param phase must not be {@literal null}.
+	 */
+	public static void enter(OperationPhase phase) {
+
+		Recording recording = CURRENT.get();
+		if (recording != null) {
+			recording.enter(phase);
+		}
+	}
+
+	/**
+	 * Exit the {@link OperationPhase} entered last.
+	 */
+	public static void exit() {
+
+		Recording recording = CURRENT.get();
+		if (recording != null) {
+			recording.exit();
+		}
+	}
+
+	/**
+	 * @return {@literal true} if an operation is recorded on the current thread. Invocations recorded through
+	 *         {@link #observeInvocation(MongoOperationObserver, String, String, Class, Supplier)} do not count as
+	 *         operation.
+	 */
+	public static boolean isRecording() {
+
+		Recording recording = CURRENT.get();
+		return recording != null && !recording.invocation;
+	}
+
+	static void notify(MongoOperationObserver observer, OperationSample sample) {
+
+		try {
+			observer.onOperation(sample);
+		} catch (RuntimeException e) {
+
+			if (LOGGER.isWarnEnabled()) {
+				LOGGER.warn(String.format("MongoOperationObserver failed to process %s", sample), e);
+			}
+		}
+	}
+
+	/**
+	 * Per-thread recording state of a single operation or invocation keeping track of the phase stack.
+	 */
+	private static class Recording {
+
+		private final LongSupplier ticker;
+		private final boolean invocation;
+		private final long start;
+		private final long[] phaseNanos = new long[PHASES.length];
+
+		private OperationPhase[] stack = new OperationPhase[4];
+		private int depth = 0;
+		private long segmentStart;
+
+		Recording(LongSupplier ticker, boolean invocation) {
+
+			this.ticker = ticker;
+			this.invocation = invocation;
+			this.start = ticker.getAsLong();
+			this.segmentStart = start;
+		}
+
+		/**
+		 * Stop attributing time while a nested recording is active.
+		 */
+		void suspend(long now) {
+			attribute(now);
+		}
+
+		/**
+		 * Account the phases of the completed nested {@link Recording} and continue attributing time.
+		 */
+		void resume(Recording nested) {
+
+			for (int i = 0; i < phaseNanos.length; i++) {
+				phaseNanos[i] += nested.phaseNanos[i];
+			}
+
+			segmentStart = nested.segmentStart;
+		}
+
+		void enter(OperationPhase phase) {
+
+			long now = ticker.getAsLong();
+			attribute(now);
+
+			if (depth == stack.length) {
+				stack = Arrays.copyOf(stack, depth * 2);
+			}
+
+			stack[depth++] = phase;
+			segmentStart = now;
+		}
+
+		void exit() {
+
+			if (depth == 0) {
+				return;
+			}
+
+			long now = ticker.getAsLong();
+			attribute(now);
+
+			depth--;
+			segmentStart = now;
+		}
+
+		OperationSample stop(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+				@Nullable Throwable error) {
+
+			long now = ticker.getAsLong();
+			attribute(now);
+			segmentStart = now;
+
+			return new OperationSample(operation, collectionName, entityType, error,
+					error == null ? Outcome.SUCCESS : Outcome.ERROR, now - start, phaseNanos);
+		}
+
+		private void attribute(long now) {
+
+			if (depth > 0) {
+				phaseNanos[stack[depth - 1].ordinal()] += now - segmentStart;
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Timing information about a single completed MongoDB operation. The {@link #getDuration() total duration} covers the
+ * entire operation while {@link #getPhaseDurations() phase durations} break it down into the exclusive time spent in
+ * each {@link OperationPhase}. Time not attributed to any phase is reported through {@link #getUnattributedDuration()}.
+ *
+ * @since 3.2
+ */
+public final class OperationSample {
+
+	private final String operation;
+	private final @Nullable String collectionName;
+	private final @Nullable Class<?> entityType;
+	private final Outcome outcome;
+	private final @Nullable Throwable error;
+	private final long durationNanos;
+	private final @Nullable long[] phaseNanos;
+
+	OperationSample(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+			@Nullable Throwable error, Outcome outcome, long durationNanos, @Nullable long[] phaseNanos) {
+
+		this.operation = operation;
+		this.collectionName = collectionName;
+		this.entityType = entityType;
+		this.outcome = outcome;
+		this.error = error;
+		this.durationNanos = durationNanos;
+		this.phaseNanos = phaseNanos;
+	}
+
+	/**
+	 * Create a new {@link OperationSample} without a phase breakdown. Used for operations that cannot be traced through
+	 * their phases such as reactive operations spanning multiple threads.
+	 *
+	 * @param operation the operation name. Must not be {@literal null}.
+	 * @param collectionName the collection name. Can be {@literal null}.
+	 * @param entityType the domain type. Can be {@literal null}.
+	 * @param outcome must not be {@literal null}.
+	 * @param error the error terminating the operation. Can be {@literal null}.
+	 * @param duration must not be {@literal null}.
+	 * @return new instance of {@link OperationSample}.
+	 */
+	public static OperationSample of(String operation, @Nullable String collectionName, @Nullable Class<?> entityType,
+			Outcome outcome, @Nullable Throwable error, Duration duration) {
+
+		Assert.hasText(operation, "Operation must not be null or empty!");
+		Assert.notNull(outcome, "Outcome must not be null!");
+		Assert.notNull(duration, "Duration must not be null!");
+
+		return new OperationSample(operation, collectionName, entityType, error, outcome, duration.toNanos(), null);
+	}
+
+	/**
+	 * @return the operation name such as {@code find} or {@code insert}.
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return the collection name. Can be {@literal null} if the operation is not bound to a single collection.
+	 */
+	@Nullable
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	/**
+	 * @return the domain type. Can be {@literal null} if the operation is not bound to a domain type.
+	 */
+	@Nullable
+	public Class<?> getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * @return the {@link Outcome} of the operation.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return the error that terminated the operation or {@literal null} if completed successfully.
+	 */
+	@Nullable
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * @return the total duration of the operation.
+	 */
+	public Duration getDuration() {
+		return Duration.ofNanos(durationNanos);
+	}
+
+	/**
+	 * @return {@literal true} if the sample carries a breakdown into {@link OperationPhase phases}.
+	 */
+	public boolean hasPhases() {
+		return phaseNanos != null;
+	}
+
+	/**
+	 * Obtain the exclusive time spent in the given {@link OperationPhase}.
+	 *
+	 * @param phase must not be {@literal null}.
+	 * @return the duration. {@link Duration#ZERO} if the phase was not entered or phases were not recorded.
+	 */
+	public Duration getPhaseDuration(OperationPhase phase) {
+
+		Assert.notNull(phase, "OperationPhase must not be null!");
+
+		return phaseNanos != null ? Duration.ofNanos(phaseNanos[phase.ordinal()]) : Duration.ZERO;
+	}
+
+	/**
+	 * @return the exclusive time spent in each {@link OperationPhase}. Empty if phases were not recorded.
+	 */
+	public Map<OperationPhase, Duration> getPhaseDurations() {
+
+		if (phaseNanos == null) {
+			return Collections.emptyMap();
+		}
+
+		Map<OperationPhase, Duration> durations = new EnumMap<>(OperationPhase.class);
+		for (OperationPhase phase : OperationPhase.values()) {
+			durations.put(phase, Duration.ofNanos(phaseNanos[phase.ordinal()]));
+		}
+
+		return durations;
+	}
+
+	/**
+	 * @return the time not attributed to any {@link OperationPhase}, such as argument validation and entity metadata
+	 *         lookup. {@link Duration#ZERO} if phases were not recorded.
+	 */
+	public Duration getUnattributedDuration() {
+
+		if (phaseNanos == null) {
+			return Duration.ZERO;
+		}
+
+		long attributed = 0;
+		for (long nanos : phaseNanos) {
+			attributed += nanos;
+		}
+
+		return Duration.ofNanos(Math.max(0, durationNanos - attributed));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "OperationSample{operation=" + operation + ", collection=" + collectionName + ", entityType="
+				+ (entityType != null ? entityType.getName() : null) + ", outcome=" + outcome + ", duration="
+				+ getDuration() + ", phases=" + getPhaseDurations() + "}";
+	}
+
+	/**
+	 * Outcome of an operation.
+	 */
+	public enum Outcome {
+
+		/**
+		 * The operation completed successfully.
+		 */
+		SUCCESS,
+
+		/**
+		 * The operation failed with an error.
+		 */
+		ERROR,
+
+		/**
+		 * The operation was cancelled before completion (reactive operations only).
+		 */
+		CANCELLED
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
+import org.springframework.lang.Nullable;
+
+/**
+ * Records the duration of reactive MongoDB operations from subscription until termination or cancellation. Reactive
+ * operations are not bound to a single thread and therefore report their total duration only, without a breakdown into
+ * {@link OperationPhase phases}.
+ *
+ * @since 3.2
+ */
+public final class ReactiveOperationRecorder {
+
+	private ReactiveOperationRecorder() {}
+
+	/**
+	 * Decorate the given {@link Mono} to report its timing to the {@link MongoOperationObserver} for each subscription.
+	 *
+	 * @param observer the observer to notify. Can be {@literal null} to return {@code source} as-is.
+	 * @param operation the operation name. Must not be {@literal null}.
+	 * @param collectionName the collection name. Can be {@literal null}.
+	 * @param entityType the domain type. Can be {@literal null}.
+	 * @param source must not be {@literal null}.
+	 * @return the decorated {@link Mono}.
+	 */
+	public static <T> Mono<T> observe(@Nullable MongoOperationObserver observer, String operation,
+			@Nullable String collectionName, @Nullable Class<?> entityType, Mono<T> source) {
+
+		if (observer == null) {
+			return source;
+		}
+
+		return Mono.defer(() -> {
+
+			Timing timing = new Timing(observer, operation, collectionName, entityType);
+			return source.doOnError(timing::onError).doFinally(timing::stop);
+		});
+	}
+
+	/**
+	 * Decorate the given {@link Flux} to report its timing to the {@link MongoOperationObserver} for each subscription.
+	 *
+	 * @param observer the observer to notify. Can be {@literal null} to return {@code source} as-is.
+	 * @param operation the operation name. Must not be {@literal null}.
+	 * @param collectionName the collection name. Can be {@literal null}.
+	 * @param entityType the domain type. Can be {@literal null}.
+	 * @param source must not be {@literal null}.
+	 * @return the decorated {@link Flux}.
+	 */
+	public static <T> Flux<T> observe(@Nullable MongoOperationObserver observer, String operation,
+			@Nullable String collectionName, @Nullable Class<?> entityType, Flux<T> source) {
+
+		if (observer == null) {
+			return source;
+		}
+
+		return Flux.defer(() -> {
+
+			Timing timing = new Timing(observer, operation, collectionName, entityType);
+			return source.doOnError(timing::onError).doFinally(timing::stop);
+		});
+	}
+
+	/**
+	 * Timing state of a single subscription.
+	 */
+	private static class Timing {
+
+		private final MongoOperationObserver observer;
+		private final String operation;
+		private final @Nullable String collectionName;
+		private final @Nullable Class<?> entityType;
+		private final long start = System.nanoTime();
+
+		private @Nullable Throwable error;
+
+		Timing(MongoOperationObserver observer, String operation, @Nullable String collectionName,
+				@Nullable Class<?> entityType) {
+
+			this.observer = observer;
+			this.operation = operation;
+			this.collectionName = collectionName;
+			this.entityType = entityType;
+		}
+
+		void onError(Throwable error) {
+			this.error = error;
+		}
+
+		void stop(SignalType signal) {
+
+			Outcome outcome = signal == SignalType.CANCEL ? Outcome.CANCELLED
+					: signal == SignalType.ON_ERROR ? Outcome.ERROR : Outcome.SUCCESS;
+
+			OperationRecorder.notify(observer, OperationSample.of(operation, collectionName, entityType, outcome, error,
+					Duration.ofNanos(System.nanoTime() - start)));
+		}
+	}
+}
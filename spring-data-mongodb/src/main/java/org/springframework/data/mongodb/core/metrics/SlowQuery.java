@@ -0,0 +1,211 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.springframework.data.mongodb.core.query.SerializationUtils.*;
+
+import java.time.Duration;
+
+import org.bson.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Details of a find operation that exceeded the {@link SlowQueryCapture#getThreshold() slow query threshold}. Filter,
+ * sort and projection are captured in their mapped (store) representation.
+ *
+ * @since 3.2
+ */
+public final class SlowQuery {
+
+	private final String collectionName;
+	private final Document filter;
+	private final Document sort;
+	private final Document projection;
+	private final Duration duration;
+	private final Duration conversionDuration;
+	private final long documentCount;
+	private final long bytesReceived;
+	private final @Nullable Document plan;
+
+	/**
+	 * Creates a new {@link SlowQuery}.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param filter the mapped filter. Must not be {@literal null}.
+	 * @param sort the mapped sort. Must not be {@literal null}.
+	 * @param projection the mapped projection. Must not be {@literal null}.
+	 * @param duration total duration of the operation. Must not be {@literal null}.
+	 * @param conversionDuration time spent converting documents. Must not be {@literal null}.
+	 * @param documentCount number of documents returned.
+	 * @param bytesReceived number of document bytes received or {@literal -1} if unknown.
+	 */
+	public SlowQuery(String collectionName, Document filter, Document sort, Document projection, Duration duration,
+			Duration conversionDuration, long documentCount, long bytesReceived) {
+		this(collectionName, filter, sort, projection, duration, conversionDuration, documentCount, bytesReceived, null);
+	}
+
+	private SlowQuery(String collectionName, Document filter, Document sort, Document projection, Duration duration,
+			Duration conversionDuration, long documentCount, long bytesReceived, @Nullable Document plan) {
+
+		Assert.notNull(collectionName, "Collection name must not be null!");
+		Assert.notNull(filter, "Filter must not be null!");
+		Assert.notNull(sort, "Sort must not be null!");
+		Assert.notNull(projection, "Projection must not be null!");
+		Assert.notNull(duration, "Duration must not be null!");
+		Assert.notNull(conversionDuration, "Conversion duration must not be null!");
+
+		this.collectionName = collectionName;
+		this.filter = filter;
+		this.sort = sort;
+		this.projection = projection;
+		this.duration = duration;
+		this.conversionDuration = conversionDuration;
+		this.documentCount = documentCount;
+		this.bytesReceived = bytesReceived;
+		this.plan = plan;
+	}
+
+	/**
+	 * Create a new {@link SlowQuery} carrying the given winning query {@code plan}.
+	 *
+	 * @param plan the winning plan as reported by {@code explain}. Must not be {@literal null}.
+	 * @return new instance of {@link SlowQuery}.
+	 */
+	public SlowQuery withPlan(Document plan) {
+
+		Assert.notNull(plan, "Plan must not be null!");
+
+		return new SlowQuery(collectionName, filter, sort, projection, duration, conversionDuration, documentCount,
+				bytesReceived, plan);
+	}
+
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	public Document getFilter() {
+		return filter;
+	}
+
+	public Document getSort() {
+		return sort;
+	}
+
+	public Document getProjection() {
+		return projection;
+	}
+
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return time spent converting the returned documents into domain objects.
+	 */
+	public Duration getConversionDuration() {
+		return conversionDuration;
+	}
+
+	public long getDocumentCount() {
+		return documentCount;
+	}
+
+	/**
+	 * @return the number of BSON bytes of the returned documents or {@literal -1} if unknown.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * @return the winning query plan if the query was explained. Can be {@literal null}.
+	 */
+	@Nullable
+	public Document getPlan() {
+		return plan;
+	}
+
+	/**
+	 * Render the chain of stages of the {@link #getPlan() winning plan} starting with the root stage, e.g.
+	 * {@code FETCH <- IXSCAN(lastname_1)}.
+	 *
+	 * @return the plan summary or {@literal null} if the query was not explained.
+	 */
+	@Nullable
+	public String getPlanSummary() {
+
+		if (plan == null) {
+			return null;
+		}
+
+		StringBuilder summary = new StringBuilder();
+		Object stage = plan;
+
+		while (stage instanceof Document) {
+
+			Document current = (Document) stage;
+
+			if (summary.length() > 0) {
+				summary.append(" <- ");
+			}
+
+			summary.append(current.get("stage", "UNKNOWN"));
+
+			if (current.containsKey("indexName")) {
+				summary.append('(').append(current.get("indexName")).append(')');
+			}
+
+			stage = current.get("inputStage");
+
+			if (stage == null && current.get("inputStages") instanceof Iterable) {
+
+				for (Object inputStage : (Iterable<?>) current.get("inputStages")) {
+					stage = inputStage;
+					break;
+				}
+			}
+		}
+
+		return summary.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		StringBuilder builder = new StringBuilder("Slow query on collection '").append(collectionName).append("' took ")
+				.append(duration.toMillis()).append(" ms (conversion ").append(conversionDuration.toMillis())
+				.append(" ms), returned ").append(documentCount).append(" document(s)");
+
+		if (bytesReceived >= 0) {
+			builder.append(" / ").append(bytesReceived).append(" bytes");
+		}
+
+		builder.append(", filter: ").append(serializeToJsonSafely(filter)).append(", sort: ")
+				.append(serializeToJsonSafely(sort)).append(", projection: ").append(serializeToJsonSafely(projection));
+
+		String planSummary = getPlanSummary();
+		if (planSummary != null) {
+			builder.append(", plan: ").append(planSummary);
+		}
+
+		return builder.toString();
+	}
+}
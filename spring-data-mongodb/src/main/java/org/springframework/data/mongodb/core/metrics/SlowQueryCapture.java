@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Configuration to capture find operations exceeding a {@link #getThreshold() threshold}. Captured operations are
+ * reported as {@link SlowQuery} through a {@link SlowQueryEvent} and a log record. Optionally, the query plan of slow
+ * queries is obtained by running {@code explain} on an {@link Executor}.
+ *
+ * <pre class="code">
+ * template.setSlowQueryCapture(SlowQueryCapture.threshold(Duration.ofMillis(200)).explainWith(executor));
+ * </pre>
+ *
+ * @since 3.2
+ */
+public final class SlowQueryCapture {
+
+	private final Duration threshold;
+	private final @Nullable Executor explainExecutor;
+
+	private SlowQueryCapture(Duration threshold, @Nullable Executor explainExecutor) {
+
+		this.threshold = threshold;
+		this.explainExecutor = explainExecutor;
+	}
+
+	/**
+	 * Create a new {@link SlowQueryCapture} capturing queries that take longer than {@code threshold}.
+	 *
+	 * @param threshold must not be {@literal null} or negative.
+	 * @return new instance of {@link SlowQueryCapture}.
+	 */
+	public static SlowQueryCapture threshold(Duration threshold) {
+
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+
+		return new SlowQueryCapture(threshold, null);
+	}
+
+	/**
+	 * Obtain the query plan of captured queries by running {@code explain} asynchronously on the given {@link Executor}.
+	 * Captured queries are reported once the plan is available.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @return new instance of {@link SlowQueryCapture}.
+	 */
+	public SlowQueryCapture explainWith(Executor executor) {
+
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return new SlowQueryCapture(threshold, executor);
+	}
+
+	/**
+	 * @return the duration above which queries are captured.
+	 */
+	public Duration getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * @return {@literal true} if the query plan of captured queries should be obtained.
+	 */
+	public boolean isExplain() {
+		return explainExecutor != null;
+	}
+
+	/**
+	 * @return the {@link Executor} to run {@code explain} on. Can be {@literal null} if {@link #isExplain()} is
+	 *         {@literal false}.
+	 */
+	@Nullable
+	public Executor getExplainExecutor() {
+		return explainExecutor;
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * {@link ApplicationEvent} published when a find operation exceeds the {@link SlowQueryCapture#getThreshold() slow
+ * query threshold}.
+ *
+ * @since 3.2
+ */
+public class SlowQueryEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a new {@link SlowQueryEvent}.
+	 *
+	 * @param source must not be {@literal null}.
+	 */
+	public SlowQueryEvent(SlowQuery source) {
+		super(source);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.EventObject#getSource()
+	 */
+	@Override
+	public SlowQuery getSource() {
+		return (SlowQuery) super.getSource();
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+/**
+ * Callback interface notified about retried and aborted attempts of transactions run with a
+ * {@link org.springframework.data.mongodb.core.TransactionRetryPolicy}.
+ *
+ * @since 3.2
+ * @see MicrometerTransactionObserver
+ */
+public interface TransactionObserver {
+
+	/**
+	 * Called before a retry is attempted after backing off.
+	 *
+	 * @param scope the retried {@link RetryScope}. Never {@literal null}.
+	 * @param attempt the number of the failed attempt, starting at {@literal 1}.
+	 * @param cause the error that caused the retry. Never {@literal null}.
+	 */
+	default void onRetry(RetryScope scope, int attempt, Throwable cause) {}
+
+	/**
+	 * Called when a transaction attempt was aborted, either because the callback failed or because the transaction
+	 * could not be committed.
+	 *
+	 * @param cause the error that caused the abort. Never {@literal null}.
+	 */
+	default void onAbort(Throwable cause) {}
+
+	/**
+	 * The scope of a retry.
+	 */
+	enum RetryScope {
+
+		/**
+		 * The whole transaction callback is retried within a new transaction.
+		 */
+		TRANSACTION,
+
+		/**
+		 * Only the commit is retried.
+		 */
+		COMMIT
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * Client-side instrumentation of MongoDB operations breaking down operation latency into server, mapping, conversion
+ * and callback time.
+ *
+ * @since 3.2
+ */
+@org.springframework.lang.NonNullApi
+package org.springframework.data.mongodb.core.metrics;
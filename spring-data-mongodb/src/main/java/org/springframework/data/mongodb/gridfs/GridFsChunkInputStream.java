@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.Nullable;
+
+import com.mongodb.MongoGridFSException;
+
+/**
+ * {@link InputStream} reading a byte range of a GridFS file chunk by chunk. Chunks are read in contiguous ranges of up
+ * to {@code chunksPerRead} chunks using a single query per range. Up to {@code prefetch} ranges are read concurrently
+ * ahead of the current read position and held in a bounded buffer. Only chunks covering the requested byte range are
+ * read. Reading starts with the first read.
+ *
+ * @since 3.2
+ */
+class GridFsChunkInputStream extends InputStream {
+
+	private final ChunkReader chunkReader;
+	private final Executor executor;
+	private final int chunkSize;
+	private final int chunksPerRead;
+	private final int prefetch;
+	private final long end;
+	private final Deque<CompletableFuture<List<byte[]>>> inFlight;
+	private final Deque<byte[]> pending = new ArrayDeque<>();
+
+	private long position;
+	private long nextChunk;
+	private long pendingChunk;
+	private @Nullable byte[] buffer;
+	private int bufferPosition;
+	private boolean closed;
+
+	/**
+	 * @param chunkReader reads the data of a contiguous chunk range.
+	 * @param executor the executor to read chunks on.
+	 * @param chunkSize the chunk size of the file.
+	 * @param chunksPerRead maximum number of chunks to read with a single query.
+	 * @param prefetch number of chunk ranges to read ahead.
+	 * @param start start position (inclusive).
+	 * @param end end position (exclusive).
+	 */
+	GridFsChunkInputStream(ChunkReader chunkReader, Executor executor, int chunkSize, int chunksPerRead, int prefetch,
+			long start, long end) {
+
+		this.chunkReader = chunkReader;
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+		this.chunksPerRead = chunksPerRead;
+		this.prefetch = prefetch;
+		this.end = end;
+		this.inFlight = new ArrayDeque<>(prefetch);
+		this.position = start;
+		this.nextChunk = start / chunkSize;
+		this.pendingChunk = nextChunk;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+
+		if (!ensureBuffer()) {
+			return -1;
+		}
+
+		position++;
+		return buffer[bufferPosition++] & 0xFF;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+
+		if (len == 0) {
+			return 0;
+		}
+
+		int read = 0;
+
+		while (read < len && ensureBuffer()) {
+
+			int toCopy = (int) Math.min(Math.min(len - read, buffer.length - bufferPosition), end - position);
+			System.arraycopy(buffer, bufferPosition, b, off + read, toCopy);
+
+			bufferPosition += toCopy;
+			position += toCopy;
+			read += toCopy;
+		}
+
+		return read == 0 ? -1 : read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+
+		assertOpen();
+
+		long toSkip = Math.min(Math.max(n, 0), end - position);
+
+		if (toSkip == 0) {
+			return 0;
+		}
+
+		if (buffer != null && bufferPosition + toSkip < buffer.length) {
+
+			bufferPosition += toSkip;
+			position += toSkip;
+			return toSkip;
+		}
+
+		position += toSkip;
+		buffer = null;
+
+		long targetChunk = position / chunkSize;
+
+		if (targetChunk < pendingChunk + pending.size()) {
+
+			while (pendingChunk < targetChunk) {
+				pending.poll();
+				pendingChunk++;
+			}
+
+			return toSkip;
+		}
+
+		pending.clear();
+		cancelInFlight();
+		nextChunk = targetChunk;
+		pendingChunk = targetChunk;
+
+		return toSkip;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() {
+		return buffer != null ? (int) Math.min(buffer.length - bufferPosition, end - position) : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+		buffer = null;
+		pending.clear();
+		cancelInFlight();
+	}
+
+	private boolean ensureBuffer() throws IOException {
+
+		assertOpen();
+
+		if (position >= end) {
+			return false;
+		}
+
+		if (buffer != null && bufferPosition < buffer.length) {
+			return true;
+		}
+
+		if (pending.isEmpty()) {
+
+			requestChunks();
+
+			try {
+				pending.addAll(inFlight.poll().join());
+			} catch (CompletionException e) {
+
+				close();
+
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+
+				throw new MongoGridFSException("Failed to read chunks", e.getCause());
+			}
+		}
+
+		buffer = pending.poll();
+		pendingChunk++;
+		requestChunks();
+
+		bufferPosition = (int) (position % chunkSize);
+
+		if (buffer == null || bufferPosition >= buffer.length) {
+			throw new MongoGridFSException(String.format("Chunk at position %d is shorter than expected", position));
+		}
+
+		return true;
+	}
+
+	private void requestChunks() {
+
+		long lastChunk = (end - 1) / chunkSize;
+
+		while (inFlight.size() < prefetch && nextChunk <= lastChunk) {
+
+			long from = nextChunk;
+			long to = Math.min(lastChunk + 1, from + chunksPerRead);
+
+			nextChunk = to;
+			inFlight.add(CompletableFuture.supplyAsync(() -> chunkReader.read(from, to), executor));
+		}
+	}
+
+	private void cancelInFlight() {
+
+		for (CompletableFuture<List<byte[]>> future : inFlight) {
+			future.cancel(false);
+		}
+
+		inFlight.clear();
+	}
+
+	private void assertOpen() throws IOException {
+
+		if (closed) {
+			throw new IOException("Stream is closed");
+		}
+	}
+
+	/**
+	 * Reads the data of a contiguous range of chunks.
+	 */
+	interface ChunkReader {
+
+		/**
+		 * @param from index of the first chunk (inclusive).
+		 * @param to index of the last chunk (exclusive).
+		 * @return the chunk data in chunk order. Contains {@code to - from} elements.
+		 */
+		List<byte[]> read(long from, long to);
+	}
+}
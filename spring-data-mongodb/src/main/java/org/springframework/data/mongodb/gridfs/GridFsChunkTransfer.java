@@ -0,0 +1,276 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Transfers GridFS file content by writing and reading the {@code files} and {@code chunks} collections directly.
+ * Uploads insert chunks in batches with up to {@code parallelism} batches in flight. Downloads read contiguous ranges of
+ * up to {@code batchSize} chunks with a single query, keep up to {@code parallelism} ranges in flight ahead of the read
+ * position and may be restricted to a byte range. The documents written
+ * follow the GridFS specification and are interchangeable with files written through
+ * {@link com.mongodb.client.gridfs.GridFSBucket}.
+ *
+ * @since 3.2
+ */
+class GridFsChunkTransfer {
+
+	private final MongoCollection<Document> filesCollection;
+	private final MongoCollection<Document> chunksCollection;
+	private final Executor executor;
+	private final int parallelism;
+	private final int batchSize;
+
+	/**
+	 * @param filesCollection the {@code files} collection of the bucket.
+	 * @param chunksCollection the {@code chunks} collection of the bucket.
+	 * @param executor the executor to run chunk writes and reads on.
+	 * @param parallelism number of chunk batches in flight.
+	 * @param batchSize number of chunks to insert with a single {@code insertMany} or to read with a single query.
+	 */
+	GridFsChunkTransfer(MongoCollection<Document> filesCollection, MongoCollection<Document> chunksCollection,
+			Executor executor, int parallelism, int batchSize) {
+
+		this.filesCollection = filesCollection;
+		this.chunksCollection = chunksCollection;
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Upload the given {@link InputStream content} and write the file document once all chunks are written. Chunks
+	 * written so far are removed if the upload fails.
+	 *
+	 * @param id the file id.
+	 * @param filename the filename.
+	 * @param content the content to upload.
+	 * @param chunkSize the chunk size in bytes.
+	 * @param metadata file metadata. Can be {@literal null}.
+	 * @return the file id.
+	 */
+	BsonValue upload(BsonValue id, String filename, InputStream content, int chunkSize, @Nullable Document metadata) {
+
+		ensureIndexes();
+
+		Semaphore permits = new Semaphore(parallelism);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<CompletableFuture<?>> writes = new ArrayList<>();
+
+		try {
+
+			long length = 0;
+			int chunkIndex = 0;
+			List<Document> batch = new ArrayList<>(batchSize);
+			byte[] data;
+
+			while ((data = readChunk(content, chunkSize)) != null) {
+
+				batch.add(new Document("files_id", id).append("n", chunkIndex++).append("data", new Binary(data)));
+				length += data.length;
+
+				if (batch.size() == batchSize) {
+
+					writes.add(write(batch, permits, failure));
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+
+			if (!batch.isEmpty()) {
+				writes.add(write(batch, permits, failure));
+			}
+
+			CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+
+			Document file = new Document("_id", id).append("filename", filename).append("length", length)
+					.append("chunkSize", chunkSize).append("uploadDate", new Date());
+
+			if (metadata != null) {
+				file.append("metadata", metadata);
+			}
+
+			filesCollection.insertOne(file);
+
+			return id;
+		} catch (RuntimeException e) {
+
+			abort(id, writes);
+			throw unwrap(e);
+		}
+	}
+
+	/**
+	 * Open an {@link InputStream} reading the given byte range of {@code file}.
+	 *
+	 * @param file the file to read.
+	 * @param start start position (inclusive).
+	 * @param end end position (exclusive).
+	 * @return the {@link InputStream}.
+	 */
+	InputStream openStream(GridFSFile file, long start, long end) {
+
+		BsonValue id = file.getId();
+		long length = file.getLength();
+		int chunkSize = file.getChunkSize();
+
+		return new GridFsChunkInputStream((from, to) -> readChunks(id, from, to, length, chunkSize), executor, chunkSize,
+				batchSize, parallelism, start, end);
+	}
+
+	private List<byte[]> readChunks(BsonValue id, long from, long to, long length, int chunkSize) {
+
+		List<byte[]> chunks = new ArrayList<>((int) (to - from));
+
+		try (MongoCursor<Document> cursor = chunksCollection
+				.find(Filters.and(Filters.eq("files_id", id), Filters.gte("n", from), Filters.lt("n", to)))
+				.sort(Sorts.ascending("n")).batchSize((int) (to - from)).iterator()) {
+
+			long chunkIndex = from;
+
+			while (chunkIndex < to) {
+
+				Document chunk = cursor.hasNext() ? cursor.next() : null;
+				Number n = chunk != null ? chunk.get("n", Number.class) : null;
+
+				if (n == null || n.longValue() != chunkIndex) {
+					throw new MongoGridFSException(
+							String.format("Could not find file chunk for file_id: %s at chunk index %s.", id, chunkIndex));
+				}
+
+				Binary data = chunk.get("data", Binary.class);
+				long expectedLength = Math.min(chunkSize, length - (chunkIndex * chunkSize));
+
+				if (data.length() != expectedLength) {
+					throw new MongoGridFSException(String.format(
+							"Chunk size data length is not the expected size. The size was %s for file_id: %s chunk index %s it should be %s bytes.",
+							data.length(), id, chunkIndex, expectedLength));
+				}
+
+				chunks.add(data.getData());
+				chunkIndex++;
+			}
+		}
+
+		return chunks;
+	}
+
+	private CompletableFuture<?> write(List<Document> batch, Semaphore permits, AtomicReference<Throwable> failure) {
+
+		Throwable previousFailure = failure.get();
+
+		if (previousFailure != null) {
+			throw new CompletionException(previousFailure);
+		}
+
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			throw new MongoGridFSException("Interrupted while writing chunks", e);
+		}
+
+		return CompletableFuture.runAsync(() -> chunksCollection.insertMany(batch), executor).whenComplete((it, e) -> {
+
+			if (e != null) {
+				failure.compareAndSet(null, e instanceof CompletionException ? e.getCause() : e);
+			}
+
+			permits.release();
+		});
+	}
+
+	private void abort(BsonValue id, List<CompletableFuture<?>> writes) {
+
+		for (CompletableFuture<?> write : writes) {
+			try {
+				write.join();
+			} catch (RuntimeException o_O) {
+				// already reported
+			}
+		}
+
+		chunksCollection.deleteMany(Filters.eq("files_id", id));
+	}
+
+	private void ensureIndexes() {
+
+		if (filesCollection.withReadPreference(ReadPreference.primary()).find().projection(new Document("_id", 1))
+				.first() != null) {
+			return;
+		}
+
+		filesCollection.createIndex(new Document("filename", 1).append("uploadDate", 1));
+		chunksCollection.createIndex(new Document("files_id", 1).append("n", 1), new IndexOptions().unique(true));
+	}
+
+	@Nullable
+	private static byte[] readChunk(InputStream content, int chunkSize) {
+
+		byte[] buffer = new byte[chunkSize];
+		int read = 0;
+
+		try {
+
+			int bytes;
+			while (read < chunkSize && (bytes = content.read(buffer, read, chunkSize - read)) != -1) {
+				read += bytes;
+			}
+		} catch (IOException e) {
+			throw new MongoGridFSException("IOException when reading from the InputStream", e);
+		}
+
+		if (read == 0) {
+			return null;
+		}
+
+		return read == chunkSize ? buffer : Arrays.copyOf(buffer, read);
+	}
+
+	private static RuntimeException unwrap(RuntimeException e) {
+
+		if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+			return (RuntimeException) e.getCause();
+		}
+
+		return e;
+	}
+}
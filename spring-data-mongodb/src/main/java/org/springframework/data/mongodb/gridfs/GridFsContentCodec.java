@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+/**
+ * Codec to transform GridFS file content when storing and reading it, typically by compressing it. The codec
+ * {@link #getName() name} is recorded in the file metadata so that content is decoded transparently when read.
+ * {@link ContentTransformer Transformers} operate on a stream of byte blocks and can be used with both, imperative and
+ * reactive GridFS operations.
+ *
+ * @since 3.2
+ * @see GridFsContentCodecs
+ */
+public interface GridFsContentCodec {
+
+	/**
+	 * @return the unique codec name recorded in the file metadata.
+	 */
+	String getName();
+
+	/**
+	 * Create a new {@link ContentTransformer} to encode the content of a single file.
+	 *
+	 * @return a new {@link ContentTransformer}.
+	 */
+	ContentTransformer createEncoder();
+
+	/**
+	 * Create a new {@link ContentTransformer} to decode the content of a single file.
+	 *
+	 * @return a new {@link ContentTransformer}.
+	 */
+	ContentTransformer createDecoder();
+
+	/**
+	 * Stateful transformation of a stream of byte blocks. Transformers are not thread-safe and are used for a single
+	 * file only. {@link #close()} is called once the transformer is no longer used, regardless of whether the
+	 * transformation completed.
+	 */
+	interface ContentTransformer {
+
+		/**
+		 * Transform the given block of bytes.
+		 *
+		 * @param input the input.
+		 * @param offset offset within {@code input}.
+		 * @param length number of bytes to transform.
+		 * @return the transformed bytes available so far. Can be empty.
+		 * @throws com.mongodb.MongoGridFSException if the input cannot be transformed.
+		 */
+		byte[] update(byte[] input, int offset, int length);
+
+		/**
+		 * Complete the transformation after all input has been passed to {@link #update(byte[], int, int)}.
+		 *
+		 * @return the remaining transformed bytes. Can be empty.
+		 * @throws com.mongodb.MongoGridFSException if the input is incomplete.
+		 */
+		byte[] finish();
+
+		/**
+		 * Release resources held by this transformer.
+		 */
+		void close();
+	}
+}
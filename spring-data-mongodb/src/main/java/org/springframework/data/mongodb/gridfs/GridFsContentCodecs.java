@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.bson.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Built-in {@link GridFsContentCodec codecs}.
+ *
+ * <pre class="code">
+ * GridFsTemplate template = new GridFsTemplate(dbFactory, converter);
+ * template.setContentCodec(GridFsContentCodecs.deflate());
+ * </pre>
+ *
+ * @since 3.2
+ */
+public final class GridFsContentCodecs {
+
+	/**
+	 * Name of the {@link #deflate() Deflate} codec.
+	 */
+	public static final String DEFLATE = "deflate";
+
+	private static final GridFsContentCodec DEFAULT_DEFLATE = new DeflateContentCodec(Deflater.DEFAULT_COMPRESSION);
+	private static final int BUFFER_SIZE = 8192;
+
+	private GridFsContentCodecs() {}
+
+	/**
+	 * Obtain a {@link GridFsContentCodec} compressing content using the zlib Deflate format with the default
+	 * compression level.
+	 *
+	 * @return the Deflate {@link GridFsContentCodec}.
+	 */
+	public static GridFsContentCodec deflate() {
+		return DEFAULT_DEFLATE;
+	}
+
+	/**
+	 * Obtain a {@link GridFsContentCodec} compressing content using the zlib Deflate format with the given compression
+	 * level. Content is decoded using the same codec regardless of the compression level.
+	 *
+	 * @param level compression level between {@link Deflater#BEST_SPEED} and {@link Deflater#BEST_COMPRESSION}.
+	 * @return the Deflate {@link GridFsContentCodec}.
+	 */
+	public static GridFsContentCodec deflate(int level) {
+
+		Assert.isTrue(level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION,
+				"Compression level must be between 1 and 9!");
+
+		return new DeflateContentCodec(level);
+	}
+
+	/**
+	 * Resolve the {@link GridFsContentCodec} used to encode the content of the given {@link GridFSFile}.
+	 *
+	 * @param file the file.
+	 * @param configured the codec configured for writing. Can be {@literal null}.
+	 * @return the codec or {@literal null} if the file content is not encoded.
+	 * @throws MongoGridFSException if the codec is unknown.
+	 */
+	@Nullable
+	static GridFsContentCodec getContentCodec(GridFSFile file, @Nullable GridFsContentCodec configured) {
+
+		Document metadata = file.getMetadata();
+		String name = metadata != null ? metadata.getString(GridFsResource.CONTENT_CODEC_FIELD) : null;
+
+		if (name == null) {
+			return null;
+		}
+
+		if (configured != null && configured.getName().equals(name)) {
+			return configured;
+		}
+
+		if (DEFLATE.equals(name)) {
+			return DEFAULT_DEFLATE;
+		}
+
+		throw new MongoGridFSException(String.format("Unknown content codec %s for file %s", name, file.getId()));
+	}
+
+	/**
+	 * {@link GridFsContentCodec} using {@link Deflater} and {@link Inflater}.
+	 */
+	private static class DeflateContentCodec implements GridFsContentCodec {
+
+		private final int level;
+
+		DeflateContentCodec(int level) {
+			this.level = level;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec#getName()
+		 */
+		@Override
+		public String getName() {
+			return DEFLATE;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec#createEncoder()
+		 */
+		@Override
+		public ContentTransformer createEncoder() {
+			return new DeflatingTransformer(new Deflater(level));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec#createDecoder()
+		 */
+		@Override
+		public ContentTransformer createDecoder() {
+			return new InflatingTransformer(new Inflater());
+		}
+	}
+
+	private static class DeflatingTransformer implements ContentTransformer {
+
+		private final Deflater deflater;
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+
+		DeflatingTransformer(Deflater deflater) {
+			this.deflater = deflater;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#update(byte[], int, int)
+		 */
+		@Override
+		public byte[] update(byte[] input, int offset, int length) {
+
+			deflater.setInput(input, offset, length);
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+			while (!deflater.needsInput()) {
+				output.write(buffer, 0, deflater.deflate(buffer));
+			}
+
+			return output.toByteArray();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#finish()
+		 */
+		@Override
+		public byte[] finish() {
+
+			deflater.finish();
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+			while (!deflater.finished()) {
+				output.write(buffer, 0, deflater.deflate(buffer));
+			}
+
+			return output.toByteArray();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#close()
+		 */
+		@Override
+		public void close() {
+			deflater.end();
+		}
+	}
+
+	private static class InflatingTransformer implements ContentTransformer {
+
+		private final Inflater inflater;
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+
+		InflatingTransformer(Inflater inflater) {
+			this.inflater = inflater;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#update(byte[], int, int)
+		 */
+		@Override
+		public byte[] update(byte[] input, int offset, int length) {
+
+			if (inflater.finished()) {
+				return new byte[0];
+			}
+
+			inflater.setInput(input, offset, length);
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+			try {
+				while (!inflater.finished()) {
+
+					int inflated = inflater.inflate(buffer);
+
+					if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+
+					output.write(buffer, 0, inflated);
+				}
+			} catch (DataFormatException e) {
+				throw new MongoGridFSException("Cannot decode content: " + e.getMessage(), e);
+			}
+
+			return output.toByteArray();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#finish()
+		 */
+		@Override
+		public byte[] finish() {
+
+			if (!inflater.finished()) {
+				throw new MongoGridFSException("Cannot decode content: Unexpected end of content");
+			}
+
+			return new byte[0];
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer#close()
+		 */
+		@Override
+		public void close() {
+			inflater.end();
+		}
+	}
+}
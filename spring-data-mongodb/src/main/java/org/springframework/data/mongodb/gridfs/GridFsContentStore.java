@@ -0,0 +1,333 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.util.BsonUtils;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+
+/**
+ * Content-addressed store keeping a single copy of identical GridFS content. Content is stored as a file in a dedicated
+ * content bucket and hashed using SHA-256 while being uploaded. If content with the same digest and length exists
+ * already, its reference count is incremented and the uploaded copy is removed. Logical files reference the content
+ * through the reserved {@link #CONTENT_FIELD} sub-document in their metadata. Content is removed once its last reference is
+ * {@link #release(BsonValue) released}.
+ *
+ * @since 3.2
+ */
+class GridFsContentStore {
+
+	static final String CONTENT_FIELD = "_content";
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final String DIGEST = "metadata.digest";
+	private static final String REF_COUNT = "metadata.refCount";
+
+	private final MongoCollection<Document> contentFiles;
+	private final MongoCollection<Document> contentChunks;
+	private final ContentUploader uploader;
+
+	/**
+	 * @param contentFiles the {@code files} collection of the content bucket.
+	 * @param contentChunks the {@code chunks} collection of the content bucket.
+	 * @param uploader uploads content into the content bucket.
+	 */
+	GridFsContentStore(MongoCollection<Document> contentFiles, MongoCollection<Document> contentChunks,
+			ContentUploader uploader) {
+
+		this.contentFiles = contentFiles;
+		this.contentChunks = contentChunks;
+		this.uploader = uploader;
+	}
+
+	/**
+	 * Obtain the id of the content referenced by the given logical {@link GridFSFile}.
+	 *
+	 * @param file the logical file.
+	 * @return the content id or {@literal null} if the file does not reference deduplicated content.
+	 */
+	@Nullable
+	static BsonValue getContentId(GridFSFile file) {
+
+		Document metadata = file.getMetadata();
+		Object content = metadata != null ? metadata.get(CONTENT_FIELD) : null;
+
+		if (!(content instanceof Document) || !((Document) content).containsKey("id")) {
+			return null;
+		}
+
+		return BsonUtils.simpleToBsonValue(((Document) content).get("id"));
+	}
+
+	/**
+	 * Obtain the {@link GridFSFile} to read the content of the given logical {@link GridFSFile} from.
+	 *
+	 * @param file the logical file.
+	 * @return the content file within the content bucket or {@literal null} if the file does not reference
+	 *         deduplicated content.
+	 */
+	@Nullable
+	static GridFSFile getContentFile(GridFSFile file) {
+
+		BsonValue contentId = getContentId(file);
+
+		if (contentId == null) {
+			return null;
+		}
+
+		return new GridFSFile(contentId, file.getFilename(), file.getLength(), file.getChunkSize(), file.getUploadDate(),
+				file.getMetadata());
+	}
+
+	/**
+	 * Store the given content unless identical content exists already.
+	 *
+	 * @param content the content to store.
+	 * @param chunkSize the chunk size to use for new content.
+	 * @return the {@link ContentReference} to the stored or existing content.
+	 */
+	ContentReference store(InputStream content, int chunkSize) {
+
+		ensureIndexes();
+
+		BsonValue id = new BsonObjectId(new ObjectId());
+		DigestingInputStream digestingStream = new DigestingInputStream(content, createDigest());
+
+		uploader.upload(id, digestingStream, chunkSize);
+
+		String digest = digestingStream.getDigest();
+		long length = digestingStream.getCount();
+
+		for (int attempt = 0;; attempt++) {
+
+			Document existing = contentFiles.findOneAndUpdate(
+					Filters.and(Filters.eq(DIGEST, digest), Filters.eq("length", length), Filters.gt(REF_COUNT, 0)),
+					Updates.inc(REF_COUNT, 1));
+
+			if (existing != null) {
+
+				remove(id);
+				return new ContentReference(BsonUtils.simpleToBsonValue(existing.get("_id")), digest, length,
+						existing.getInteger("chunkSize"));
+			}
+
+			try {
+
+				contentFiles.updateOne(Filters.eq("_id", id),
+						Updates.combine(Updates.set(DIGEST, digest), Updates.set(REF_COUNT, 1)));
+				return new ContentReference(id, digest, length, chunkSize);
+			} catch (MongoWriteException e) {
+
+				if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY || attempt > 0) {
+
+					remove(id);
+					throw e;
+				}
+
+				// content without references pending removal
+				removeUnreferenced(Filters.and(Filters.eq(DIGEST, digest), Filters.eq("length", length)));
+			}
+		}
+	}
+
+	/**
+	 * Release a reference to the given content and remove the content once it is no longer referenced.
+	 *
+	 * @param contentId the content id.
+	 */
+	void release(BsonValue contentId) {
+
+		Document updated = contentFiles.findOneAndUpdate(Filters.eq("_id", contentId), Updates.inc(REF_COUNT, -1),
+				new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+
+		if (updated == null) {
+			return;
+		}
+
+		Number refCount = updated.get("metadata", Document.class).get("refCount", Number.class);
+
+		if (refCount == null || refCount.longValue() <= 0) {
+			removeUnreferenced(Filters.eq("_id", contentId));
+		}
+	}
+
+	private void removeUnreferenced(Bson filter) {
+
+		Document removed = contentFiles.findOneAndDelete(Filters.and(filter, Filters.lte(REF_COUNT, 0)));
+
+		if (removed != null) {
+			contentChunks.deleteMany(Filters.eq("files_id", removed.get("_id")));
+		}
+	}
+
+	private void remove(BsonValue id) {
+
+		contentFiles.deleteOne(Filters.eq("_id", id));
+		contentChunks.deleteMany(Filters.eq("files_id", id));
+	}
+
+	private void ensureIndexes() {
+
+		if (contentFiles.find().projection(new Document("_id", 1)).first() != null) {
+			return;
+		}
+
+		contentFiles.createIndex(new Document(DIGEST, 1).append("length", 1), new IndexOptions().unique(true)
+				.partialFilterExpression(Filters.exists(DIGEST)));
+	}
+
+	private static MessageDigest createDigest() {
+
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(String.format("%s not supported", DIGEST_ALGORITHM), e);
+		}
+	}
+
+	/**
+	 * Strategy to upload content into the content bucket.
+	 */
+	@FunctionalInterface
+	interface ContentUploader {
+
+		/**
+		 * @param id the content id.
+		 * @param content the content to upload.
+		 * @param chunkSize the chunk size.
+		 */
+		void upload(BsonValue id, InputStream content, int chunkSize);
+	}
+
+	/**
+	 * Reference to stored content.
+	 */
+	static class ContentReference {
+
+		private final BsonValue id;
+		private final String digest;
+		private final long length;
+		private final int chunkSize;
+
+		ContentReference(BsonValue id, String digest, long length, int chunkSize) {
+
+			this.id = id;
+			this.digest = digest;
+			this.length = length;
+			this.chunkSize = chunkSize;
+		}
+
+		BsonValue getId() {
+			return id;
+		}
+
+		String getDigest() {
+			return digest;
+		}
+
+		long getLength() {
+			return length;
+		}
+
+		int getChunkSize() {
+			return chunkSize;
+		}
+
+		Document toDocument() {
+			return new Document("id", id).append("digest", digest);
+		}
+	}
+
+	/**
+	 * {@link DigestInputStream} additionally counting the bytes read.
+	 */
+	private static class DigestingInputStream extends DigestInputStream {
+
+		private long count;
+
+		DigestingInputStream(InputStream stream, MessageDigest digest) {
+			super(stream, digest);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.security.DigestInputStream#read()
+		 */
+		@Override
+		public int read() throws IOException {
+
+			int value = super.read();
+
+			if (value != -1) {
+				count++;
+			}
+
+			return value;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.security.DigestInputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+
+			int read = super.read(b, off, len);
+
+			if (read > 0) {
+				count += read;
+			}
+
+			return read;
+		}
+
+		long getCount() {
+			return count;
+		}
+
+		String getDigest() {
+
+			byte[] digest = getMessageDigest().digest();
+			StringBuilder builder = new StringBuilder(digest.length * 2);
+
+			for (byte b : digest) {
+				builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+
+			return builder.toString();
+		}
+	}
+}
@@ -163,6 +163,24 @@ public interface GridFsOperations extends ResourcePatternResolver {
 	 */
 	<T> T store(GridFsObject<T, InputStream> upload);
 
+	/**
+	 * Stores the given {@link GridFsObject} deduplicated. The content is hashed while being uploaded and kept once per
+	 * digest and length in a content bucket named {@code <bucket>.content}. If identical content exists already, only a
+	 * file document referencing the existing content is written. Content is reference-counted and removed once the last
+	 * file referencing it is {@link #delete(Query) deleted}. Files stored deduplicated are read transparently. The
+	 * default implementation {@link #store(GridFsObject) stores} the content without deduplication.
+	 *
+	 * @param upload the {@link GridFsObject} (most likely a {@link GridFsUpload}) to be stored.
+	 * @param <T> id type of the underlying {@link com.mongodb.client.gridfs.model.GridFSFile}
+	 * @return the id of the stored file. Either an auto created value or {@link GridFsObject#getFileId()}, but never
+	 *         {@literal null}.
+	 * @throws IllegalArgumentException if the metadata contains the reserved {@literal _content} key.
+	 * @since 3.2
+	 */
+	default <T> T storeDeduplicated(GridFsObject<T, InputStream> upload) {
+		return store(upload);
+	}
+
 	/**
 	 * Returns all files matching the given query. Note, that currently {@link Sort} criterias defined at the
 	 * {@link Query} will not be regarded as MongoDB does not support ordering for GridFS file access.
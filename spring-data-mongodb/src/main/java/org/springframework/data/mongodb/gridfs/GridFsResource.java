@@ -17,10 +17,12 @@ package org.springframework.data.mongodb.gridfs;
 
 import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
 
+import org.bson.Document;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.mongodb.util.BsonUtils;
@@ -41,10 +43,13 @@ import com.mongodb.client.gridfs.model.GridFSFile;
 public class GridFsResource extends InputStreamResource implements GridFsObject<Object, InputStream> {
 
 	static final String CONTENT_TYPE_FIELD = "_contentType";
+	static final String CONTENT_CODEC_FIELD = "_contentCodec";
+	static final String CONTENT_LENGTH_FIELD = "_contentLength";
 	private static final ByteArrayInputStream EMPTY_INPUT_STREAM = new ByteArrayInputStream(new byte[0]);
 
 	private final @Nullable GridFSFile file;
 	private final String filename;
+	private final @Nullable RangeReader rangeReader;
 
 	/**
 	 * Creates a new, absent {@link GridFsResource}.
@@ -58,6 +63,7 @@ public class GridFsResource extends InputStreamResource implements GridFsObject<
 
 		this.file = null;
 		this.filename = filename;
+		this.rangeReader = null;
 	}
 
 	/**
@@ -76,11 +82,25 @@ public class GridFsResource extends InputStreamResource implements GridFsObject<
 	 * @param inputStream must not be {@literal null}.
 	 */
 	public GridFsResource(GridFSFile file, InputStream inputStream) {
+		this(file, inputStream, null);
+	}
+
+	/**
+	 * Creates a new {@link GridFsResource} from the given {@link GridFSFile} and {@link InputStream} using
+	 * {@link RangeReader} to read parts of the file.
+	 *
+	 * @param file must not be {@literal null}.
+	 * @param inputStream must not be {@literal null}.
+	 * @param rangeReader can be {@literal null}.
+	 * @since 3.2
+	 */
+	GridFsResource(GridFSFile file, InputStream inputStream, @Nullable RangeReader rangeReader) {
 
 		super(inputStream, String.format("GridFs resource [%s]", file.getFilename()));
 
 		this.file = file;
 		this.filename = file.getFilename();
+		this.rangeReader = rangeReader;
 	}
 
 	/**
@@ -108,6 +128,49 @@ public class GridFsResource extends InputStreamResource implements GridFsObject<
 		return super.getInputStream();
 	}
 
+	/**
+	 * Obtain an {@link InputStream} reading {@code length} bytes starting at {@code position}. Resources obtained from
+	 * {@link GridFsTemplate} read only the chunks covering the requested range unless the content is encoded using a
+	 * {@link GridFsContentCodec}. The range is truncated at the end of the file.
+	 *
+	 * @param position the start position. Must not be negative.
+	 * @param length number of bytes to read. Must not be negative.
+	 * @return the {@link InputStream} to read the range.
+	 * @throws IOException in case of I/O errors or if the file does not {@link #exists()}.
+	 * @since 3.2
+	 */
+	public InputStream getInputStream(long position, long length) throws IOException {
+
+		Assert.isTrue(position >= 0, "Position must not be negative!");
+		Assert.isTrue(length >= 0, "Length must not be negative!");
+
+		verifyExists();
+
+		long contentLength = contentLength();
+		long start = Math.min(position, contentLength);
+		long end = Math.min(contentLength, start + length);
+
+		if (rangeReader != null) {
+			return rangeReader.read(getGridFSFile(), start, end);
+		}
+
+		InputStream inputStream = getInputStream();
+		long toSkip = start;
+
+		while (toSkip > 0) {
+
+			long skipped = inputStream.skip(toSkip);
+
+			if (skipped <= 0) {
+				break;
+			}
+
+			toSkip -= skipped;
+		}
+
+		return new LimitedInputStream(inputStream, end - start);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.core.io.AbstractResource#contentLength()
@@ -116,7 +179,11 @@ public class GridFsResource extends InputStreamResource implements GridFsObject<
 	public long contentLength() throws IOException {
 
 		verifyExists();
-		return getGridFSFile().getLength();
+
+		Document metadata = getGridFSFile().getMetadata();
+		Number contentLength = metadata != null ? metadata.get(CONTENT_LENGTH_FIELD, Number.class) : null;
+
+		return contentLength != null ? contentLength.longValue() : getGridFSFile().getLength();
 	}
 
 	/*
@@ -236,4 +303,96 @@ public class GridFsResource extends InputStreamResource implements GridFsObject<
 			throw new FileNotFoundException(String.format("%s does not exist.", getDescription()));
 		}
 	}
+
+	/**
+	 * Strategy to read a byte range of a {@link GridFSFile}.
+	 *
+	 * @since 3.2
+	 */
+	@FunctionalInterface
+	interface RangeReader {
+
+		/**
+		 * @param file the file to read.
+		 * @param start start position (inclusive).
+		 * @param end end position (exclusive).
+		 * @return the {@link InputStream} to read the range.
+		 */
+		InputStream read(GridFSFile file, long start, long end);
+	}
+
+	/**
+	 * {@link InputStream} reading at most {@code limit} bytes from a delegate without closing it when exhausted.
+	 */
+	private static class LimitedInputStream extends FilterInputStream {
+
+		private long remaining;
+
+		LimitedInputStream(InputStream delegate, long limit) {
+
+			super(delegate);
+			this.remaining = limit;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.FilterInputStream#read()
+		 */
+		@Override
+		public int read() throws IOException {
+
+			if (remaining <= 0) {
+				return -1;
+			}
+
+			int value = super.read();
+
+			if (value != -1) {
+				remaining--;
+			}
+
+			return value;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.FilterInputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+
+			if (remaining <= 0) {
+				return -1;
+			}
+
+			int read = super.read(b, off, (int) Math.min(len, remaining));
+
+			if (read > 0) {
+				remaining -= read;
+			}
+
+			return read;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.FilterInputStream#skip(long)
+		 */
+		@Override
+		public long skip(long n) throws IOException {
+
+			long skipped = super.skip(Math.min(n, remaining));
+			remaining -= skipped;
+			return skipped;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.FilterInputStream#available()
+		 */
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(super.available(), remaining);
+		}
+	}
 }
@@ -20,26 +20,34 @@ import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer;
+import org.springframework.data.mongodb.gridfs.GridFsContentStore.ContentReference;
 import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
 import com.mongodb.client.gridfs.GridFSFindIterable;
 import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
 
 /**
  * {@link GridFsOperations} implementation to store content into MongoDB GridFS.
@@ -56,10 +64,20 @@ import com.mongodb.client.gridfs.model.GridFSUploadOptions;
  */
 public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOperations, ResourcePatternResolver {
 
+	private static final String DEFAULT_BUCKET = "fs";
+	private static final String CONTENT_BUCKET_SUFFIX = ".content";
+	private static final int DEFAULT_CHUNK_BATCH_SIZE = 8;
+
 	private final MongoDatabaseFactory dbFactory;
 
 	private final @Nullable String bucket;
 
+	private int parallelism = 1;
+	private int chunkBatchSize = DEFAULT_CHUNK_BATCH_SIZE;
+	private @Nullable Executor executor;
+	private boolean contentDeduplication = false;
+	private @Nullable GridFsContentCodec contentCodec;
+
 	/**
 	 * Creates a new {@link GridFsTemplate} using the given {@link MongoDatabaseFactory} and {@link MongoConverter}.
 	 *
@@ -87,6 +105,71 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 		this.bucket = bucket;
 	}
 
+	/**
+	 * Configure the number of chunk batches written respectively read concurrently when storing and reading file content
+	 * along with the {@link Executor} to run chunk transfers on. A value greater than {@literal 1} enables parallel
+	 * transfer which bypasses the sequential {@link GridFSBucket} streams: uploads insert
+	 * {@link #setChunkBatchSize(int) batches of chunks} concurrently and downloads read up to {@code parallelism} batches
+	 * of chunks ahead of the read position. Defaults to {@literal 1}. The template does not manage the lifecycle of the
+	 * given {@link Executor}.
+	 *
+	 * @param parallelism must be greater than zero.
+	 * @param executor must not be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setParallelism(int parallelism, Executor executor) {
+
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		this.parallelism = parallelism;
+		this.executor = executor;
+	}
+
+	/**
+	 * Configure the number of chunks to insert with a single {@code insertMany} command when uploading in parallel and to
+	 * read with a single query when reading. Defaults to {@literal 8}.
+	 *
+	 * @param chunkBatchSize must be greater than zero.
+	 * @since 3.2
+	 * @see #setParallelism(int, Executor)
+	 */
+	public void setChunkBatchSize(int chunkBatchSize) {
+
+		Assert.isTrue(chunkBatchSize > 0, "Chunk batch size must be greater than zero!");
+
+		this.chunkBatchSize = chunkBatchSize;
+	}
+
+	/**
+	 * Configure whether {@link #store(GridFsObject)} stores content {@link #storeDeduplicated(GridFsObject)
+	 * deduplicated}. Deduplicated content is stored once in a content bucket named {@code <bucket>.content} and hashed
+	 * using SHA-256 while being uploaded. If content with the same digest and length exists already, only the file
+	 * document referencing the existing content is written to the bucket and the uploaded copy is removed. Content is
+	 * reference-counted and removed once the last file referencing it is deleted. Files stored deduplicated are read and
+	 * deleted transparently regardless of this setting. Defaults to {@literal false}.
+	 *
+	 * @param contentDeduplication {@literal true} to store content deduplicated.
+	 * @since 3.2
+	 */
+	public void setContentDeduplication(boolean contentDeduplication) {
+		this.contentDeduplication = contentDeduplication;
+	}
+
+	/**
+	 * Configure the {@link GridFsContentCodec} to encode file content with when storing it, for example
+	 * {@link GridFsContentCodecs#deflate()} to compress content. The codec name is recorded in the file metadata along
+	 * with the length of the original content so that content is decoded transparently when read regardless of this
+	 * setting. Encoded content cannot be read by range without decoding it from its start. Defaults to {@literal null}
+	 * to store content as-is.
+	 *
+	 * @param contentCodec can be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setContentCodec(@Nullable GridFsContentCodec contentCodec) {
+		this.contentCodec = contentCodec;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#store(java.io.InputStream, java.lang.String, java.lang.String, java.lang.Object)
@@ -101,6 +184,18 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#save(org.springframework.data.mongodb.gridfs.GridFsObject)
 	 */
 	public <T> T store(GridFsObject<T, InputStream> upload) {
+		return doStore(upload, contentDeduplication);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.gridfs.GridFsOperations#storeDeduplicated(org.springframework.data.mongodb.gridfs.GridFsObject)
+	 */
+	public <T> T storeDeduplicated(GridFsObject<T, InputStream> upload) {
+		return doStore(upload, true);
+	}
+
+	private <T> T doStore(GridFsObject<T, InputStream> upload, boolean deduplicate) {
 
 		GridFSUploadOptions uploadOptions = computeUploadOptionsFor(upload.getOptions().getContentType(),
 				upload.getOptions().getMetadata());
@@ -109,13 +204,26 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 			uploadOptions.chunkSizeBytes(upload.getOptions().getChunkSize());
 		}
 
-		if (upload.getFileId() == null) {
-			return (T) getGridFs().uploadFromStream(upload.getFilename(), upload.getContent(), uploadOptions);
+		GridFsContentCodec contentCodec = this.contentCodec;
+
+		if (contentCodec == null) {
+			return doStore(upload, upload.getContent(), uploadOptions, deduplicate);
 		}
 
-		getGridFs().uploadFromStream(BsonUtils.simpleToBsonValue(upload.getFileId()), upload.getFilename(),
-				upload.getContent(), uploadOptions);
-		return upload.getFileId();
+		Document metadata = uploadOptions.getMetadata();
+		metadata.put(GridFsResource.CONTENT_CODEC_FIELD, contentCodec.getName());
+
+		ContentTransformer encoder = contentCodec.createEncoder();
+
+		// the files document is written once the content is consumed so it contains the original length right away
+		TransformingInputStream content = new TransformingInputStream(upload.getContent(), encoder,
+				sourceCount -> metadata.put(GridFsResource.CONTENT_LENGTH_FIELD, sourceCount));
+
+		try {
+			return doStore(upload, content, uploadOptions, deduplicate);
+		} finally {
+			encoder.close();
+		}
 	}
 
 	/*
@@ -157,7 +265,18 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 	public void delete(Query query) {
 
 		for (GridFSFile gridFSFile : find(query)) {
-			getGridFs().delete(gridFSFile.getId());
+
+			BsonValue contentId = GridFsContentStore.getContentId(gridFSFile);
+
+			if (contentId == null) {
+				getGridFs().delete(gridFSFile.getId());
+				continue;
+			}
+
+			if (getCollection(getBucketName() + ".files").deleteOne(Filters.eq("_id", gridFSFile.getId()))
+					.getDeletedCount() > 0) {
+				getContentStore().release(contentId);
+			}
 		}
 	}
 
@@ -188,7 +307,23 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 
 		Assert.notNull(file, "GridFSFile must not be null!");
 
-		return new GridFsResource(file, getGridFs().openDownloadStream(file.getId()));
+		GridFSFile contentFile = GridFsContentStore.getContentFile(file);
+		GridFSFile storedFile = contentFile != null ? contentFile : file;
+		String bucketName = contentFile != null ? getBucketName() + CONTENT_BUCKET_SUFFIX : getBucketName();
+
+		GridFsChunkTransfer transfer = getChunkTransfer(bucketName);
+		InputStream inputStream = parallelism > 1 ? transfer.openStream(storedFile, 0, storedFile.getLength())
+				: getGridFs(bucketName).openDownloadStream(storedFile.getId());
+
+		GridFsContentCodec codec = GridFsContentCodecs.getContentCodec(file, contentCodec);
+
+		if (codec != null) {
+
+			// encoded content is not seekable, ranges are read by decoding the content from its start
+			return new GridFsResource(file, new TransformingInputStream(inputStream, codec.createDecoder()), null);
+		}
+
+		return new GridFsResource(file, inputStream, (it, start, end) -> transfer.openStream(storedFile, start, end));
 	}
 
 	/*
@@ -218,9 +353,117 @@ public class GridFsTemplate extends GridFsOperationsSupport implements GridFsOpe
 		return new GridFsResource[] { getResource(locationPattern) };
 	}
 
+	@SuppressWarnings("unchecked")
+	private <T> T doStore(GridFsObject<T, InputStream> upload, InputStream content, GridFSUploadOptions uploadOptions,
+			boolean deduplicate) {
+
+		if (deduplicate) {
+			return storeDeduplicated(upload, content, uploadOptions);
+		}
+
+		if (parallelism > 1) {
+			return storeInParallel(upload, content, uploadOptions);
+		}
+
+		if (upload.getFileId() == null) {
+			return (T) getGridFs().uploadFromStream(upload.getFilename(), content, uploadOptions);
+		}
+
+		getGridFs().uploadFromStream(BsonUtils.simpleToBsonValue(upload.getFileId()), upload.getFilename(), content,
+				uploadOptions);
+		return upload.getFileId();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T storeInParallel(GridFsObject<T, InputStream> upload, InputStream content,
+			GridFSUploadOptions uploadOptions) {
+
+		BsonValue id = upload.getFileId() != null ? BsonUtils.simpleToBsonValue(upload.getFileId())
+				: new BsonObjectId(new ObjectId());
+		Integer chunkSize = uploadOptions.getChunkSizeBytes();
+
+		getChunkTransfer(getBucketName()).upload(id, upload.getFilename(), content,
+				chunkSize != null ? chunkSize : getGridFs().getChunkSizeBytes(), uploadOptions.getMetadata());
+
+		return upload.getFileId() != null ? upload.getFileId() : (T) id.asObjectId().getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T storeDeduplicated(GridFsObject<T, InputStream> upload, InputStream content,
+			GridFSUploadOptions uploadOptions) {
+
+		BsonValue id = upload.getFileId() != null ? BsonUtils.simpleToBsonValue(upload.getFileId())
+				: new BsonObjectId(new ObjectId());
+		Integer chunkSize = uploadOptions.getChunkSizeBytes();
+
+		Assert.isTrue(
+				uploadOptions.getMetadata() == null
+						|| !uploadOptions.getMetadata().containsKey(GridFsContentStore.CONTENT_FIELD),
+				() -> String.format("Metadata key '%s' is reserved for deduplicated content!",
+						GridFsContentStore.CONTENT_FIELD));
+
+		GridFsContentStore contentStore = getContentStore();
+		ContentReference reference = contentStore.store(content,
+				chunkSize != null ? chunkSize : getGridFs().getChunkSizeBytes());
+
+		// copy after storing the content to retain metadata added while consuming it
+		Document metadata = uploadOptions.getMetadata() != null ? new Document(uploadOptions.getMetadata())
+				: new Document();
+		metadata.put(GridFsContentStore.CONTENT_FIELD, reference.toDocument());
+
+		Document file = new Document("_id", id).append("filename", upload.getFilename())
+				.append("length", reference.getLength()).append("chunkSize", reference.getChunkSize())
+				.append("uploadDate", new Date()).append("metadata", metadata);
+
+		try {
+			getCollection(getBucketName() + ".files").insertOne(file);
+		} catch (RuntimeException e) {
+
+			contentStore.release(reference.getId());
+			throw e;
+		}
+
+		return upload.getFileId() != null ? upload.getFileId() : (T) id.asObjectId().getValue();
+	}
+
+	private GridFsContentStore getContentStore() {
+
+		String contentBucket = getBucketName() + CONTENT_BUCKET_SUFFIX;
+		GridFsChunkTransfer transfer = getChunkTransfer(contentBucket);
+
+		return new GridFsContentStore(getCollection(contentBucket + ".files"), getCollection(contentBucket + ".chunks"),
+				(id, content, chunkSize) -> {
+
+					if (parallelism > 1) {
+						transfer.upload(id, "", content, chunkSize, null);
+					} else {
+						getGridFs(contentBucket).uploadFromStream(id, "", content,
+								new GridFSUploadOptions().chunkSizeBytes(chunkSize));
+					}
+				});
+	}
+
+	private GridFsChunkTransfer getChunkTransfer(String bucketName) {
+
+		return new GridFsChunkTransfer(getCollection(bucketName + ".files"), getCollection(bucketName + ".chunks"),
+				parallelism > 1 && executor != null ? executor : Runnable::run, parallelism, chunkBatchSize);
+	}
+
+	private MongoCollection<Document> getCollection(String collectionName) {
+		return dbFactory.getMongoDatabase().getCollection(collectionName);
+	}
+
+	private String getBucketName() {
+		return bucket == null ? DEFAULT_BUCKET : bucket;
+	}
+
 	private GridFSBucket getGridFs() {
 
 		MongoDatabase db = dbFactory.getMongoDatabase();
 		return bucket == null ? GridFSBuckets.create(db) : GridFSBuckets.create(db, bucket);
 	}
+
+	private GridFSBucket getGridFs(String bucketName) {
+		return GridFSBuckets.create(dbFactory.getMongoDatabase(), bucketName);
+	}
 }
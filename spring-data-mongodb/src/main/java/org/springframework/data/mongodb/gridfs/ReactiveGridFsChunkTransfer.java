@@ -0,0 +1,314 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Binary;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+/**
+ * Transfers GridFS file content by writing and reading the {@code files} and {@code chunks} collections directly using
+ * {@link DataBuffer data buffers}. Uploads coalesce incoming buffers into chunks of exactly {@code chunkSize} bytes,
+ * copying each buffer once and releasing it right away. Downloads read chunks as {@link RawBsonDocument raw documents}
+ * and wrap the binary chunk payload as {@link DataBuffer} without copying it. Both directions keep up to
+ * {@code chunksInFlight} chunks in flight. The documents written follow the GridFS specification and are
+ * interchangeable with files written through {@link com.mongodb.reactivestreams.client.gridfs.GridFSBucket}.
+ *
+ * @since 3.2
+ */
+class ReactiveGridFsChunkTransfer {
+
+	private final MongoCollection<Document> filesCollection;
+	private final MongoCollection<Document> chunksCollection;
+	private final DataBufferFactory dataBufferFactory;
+	private final int chunksInFlight;
+
+	/**
+	 * @param filesCollection the {@code files} collection of the bucket.
+	 * @param chunksCollection the {@code chunks} collection of the bucket.
+	 * @param dataBufferFactory the factory to wrap chunk data.
+	 * @param chunksInFlight number of chunks to write or read concurrently.
+	 */
+	ReactiveGridFsChunkTransfer(MongoCollection<Document> filesCollection, MongoCollection<Document> chunksCollection,
+			DataBufferFactory dataBufferFactory, int chunksInFlight) {
+
+		this.filesCollection = filesCollection;
+		this.chunksCollection = chunksCollection;
+		this.dataBufferFactory = dataBufferFactory;
+		this.chunksInFlight = chunksInFlight;
+	}
+
+	/**
+	 * Upload the given {@code content} and write the file document once all chunks are written. Chunks written so far
+	 * are removed if the upload fails.
+	 *
+	 * @param id the file id.
+	 * @param filename the filename.
+	 * @param content the content to upload.
+	 * @param chunkSize the chunk size in bytes.
+	 * @param metadata file metadata. Can be {@literal null}.
+	 * @return a {@link Mono} completing once the file is written.
+	 */
+	Mono<Void> upload(BsonValue id, @Nullable String filename, Publisher<DataBuffer> content, int chunkSize,
+			@Nullable Document metadata) {
+
+		return Mono.defer(() -> {
+
+			ChunkCoalescer coalescer = new ChunkCoalescer(chunkSize);
+
+			Mono<Long> chunks = Flux.from(content) //
+					.concatMapIterable(coalescer::append, chunksInFlight) //
+					.concatWith(Mono.fromSupplier(coalescer::flush)) //
+					.doOnDiscard(DataBuffer.class, DataBufferUtils::release) //
+					.index() //
+					.flatMap(it -> Mono.from(chunksCollection.insertOne(new Document("files_id", id) //
+							.append("n", it.getT1().intValue()) //
+							.append("data", new Binary(it.getT2())))) //
+							.thenReturn((long) it.getT2().length), chunksInFlight) //
+					.reduce(0L, Long::sum);
+
+			return ensureIndexes().then(chunks).flatMap(length -> {
+
+				Document file = new Document("_id", id).append("filename", filename).append("length", length)
+						.append("chunkSize", chunkSize).append("uploadDate", new Date());
+
+				if (metadata != null) {
+					file.append("metadata", metadata);
+				}
+
+				return Mono.from(filesCollection.insertOne(file));
+			}).onErrorResume(e -> Mono.from(chunksCollection.deleteMany(Filters.eq("files_id", id))).then(Mono.error(e)))
+					.then();
+		});
+	}
+
+	/**
+	 * Download the content of the given {@link GridFSFile}. Emits one {@link DataBuffer} per chunk wrapping the chunk
+	 * data.
+	 *
+	 * @param file the file to download.
+	 * @return the content.
+	 */
+	Flux<DataBuffer> download(GridFSFile file) {
+
+		if (file.getLength() == 0) {
+			return Flux.empty();
+		}
+
+		long expectedChunks = (file.getLength() + file.getChunkSize() - 1) / file.getChunkSize();
+
+		return Flux.defer(() -> {
+
+			AtomicLong received = new AtomicLong();
+
+			return Flux.from(chunksCollection.withDocumentClass(RawBsonDocument.class) //
+					.find(Filters.eq("files_id", file.getId())) //
+					.sort(Sorts.ascending("n")) //
+					.batchSize(chunksInFlight)) //
+					.limitRate(chunksInFlight) //
+					.map(chunk -> wrapChunkData(file, received.getAndIncrement(), chunk)) //
+					.concatWith(Mono.defer(() -> received.get() < expectedChunks
+							? Mono.error(new MongoGridFSException(
+									String.format("Could not find file chunk for file_id: %s at chunk index %s.", file.getId(),
+											received.get())))
+							: Mono.empty()));
+		});
+	}
+
+	private DataBuffer wrapChunkData(GridFSFile file, long expectedIndex, RawBsonDocument chunk) {
+
+		ByteBuffer buffer = chunk.getByteBuffer().asNIO();
+		Long chunkIndex = null;
+		int dataOffset = -1;
+		int dataLength = -1;
+
+		try (BsonBinaryReader reader = new BsonBinaryReader(buffer.duplicate())) {
+
+			reader.readStartDocument();
+
+			while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+
+				String name = reader.readName();
+
+				if ("n".equals(name) && isNumeric(reader.getCurrentBsonType())) {
+					chunkIndex = readIndex(reader);
+					continue;
+				}
+
+				if ("data".equals(name) && reader.getCurrentBsonType() == BsonType.BINARY) {
+
+					int position = reader.getBsonInput().getPosition();
+					int size = reader.peekBinarySize();
+					boolean oldBinary = reader.peekBinarySubType() == BsonBinarySubType.OLD_BINARY.getValue();
+
+					// int32 size, byte subtype and for the old binary subtype another int32 size
+					dataOffset = position + 5 + (oldBinary ? 4 : 0);
+					dataLength = oldBinary ? size - 4 : size;
+				}
+
+				reader.skipValue();
+			}
+		}
+
+		if (chunkIndex == null || chunkIndex != expectedIndex) {
+			throw new MongoGridFSException(String.format("Could not find file chunk for file_id: %s at chunk index %s.",
+					file.getId(), expectedIndex));
+		}
+
+		long expectedLength = Math.min(file.getChunkSize(), file.getLength() - (expectedIndex * file.getChunkSize()));
+
+		if (dataLength != expectedLength) {
+			throw new MongoGridFSException(String.format(
+					"Chunk size data length is not the expected size. The size was %s for file_id: %s chunk index %s it should be %s bytes.",
+					dataLength, file.getId(), expectedIndex, expectedLength));
+		}
+
+		ByteBuffer data = buffer.duplicate();
+		data.limit(dataOffset + dataLength);
+		data.position(dataOffset);
+
+		return dataBufferFactory.wrap(data.slice());
+	}
+
+	private static boolean isNumeric(BsonType type) {
+		return type == BsonType.INT32 || type == BsonType.INT64 || type == BsonType.DOUBLE;
+	}
+
+	private static long readIndex(BsonBinaryReader reader) {
+
+		switch (reader.getCurrentBsonType()) {
+			case INT32:
+				return reader.readInt32();
+			case INT64:
+				return reader.readInt64();
+			default:
+				return (long) reader.readDouble();
+		}
+	}
+
+	private Mono<Void> ensureIndexes() {
+
+		return Mono.from(filesCollection.withReadPreference(ReadPreference.primary()).find()
+				.projection(new Document("_id", 1)).first()) //
+				.map(it -> true) //
+				.defaultIfEmpty(false) //
+				.flatMap(hasFiles -> {
+
+					if (hasFiles) {
+						return Mono.empty();
+					}
+
+					return Mono.from(filesCollection.createIndex(new Document("filename", 1).append("uploadDate", 1)))
+							.then(Mono.from(chunksCollection.createIndex(new Document("files_id", 1).append("n", 1),
+									new IndexOptions().unique(true))));
+				}).then();
+	}
+
+	/**
+	 * Coalesces {@link DataBuffer buffers} of arbitrary size into chunks of exactly {@code chunkSize} bytes. Buffers are
+	 * released after their content has been copied.
+	 */
+	static class ChunkCoalescer {
+
+		private final int chunkSize;
+
+		private @Nullable byte[] current;
+		private int position;
+
+		ChunkCoalescer(int chunkSize) {
+			this.chunkSize = chunkSize;
+		}
+
+		/**
+		 * Append the given {@link DataBuffer} and release it.
+		 *
+		 * @param buffer the buffer to append.
+		 * @return chunks completed by appending {@code buffer}.
+		 */
+		List<byte[]> append(DataBuffer buffer) {
+
+			List<byte[]> completed = Collections.emptyList();
+
+			try {
+				while (buffer.readableByteCount() > 0) {
+
+					if (current == null) {
+						current = new byte[chunkSize];
+						position = 0;
+					}
+
+					int length = Math.min(buffer.readableByteCount(), chunkSize - position);
+					buffer.read(current, position, length);
+					position += length;
+
+					if (position == chunkSize) {
+
+						if (completed.isEmpty()) {
+							completed = new ArrayList<>(1);
+						}
+
+						completed.add(current);
+						current = null;
+					}
+				}
+			} finally {
+				DataBufferUtils.release(buffer);
+			}
+
+			return completed;
+		}
+
+		/**
+		 * @return the remaining partial chunk or {@literal null} if there is none.
+		 */
+		@Nullable
+		byte[] flush() {
+
+			byte[] remainder = current != null && position > 0 ? Arrays.copyOf(current, position) : null;
+			current = null;
+
+			return remainder;
+		}
+	}
+}
@@ -17,9 +17,13 @@ package org.springframework.data.mongodb.gridfs;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.bson.BsonValue;
 import org.reactivestreams.Publisher;
@@ -52,6 +56,8 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 	private final String filename;
 	private final @Nullable GridFSDownloadPublisher downloadPublisher;
 	private final DataBufferFactory dataBufferFactory;
+	private final @Nullable GridFSFile file;
+	private final @Nullable Flux<DataBuffer> content;
 
 	/**
 	 * Creates a new, absent {@link ReactiveGridFsResource}.
@@ -99,6 +105,28 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 		this.options = options;
 		this.downloadPublisher = downloadPublisher;
 		this.dataBufferFactory = dataBufferFactory;
+		this.file = null;
+		this.content = null;
+	}
+
+	/**
+	 * Creates a new {@link ReactiveGridFsResource} for the given {@link GridFSFile} emitting its content through
+	 * {@code content}.
+	 *
+	 * @param file the underlying file.
+	 * @param content the file content.
+	 * @param dataBufferFactory the factory to allocate {@link DataBuffer}s when re-chunking {@code content}.
+	 * @since 3.2
+	 */
+	ReactiveGridFsResource(GridFSFile file, Flux<DataBuffer> content, DataBufferFactory dataBufferFactory) {
+
+		this.id = file.getId();
+		this.filename = file.getFilename();
+		this.options = Options.from(file);
+		this.downloadPublisher = null;
+		this.dataBufferFactory = dataBufferFactory;
+		this.file = file;
+		this.content = content;
 	}
 
 	/**
@@ -135,6 +163,11 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 	 * @since 2.2
 	 */
 	public Mono<GridFSFile> getGridFSFile() {
+
+		if (file != null) {
+			return Mono.just(file);
+		}
+
 		return downloadPublisher != null ? Mono.from(downloadPublisher.getGridFSFile()) : Mono.empty();
 	}
 
@@ -168,6 +201,10 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 	 */
 	public Flux<DataBuffer> getDownloadStream() {
 
+		if (content != null) {
+			return content.doOnSubscribe(it -> this.verifyStreamStillAvailable());
+		}
+
 		if (downloadPublisher == null) {
 			return Flux.empty();
 		}
@@ -194,7 +231,9 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 	}
 
 	/**
-	 * Obtain the download stream emitting chunks of data with given {@code chunkSize} as they come in.
+	 * Obtain the download stream emitting chunks of data with given {@code chunkSize} as they come in. Resources
+	 * obtained through {@link ReactiveGridFsTemplate#setChunksInFlight(int) direct chunk transfer} re-chunk the stored
+	 * chunks into buffers of {@code chunkSize} bytes.
 	 *
 	 * @param chunkSize the preferred number of bytes per emitted {@link DataBuffer}.
 	 * @return {@link Flux#empty()} if the file does not exist.
@@ -206,6 +245,12 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 	 */
 	public Flux<DataBuffer> getDownloadStream(int chunkSize) {
 
+		if (content != null) {
+
+			Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+			return rechunk(getDownloadStream(), chunkSize);
+		}
+
 		if (downloadPublisher == null) {
 			return Flux.empty();
 		}
@@ -220,8 +265,56 @@ public class ReactiveGridFsResource implements GridFsObject<Object, Publisher<Da
 				.doOnSubscribe(it -> this.verifyStreamStillAvailable());
 	}
 
+	private Flux<DataBuffer> rechunk(Flux<DataBuffer> source, int chunkSize) {
+
+		return Flux.defer(() -> {
+
+			AtomicReference<DataBuffer> current = new AtomicReference<>();
+
+			return source.concatMapIterable(buffer -> {
+
+				List<DataBuffer> chunks = new ArrayList<>();
+
+				try {
+					while (buffer.readableByteCount() > 0) {
+
+						DataBuffer chunk = current.get();
+						if (chunk == null) {
+							chunk = dataBufferFactory.allocateBuffer(chunkSize);
+							current.set(chunk);
+						}
+
+						int length = Math.min(buffer.readableByteCount(), chunkSize - chunk.readableByteCount());
+						byte[] bytes = new byte[length];
+						buffer.read(bytes);
+						chunk.write(bytes);
+
+						if (chunk.readableByteCount() == chunkSize) {
+							chunks.add(chunk);
+							current.set(null);
+						}
+					}
+				} finally {
+					DataBufferUtils.release(buffer);
+				}
+
+				return chunks;
+			}).concatWith(Mono.fromSupplier(() -> current.getAndSet(null))) //
+					.doFinally(signal -> {
+
+						if (signal != SignalType.ON_COMPLETE) {
+
+							DataBuffer chunk = current.getAndSet(null);
+							if (chunk != null) {
+								DataBufferUtils.release(chunk);
+							}
+						}
+					});
+		});
+	}
+
 	public boolean exists() {
-		return downloadPublisher != null;
+		return downloadPublisher != null || content != null;
 	}
 
 	private void verifyStreamStillAvailable() {
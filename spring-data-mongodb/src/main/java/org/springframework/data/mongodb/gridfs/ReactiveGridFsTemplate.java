@@ -22,7 +22,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+import org.bson.BsonObjectId;
 import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -30,12 +33,14 @@ import org.reactivestreams.Publisher;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.SerializationUtils;
+import org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer;
 import org.springframework.data.mongodb.util.BsonUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -61,10 +66,15 @@ import com.mongodb.reactivestreams.client.gridfs.GridFSUploadPublisher;
  */
 public class ReactiveGridFsTemplate extends GridFsOperationsSupport implements ReactiveGridFsOperations {
 
+	private static final String DEFAULT_BUCKET = "fs";
+
 	private final ReactiveMongoDatabaseFactory dbFactory;
 	private final DataBufferFactory dataBufferFactory;
 	private final @Nullable String bucket;
 
+	private int chunksInFlight = 0;
+	private @Nullable GridFsContentCodec contentCodec;
+
 	/**
 	 * Creates a new {@link ReactiveGridFsTemplate} using the given {@link ReactiveMongoDatabaseFactory} and
 	 * {@link MongoConverter}.
@@ -111,6 +121,35 @@ public class ReactiveGridFsTemplate extends GridFsOperationsSupport implements R
 		this.bucket = bucket;
 	}
 
+	/**
+	 * Configure direct chunk transfer keeping up to {@code chunksInFlight} chunks in flight. A value greater than zero
+	 * bypasses the {@link GridFSBucket} publishers: uploads coalesce incoming {@link DataBuffer buffers} into chunks of
+	 * exactly the configured chunk size releasing each buffer once copied, and downloads emit the chunk data wrapped as
+	 * {@link DataBuffer} without copying it. Defaults to {@literal 0} to use the {@link GridFSBucket} publishers.
+	 *
+	 * @param chunksInFlight must not be negative.
+	 * @since 3.2
+	 */
+	public void setChunksInFlight(int chunksInFlight) {
+
+		Assert.isTrue(chunksInFlight >= 0, "Chunks in flight must not be negative!");
+
+		this.chunksInFlight = chunksInFlight;
+	}
+
+	/**
+	 * Configure the {@link GridFsContentCodec} to encode file content with when storing it, for example
+	 * {@link GridFsContentCodecs#deflate()} to compress content. The codec name is recorded in the file metadata along
+	 * with the length of the original content so that content is decoded transparently when read regardless of this
+	 * setting. Defaults to {@literal null} to store content as-is.
+	 *
+	 * @param contentCodec can be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setContentCodec(@Nullable GridFsContentCodec contentCodec) {
+		this.contentCodec = contentCodec;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations#store(org.reactivestreams.Publisher, java.lang.String, java.lang.String, java.lang.Object)
@@ -134,16 +173,26 @@ public class ReactiveGridFsTemplate extends GridFsOperationsSupport implements R
 			uploadOptions.chunkSizeBytes(upload.getOptions().getChunkSize());
 		}
 
-		String filename = upload.getFilename();
-		Flux<ByteBuffer> source = Flux.from(upload.getContent()).map(DataBuffer::asByteBuffer);
-		T fileId = upload.getFileId();
+		GridFsContentCodec contentCodec = this.contentCodec;
 
-		if (fileId == null) {
-			return (Mono<T>) createMono(new AutoIdCreatingUploadCallback(filename, source, uploadOptions));
+		if (contentCodec == null) {
+			return doStore(upload, upload.getContent(), uploadOptions);
 		}
 
-		UploadCallback callback = new UploadCallback(BsonUtils.simpleToBsonValue(fileId), filename, source, uploadOptions);
-		return createMono(callback).thenReturn(fileId);
+		Document metadata = uploadOptions.getMetadata();
+		metadata.put(GridFsResource.CONTENT_CODEC_FIELD, contentCodec.getName());
+
+		return Mono.defer(() -> {
+
+			// the files document is written once the content completes so it contains the original length right away
+			AtomicLong sourceCount = new AtomicLong();
+			Flux<DataBuffer> content = transform(Flux.from(upload.getContent()) //
+					.doOnNext(it -> sourceCount.addAndGet(it.readableByteCount())) //
+					.doOnComplete(() -> metadata.put(GridFsResource.CONTENT_LENGTH_FIELD, sourceCount.get())),
+					contentCodec::createEncoder);
+
+			return doStore(upload, content, uploadOptions);
+		});
 	}
 
 	/*
@@ -229,6 +278,21 @@ public class ReactiveGridFsTemplate extends GridFsOperationsSupport implements R
 
 		Assert.notNull(file, "GridFSFile must not be null!");
 
+		GridFsContentCodec codec = GridFsContentCodecs.getContentCodec(file, contentCodec);
+
+		if (codec != null) {
+
+			Mono<Flux<DataBuffer>> content = chunksInFlight > 0 ? getChunkTransfer().map(it -> it.download(file))
+					: doGetBucket().map(it -> Flux.from(it.downloadToPublisher(file.getId())).map(dataBufferFactory::wrap));
+
+			return content
+					.map(it -> new ReactiveGridFsResource(file, transform(it, codec::createDecoder), dataBufferFactory));
+		}
+
+		if (chunksInFlight > 0) {
+			return getChunkTransfer().map(it -> new ReactiveGridFsResource(file, it.download(file), dataBufferFactory));
+		}
+
 		return doGetBucket()
 				.map(it -> new ReactiveGridFsResource(file, it.downloadToPublisher(file.getId()), dataBufferFactory));
 	}
@@ -283,6 +347,79 @@ public class ReactiveGridFsTemplate extends GridFsOperationsSupport implements R
 		return doGetBucket().flatMapMany(callback::doInBucket);
 	}
 
+	@SuppressWarnings("unchecked")
+	private <T> Mono<T> doStore(GridFsObject<T, Publisher<DataBuffer>> upload, Publisher<DataBuffer> content,
+			GridFSUploadOptions uploadOptions) {
+
+		if (chunksInFlight > 0) {
+			return storeChunked(upload, content, uploadOptions);
+		}
+
+		String filename = upload.getFilename();
+		Flux<ByteBuffer> source = Flux.from(content).map(DataBuffer::asByteBuffer);
+		T fileId = upload.getFileId();
+
+		if (fileId == null) {
+			return (Mono<T>) createMono(new AutoIdCreatingUploadCallback(filename, source, uploadOptions));
+		}
+
+		UploadCallback callback = new UploadCallback(BsonUtils.simpleToBsonValue(fileId), filename, source, uploadOptions);
+		return createMono(callback).thenReturn(fileId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Mono<T> storeChunked(GridFsObject<T, Publisher<DataBuffer>> upload, Publisher<DataBuffer> content,
+			GridFSUploadOptions uploadOptions) {
+
+		T fileId = upload.getFileId();
+		BsonValue id = fileId != null ? BsonUtils.simpleToBsonValue(fileId) : new BsonObjectId(new ObjectId());
+		Integer chunkSize = uploadOptions.getChunkSizeBytes();
+
+		return doGetBucket().zipWith(getChunkTransfer()).flatMap(it -> {
+
+			int chunkSizeToUse = chunkSize != null ? chunkSize : it.getT1().getChunkSizeBytes();
+
+			return it.getT2().upload(id, upload.getFilename(), content, chunkSizeToUse,
+					uploadOptions.getMetadata());
+		}).then(Mono.fromSupplier(() -> fileId != null ? fileId : (T) id.asObjectId().getValue()));
+	}
+
+	/**
+	 * Apply a {@link ContentTransformer} to the given content. Source buffers are released once transformed.
+	 */
+	private Flux<DataBuffer> transform(Publisher<DataBuffer> content, Supplier<ContentTransformer> transformerSupplier) {
+
+		return Flux.using(transformerSupplier::get, transformer -> Flux.from(content) //
+				.map(buffer -> {
+
+					try {
+
+						byte[] bytes = new byte[buffer.readableByteCount()];
+						buffer.read(bytes);
+
+						return transformer.update(bytes, 0, bytes.length);
+					} finally {
+						DataBufferUtils.release(buffer);
+					}
+				}) //
+				.concatWith(Mono.fromSupplier(transformer::finish)) //
+				.filter(it -> it.length > 0) //
+				.map(dataBufferFactory::wrap), ContentTransformer::close);
+	}
+
+	private Mono<ReactiveGridFsChunkTransfer> getChunkTransfer() {
+
+		String bucketName = getBucketName();
+
+		return dbFactory.getMongoDatabase()
+				.map(db -> new ReactiveGridFsChunkTransfer(db.getCollection(bucketName + ".files"),
+						db.getCollection(bucketName + ".chunks"), dataBufferFactory, chunksInFlight));
+	}
+
+	private String getBucketName() {
+		return bucket == null ? DEFAULT_BUCKET : bucket;
+	}
+
 	protected Mono<GridFSBucket> doGetBucket() {
 		return dbFactory.getMongoDatabase()
 				.map(db -> bucket == null ? GridFSBuckets.create(db) : GridFSBuckets.create(db, bucket));
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+import org.springframework.data.mongodb.gridfs.GridFsContentCodec.ContentTransformer;
+
+/**
+ * {@link InputStream} applying a {@link ContentTransformer} to the content read from a source {@link InputStream}.
+ * Keeps track of the number of bytes read from the source and reports it once the source is exhausted.
+ *
+ * @since 3.2
+ */
+class TransformingInputStream extends InputStream {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final byte[] EMPTY = new byte[0];
+
+	private final InputStream source;
+	private final ContentTransformer transformer;
+	private final LongConsumer sourceCountListener;
+	private final byte[] input = new byte[BUFFER_SIZE];
+
+	private byte[] output = EMPTY;
+	private int position;
+	private long sourceCount;
+	private boolean finished;
+	private boolean closed;
+
+	TransformingInputStream(InputStream source, ContentTransformer transformer) {
+		this(source, transformer, sourceCount -> {});
+	}
+
+	/**
+	 * @param source the source {@link InputStream}.
+	 * @param transformer the {@link ContentTransformer} to apply.
+	 * @param sourceCountListener notified with the number of bytes read from the source once it is exhausted.
+	 */
+	TransformingInputStream(InputStream source, ContentTransformer transformer, LongConsumer sourceCountListener) {
+
+		this.source = source;
+		this.transformer = transformer;
+		this.sourceCountListener = sourceCountListener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+
+		byte[] single = new byte[1];
+		return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		while (position == output.length) {
+
+			if (finished) {
+				return -1;
+			}
+
+			fill();
+		}
+
+		int read = Math.min(len, output.length - position);
+		System.arraycopy(output, position, b, off, read);
+		position += read;
+
+		return read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() {
+		return output.length - position;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+
+		try {
+			transformer.close();
+		} finally {
+			source.close();
+		}
+	}
+
+	/**
+	 * @return the number of bytes read from the source {@link InputStream}.
+	 */
+	long getSourceCount() {
+		return sourceCount;
+	}
+
+	private void fill() throws IOException {
+
+		int read = source.read(input);
+		position = 0;
+
+		if (read == -1) {
+
+			output = transformer.finish();
+			finished = true;
+			sourceCountListener.accept(sourceCount);
+			return;
+		}
+
+		sourceCount += read;
+		output = transformer.update(input, 0, read);
+	}
+}
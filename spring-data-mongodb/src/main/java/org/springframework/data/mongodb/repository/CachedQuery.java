@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to cache the results of a repository query method. Results are cached per method, keyed by the
+ * {@link org.springframework.data.mongodb.core.query.Query} created from the bound method arguments along with paging,
+ * sorting, collation and dynamic projection arguments. <br />
+ * Cached entries are invalidated through a change stream subscription on the collection of the queried entity. Results
+ * are not cached until the subscription is active and the cache is bypassed for a collection if the change stream
+ * fails. Change streams require a replica set or sharded cluster. <br />
+ * Cached results are shared across invocations and must not be modified. Stream, delete, tailable and aggregation
+ * query methods cannot be cached.
+ *
+ * <pre class="code">
+ * interface PersonRepository extends MongoRepository&lt;Person, String&gt; {
+ *
+ * 	&#64;CachedQuery(ttl = 30_000, maxSize = 500)
+ * 	List&lt;Person&gt; findByLastname(String lastname);
+ * }
+ * </pre>
+ *
+ * @since 3.2
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Documented
+public @interface CachedQuery {
+
+	/**
+	 * Time to live of a cached result in milliseconds.
+	 *
+	 * @return {@literal 60000} by default.
+	 */
+	long ttl() default 60_000;
+
+	/**
+	 * Maximum number of results cached for the annotated method. The least recently used entry is evicted once the limit
+	 * is exceeded.
+	 *
+	 * @return {@literal 1000} by default.
+	 */
+	int maxSize() default 1000;
+
+	/**
+	 * The {@link Invalidation} strategy to apply when the underlying collection changes.
+	 *
+	 * @return {@link Invalidation#COLLECTION} by default.
+	 */
+	Invalidation invalidation() default Invalidation.COLLECTION;
+
+	/**
+	 * Invalidation strategies for cached query results.
+	 */
+	enum Invalidation {
+
+		/**
+		 * Evict all cached results of the collection on any change.
+		 */
+		COLLECTION,
+
+		/**
+		 * Evict only cached results containing the changed document (identified by its document key). Inserts and
+		 * changes that cannot be associated with a document key evict all cached results of the collection, as do
+		 * results whose elements do not expose an identifier (e.g. projections). <br />
+		 * Updates that make a document match a query it did not match before are not detected and become visible once
+		 * the {@link #ttl()} expires. Use {@link #COLLECTION} if that is not acceptable.
+		 */
+		DOCUMENT_KEY
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Immutable value object describing how a potentially large set of identifiers is split into slices that are looked up
+ * using individual {@code _id $in [...]} queries. Chunked lookups keep both the command size and the memory required
+ * to hold the results bounded, no matter how many identifiers are requested.
+ * <br />
+ * Defaults to
+ * <dl>
+ * <dt>chunkSize</dt>
+ * <dd>1000</dd>
+ * <dt>concurrency</dt>
+ * <dd>1 (sequential)</dd>
+ * <dt>ordered</dt>
+ * <dd>false</dd>
+ * </dl>
+ *
+ * @since 3.2
+ * @see MongoRepository#findAllById(Iterable, IdChunking)
+ * @see ReactiveMongoRepository#findAllById(Iterable, IdChunking)
+ */
+public final class IdChunking {
+
+	/**
+	 * Default number of identifiers per query.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+	private static final IdChunking DEFAULT = new IdChunking(DEFAULT_CHUNK_SIZE, 1, false, null);
+
+	private final int chunkSize;
+	private final int concurrency;
+	private final boolean ordered;
+	private final @Nullable Executor executor;
+
+	private IdChunking(int chunkSize, int concurrency, boolean ordered, @Nullable Executor executor) {
+
+		this.chunkSize = chunkSize;
+		this.concurrency = concurrency;
+		this.ordered = ordered;
+		this.executor = executor;
+	}
+
+	/**
+	 * Obtain the default {@link IdChunking} using {@link #DEFAULT_CHUNK_SIZE} identifiers per query, sequential
+	 * execution and no particular result order.
+	 *
+	 * @return the default {@link IdChunking}.
+	 */
+	public static IdChunking chunked() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Create a new {@link IdChunking} using {@code chunkSize} identifiers per query.
+	 *
+	 * @param chunkSize must be greater than zero.
+	 * @return new instance of {@link IdChunking}.
+	 */
+	public static IdChunking of(int chunkSize) {
+		return DEFAULT.withChunkSize(chunkSize);
+	}
+
+	/**
+	 * Set the number of identifiers used per query.
+	 *
+	 * @param chunkSize must be greater than zero.
+	 * @return new instance of {@link IdChunking}.
+	 */
+	public IdChunking withChunkSize(int chunkSize) {
+
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than zero!");
+
+		return new IdChunking(chunkSize, concurrency, ordered, executor);
+	}
+
+	/**
+	 * Emit results in the order of the given identifiers. Requires each chunk to be fully read before emitting its
+	 * elements which is bound by the chunk size. Identifiers without a matching document are skipped.
+	 *
+	 * @return new instance of {@link IdChunking}.
+	 */
+	public IdChunking ordered() {
+		return new IdChunking(chunkSize, concurrency, true, executor);
+	}
+
+	/**
+	 * Run up to {@code concurrency} chunk queries at the same time. Imperative repositories require an {@link Executor}
+	 * to dispatch the queries, reactive ones ignore the {@link Executor} and subscribe to chunk queries concurrently.
+	 * Memory consumption is bound by {@code concurrency * chunkSize} elements. Imperative repositories look up chunks
+	 * on the calling thread if a transaction or session is bound to it.
+	 *
+	 * @param concurrency must be greater than zero.
+	 * @param executor must not be {@literal null}.
+	 * @return new instance of {@link IdChunking}.
+	 */
+	public IdChunking parallel(int concurrency, Executor executor) {
+
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return new IdChunking(chunkSize, concurrency, ordered, executor);
+	}
+
+	/**
+	 * Run up to {@code concurrency} chunk queries at the same time. Only applicable for reactive repositories, see
+	 * {@link #parallel(int, Executor)} for imperative ones.
+	 *
+	 * @param concurrency must be greater than zero.
+	 * @return new instance of {@link IdChunking}.
+	 */
+	public IdChunking parallel(int concurrency) {
+
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero!");
+
+		return new IdChunking(chunkSize, concurrency, ordered, executor);
+	}
+
+	/**
+	 * @return the number of identifiers used per query.
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @return the maximum number of concurrently running chunk queries.
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * @return {@literal true} if results are emitted in the order of the given identifiers.
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * @return the {@link Executor} used to dispatch imperative chunk queries. Can be {@literal null}.
+	 */
+	@Nullable
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Split the given identifiers lazily into chunks of up to {@link #getChunkSize() chunkSize} elements.
+	 *
+	 * @param ids the identifiers to split. Must not be {@literal null}.
+	 * @return an {@link Iterator} over the chunks.
+	 */
+	public <ID> Iterator<List<ID>> split(Iterator<ID> ids) {
+
+		Assert.notNull(ids, "Ids must not be null!");
+
+		return new Iterator<List<ID>>() {
+
+			@Override
+			public boolean hasNext() {
+				return ids.hasNext();
+			}
+
+			@Override
+			public List<ID> next() {
+
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				List<ID> chunk = new ArrayList<>(chunkSize);
+				while (chunk.size() < chunkSize && ids.hasNext()) {
+					chunk.add(ids.next());
+				}
+
+				return chunk;
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object o) {
+
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		IdChunking that = (IdChunking) o;
+
+		if (chunkSize != that.chunkSize) {
+			return false;
+		}
+		if (concurrency != that.concurrency) {
+			return false;
+		}
+		if (ordered != that.ordered) {
+			return false;
+		}
+		return ObjectUtils.nullSafeEquals(executor, that.executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = chunkSize;
+		result = 31 * result + concurrency;
+		result = 31 * result + (ordered ? 1 : 0);
+		result = 31 * result + ObjectUtils.nullSafeHashCode(executor);
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "IdChunking{chunkSize=" + chunkSize + ", concurrency=" + concurrency + ", ordered=" + ordered + "}";
+	}
+}
@@ -16,12 +16,16 @@
 package org.springframework.data.mongodb.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
+import org.springframework.data.util.StreamUtils;
+import org.springframework.data.util.Streamable;
+import org.springframework.util.Assert;
 
 /**
  * Mongo specific {@link org.springframework.data.repository.Repository} interface.
@@ -56,6 +60,30 @@ public interface MongoRepository<T, ID> extends PagingAndSortingRepository<T, ID
 	@Override
 	List<T> findAll(Sort sort);
 
+	/**
+	 * Returns a {@link Stream} of all entities with the given IDs. Other than {@link #findAllById(Iterable)}, the
+	 * identifiers are split into slices as defined by the given {@link IdChunking} that are looked up using individual
+	 * queries. This keeps the query size within server limits and the memory consumption bound to the configured
+	 * {@link IdChunking#getChunkSize() chunk size} and {@link IdChunking#getConcurrency() concurrency}. <br />
+	 * The {@link Stream} must be {@link Stream#close() closed} after usage to release pending lookups. <br />
+	 * The default implementation looks up one chunk after another via {@link #findAllById(Iterable)} without restoring
+	 * the identifier order.
+	 *
+	 * @param ids must not be {@literal null} nor contain any {@literal null} values.
+	 * @param chunking must not be {@literal null}.
+	 * @return a {@link Stream} of the found entities. Entities are emitted in the order of the given IDs if
+	 *         {@link IdChunking#isOrdered() requested}.
+	 * @since 3.2
+	 */
+	default Stream<T> findAllById(Iterable<ID> ids, IdChunking chunking) {
+
+		Assert.notNull(ids, "The given Ids of entities not be null!");
+		Assert.notNull(chunking, "IdChunking must not be null!");
+
+		return StreamUtils.createStreamFromIterator(chunking.split(ids.iterator()))
+				.flatMap(chunk -> Streamable.of(findAllById(chunk)).stream());
+	}
+
 	/**
 	 * Inserts the given entity. Assumes the instance to be new to be able to apply insertion optimizations. Use the
 	 * returned instance for further operations as the save operation might have changed the entity instance completely.
@@ -24,6 +24,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.util.Assert;
 
 /**
  * Mongo specific {@link org.springframework.data.repository.Repository} interface with reactive support.
@@ -34,6 +35,28 @@ import org.springframework.data.repository.reactive.ReactiveSortingRepository;
 @NoRepositoryBean
 public interface ReactiveMongoRepository<T, ID> extends ReactiveSortingRepository<T, ID>, ReactiveQueryByExampleExecutor<T> {
 
+	/**
+	 * Returns all entities with the given IDs. Other than {@link #findAllById(Iterable)}, the identifiers are split into
+	 * slices as defined by the given {@link IdChunking} that are looked up using individual queries. Up to
+	 * {@link IdChunking#getConcurrency()} slices are queried at the same time. This keeps the query size within server
+	 * limits and the number of buffered elements bound to the configured chunk size and concurrency. <br />
+	 * The default implementation looks up one chunk after another via {@link #findAllById(Iterable)} without restoring
+	 * the identifier order.
+	 *
+	 * @param ids must not be {@literal null} nor contain any {@literal null} values.
+	 * @param chunking must not be {@literal null}.
+	 * @return a {@link Flux} emitting the found entities. Entities are emitted in the order of the given IDs if
+	 *         {@link IdChunking#isOrdered() requested}.
+	 * @since 3.2
+	 */
+	default Flux<T> findAllById(Iterable<ID> ids, IdChunking chunking) {
+
+		Assert.notNull(ids, "The given Iterable of Id's must not be null!");
+		Assert.notNull(chunking, "IdChunking must not be null!");
+
+		return Flux.fromIterable(ids).buffer(chunking.getChunkSize()).concatMap(this::findAllById);
+	}
+
 	/**
 	 * Inserts the given entity. Assumes the instance to be new to be able to apply insertion optimizations. Use the
 	 * returned instance for further operations as the save operation might have changed the entity instance completely.
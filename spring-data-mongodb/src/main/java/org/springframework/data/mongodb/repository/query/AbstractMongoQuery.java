@@ -22,6 +22,9 @@ import org.springframework.data.mongodb.core.ExecutableFindOperation.ExecutableF
 import org.springframework.data.mongodb.core.ExecutableFindOperation.FindWithQuery;
 import org.springframework.data.mongodb.core.ExecutableFindOperation.TerminatingFind;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.metrics.MongoOperationObserver;
+import org.springframework.data.mongodb.core.metrics.OperationPhase;
+import org.springframework.data.mongodb.core.metrics.OperationRecorder;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.query.MongoQueryExecution.DeleteExecution;
 import org.springframework.data.mongodb.repository.query.MongoQueryExecution.GeoNearExecution;
@@ -56,6 +59,8 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	private final ExpressionParser expressionParser;
 	private final QueryMethodEvaluationContextProvider evaluationContextProvider;
 
+	private @Nullable MongoOperationObserver operationObserver;
+
 	/**
 	 * Creates a new {@link AbstractMongoQuery} from the given {@link MongoQueryMethod} and {@link MongoOperations}.
 	 *
@@ -91,6 +96,22 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 		return method;
 	}
 
+	/**
+	 * Configure a {@link MongoOperationObserver} to report the timing of each invocation of this query method to. Samples
+	 * are reported using the declaring type and signature of the query method as operation (e.g.
+	 * {@code com.example.PersonRepository.findByLastname(String)}) and break down the invocation into
+	 * {@link OperationPhase#PARAMETER_BINDING parameter binding}, {@link OperationPhase#EXPRESSION_EVALUATION expression
+	 * evaluation}, {@link OperationPhase#QUERY_CREATION query creation}, {@link OperationPhase#RESULT_PROCESSING result
+	 * processing} and the phases of the {@link MongoOperations} calls issued on the invoking thread. Template operations
+	 * issued by the query are still reported by the observer configured on the template.
+	 *
+	 * @param operationObserver can be {@literal null} to disable timing.
+	 * @since 3.2
+	 */
+	public void setOperationObserver(@Nullable MongoOperationObserver operationObserver) {
+		this.operationObserver = operationObserver;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.query.RepositoryQuery#execute(java.lang.Object[])
@@ -98,13 +119,40 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	@Override
 	public Object execute(Object[] parameters) {
 
-		ConvertingParameterAccessor accessor = new ConvertingParameterAccessor(operations.getConverter(),
-				new MongoParametersParameterAccessor(method, parameters));
+		if (operationObserver == null) {
+			return invoke(parameters);
+		}
+
+		MongoEntityMetadata<?> metadata = method.getEntityInformation();
+
+		return OperationRecorder.observeInvocation(operationObserver, method.getMethodSignature(),
+				metadata.getCollectionName(), metadata.getJavaType(), () -> invoke(parameters));
+	}
+
+	private Object invoke(Object[] parameters) {
+
+		ConvertingParameterAccessor accessor;
+		ResultProcessor processor;
+
+		OperationRecorder.enter(OperationPhase.PARAMETER_BINDING);
+		try {
+
+			accessor = new ConvertingParameterAccessor(operations.getConverter(),
+					new MongoParametersParameterAccessor(method, parameters));
+			processor = method.getResultProcessor().withDynamicProjection(accessor);
+		} finally {
+			OperationRecorder.exit();
+		}
 
-		ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
 		Class<?> typeToRead = processor.getReturnedType().getTypeToRead();
+		Object result = doExecute(method, processor, accessor, typeToRead);
 
-		return processor.processResult(doExecute(method, processor, accessor, typeToRead));
+		OperationRecorder.enter(OperationPhase.RESULT_PROCESSING);
+		try {
+			return processor.processResult(result);
+		} finally {
+			OperationRecorder.exit();
+		}
 	}
 
 	/**
@@ -119,11 +167,19 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	protected Object doExecute(MongoQueryMethod method, ResultProcessor processor, ConvertingParameterAccessor accessor,
 			@Nullable Class<?> typeToRead) {
 
-		Query query = createQuery(accessor);
+		Query query;
+
+		OperationRecorder.enter(OperationPhase.QUERY_CREATION);
+		try {
 
-		applyQueryMetaAttributesWhenPresent(query);
-		query = applyAnnotatedDefaultSortIfPresent(query);
-		query = applyAnnotatedCollationIfPresent(query, accessor);
+			query = createQuery(accessor);
+
+			applyQueryMetaAttributesWhenPresent(query);
+			query = applyAnnotatedDefaultSortIfPresent(query);
+			query = applyAnnotatedCollationIfPresent(query, accessor);
+		} finally {
+			OperationRecorder.exit();
+		}
 
 		FindWithQuery<?> find = typeToRead == null //
 				? executableFind //
@@ -225,8 +281,13 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	protected SpELExpressionEvaluator getSpELExpressionEvaluatorFor(ExpressionDependencies dependencies,
 			ConvertingParameterAccessor accessor) {
 
-		return new DefaultSpELExpressionEvaluator(expressionParser, evaluationContextProvider
-				.getEvaluationContext(getQueryMethod().getParameters(), accessor.getValues(), dependencies));
+		OperationRecorder.enter(OperationPhase.EXPRESSION_EVALUATION);
+		try {
+			return new DefaultSpELExpressionEvaluator(expressionParser, evaluationContextProvider
+					.getEvaluationContext(getQueryMethod().getParameters(), accessor.getValues(), dependencies));
+		} finally {
+			OperationRecorder.exit();
+		}
 	}
 
 	/**
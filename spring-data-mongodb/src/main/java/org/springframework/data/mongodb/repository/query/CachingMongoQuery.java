@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link RepositoryQuery} decorator serving results of an {@link AbstractMongoQuery} from a {@link QueryResultCache}.
+ * Cache keys consist of the {@link Query} created for the bound method arguments along with the paging, sorting,
+ * collation and dynamic projection arguments.
+ *
+ * @since 3.2
+ * @see org.springframework.data.mongodb.repository.CachedQuery
+ */
+public class CachingMongoQuery implements RepositoryQuery {
+
+	private final AbstractMongoQuery delegate;
+	private final MongoOperations operations;
+	private final QueryResultCache cache;
+	private final Function<Object, Object> idExtractor;
+
+	/**
+	 * Creates a new {@link CachingMongoQuery}.
+	 *
+	 * @param delegate must not be {@literal null}.
+	 * @param operations must not be {@literal null}.
+	 * @param cache must not be {@literal null}.
+	 * @param idExtractor function obtaining the store representation of the identifier of a result element. Returns
+	 *          {@literal null} if the element does not expose an identifier. Must not be {@literal null}.
+	 * @throws IllegalStateException if the query method cannot be cached.
+	 */
+	public CachingMongoQuery(AbstractMongoQuery delegate, MongoOperations operations, QueryResultCache cache,
+			Function<Object, Object> idExtractor) {
+
+		Assert.notNull(delegate, "Delegate must not be null!");
+		Assert.notNull(operations, "MongoOperations must not be null!");
+		Assert.notNull(cache, "QueryResultCache must not be null!");
+		Assert.notNull(idExtractor, "Id extractor must not be null!");
+
+		MongoQueryMethod method = delegate.getQueryMethod();
+
+		if (method.isStreamQuery() || delegate.isDeleteQuery() || method.hasAnnotatedAggregation()) {
+			throw new IllegalStateException(
+					String.format("Query method %s cannot be cached! Stream, delete and aggregation queries are not supported.",
+							method));
+		}
+
+		this.delegate = delegate;
+		this.operations = operations;
+		this.cache = cache;
+		this.idExtractor = idExtractor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.query.RepositoryQuery#execute(java.lang.Object[])
+	 */
+	@Override
+	@Nullable
+	public Object execute(Object[] parameters) {
+
+		if (!cache.isActive()) {
+
+			cache.evictAll();
+			return delegate.execute(parameters);
+		}
+
+		Object key = createKey(parameters);
+		QueryResultCache.Entry entry = cache.get(key);
+
+		if (entry != null) {
+			return entry.getValue();
+		}
+
+		long generation = cache.currentGeneration();
+		Object result = delegate.execute(parameters);
+
+		cache.put(key, result, collectIds(result), generation);
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.query.RepositoryQuery#getQueryMethod()
+	 */
+	@Override
+	public MongoQueryMethod getQueryMethod() {
+		return delegate.getQueryMethod();
+	}
+
+	/**
+	 * @return the {@link QueryResultCache} used.
+	 */
+	public QueryResultCache getCache() {
+		return cache;
+	}
+
+	private Object createKey(Object[] parameters) {
+
+		MongoQueryMethod method = delegate.getQueryMethod();
+		ConvertingParameterAccessor accessor = new ConvertingParameterAccessor(operations.getConverter(),
+				new MongoParametersParameterAccessor(method, parameters));
+
+		Query query = delegate.createQuery(accessor);
+
+		return Arrays.asList(query.getQueryObject(), query.getFieldsObject(), query.getSortObject(), query.getSkip(),
+				query.getLimit(), accessor.getPageable(), accessor.getSort(), accessor.getCollation(),
+				accessor.getDynamicProjection().orElse(null),
+				method.isGeoNearQuery() ? Arrays.asList(accessor.getValues()) : null);
+	}
+
+	@Nullable
+	private Set<Object> collectIds(@Nullable Object result) {
+
+		if (result == null || !(result instanceof Iterable)) {
+
+			Object id = result != null ? extractId(result) : null;
+			if (id == null) {
+				return null;
+			}
+
+			Set<Object> ids = new HashSet<>(1);
+			ids.add(id);
+			return ids;
+		}
+
+		Set<Object> ids = new HashSet<>();
+		for (Object element : (Iterable<?>) result) {
+
+			Object id = extractId(element);
+			if (id == null) {
+				return null;
+			}
+			ids.add(id);
+		}
+
+		return ids;
+	}
+
+	@Nullable
+	private Object extractId(@Nullable Object element) {
+
+		if (element == null) {
+			return null;
+		}
+
+		if (element instanceof GeoResult) {
+			return extractId(((GeoResult<?>) element).getContent());
+		}
+
+		return idExtractor.apply(element);
+	}
+}
@@ -16,6 +16,8 @@
 package org.springframework.data.mongodb.repository.query;
 
 import org.springframework.data.mapping.model.SpELExpressionEvaluator;
+import org.springframework.data.mongodb.core.metrics.OperationPhase;
+import org.springframework.data.mongodb.core.metrics.OperationRecorder;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
 
@@ -52,7 +54,13 @@ class DefaultSpELExpressionEvaluator implements SpELExpressionEvaluator {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T evaluate(String expression) {
-		return (T) parser.parseExpression(expression).getValue(context, Object.class);
+
+		OperationRecorder.enter(OperationPhase.EXPRESSION_EVALUATION);
+		try {
+			return (T) parser.parseExpression(expression).getValue(context, Object.class);
+		} finally {
+			OperationRecorder.exit();
+		}
 	}
 
 	/**
@@ -31,6 +31,7 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.CachedQuery;
 import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Tailable;
@@ -93,6 +94,25 @@ public class MongoQueryMethod extends QueryMethod {
 		return new MongoParameters(method, isGeoNearQuery(method));
 	}
 
+	/**
+	 * Returns the declaring type and signature of the query method, e.g.
+	 * {@code com.example.PersonRepository.findByLastname(String)}, to tell overloaded query methods apart.
+	 *
+	 * @return never {@literal null}.
+	 * @since 3.2
+	 */
+	String getMethodSignature() {
+
+		StringBuilder signature = new StringBuilder(ClassUtils.getQualifiedMethodName(method)).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		for (int i = 0; i < parameterTypes.length; i++) {
+			signature.append(i > 0 ? "," : "").append(parameterTypes[i].getSimpleName());
+		}
+
+		return signature.append(')').toString();
+	}
+
 	/**
 	 * Returns whether the method has an annotated query.
 	 *
@@ -260,6 +280,17 @@ public class MongoQueryMethod extends QueryMethod {
 		return doFindAnnotation(Tailable.class).orElse(null);
 	}
 
+	/**
+	 * Returns the {@link CachedQuery} annotation that is applied to the method or {@code null} if not available.
+	 *
+	 * @return
+	 * @since 3.2
+	 */
+	@Nullable
+	public CachedQuery getCachedQueryAnnotation() {
+		return doFindAnnotation(CachedQuery.class).orElse(null);
+	}
+
 	/**
 	 * Returns the {@link org.springframework.data.mongodb.core.query.Meta} attributes to be applied.
 	 *
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.data.mongodb.repository.CachedQuery.Invalidation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, time-limited store for results of a single {@link org.springframework.data.mongodb.repository.CachedQuery
+ * cached} query method. Entries are evicted in least recently used order once {@code maxSize} is exceeded and expire
+ * after the configured time to live. <br />
+ * The cache is only consulted while it is {@link #isActive() active}, which is bound to the change stream subscription
+ * used for invalidation. Results computed concurrently to an invalidation are not stored.
+ *
+ * @since 3.2
+ */
+public class QueryResultCache {
+
+	private final String collectionName;
+	private final long ttlMillis;
+	private final int maxSize;
+	private final Invalidation invalidation;
+	private final BooleanSupplier active;
+	private final Clock clock;
+
+	private final Map<Object, Entry> entries;
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new {@link QueryResultCache}.
+	 *
+	 * @param collectionName the collection queried. Must not be {@literal null}.
+	 * @param ttl time to live of cached results. Must not be {@literal null}.
+	 * @param maxSize maximum number of cached results.
+	 * @param invalidation must not be {@literal null}.
+	 * @param active indicator whether the cache may be used. Must not be {@literal null}.
+	 */
+	public QueryResultCache(String collectionName, Duration ttl, int maxSize, Invalidation invalidation,
+			BooleanSupplier active) {
+		this(collectionName, ttl, maxSize, invalidation, active, Clock.systemUTC());
+	}
+
+	QueryResultCache(String collectionName, Duration ttl, int maxSize, Invalidation invalidation, BooleanSupplier active,
+			Clock clock) {
+
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(ttl, "Ttl must not be null!");
+		Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "Ttl must be positive!");
+		Assert.isTrue(maxSize > 0, "MaxSize must be greater than zero!");
+		Assert.notNull(invalidation, "Invalidation must not be null!");
+		Assert.notNull(active, "Active indicator must not be null!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.collectionName = collectionName;
+		this.ttlMillis = ttl.toMillis();
+		this.maxSize = maxSize;
+		this.invalidation = invalidation;
+		this.active = active;
+		this.clock = clock;
+		this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+
+				if (size() > QueryResultCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * @return the name of the collection the cached results originate from.
+	 */
+	public String getCollectionName() {
+		return collectionName;
+	}
+
+	/**
+	 * @return the {@link Invalidation} strategy.
+	 */
+	public Invalidation getInvalidation() {
+		return invalidation;
+	}
+
+	/**
+	 * @return {@literal true} if cached results may be used.
+	 */
+	public boolean isActive() {
+		return active.getAsBoolean();
+	}
+
+	/**
+	 * Obtain a marker to be passed on to {@link #put(Object, Object, Set, long)} guarding against storing results that
+	 * have been computed concurrently to an invalidation.
+	 *
+	 * @return the current generation.
+	 */
+	long currentGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Look up a cached result.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @return the cached {@link Entry} or {@literal null} if not present or expired.
+	 */
+	@Nullable
+	Entry get(Object key) {
+
+		Entry entry;
+		synchronized (entries) {
+
+			entry = entries.get(key);
+
+			if (entry != null && entry.isExpired(clock.millis())) {
+				entries.remove(key);
+				evictions.increment();
+				entry = null;
+			}
+		}
+
+		if (entry == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Store a result unless the cache was invalidated since obtaining {@code generation}.
+	 *
+	 * @param key must not be {@literal null}.
+	 * @param value the result to cache. Can be {@literal null}.
+	 * @param documentIds identifiers of the documents contained in the result. {@literal null} if identifiers cannot be
+	 *          determined.
+	 * @param generation as obtained from {@link #currentGeneration()} before computing the result.
+	 */
+	void put(Object key, @Nullable Object value, @Nullable Set<Object> documentIds, long generation) {
+
+		synchronized (entries) {
+
+			if (this.generation.get() != generation) {
+				return;
+			}
+
+			entries.put(key, new Entry(value, documentIds, clock.millis() + ttlMillis));
+		}
+	}
+
+	/**
+	 * Evict all cached results.
+	 */
+	public void evictAll() {
+
+		synchronized (entries) {
+
+			generation.incrementAndGet();
+			evictions.add(entries.size());
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Evict cached results containing the document with the given identifier as well as results that do not track the
+	 * identifiers of their documents.
+	 *
+	 * @param documentId the identifier in its store representation. Must not be {@literal null}.
+	 */
+	public void evictDocument(Object documentId) {
+
+		synchronized (entries) {
+
+			generation.incrementAndGet();
+
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+
+				Entry entry = iterator.next();
+				if (entry.documentIds == null || entry.documentIds.contains(documentId)) {
+
+					iterator.remove();
+					evictions.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return a snapshot of the cache {@link Statistics}.
+	 */
+	public Statistics getStatistics() {
+
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+
+		return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size);
+	}
+
+	/**
+	 * A cached result.
+	 */
+	static class Entry {
+
+		private final @Nullable Object value;
+		private final @Nullable Set<Object> documentIds;
+		private final long expiresAt;
+
+		Entry(@Nullable Object value, @Nullable Set<Object> documentIds, long expiresAt) {
+
+			this.value = value;
+			this.documentIds = documentIds;
+			this.expiresAt = expiresAt;
+		}
+
+		@Nullable
+		Object getValue() {
+			return value;
+		}
+
+		boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+	}
+
+	/**
+	 * Snapshot of {@link QueryResultCache} hit, miss and eviction counters.
+	 *
+	 * @since 3.2
+	 */
+	public static final class Statistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+
+		Statistics(long hitCount, long missCount, long evictionCount, int size) {
+
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+		}
+
+		/**
+		 * @return number of lookups served from the cache.
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * @return number of lookups that required a query.
+		 */
+		public long getMissCount() {
+			return missCount;
+		}
+
+		/**
+		 * @return number of results evicted due to size limit, expiry or invalidation.
+		 */
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		/**
+		 * @return number of currently cached results.
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return ratio of lookups served from the cache, {@literal 0} if there were no lookups yet.
+		 */
+		public double getHitRatio() {
+
+			long requests = hitCount + missCount;
+			return requests == 0 ? 0 : (double) hitCount / requests;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Statistics{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", size="
+					+ size + "}";
+		}
+	}
+}
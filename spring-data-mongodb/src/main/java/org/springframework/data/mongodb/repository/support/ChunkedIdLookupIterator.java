@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.repository.IdChunking;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CloseableIterator} splitting a sequence of identifiers into chunks as defined by {@link IdChunking} and
+ * resolving one chunk after another via a lookup {@link Function}. At most {@link IdChunking#getConcurrency()} chunks
+ * are held in memory at a time. Chunks are looked up ahead of consumption if an {@link Executor} is given.
+ * {@link #close() Closing} the iterator prevents chunk lookups that have not started yet from running and interrupts
+ * running ones. A chunk query already sent to the server may still run to completion.
+ *
+ * @since 3.2
+ */
+class ChunkedIdLookupIterator<T, ID> implements CloseableIterator<T> {
+
+	private final Iterator<List<ID>> chunks;
+	private final IdChunking chunking;
+	private final Function<List<ID>, List<T>> lookup;
+	private final Function<T, Object> idExtractor;
+	private final @Nullable Executor executor;
+	private final Deque<Future<List<T>>> pending;
+
+	private Iterator<T> current = Collections.emptyIterator();
+	private boolean closed = false;
+
+	/**
+	 * @param ids must not be {@literal null}.
+	 * @param chunking must not be {@literal null}.
+	 * @param lookup function resolving a chunk of identifiers into the matching entities. Must not be {@literal null}.
+	 * @param idExtractor function obtaining the identifier of a resolved entity, used to restore the identifier order if
+	 *          {@link IdChunking#isOrdered() requested}. Must not be {@literal null}.
+	 * @param executor the {@link Executor} to look up chunks ahead of consumption. Can be {@literal null} to look up
+	 *          chunks on the consuming thread.
+	 */
+	ChunkedIdLookupIterator(Iterator<ID> ids, IdChunking chunking, Function<List<ID>, List<T>> lookup,
+			Function<T, Object> idExtractor, @Nullable Executor executor) {
+
+		Assert.notNull(ids, "Ids must not be null!");
+		Assert.notNull(chunking, "IdChunking must not be null!");
+		Assert.notNull(lookup, "Lookup function must not be null!");
+		Assert.notNull(idExtractor, "Id extractor must not be null!");
+
+		this.chunks = chunking.split(ids);
+		this.chunking = chunking;
+		this.lookup = lookup;
+		this.idExtractor = idExtractor;
+		this.executor = executor;
+		this.pending = new ArrayDeque<>(chunking.getConcurrency());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+
+		while (!closed && !current.hasNext()) {
+
+			requestChunks();
+
+			Future<List<T>> next = pending.poll();
+			if (next == null) {
+				return false;
+			}
+
+			current = await(next).iterator();
+		}
+
+		return !closed && current.hasNext();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return current.next();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.util.CloseableIterator#close()
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+		current = Collections.emptyIterator();
+
+		Future<List<T>> future;
+		while ((future = pending.poll()) != null) {
+			future.cancel(true);
+		}
+	}
+
+	private void requestChunks() {
+
+		while (pending.size() < chunking.getConcurrency() && chunks.hasNext()) {
+
+			List<ID> chunk = chunks.next();
+
+			if (executor == null) {
+				pending.add(CompletableFuture.completedFuture(resolve(chunk)));
+				return;
+			}
+
+			// FutureTask so that close() can skip queued lookups and interrupt running ones
+			FutureTask<List<T>> task = new FutureTask<>(() -> resolve(chunk));
+			pending.add(task);
+			executor.execute(task);
+		}
+	}
+
+	private List<T> resolve(List<ID> chunk) {
+
+		List<T> result = lookup.apply(chunk);
+		return chunking.isOrdered() ? inIdOrder(chunk, result, idExtractor) : result;
+	}
+
+	/**
+	 * Reorder {@code elements} to follow the order of the given identifiers.
+	 *
+	 * @param ids the identifiers defining the order.
+	 * @param elements the elements to reorder.
+	 * @param idExtractor function obtaining the identifier of an element.
+	 * @return the reordered elements.
+	 */
+	static <T, ID> List<T> inIdOrder(List<ID> ids, List<T> elements, Function<T, Object> idExtractor) {
+
+		if (elements.size() < 2) {
+			return elements;
+		}
+
+		Map<Object, T> byId = new LinkedHashMap<>(elements.size() * 2);
+		for (T element : elements) {
+			byId.put(idExtractor.apply(element), element);
+		}
+
+		List<T> ordered = new ArrayList<>(elements.size());
+		for (ID id : ids) {
+
+			T element = byId.remove(id);
+			if (element != null) {
+				ordered.add(element);
+			}
+		}
+
+		// identifiers that do not compare equal to their stored representation retain the server order
+		ordered.addAll(byId.values());
+
+		return ordered;
+	}
+
+	private List<T> await(Future<List<T>> future) {
+
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+
+			close();
+
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+
+			close();
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("Interrupted while waiting for chunk lookup", e);
+		}
+	}
+}
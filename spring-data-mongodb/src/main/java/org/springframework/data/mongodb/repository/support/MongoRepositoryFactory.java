@@ -20,13 +20,18 @@ import static org.springframework.data.querydsl.QuerydslUtils.*;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.metrics.MongoOperationObserver;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.query.AbstractMongoQuery;
+import org.springframework.data.mongodb.repository.query.CachingMongoQuery;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
 import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
 import org.springframework.data.mongodb.repository.query.PartTreeMongoQuery;
@@ -64,6 +69,10 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 	private final MongoOperations operations;
 	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
 
+	private @Nullable MessageListenerContainer messageListenerContainer;
+	private @Nullable QueryResultCacheManager queryResultCacheManager;
+	private @Nullable MongoOperationObserver operationObserver;
+
 	/**
 	 * Creates a new {@link MongoRepositoryFactory} with the given {@link MongoOperations}.
 	 *
@@ -77,6 +86,48 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 		this.mappingContext = mongoOperations.getConverter().getMappingContext();
 	}
 
+	/**
+	 * Configures the {@link MessageListenerContainer} used to subscribe to change streams invalidating the results of
+	 * {@link org.springframework.data.mongodb.repository.CachedQuery cached} query methods. A container is created on
+	 * demand if not set.
+	 *
+	 * @param messageListenerContainer can be {@literal null}.
+	 * @since 3.2
+	 */
+	public void setMessageListenerContainer(@Nullable MessageListenerContainer messageListenerContainer) {
+		this.messageListenerContainer = messageListenerContainer;
+	}
+
+	/**
+	 * Configures the {@link MongoOperationObserver} to report the timing of query method invocations to. Applies to
+	 * repositories created after setting the observer.
+	 *
+	 * @param operationObserver can be {@literal null} to disable timing.
+	 * @since 3.2
+	 * @see AbstractMongoQuery#setOperationObserver(MongoOperationObserver)
+	 */
+	public void setOperationObserver(@Nullable MongoOperationObserver operationObserver) {
+		this.operationObserver = operationObserver;
+	}
+
+	/**
+	 * Returns the {@link QueryResultCacheManager} managing the results of
+	 * {@link org.springframework.data.mongodb.repository.CachedQuery cached} query methods. Cached query methods bypass
+	 * the cache until the manager is {@link QueryResultCacheManager#start() started}, which
+	 * {@link MongoRepositoryFactoryBean} does as part of the application context lifecycle.
+	 *
+	 * @return never {@literal null}.
+	 * @since 3.2
+	 */
+	public synchronized QueryResultCacheManager getQueryResultCacheManager() {
+
+		if (queryResultCacheManager == null) {
+			queryResultCacheManager = new QueryResultCacheManager(operations, messageListenerContainer);
+		}
+
+		return queryResultCacheManager;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactorySupport#getRepositoryBaseClass(org.springframework.data.repository.core.RepositoryMetadata)
@@ -134,7 +185,8 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 	@Override
 	protected Optional<QueryLookupStrategy> getQueryLookupStrategy(@Nullable Key key,
 			QueryMethodEvaluationContextProvider evaluationContextProvider) {
-		return Optional.of(new MongoQueryLookupStrategy(operations, evaluationContextProvider, mappingContext));
+		return Optional.of(new MongoQueryLookupStrategy(operations, evaluationContextProvider, mappingContext,
+				this::getQueryResultCacheManager, operationObserver));
 	}
 
 	/*
@@ -164,15 +216,21 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 		private final MongoOperations operations;
 		private final QueryMethodEvaluationContextProvider evaluationContextProvider;
 		private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+		private final Supplier<QueryResultCacheManager> queryResultCacheManager;
+		private final @Nullable MongoOperationObserver operationObserver;
 		private final ExpressionParser expressionParser = new CachingExpressionParser(EXPRESSION_PARSER);
 
 		public MongoQueryLookupStrategy(MongoOperations operations,
 				QueryMethodEvaluationContextProvider evaluationContextProvider,
-				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+				Supplier<QueryResultCacheManager> queryResultCacheManager,
+				@Nullable MongoOperationObserver operationObserver) {
 
 			this.operations = operations;
 			this.evaluationContextProvider = evaluationContextProvider;
 			this.mappingContext = mappingContext;
+			this.queryResultCacheManager = queryResultCacheManager;
+			this.operationObserver = operationObserver;
 		}
 
 		/*
@@ -184,6 +242,19 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 				NamedQueries namedQueries) {
 
 			MongoQueryMethod queryMethod = new MongoQueryMethod(method, metadata, factory, mappingContext);
+			AbstractMongoQuery query = createQuery(queryMethod, namedQueries);
+			query.setOperationObserver(operationObserver);
+
+			if (queryMethod.getCachedQueryAnnotation() == null) {
+				return query;
+			}
+
+			CachingMongoQuery cachingQuery = queryResultCacheManager.get().createCachingQuery(query);
+			return cachingQuery != null ? cachingQuery : query;
+		}
+
+		private AbstractMongoQuery createQuery(MongoQueryMethod queryMethod, NamedQueries namedQueries) {
+
 			String namedQueryName = queryMethod.getNamedQueryName();
 
 			if (namedQueries.hasQuery(namedQueryName)) {
@@ -17,8 +17,12 @@ package org.springframework.data.mongodb.repository.support;
 
 import java.io.Serializable;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.metrics.MongoOperationObserver;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
@@ -32,9 +36,12 @@ import org.springframework.util.Assert;
  * @author Oliver Gierke
  */
 public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable>
-		extends RepositoryFactoryBeanSupport<T, S, ID> {
+		extends RepositoryFactoryBeanSupport<T, S, ID> implements SmartLifecycle, DisposableBean {
 
 	private @Nullable MongoOperations operations;
+	private @Nullable MessageListenerContainer messageListenerContainer;
+	private @Nullable MongoOperationObserver operationObserver;
+	private @Nullable MongoRepositoryFactory repositoryFactory;
 	private boolean createIndexesForQueryMethods = false;
 	private boolean mappingContextConfigured = false;
 
@@ -65,6 +72,27 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 		this.createIndexesForQueryMethods = createIndexesForQueryMethods;
 	}
 
+	/**
+	 * Configures the {@link MessageListenerContainer} used to invalidate the results of
+	 * {@link org.springframework.data.mongodb.repository.CachedQuery cached} query methods.
+	 *
+	 * @param messageListenerContainer the messageListenerContainer to set
+	 * @since 3.2
+	 */
+	public void setMessageListenerContainer(MessageListenerContainer messageListenerContainer) {
+		this.messageListenerContainer = messageListenerContainer;
+	}
+
+	/**
+	 * Configures the {@link MongoOperationObserver} to report the timing of query method invocations to.
+	 *
+	 * @param operationObserver the operationObserver to set
+	 * @since 3.2
+	 */
+	public void setOperationObserver(MongoOperationObserver operationObserver) {
+		this.operationObserver = operationObserver;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#setMappingContext(org.springframework.data.mapping.context.MappingContext)
@@ -88,6 +116,13 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 
 		RepositoryFactorySupport factory = getFactoryInstance(operations);
 
+		if (factory instanceof MongoRepositoryFactory) {
+
+			repositoryFactory = (MongoRepositoryFactory) factory;
+			repositoryFactory.setMessageListenerContainer(messageListenerContainer);
+			repositoryFactory.setOperationObserver(operationObserver);
+		}
+
 		if (createIndexesForQueryMethods) {
 			factory.addQueryCreationListener(
 					new IndexEnsuringQueryCreationListener((collectionName, javaType) -> operations.indexOps(javaType)));
@@ -123,4 +158,49 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 			setMappingContext(operations.getConverter().getMappingContext());
 		}
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+
+		if (repositoryFactory != null) {
+			repositoryFactory.getQueryResultCacheManager().start();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public void stop() {
+
+		if (repositoryFactory != null) {
+			repositoryFactory.getQueryResultCacheManager().stop();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return repositoryFactory != null && repositoryFactory.getQueryResultCacheManager().isRunning();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		if (repositoryFactory != null) {
+			repositoryFactory.getQueryResultCacheManager().destroy();
+		}
+	}
 }
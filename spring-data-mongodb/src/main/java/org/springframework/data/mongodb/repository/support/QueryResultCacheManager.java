@@ -0,0 +1,353 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.support;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.Lifecycle;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.repository.CachedQuery;
+import org.springframework.data.mongodb.repository.CachedQuery.Invalidation;
+import org.springframework.data.mongodb.repository.query.AbstractMongoQuery;
+import org.springframework.data.mongodb.repository.query.CachingMongoQuery;
+import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+import org.springframework.data.mongodb.repository.query.QueryResultCache;
+import org.springframework.data.mongodb.util.BsonUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Creates and tracks {@link QueryResultCache caches} for {@link CachedQuery cached} query methods. Cached results are
+ * invalidated through one change stream subscription per collection registered with a
+ * {@link MessageListenerContainer}. Subscriptions are registered once the manager is {@link #start() started}, caches
+ * are bypassed until then. Unless a container is provided, a container is created and started along with the first
+ * subscription and stopped on {@link #stop()}.
+ *
+ * @since 3.2
+ */
+public class QueryResultCacheManager implements Lifecycle, DisposableBean {
+
+	private static final Log LOGGER = LogFactory.getLog(QueryResultCacheManager.class);
+
+	private final MongoOperations operations;
+	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+	private final Map<String, CollectionCaches> collections = new ConcurrentHashMap<>();
+	private final Map<String, QueryResultCache> caches = new ConcurrentHashMap<>();
+
+	private @Nullable MessageListenerContainer container;
+	private boolean containerCreated = false;
+	private volatile boolean running = false;
+
+	/**
+	 * Creates a new {@link QueryResultCacheManager} creating its own {@link MessageListenerContainer} if required.
+	 *
+	 * @param operations must not be {@literal null}.
+	 */
+	public QueryResultCacheManager(MongoOperations operations) {
+		this(operations, null);
+	}
+
+	/**
+	 * Creates a new {@link QueryResultCacheManager} using the given {@link MessageListenerContainer}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param container the {@link MessageListenerContainer} to register change stream subscriptions with. Can be
+	 *          {@literal null} to create a container on first use.
+	 */
+	public QueryResultCacheManager(MongoOperations operations, @Nullable MessageListenerContainer container) {
+
+		Assert.notNull(operations, "MongoOperations must not be null!");
+
+		this.operations = operations;
+		this.mappingContext = operations.getConverter().getMappingContext();
+		this.container = container;
+	}
+
+	/**
+	 * Create a {@link CachingMongoQuery} for the given query if its method is annotated with {@link CachedQuery}.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return the {@link CachingMongoQuery} or {@literal null} if the query method is not annotated with
+	 *         {@link CachedQuery}.
+	 */
+	@Nullable
+	public CachingMongoQuery createCachingQuery(AbstractMongoQuery query) {
+
+		MongoQueryMethod method = query.getQueryMethod();
+		CachedQuery annotation = method.getCachedQueryAnnotation();
+
+		if (annotation == null) {
+			return null;
+		}
+
+		String collectionName = method.getEntityInformation().getCollectionName();
+		CollectionCaches collectionCaches = collections.computeIfAbsent(collectionName, CollectionCaches::new);
+
+		QueryResultCache cache = new QueryResultCache(collectionName, Duration.ofMillis(annotation.ttl()),
+				annotation.maxSize(), annotation.invalidation(), collectionCaches::isActive);
+
+		CachingMongoQuery cachingQuery = new CachingMongoQuery(query, operations, cache, this::getStoreId);
+
+		collectionCaches.caches.add(cache);
+		caches.put(method.toString(), cache);
+
+		if (running) {
+			subscribe(collectionCaches);
+		}
+
+		return cachingQuery;
+	}
+
+	/**
+	 * Obtain the {@link QueryResultCache.Statistics} for all cached query methods keyed by their method signature.
+	 *
+	 * @return never {@literal null}.
+	 */
+	public Map<String, QueryResultCache.Statistics> getStatistics() {
+
+		Map<String, QueryResultCache.Statistics> statistics = new LinkedHashMap<>(caches.size());
+		caches.forEach((method, cache) -> statistics.put(method, cache.getStatistics()));
+
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Evict all cached results for the given collection.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 */
+	public void evict(String collectionName) {
+
+		CollectionCaches collectionCaches = collections.get(collectionName);
+
+		if (collectionCaches != null) {
+			collectionCaches.evictAll();
+		}
+	}
+
+	/**
+	 * Register the change stream subscriptions for all collections with cached query methods. Collections of query
+	 * methods created afterwards are subscribed to immediately.
+	 *
+	 * @see org.springframework.context.Lifecycle#start()
+	 */
+	@Override
+	public void start() {
+
+		synchronized (this) {
+
+			if (running) {
+				return;
+			}
+
+			running = true;
+		}
+
+		collections.values().forEach(this::subscribe);
+	}
+
+	/**
+	 * Remove the change stream subscriptions and evict all cached results. Stops the {@link MessageListenerContainer}
+	 * if it was created by this manager.
+	 *
+	 * @see org.springframework.context.Lifecycle#stop()
+	 */
+	@Override
+	public synchronized void stop() {
+
+		running = false;
+
+		collections.values().forEach(CollectionCaches::evictAll);
+
+		MessageListenerContainer container = this.container;
+
+		if (container == null) {
+			return;
+		}
+
+		for (CollectionCaches collectionCaches : collections.values()) {
+
+			Subscription subscription = collectionCaches.subscription;
+
+			if (subscription != null) {
+
+				collectionCaches.subscription = null;
+				container.remove(subscription);
+			}
+		}
+
+		if (containerCreated && container.isRunning()) {
+			container.stop();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.Lifecycle#isRunning()
+	 */
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		stop();
+	}
+
+	private synchronized void subscribe(CollectionCaches collectionCaches) {
+
+		if (!running || collectionCaches.subscription != null) {
+			return;
+		}
+
+		String collectionName = collectionCaches.collectionName;
+		ChangeStreamRequest<Document> request = ChangeStreamRequest.<Document> builder(collectionCaches::onMessage) //
+				.collection(collectionName) //
+				.build();
+
+		collectionCaches.subscription = getRequiredContainer().register(request, Document.class, error -> {
+
+			if (LOGGER.isWarnEnabled()) {
+				LOGGER.warn(String.format("Change stream for cached queries on collection %s failed, bypassing cache.",
+						collectionName), error);
+			}
+
+			collectionCaches.evictAll();
+		});
+	}
+
+	private MessageListenerContainer getRequiredContainer() {
+
+		if (container == null) {
+
+			if (!(operations instanceof MongoTemplate)) {
+				throw new IllegalStateException(
+						"Cached queries require a MessageListenerContainer or MongoTemplate to subscribe to change streams!");
+			}
+
+			container = MessageListenerContainer.create((MongoTemplate) operations);
+			containerCreated = true;
+		}
+
+		if (!container.isRunning()) {
+			container.start();
+		}
+
+		return container;
+	}
+
+	@Nullable
+	private Object getStoreId(Object source) {
+
+		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(source.getClass());
+
+		if (entity == null || !entity.hasIdProperty()) {
+			return null;
+		}
+
+		Object id = entity.getIdentifierAccessor(source).getIdentifier();
+
+		if (id == null) {
+			return null;
+		}
+
+		return operations.getConverter().convertId(id, entity.getRequiredIdProperty().getFieldType());
+	}
+
+	/**
+	 * The {@link QueryResultCache caches} of a single collection along with the change stream {@link Subscription}
+	 * invalidating them.
+	 */
+	private static class CollectionCaches {
+
+		private final String collectionName;
+		private final List<QueryResultCache> caches = new CopyOnWriteArrayList<>();
+		private volatile @Nullable Subscription subscription;
+
+		CollectionCaches(String collectionName) {
+			this.collectionName = collectionName;
+		}
+
+		boolean isActive() {
+
+			Subscription subscription = this.subscription;
+			return subscription != null && subscription.isActive();
+		}
+
+		void evictAll() {
+			caches.forEach(QueryResultCache::evictAll);
+		}
+
+		void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+
+			ChangeStreamDocument<Document> event = message.getRaw();
+			Object documentId = event != null ? getDocumentId(event) : null;
+
+			for (QueryResultCache cache : caches) {
+
+				if (documentId == null || cache.getInvalidation() == Invalidation.COLLECTION) {
+					cache.evictAll();
+				} else {
+					cache.evictDocument(documentId);
+				}
+			}
+		}
+
+		@Nullable
+		private static Object getDocumentId(ChangeStreamDocument<Document> event) {
+
+			OperationType operationType = event.getOperationType();
+
+			if (operationType != OperationType.UPDATE && operationType != OperationType.REPLACE
+					&& operationType != OperationType.DELETE) {
+				return null;
+			}
+
+			BsonDocument documentKey = event.getDocumentKey();
+			BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+
+			return id != null ? BsonUtils.toJavaType(id) : null;
+		}
+	}
+}
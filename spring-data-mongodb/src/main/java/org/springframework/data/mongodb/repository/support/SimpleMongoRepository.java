@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
@@ -33,12 +35,14 @@ import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.IdChunking;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
 import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.data.util.StreamUtils;
 import org.springframework.data.util.Streamable;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import com.mongodb.client.result.DeleteResult;
@@ -300,6 +304,33 @@ public class SimpleMongoRepository<T, ID> implements MongoRepository<T, ID> {
 		return new ArrayList<>(mongoOperations.insertAll(list));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.repository.MongoRepository#findAllById(java.lang.Iterable, org.springframework.data.mongodb.repository.IdChunking)
+	 */
+	@Override
+	public Stream<T> findAllById(Iterable<ID> ids, IdChunking chunking) {
+
+		Assert.notNull(ids, "The given Ids of entities not be null!");
+		Assert.notNull(chunking, "IdChunking must not be null!");
+
+		// chunks looked up on another thread would run outside of the transaction and session bound to the caller
+		Executor executor = isBoundToCallingThread() ? null : chunking.getExecutor();
+
+		return StreamUtils.createStreamFromIterator(new ChunkedIdLookupIterator<>(ids.iterator(), chunking,
+				chunk -> findAll(getIdQuery(chunk)), entityInformation::getId, executor));
+	}
+
+	private boolean isBoundToCallingThread() {
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			return true;
+		}
+
+		return mongoOperations instanceof MongoTemplate
+				&& ((MongoTemplate) mongoOperations).getMongoDatabaseFactory().isTransactionActive();
+	}
+
 	// -------------------------------------------------------------------------
 	// Methods from QueryByExampleExecutor
 	// -------------------------------------------------------------------------
@@ -34,6 +34,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.IdChunking;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
 import org.springframework.data.util.StreamUtils;
@@ -201,6 +202,27 @@ public class SimpleReactiveMongoRepository<T, ID extends Serializable> implement
 		return Flux.from(ids).buffer().flatMap(this::findAllById);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.repository.ReactiveMongoRepository#findAllById(java.lang.Iterable, org.springframework.data.mongodb.repository.IdChunking)
+	 */
+	@Override
+	public Flux<T> findAllById(Iterable<ID> ids, IdChunking chunking) {
+
+		Assert.notNull(ids, "The given Iterable of Id's must not be null!");
+		Assert.notNull(chunking, "IdChunking must not be null!");
+
+		Flux<List<ID>> chunks = Flux.fromIterable(ids).buffer(chunking.getChunkSize());
+
+		if (!chunking.isOrdered()) {
+			return chunks.flatMap(chunk -> findAll(getIdQuery(chunk)), chunking.getConcurrency());
+		}
+
+		return chunks.flatMapSequential(chunk -> findAll(getIdQuery(chunk)).collectList() //
+				.flatMapIterable(result -> ChunkedIdLookupIterator.inIdOrder(chunk, result, entityInformation::getId)),
+				chunking.getConcurrency());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.reactive.ReactiveCrudRepository#count()
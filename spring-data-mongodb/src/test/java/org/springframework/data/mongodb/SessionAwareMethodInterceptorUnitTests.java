@@ -161,6 +161,22 @@ public class SessionAwareMethodInterceptorUnitTests {
 		verify(otherCollection).drop(eq(session));
 	}
 
+	@Test
+	void createsProxyDispatchingToInterceptor() {
+
+		MongoCollection<Document> proxy = new SessionAwareMethodInterceptor<>(session, targetCollection,
+				ClientSession.class, MongoDatabase.class, this::proxyDatabase, MongoCollection.class, this::proxyCollection)
+						.createProxy(MongoCollection.class, getClass().getClassLoader());
+
+		proxy.countDocuments();
+		proxy.getReadPreference();
+
+		verify(targetCollection).countDocuments(eq(session));
+		verify(targetCollection).getReadPreference();
+		assertThat(proxy).isEqualTo(proxy).isNotEqualTo(collection);
+		assertThat(proxy.hashCode()).isEqualTo(System.identityHashCode(proxy));
+	}
+
 	private MongoDatabase proxyDatabase(com.mongodb.session.ClientSession session, MongoDatabase database) {
 		return createProxyInstance(session, database, MongoDatabase.class);
 	}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate.BatchConvertingCursorAdapter;
+import org.springframework.data.util.CloseableIterator;
+
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Unit tests for {@link BatchConvertingCursorAdapter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchConvertingCursorAdapterUnitTests {
+
+	@Mock PersistenceExceptionTranslator exceptionTranslator;
+
+	@Test
+	void convertsBatchesInParallelRetainingOrder() {
+
+		List<Document> documents = IntStream.range(0, 25).mapToObj(it -> new Document("value", it))
+				.collect(Collectors.toList());
+		AtomicInteger read = new AtomicInteger();
+
+		CloseableIterator<Integer> adapter = new BatchConvertingCursorAdapter<>(cursor(documents.iterator(), read),
+				exceptionTranslator, it -> it.getInteger("value"), 10, 4, ForkJoinPool.commonPool());
+
+		assertThat(adapter.next()).isZero();
+		assertThat(read).hasValue(10);
+
+		List<Integer> result = new ArrayList<>();
+		adapter.forEachRemaining(result::add);
+
+		assertThat(result).containsExactlyElementsOf(IntStream.range(1, 25).boxed().collect(Collectors.toList()));
+		assertThat(adapter.hasNext()).isFalse();
+	}
+
+	@Test
+	void propagatesConversionException() {
+
+		MongoCursor<Document> cursor = cursor(IntStream.range(0, 8).mapToObj(it -> new Document("value", it)).iterator(),
+				new AtomicInteger());
+
+		CloseableIterator<Integer> adapter = new BatchConvertingCursorAdapter<>(cursor, exceptionTranslator, it -> {
+
+			if (it.getInteger("value") == 6) {
+				throw new IllegalStateException("conversion failed");
+			}
+
+			return it.getInteger("value");
+		}, 8, 4, ForkJoinPool.commonPool());
+
+		assertThatIllegalStateException().isThrownBy(adapter::hasNext).withMessage("conversion failed");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void closesCursor() {
+
+		MongoCursor<Document> cursor = mock(MongoCursor.class);
+
+		CloseableIterator<Object> adapter = new BatchConvertingCursorAdapter<>(cursor, exceptionTranslator, it -> it, 10,
+				2, Runnable::run);
+		adapter.close();
+
+		verify(cursor).close();
+		assertThat(adapter.hasNext()).isFalse();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MongoCursor<Document> cursor(Iterator<Document> documents, AtomicInteger read) {
+
+		MongoCursor<Document> cursor = mock(MongoCursor.class);
+
+		when(cursor.hasNext()).thenAnswer(it -> documents.hasNext());
+		when(cursor.next()).thenAnswer(it -> {
+
+			read.incrementAndGet();
+			return documents.next();
+		});
+
+		return cursor;
+	}
+}
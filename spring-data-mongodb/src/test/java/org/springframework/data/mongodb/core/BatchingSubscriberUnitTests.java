@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Unit tests for {@link BatchingSubscriber}.
+ */
+class BatchingSubscriberUnitTests {
+
+	@Test
+	void emitsFullBatchesAndFlushesRemainderOnCompletion() {
+
+		BatchingSubscriber.batch(Flux.range(1, 10), 4, Duration.ofSeconds(10), Schedulers.parallel()) //
+				.as(StepVerifier::create) //
+				.expectNext(Arrays.asList(1, 2, 3, 4), Arrays.asList(5, 6, 7, 8), Arrays.asList(9, 10)) //
+				.verifyComplete();
+	}
+
+	@Test
+	void requestsUpstreamOnlyOnDemand() {
+
+		List<Long> requests = Collections.synchronizedList(new ArrayList<>());
+		Flux<Integer> source = Flux.range(1, 100).doOnRequest(requests::add);
+
+		BatchingSubscriber.batch(source, 4, Duration.ofSeconds(10), Schedulers.parallel()) //
+				.as(it -> StepVerifier.create(it, 0)) //
+				.then(() -> assertThat(requests).isEmpty()) //
+				.thenRequest(1) //
+				.expectNext(Arrays.asList(1, 2, 3, 4)) //
+				.then(() -> assertThat(requests).containsExactly(4L)) //
+				.thenRequest(1) //
+				.expectNext(Arrays.asList(5, 6, 7, 8)) //
+				.then(() -> assertThat(requests).containsExactly(4L, 4L)) //
+				.thenCancel() //
+				.verify();
+	}
+
+	@Test
+	void emitsPartialBatchAfterMaxWait() {
+
+		Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+
+		StepVerifier.withVirtualTime(
+				() -> BatchingSubscriber.batch(source.asFlux(), 4, Duration.ofSeconds(1), Schedulers.parallel())) //
+				.then(() -> {
+					source.tryEmitNext(1);
+					source.tryEmitNext(2);
+				}) //
+				.expectNoEvent(Duration.ofMillis(500)) //
+				.thenAwait(Duration.ofMillis(500)) //
+				.expectNext(Arrays.asList(1, 2)) //
+				.then(() -> {
+					source.tryEmitNext(3);
+					source.tryEmitComplete();
+				}) //
+				.expectNext(Collections.singletonList(3)) //
+				.verifyComplete();
+	}
+
+	@Test
+	void emitsOverdueBatchOnNextRequest() {
+
+		Sinks.Many<Integer> source = Sinks.many().unicast().onBackpressureBuffer();
+
+		StepVerifier.withVirtualTime(
+				() -> BatchingSubscriber.batch(source.asFlux(), 4, Duration.ofSeconds(1), Schedulers.parallel()), 0) //
+				.thenRequest(1) //
+				.then(() -> {
+					source.tryEmitNext(1);
+					source.tryEmitNext(2);
+				}) //
+				.thenAwait(Duration.ofSeconds(1)) //
+				.expectNext(Arrays.asList(1, 2)) //
+				.then(() -> source.tryEmitNext(3)) //
+				.expectNoEvent(Duration.ofSeconds(2)) //
+				.thenRequest(1) //
+				.expectNext(Collections.singletonList(3)) //
+				.thenCancel() //
+				.verify();
+	}
+
+	@Test
+	void emitsBatchesOutsideOfMonitor() {
+
+		AtomicReference<Subscriber<? super Integer>> upstream = new AtomicReference<>();
+		Publisher<Integer> source = subscriber -> {
+
+			upstream.set(subscriber);
+			subscriber.onSubscribe(Operators.emptySubscription());
+		};
+
+		BatchingSubscriber.batch(source, 1, Duration.ofSeconds(10), Schedulers.parallel()) //
+				.doOnNext(batch -> {
+
+					if (!batch.contains(1)) {
+						return;
+					}
+
+					// a concurrent upstream signal must not block while the batch is being consumed
+					Thread thread = new Thread(() -> upstream.get().onNext(2));
+					thread.start();
+
+					try {
+						thread.join(TimeUnit.SECONDS.toMillis(5));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+
+					assertThat(thread.isAlive()).isFalse();
+				}) //
+				.as(StepVerifier::create) //
+				.then(() -> upstream.get().onNext(1)) //
+				.expectNext(Collections.singletonList(1), Collections.singletonList(2)) //
+				.thenCancel() //
+				.verify();
+	}
+}
@@ -17,6 +17,8 @@ package org.springframework.data.mongodb.core;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.time.Duration;
+
 import org.bson.BsonDocument;
 import org.junit.jupiter.api.Test;
 
@@ -53,4 +55,23 @@ public class ChangeStreamOptionsUnitTests {
 		assertThat(options.isResumeAfter()).isFalse();
 		assertThat(options.isStartAfter()).isFalse();
 	}
+
+	@Test
+	void shouldConfigureBatchSizeAndMaxAwaitTime() {
+
+		ChangeStreamOptions options = ChangeStreamOptions.builder().batchSize(100).maxAwaitTime(Duration.ofSeconds(1))
+				.build();
+
+		assertThat(options.getBatchSize()).contains(100);
+		assertThat(options.getMaxAwaitTime()).contains(Duration.ofSeconds(1));
+		assertThat(options).isNotEqualTo(ChangeStreamOptions.empty());
+	}
+
+	@Test
+	void shouldRejectInvalidBatchSizeAndMaxAwaitTime() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> ChangeStreamOptions.builder().batchSize(0));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> ChangeStreamOptions.builder().maxAwaitTime(Duration.ofSeconds(-1)));
+	}
 }
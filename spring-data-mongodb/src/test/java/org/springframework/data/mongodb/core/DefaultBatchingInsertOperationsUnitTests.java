@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Unit tests for {@link DefaultBatchingInsertOperations}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultBatchingInsertOperationsUnitTests {
+
+	@Mock MongoDatabaseFactory factory;
+	@Mock MongoDatabase db;
+	@Mock MongoCollection<Document> collection;
+
+	MongoTemplate template;
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getMongoDatabase()).thenReturn(db);
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(any(String.class), eq(Document.class))).thenReturn(collection);
+
+		template = new MongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void coalescesInsertsIntoSingleUnorderedInsertMany() {
+
+		try (BatchingInsertOperations operations = template.batchingInsertOps(3, Duration.ofMinutes(1))) {
+
+			CompletableFuture<Person> first = operations.insert(new Person("1", "Walter"));
+			CompletableFuture<Person> second = operations.insert(new Person("2", "Skyler"));
+
+			assertThat(first).isNotDone();
+
+			CompletableFuture<Person> third = operations.insert(new Person("3", "Jesse"));
+
+			assertThat(first.join().name).isEqualTo("Walter");
+			assertThat(second.join().name).isEqualTo("Skyler");
+			assertThat(third.join().name).isEqualTo("Jesse");
+		}
+
+		ArgumentCaptor<List<Document>> documents = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<InsertManyOptions> options = ArgumentCaptor.forClass(InsertManyOptions.class);
+		verify(collection).insertMany(documents.capture(), options.capture());
+		verify(db).getCollection("person", Document.class);
+
+		assertThat(documents.getValue()).extracting(it -> it.get("_id")).containsExactly("1", "2", "3");
+		assertThat(options.getValue().isOrdered()).isFalse();
+	}
+
+	@Test
+	void writesBatchAfterLinger() throws Exception {
+
+		try (BatchingInsertOperations operations = template.batchingInsertOps(100, Duration.ofMillis(10))) {
+
+			Person saved = operations.insert(new Person("1", "Walter")).get(5, TimeUnit.SECONDS);
+
+			assertThat(saved.name).isEqualTo("Walter");
+		}
+
+		verify(collection).insertMany(anyList(), any(InsertManyOptions.class));
+	}
+
+	@Test
+	void mapsBulkWriteErrorsToIndividualInserts() {
+
+		BulkWriteError error = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+		doThrow(new MongoBulkWriteException(BulkWriteResult.unacknowledged(), Collections.singletonList(error), null,
+				new ServerAddress())).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+
+		try (BatchingInsertOperations operations = template.batchingInsertOps(2, Duration.ofMinutes(1))) {
+
+			List<CompletableFuture<Person>> results = Arrays.asList(operations.insert(new Person("1", "Walter")),
+					operations.insert(new Person("1", "Walter")));
+
+			assertThat(results.get(0).join().name).isEqualTo("Walter");
+			assertThat(results.get(1)).hasFailedWithThrowableThat().isInstanceOf(DuplicateKeyException.class);
+		}
+	}
+
+	@Test
+	void closeWritesPendingInsertsAndRejectsNewOnes() {
+
+		BatchingInsertOperations operations = template.batchingInsertOps(100, Duration.ofMinutes(1));
+		CompletableFuture<Person> pending = operations.insert(new Person("1", "Walter"));
+
+		operations.close();
+
+		assertThat(pending).isCompletedWithValueMatching(it -> it.name.equals("Walter"));
+		assertThatIllegalStateException().isThrownBy(() -> operations.insert(new Person("2", "Skyler")));
+	}
+
+	@Test
+	void mapsObjectsOnSubmittingThread() throws Exception {
+
+		ThreadCapturingBeforeConvertCallback callback = new ThreadCapturingBeforeConvertCallback();
+		template.setEntityCallbacks(EntityCallbacks.create(callback));
+
+		try (BatchingInsertOperations operations = template.batchingInsertOps(100, Duration.ofMillis(10))) {
+			operations.insert(new Person("1", "Walter")).get(5, TimeUnit.SECONDS);
+		}
+
+		assertThat(callback.thread).hasValue(Thread.currentThread());
+	}
+
+	@Test
+	void rejectsInsertsWithinTransaction() {
+
+		when(factory.isTransactionActive()).thenReturn(true);
+
+		try (BatchingInsertOperations operations = template.batchingInsertOps(100, Duration.ofMinutes(1))) {
+			assertThatIllegalStateException().isThrownBy(() -> operations.insert(new Person("1", "Walter")));
+		}
+
+		verifyNoInteractions(collection);
+	}
+
+	static class ThreadCapturingBeforeConvertCallback implements BeforeConvertCallback<Person> {
+
+		final AtomicReference<Thread> thread = new AtomicReference<>();
+
+		@Override
+		public Person onBeforeConvert(Person entity, String collection) {
+
+			thread.set(Thread.currentThread());
+			return entity;
+		}
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+
+		Person(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
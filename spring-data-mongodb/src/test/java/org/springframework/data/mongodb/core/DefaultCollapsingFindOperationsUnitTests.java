@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Unit tests for {@link DefaultCollapsingFindOperations}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultCollapsingFindOperationsUnitTests {
+
+	@Mock MongoDatabaseFactory factory;
+	@Mock MongoDatabase db;
+	@Mock MongoCollection<Document> collection;
+	@Mock FindIterable<Document> findIterable;
+	@Mock MongoCursor<Document> cursor;
+
+	MongoTemplate template;
+	ExecutorService executor = Executors.newFixedThreadPool(3);
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getMongoDatabase()).thenReturn(db);
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(any(String.class), eq(Document.class))).thenReturn(collection);
+		when(collection.find(any(Document.class), eq(Document.class))).thenReturn(findIterable);
+		when(findIterable.projection(any())).thenReturn(findIterable);
+		when(findIterable.iterator()).thenReturn(cursor);
+
+		template = new MongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void collapsesConcurrentLookupsIntoSingleInQuery() {
+
+		when(cursor.hasNext()).thenReturn(true, true, false);
+		when(cursor.next()).thenReturn(new Document("_id", "2").append("name", "Skyler"),
+				new Document("_id", "1").append("name", "Walter"));
+
+		try (CollapsingFindOperations operations = template.collapsingFindOps(3, Duration.ofMinutes(1))) {
+
+			CompletableFuture<Person> walter = lookup(operations, "1");
+			CompletableFuture<Person> skyler = lookup(operations, "2");
+			CompletableFuture<Person> missing = lookup(operations, "3");
+
+			assertThat(walter.join().name).isEqualTo("Walter");
+			assertThat(skyler.join().name).isEqualTo("Skyler");
+			assertThat(missing.join()).isNull();
+		}
+
+		ArgumentCaptor<Document> query = ArgumentCaptor.forClass(Document.class);
+		verify(collection).find(query.capture(), eq(Document.class));
+
+		assertThat((List<Object>) query.getValue().get("_id", Document.class).get("$in"))
+				.containsExactlyInAnyOrder("1", "2", "3");
+	}
+
+	@Test
+	void runsBatchAfterWindow() {
+
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new Document("_id", "1").append("name", "Walter"));
+
+		try (CollapsingFindOperations operations = template.collapsingFindOps(100, Duration.ofMillis(10))) {
+			assertThat(operations.findById("1", Person.class).name).isEqualTo("Walter");
+		}
+	}
+
+	@Test
+	void runsPendingBatchOnCallingThreadAfterWindow() {
+
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new Document("_id", "1").append("name", "Walter"));
+
+		try (CollapsingFindOperations operations = template.collapsingFindOps(100, Duration.ofMillis(10))) {
+
+			Thread caller = Thread.currentThread();
+			when(findIterable.iterator()).then(invocation -> {
+
+				assertThat(Thread.currentThread()).isSameAs(caller);
+				return cursor;
+			});
+
+			assertThat(operations.findById("1", Person.class).name).isEqualTo("Walter");
+		}
+	}
+
+	@Test
+	void bypassesCollapsingWithinTransaction() {
+
+		when(factory.isTransactionActive()).thenReturn(true);
+		when(findIterable.first()).thenReturn(new Document("_id", "1").append("name", "Walter"));
+
+		try (CollapsingFindOperations operations = template.collapsingFindOps(100, Duration.ofMinutes(1))) {
+			assertThat(operations.findById("1", Person.class).name).isEqualTo("Walter");
+		}
+
+		verify(collection).find(new Document("_id", "1"), Document.class);
+	}
+
+	@Test
+	void propagatesErrorsToAllCallers() {
+
+		when(collection.find(any(Document.class), eq(Document.class))).thenThrow(new MongoException(1, "failure"));
+
+		try (CollapsingFindOperations operations = template.collapsingFindOps(2, Duration.ofMinutes(1))) {
+
+			CompletableFuture<Person> first = lookup(operations, "1");
+			CompletableFuture<Person> second = lookup(operations, "2");
+
+			assertThatExceptionOfType(CompletionException.class).isThrownBy(first::join)
+					.withCauseInstanceOf(DataAccessException.class);
+			assertThatExceptionOfType(CompletionException.class).isThrownBy(second::join)
+					.withCauseInstanceOf(DataAccessException.class);
+		}
+	}
+
+	@Test
+	void rejectsLookupsAfterClose() {
+
+		CollapsingFindOperations operations = template.collapsingFindOps(100, Duration.ofMinutes(1));
+		operations.close();
+
+		assertThatIllegalStateException().isThrownBy(() -> operations.findById("1", Person.class));
+	}
+
+	private CompletableFuture<Person> lookup(CollapsingFindOperations operations, String id) {
+		return CompletableFuture.supplyAsync(() -> operations.findById(id, Person.class), executor);
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+	}
+}
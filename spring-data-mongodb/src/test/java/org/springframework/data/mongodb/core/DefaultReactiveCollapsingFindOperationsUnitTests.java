@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.reactivestreams.Subscriber;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.MongoException;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+/**
+ * Unit tests for {@link DefaultReactiveCollapsingFindOperations}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultReactiveCollapsingFindOperationsUnitTests {
+
+	@Mock ReactiveMongoDatabaseFactory factory;
+	@Mock MongoDatabase db;
+	@Mock MongoCollection<Document> collection;
+	@Mock FindPublisher<Document> findPublisher;
+
+	ReactiveMongoTemplate template;
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getMongoDatabase()).thenReturn(Mono.just(db));
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(any(String.class), eq(Document.class))).thenReturn(collection);
+		when(collection.find(any(Document.class), eq(Document.class))).thenReturn(findPublisher);
+
+		template = new ReactiveMongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void collapsesConcurrentLookupsIntoSingleInQuery() {
+
+		stubFindSubscribe(Flux.just(new Document("_id", "2").append("name", "Skyler"),
+				new Document("_id", "1").append("name", "Walter")));
+
+		ReactiveCollapsingFindOperations operations = template.collapsingFindOps(3, Duration.ofMinutes(1));
+
+		Mono.zip(operations.findById("1", Person.class), operations.findById("2", Person.class),
+				operations.findById("3", Person.class).hasElement()) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> {
+
+					assertThat(it.getT1().name).isEqualTo("Walter");
+					assertThat(it.getT2().name).isEqualTo("Skyler");
+					assertThat(it.getT3()).isFalse();
+				}).verifyComplete();
+
+		ArgumentCaptor<Document> query = ArgumentCaptor.forClass(Document.class);
+		verify(collection).find(query.capture(), eq(Document.class));
+
+		assertThat((List<Object>) query.getValue().get("_id", Document.class).get("$in")).containsExactly("1", "2",
+				"3");
+	}
+
+	@Test
+	void runsBatchAfterWindow() {
+
+		stubFindSubscribe(Flux.just(new Document("_id", "1").append("name", "Walter")));
+
+		template.collapsingFindOps(100, Duration.ofMillis(10)).findById("1", Person.class) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> assertThat(it.name).isEqualTo("Walter")) //
+				.verifyComplete();
+	}
+
+	@Test
+	void propagatesErrorsToAllSubscribers() {
+
+		stubFindSubscribe(Flux.error(new MongoException(1, "failure")));
+
+		ReactiveCollapsingFindOperations operations = template.collapsingFindOps(2, Duration.ofMinutes(1));
+
+		Flux.merge(operations.findById("1", Person.class), operations.findById("2", Person.class)) //
+				.as(StepVerifier::create) //
+				.verifyError(DataAccessException.class);
+	}
+
+	@Test
+	void bypassesCollapsingWithinTransaction() {
+
+		when(factory.isTransactionActive()).thenReturn(true);
+		when(findPublisher.projection(any())).thenReturn(findPublisher);
+		when(findPublisher.limit(1)).thenReturn(findPublisher);
+		when(findPublisher.first()).thenReturn(Mono.just(new Document("_id", "1").append("name", "Walter")));
+
+		template.collapsingFindOps(100, Duration.ofMinutes(1)).findById("1", Person.class) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> assertThat(it.name).isEqualTo("Walter")) //
+				.verifyComplete();
+
+		verify(collection).find(new Document("_id", "1"), Document.class);
+	}
+
+	@Test
+	void runsBatchWithContextOfTriggeringSubscriber() {
+
+		stubFindSubscribe(Flux.just(new Document("_id", "1").append("name", "Walter")));
+		when(factory.getMongoDatabase()).thenReturn(Mono.deferContextual(context -> {
+
+			assertThat(context.getOrDefault("key", "")).isEqualTo("value");
+			return Mono.just(db);
+		}));
+
+		template.collapsingFindOps(1, Duration.ofMinutes(1)).findById("1", Person.class) //
+				.contextWrite(context -> context.put("key", "value")) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> assertThat(it.name).isEqualTo("Walter")) //
+				.verifyComplete();
+	}
+
+	@Test
+	void queuesLookupUponSubscription() {
+
+		ReactiveCollapsingFindOperations operations = template.collapsingFindOps(1, Duration.ofMinutes(1));
+
+		operations.findById("1", Person.class);
+
+		verifyNoInteractions(collection);
+	}
+
+	private void stubFindSubscribe(Flux<Document> documents) {
+
+		doAnswer(invocation -> {
+
+			Subscriber<Document> subscriber = invocation.getArgument(0);
+			documents.subscribe(subscriber);
+			return null;
+		}).when(findPublisher).subscribe(any());
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+	}
+}
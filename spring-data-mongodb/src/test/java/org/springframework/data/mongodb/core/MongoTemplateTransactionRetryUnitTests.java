@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+import com.mongodb.client.ClientSession;
+
+/**
+ * Unit tests for {@link MongoTemplate#inTransaction(SessionCallback, TransactionRetryPolicy)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class MongoTemplateTransactionRetryUnitTests {
+
+	@Mock MongoDatabaseFactory factory;
+	@Mock ClientSession session;
+	@Mock TransactionObserver observer;
+
+	MongoTemplate template;
+	TransactionRetryPolicy policy;
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(factory.getSession(any(ClientSessionOptions.class))).thenReturn(session);
+		when(factory.withSession(session)).thenReturn(factory);
+
+		template = new MongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		policy = TransactionRetryPolicy.defaultPolicy().backoff(Duration.ZERO, Duration.ZERO).observer(observer);
+	}
+
+	@Test
+	void retriesCallbackOnTransientTransactionError() {
+
+		MongoException error = labeled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+		when(session.hasActiveTransaction()).thenReturn(true);
+
+		String result = template.inTransaction(operations -> {
+
+			if (invocations.incrementAndGet() == 1) {
+				throw error;
+			}
+
+			return "committed";
+		}, policy);
+
+		assertThat(result).isEqualTo("committed");
+		assertThat(invocations).hasValue(2);
+		verify(session, times(2)).startTransaction(any(TransactionOptions.class));
+		verify(session).abortTransaction();
+		verify(session).commitTransaction();
+		verify(session).close();
+		verify(observer).onAbort(error);
+		verify(observer).onRetry(RetryScope.TRANSACTION, 1, error);
+	}
+
+	@Test
+	void retriesCommitOnUnknownCommitResult() {
+
+		MongoException error = labeled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+		doThrow(error).doNothing().when(session).commitTransaction();
+
+		Integer result = template.inTransaction(operations -> invocations.incrementAndGet(), policy);
+
+		assertThat(result).isOne();
+		verify(session).startTransaction(any(TransactionOptions.class));
+		verify(session, times(2)).commitTransaction();
+		verify(observer).onRetry(RetryScope.COMMIT, 1, error);
+		verify(observer, never()).onAbort(any());
+	}
+
+	@Test
+	void retriesCallbackOnTransientCommitError() {
+
+		MongoException error = labeled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+		doThrow(error).doNothing().when(session).commitTransaction();
+
+		template.inTransaction(operations -> invocations.incrementAndGet(), policy);
+
+		assertThat(invocations).hasValue(2);
+		verify(session, never()).abortTransaction();
+		verify(observer).onRetry(eq(RetryScope.TRANSACTION), eq(1), any(DataAccessException.class));
+	}
+
+	@Test
+	void doesNotRetryOtherErrors() {
+
+		IllegalStateException error = new IllegalStateException("failed");
+		AtomicInteger invocations = new AtomicInteger();
+		when(session.hasActiveTransaction()).thenReturn(true);
+
+		assertThatIllegalStateException().isThrownBy(() -> template.inTransaction(operations -> {
+
+			invocations.incrementAndGet();
+			throw error;
+		}, policy));
+
+		assertThat(invocations).hasValue(1);
+		verify(session).abortTransaction();
+		verify(session).close();
+		verify(observer).onAbort(error);
+		verify(observer, never()).onRetry(any(), anyInt(), any());
+	}
+
+	@Test
+	void retriesCallbackWhenAbortFails() {
+
+		MongoException error = labeled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		MongoException abortError = new MongoException("abort failed");
+		AtomicInteger invocations = new AtomicInteger();
+		when(session.hasActiveTransaction()).thenReturn(true);
+		doThrow(abortError).doNothing().when(session).abortTransaction();
+
+		String result = template.inTransaction(operations -> {
+
+			if (invocations.incrementAndGet() == 1) {
+				throw error;
+			}
+
+			return "committed";
+		}, policy);
+
+		assertThat(result).isEqualTo("committed");
+		assertThat(error.getSuppressed()).containsExactly(abortError);
+		verify(observer).onRetry(RetryScope.TRANSACTION, 1, error);
+	}
+
+	@Test
+	void stopsRetryingAfterMaxAttempts() {
+
+		MongoException error = labeled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+
+		assertThatExceptionOfType(MongoException.class).isThrownBy(() -> template.inTransaction(operations -> {
+
+			invocations.incrementAndGet();
+			throw error;
+		}, policy.maxAttempts(2)));
+
+		assertThat(invocations).hasValue(2);
+		verify(observer, times(2)).onAbort(error);
+		verify(observer).onRetry(RetryScope.TRANSACTION, 1, error);
+	}
+
+	private static MongoException labeled(String label) {
+
+		MongoException error = new MongoException(112, "WriteConflict");
+		error.addLabel(label);
+		return error;
+	}
+}
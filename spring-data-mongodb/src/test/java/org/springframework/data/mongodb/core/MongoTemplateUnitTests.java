@@ -34,7 +34,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.assertj.core.api.Assertions;
@@ -88,6 +90,7 @@ import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
 import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
 import org.springframework.data.mongodb.core.mapreduce.GroupBy;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
+import org.springframework.data.mongodb.core.metrics.OperationSample;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -1354,6 +1357,55 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		verify(aggregateIterable, never()).maxTime(anyLong(), any());
 	}
 
+	@Test
+	void aggregateStreamConvertsOnConversionExecutor() {
+
+		AtomicInteger tasks = new AtomicInteger();
+		template.setConversionExecutor(countingExecutor(tasks));
+		stubAggregationCursor(4);
+
+		AggregationOptions options = newAggregationOptions().conversionParallelism(2).build();
+		template.aggregateStream(newAggregation(Sith.class, project("id")).withOptions(options),
+				AutogenerateableId.class, Document.class).forEachRemaining(it -> {});
+
+		assertThat(tasks).hasValue(1);
+	}
+
+	@Test
+	void aggregateStreamConvertsOnCallingThreadWithinTransaction() {
+
+		AtomicInteger tasks = new AtomicInteger();
+		template.setConversionExecutor(countingExecutor(tasks));
+		stubAggregationCursor(4);
+		when(factory.isTransactionActive()).thenReturn(true);
+
+		AggregationOptions options = newAggregationOptions().conversionParallelism(2).build();
+		List<Document> result = new ArrayList<>();
+		template.aggregateStream(newAggregation(Sith.class, project("id")).withOptions(options),
+				AutogenerateableId.class, Document.class).forEachRemaining(result::add);
+
+		assertThat(result).hasSize(4);
+		assertThat(tasks).hasValue(0);
+	}
+
+	private void stubAggregationCursor(int documents) {
+
+		Iterator<Document> iterator = Collections.nCopies(documents, new Document("_id", "id")).iterator();
+
+		when(aggregateIterable.iterator()).thenReturn(cursor);
+		when(cursor.hasNext()).thenAnswer(it -> iterator.hasNext());
+		when(cursor.next()).thenAnswer(it -> iterator.next());
+	}
+
+	private static Executor countingExecutor(AtomicInteger tasks) {
+
+		return command -> {
+
+			tasks.incrementAndGet();
+			command.run();
+		};
+	}
+
 	@Test // DATAMONGO-2390
 	void aggregateShouldApplyMaxTimeIfSet() {
 
@@ -2206,6 +2258,29 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		verify(collection).estimatedDocumentCount(any());
 	}
 
+	@Test
+	void observedOperationShouldInvokeOverriddenMethodOnce() {
+
+		AtomicInteger invocations = new AtomicInteger();
+		List<OperationSample> samples = new ArrayList<>();
+
+		MongoTemplate template = new MongoTemplate(factory, converter) {
+
+			@Override
+			public long count(Query query, @Nullable Class<?> entityClass, String collectionName) {
+
+				invocations.incrementAndGet();
+				return super.count(query, entityClass, collectionName);
+			}
+		};
+		template.setOperationObserver(samples::add);
+
+		template.count(new Query(), Person.class, "star-wars");
+
+		assertThat(invocations).hasValue(1);
+		assertThat(samples).extracting(OperationSample::getOperation).containsExactly("count");
+	}
+
 	class AutogenerateableId {
 
 		@Id BigInteger id;
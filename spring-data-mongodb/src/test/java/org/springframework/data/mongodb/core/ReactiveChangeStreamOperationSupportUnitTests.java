@@ -23,12 +23,16 @@ import static org.mockito.Mockito.isNull;
 import static org.springframework.data.mongodb.core.query.Criteria.*;
 
 import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.bson.BsonDocument;
+import org.bson.BsonString;
 import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,8 +43,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Criteria;
 
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
 /**
  * Unit tests for {@link ReactiveChangeStreamOperationSupport}.
  *
@@ -51,6 +59,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 class ReactiveChangeStreamOperationSupportUnitTests {
 
 	@Mock ReactiveMongoTemplate template;
+	@Mock MongoConverter converter;
 	private ReactiveChangeStreamOperationSupport changeStreamSupport;
 
 	@BeforeEach
@@ -161,6 +170,61 @@ class ReactiveChangeStreamOperationSupportUnitTests {
 		});
 	}
 
+	@Test
+	void listenBatchedAlignsServerBatchSize() {
+
+		changeStreamSupport.changeStream(Document.class).listenBatched(50, Duration.ofSeconds(1)).subscribe();
+
+		ArgumentCaptor<ChangeStreamOptions> optionsArgumentCaptor = ArgumentCaptor.forClass(ChangeStreamOptions.class);
+		verify(template).changeStream(isNull(), optionsArgumentCaptor.capture(), eq(Document.class));
+
+		assertThat(optionsArgumentCaptor.getValue().getBatchSize()).contains(50);
+	}
+
+	@Test
+	void listenBatchedRetainsConfiguredOptions() {
+
+		changeStreamSupport.changeStream(Document.class)
+				.withOptions(options -> options.batchSize(10).maxAwaitTime(Duration.ofMillis(200)))
+				.listenBatched(50, Duration.ofSeconds(1)).subscribe();
+
+		ArgumentCaptor<ChangeStreamOptions> optionsArgumentCaptor = ArgumentCaptor.forClass(ChangeStreamOptions.class);
+		verify(template).changeStream(isNull(), optionsArgumentCaptor.capture(), eq(Document.class));
+
+		assertThat(optionsArgumentCaptor.getValue().getBatchSize()).contains(10);
+		assertThat(optionsArgumentCaptor.getValue().getMaxAwaitTime()).contains(Duration.ofMillis(200));
+	}
+
+	@Test
+	void listenBatchedEmitsBatchesCarryingLastResumeToken() {
+
+		List<ChangeStreamEvent<Document>> events = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			events.add(event(new BsonDocument("_data", new BsonString("token-" + i))));
+		}
+		when(template.changeStream(any(), any(), eq(Document.class))).thenReturn(Flux.fromIterable(events));
+
+		changeStreamSupport.changeStream(Document.class).listenBatched(2, Duration.ofSeconds(1)) //
+				.as(StepVerifier::create) //
+				.assertNext(batch -> {
+
+					assertThat(batch).containsExactly(events.get(0), events.get(1));
+					assertThat(batch.getResumeToken()).isEqualTo(new BsonDocument("_data", new BsonString("token-1")));
+				}) //
+				.assertNext(batch -> {
+
+					assertThat(batch).containsExactly(events.get(2));
+					assertThat(batch.getResumeToken()).isEqualTo(new BsonDocument("_data", new BsonString("token-2")));
+				}) //
+				.verifyComplete();
+	}
+
+	private ChangeStreamEvent<Document> event(BsonDocument resumeToken) {
+
+		return new ChangeStreamEvent<>(new ChangeStreamDocument<>(OperationType.INSERT, resumeToken, null, null,
+				new Document(), null, null, null, null, null), Document.class, converter);
+	}
+
 	private static List<Document> extractPipeline(Aggregation aggregation) {
 		return aggregation.toDocument("person", Aggregation.DEFAULT_CONTEXT).get("pipeline", ArrayList.class);
 	}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.reactivestreams.Subscriber;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver;
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver.ReadAttempt;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+/**
+ * Unit tests for hedged reads through {@link ReactiveMongoTemplate#setHedgedReads(HedgedReadOptions)}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReactiveMongoTemplateHedgedReadUnitTests {
+
+	@Mock ReactiveMongoDatabaseFactory factory;
+	@Mock MongoDatabase db;
+	@Mock MongoCollection<Document> collection;
+	@Mock MongoCollection<Document> hedgeCollection;
+	@Mock HedgedReadObserver observer;
+
+	ReactiveMongoTemplate template;
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getMongoDatabase()).thenReturn(Mono.just(db));
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(any(String.class), eq(Document.class))).thenReturn(collection);
+		when(db.getReadPreference()).thenReturn(ReadPreference.secondaryPreferred());
+		when(collection.withReadPreference(any())).thenReturn(hedgeCollection);
+
+		template = new ReactiveMongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+	}
+
+	@Test
+	void hedgesSlowFindOne() {
+
+		AtomicBoolean initialCancelled = new AtomicBoolean();
+		stubFind(collection, Flux.<Document> never().doOnCancel(() -> initialCancelled.set(true)));
+		stubFind(hedgeCollection, Flux.just(new Document("_id", "1").append("name", "Walter")));
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMillis(10)).observer(observer));
+
+		template.findOne(query(where("name").is("Walter")), Person.class) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> assertThat(it.name).isEqualTo("Walter")) //
+				.verifyComplete();
+
+		assertThat(initialCancelled).isTrue();
+		verify(observer).onRead("person");
+		verify(observer).onHedge("person");
+		verify(observer).onWin("person", ReadAttempt.HEDGE);
+
+		ArgumentCaptor<ReadPreference> readPreference = ArgumentCaptor.forClass(ReadPreference.class);
+		verify(collection).withReadPreference(readPreference.capture());
+
+		assertThat(readPreference.getValue().getName()).isEqualTo(ReadPreference.secondaryPreferred().getName());
+		assertThat(((TaggableReadPreference) readPreference.getValue()).getHedgeOptions().isEnabled()).isTrue();
+	}
+
+	@Test
+	void hedgesThroughConfiguredReadPreference() {
+
+		stubFind(collection, Flux.never());
+		stubFind(hedgeCollection, Flux.just(new Document("_id", "1").append("name", "Walter")));
+		template.setHedgedReads(
+				HedgedReadOptions.hedgeAfter(Duration.ofMillis(10)).readPreference(ReadPreference.nearest()));
+
+		template.findOne(query(where("name").is("Walter")), Person.class) //
+				.as(StepVerifier::create) //
+				.expectNextCount(1) //
+				.verifyComplete();
+
+		verify(collection).withReadPreference(ReadPreference.nearest());
+	}
+
+	@Test
+	void doesNotHedgeFastFindOne() {
+
+		stubFind(collection, Flux.just(new Document("_id", "1").append("name", "Walter")));
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMinutes(1)).observer(observer));
+
+		template.findById("1", Person.class) //
+				.as(StepVerifier::create) //
+				.assertNext(it -> assertThat(it.name).isEqualTo("Walter")) //
+				.verifyComplete();
+
+		verify(observer).onWin("person", ReadAttempt.INITIAL);
+		verify(observer, never()).onHedge(any());
+		verify(collection, never()).withReadPreference(any());
+	}
+
+	@Test
+	void emptyInitialResultWins() {
+
+		stubFind(collection, Flux.empty());
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMinutes(1)).observer(observer));
+
+		template.findById("1", Person.class) //
+				.as(StepVerifier::create) //
+				.verifyComplete();
+
+		verify(observer).onWin("person", ReadAttempt.INITIAL);
+	}
+
+	@Test
+	void hedgesSlowFind() {
+
+		stubFind(collection, Flux.never());
+		stubFind(hedgeCollection, Flux.just(new Document("_id", "1").append("name", "Walter"),
+				new Document("_id", "2").append("name", "Skyler")));
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMillis(10)).observer(observer));
+
+		template.find(query(where("name").exists(true)), Person.class) //
+				.map(it -> it.name) //
+				.as(StepVerifier::create) //
+				.expectNext("Walter", "Skyler") //
+				.verifyComplete();
+
+		verify(observer).onWin("person", ReadAttempt.HEDGE);
+	}
+
+	@Test
+	void doesNotHedgePrimaryReads() {
+
+		stubFind(collection,
+				Flux.just(new Document("_id", "1").append("name", "Walter")).delayElements(Duration.ofMillis(50)));
+		when(db.getReadPreference()).thenReturn(ReadPreference.primary());
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ofMillis(10)).observer(observer));
+
+		template.findOne(query(where("name").is("Walter")), Person.class) //
+				.as(StepVerifier::create) //
+				.expectNextCount(1) //
+				.verifyComplete();
+
+		verifyNoInteractions(observer, hedgeCollection);
+		verify(collection, never()).withReadPreference(any());
+	}
+
+	@Test
+	void doesNotHedgeQueriesWithReadPreference() {
+
+		stubFind(collection, Flux.just(new Document("_id", "1").append("name", "Walter")));
+		when(collection.withReadPreference(ReadPreference.primaryPreferred())).thenReturn(collection);
+		template.setHedgedReads(HedgedReadOptions.hedgeAfter(Duration.ZERO).observer(observer));
+
+		template.find(query(where("name").is("Walter")).slaveOk(), Person.class) //
+				.as(StepVerifier::create) //
+				.expectNextCount(1) //
+				.verifyComplete();
+
+		verifyNoInteractions(observer, hedgeCollection);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void stubFind(MongoCollection<Document> collection, Flux<Document> documents) {
+
+		FindPublisher<Document> findPublisher = mock(FindPublisher.class, RETURNS_SELF);
+
+		when(collection.find(any(Document.class), eq(Document.class))).thenReturn(findPublisher);
+		when(findPublisher.first()).thenReturn(documents.next());
+		doAnswer(invocation -> {
+
+			documents.subscribe(invocation.<Subscriber<Document>> getArgument(0));
+			return null;
+		}).when(findPublisher).subscribe(any());
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+import com.mongodb.reactivestreams.client.ClientSession;
+
+/**
+ * Unit tests for {@link ReactiveMongoTemplate#inTransaction(ReactiveSessionCallback, TransactionRetryPolicy)}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveMongoTemplateTransactionRetryUnitTests {
+
+	@Mock ReactiveMongoDatabaseFactory factory;
+	@Mock ClientSession session;
+	@Mock TransactionObserver observer;
+
+	ReactiveMongoTemplate template;
+	TransactionRetryPolicy policy;
+
+	@BeforeEach
+	void setUp() {
+
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(factory.getSession(any(ClientSessionOptions.class))).thenReturn(Mono.just(session));
+		when(factory.withSession(session)).thenReturn(factory);
+
+		template = new ReactiveMongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		policy = TransactionRetryPolicy.defaultPolicy().backoff(Duration.ZERO, Duration.ZERO).observer(observer);
+	}
+
+	@Test
+	void retriesCallbackOnTransientTransactionErrorEmittingCommittedResultsOnly() {
+
+		MongoException error = labeled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+		when(session.hasActiveTransaction()).thenReturn(true);
+		when(session.abortTransaction()).thenReturn(Mono.empty());
+		when(session.commitTransaction()).thenReturn(Mono.empty());
+
+		template.inTransaction(operations -> {
+
+			if (invocations.incrementAndGet() == 1) {
+				return Flux.concat(Mono.just("aborted"), Mono.error(error));
+			}
+
+			return Flux.just("one", "two");
+		}, policy).as(StepVerifier::create) //
+				.expectNext("one", "two") //
+				.verifyComplete();
+
+		verify(session, times(2)).startTransaction(any(TransactionOptions.class));
+		verify(session).abortTransaction();
+		verify(session).close();
+		verify(observer).onAbort(error);
+		verify(observer).onRetry(RetryScope.TRANSACTION, 1, error);
+	}
+
+	@Test
+	void retriesCommitOnUnknownCommitResult() {
+
+		MongoException error = labeled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+		AtomicInteger invocations = new AtomicInteger();
+		when(session.commitTransaction()).thenReturn(Mono.error(error), Mono.empty());
+
+		template.inTransaction(operations -> Mono.fromSupplier(invocations::incrementAndGet), policy)
+				.as(StepVerifier::create) //
+				.expectNext(1) //
+				.verifyComplete();
+
+		verify(session).startTransaction(any(TransactionOptions.class));
+		verify(session, times(2)).commitTransaction();
+		verify(observer).onRetry(RetryScope.COMMIT, 1, error);
+		verify(observer, never()).onAbort(any());
+	}
+
+	@Test
+	void doesNotRetryOtherErrors() {
+
+		IllegalStateException error = new IllegalStateException("failed");
+		when(session.hasActiveTransaction()).thenReturn(true);
+		when(session.abortTransaction()).thenReturn(Mono.empty());
+
+		template.inTransaction(operations -> Mono.error(error), policy) //
+				.as(StepVerifier::create) //
+				.verifyErrorMatches(error::equals);
+
+		verify(session).startTransaction(any(TransactionOptions.class));
+		verify(session).close();
+		verify(observer).onAbort(error);
+		verify(observer, never()).onRetry(any(), anyInt(), any());
+	}
+
+	@Test
+	void retainsAbortErrorAsSuppressed() {
+
+		IllegalStateException error = new IllegalStateException("failed");
+		MongoException abortError = new MongoException("abort failed");
+		when(session.hasActiveTransaction()).thenReturn(true);
+		when(session.abortTransaction()).thenReturn(Mono.error(abortError));
+
+		template.inTransaction(operations -> Mono.error(error), policy) //
+				.as(StepVerifier::create) //
+				.verifyErrorMatches(error::equals);
+
+		assertThat(error.getSuppressed()).containsExactly(abortError);
+		verify(observer).onAbort(error);
+	}
+
+	private static MongoException labeled(String label) {
+
+		MongoException error = new MongoException(112, "WriteConflict");
+		error.addLabel(label);
+		return error;
+	}
+}
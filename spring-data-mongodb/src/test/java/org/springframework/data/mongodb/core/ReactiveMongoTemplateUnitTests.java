@@ -34,8 +34,11 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.assertj.core.api.Assertions;
 import org.bson.Document;
@@ -670,6 +673,33 @@ public class ReactiveMongoTemplateUnitTests {
 		verify(aggregatePublisher, never()).maxTime(anyLong(), any());
 	}
 
+	@Test
+	void aggregateConvertsInParallelRetainingOrder() {
+
+		List<Document> documents = IntStream.range(0, 100).mapToObj(it -> new Document("value", it))
+				.collect(Collectors.toList());
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+
+		doAnswer(invocation -> {
+
+			Flux.fromIterable(documents).subscribe(invocation.<Subscriber<Document>> getArgument(0));
+			return null;
+		}).when(aggregatePublisher).subscribe(any());
+		when(aggregatePublisher.batchSize(anyInt())).thenReturn(aggregatePublisher);
+
+		AggregationOptions options = newAggregationOptions().conversionParallelism(4).cursorBatchSize(20).build();
+
+		template.aggregate(newAggregation(Sith.class, project("id")).withOptions(options), AutogenerateableId.class,
+				Document.class) //
+				.doOnNext(it -> threads.add(Thread.currentThread().getName())) //
+				.map(it -> it.getInteger("value")) //
+				.as(StepVerifier::create) //
+				.expectNextSequence(IntStream.range(0, 100).boxed().collect(Collectors.toList())) //
+				.verifyComplete();
+
+		assertThat(threads).allMatch(it -> it.startsWith("parallel-"));
+	}
+
 	@Test // DATAMONGO-2390
 	void aggregateShouldApplyMaxTimeIfSet() {
 
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Unit tests for {@link ReadYourWritesRouting}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReadYourWritesRoutingUnitTests {
+
+	@Mock ClientSession session;
+	@Mock ClientSession writeSession;
+
+	AtomicLong clock = new AtomicLong();
+	ReadYourWritesRouting routing;
+
+	@BeforeEach
+	void setUp() {
+		routing = new ReadYourWritesRouting(ReadPreference.secondaryPreferred(), Duration.ofMillis(100), clock::get);
+	}
+
+	@Test
+	void routesReadsToDefaultReadPreferenceWithoutWrite() {
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+			assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.secondaryPreferred());
+		}
+	}
+
+	@Test
+	void pinsReadsToPrimaryWithinWindowAfterWrite() {
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			routing.onWrite(null);
+			clock.set(Duration.ofMillis(99).toNanos());
+
+			assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.primary());
+
+			clock.set(Duration.ofMillis(100).toNanos());
+
+			assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.secondaryPreferred());
+		}
+	}
+
+	@Test
+	void closingScopeDiscardsWrites() {
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+			routing.onWrite(null);
+		}
+
+		assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.secondaryPreferred());
+	}
+
+	@Test
+	void scopesAreBoundToThread() throws InterruptedException {
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			routing.onWrite(null);
+
+			ReadPreference[] other = new ReadPreference[1];
+			Thread thread = new Thread(() -> other[0] = routing.getReadPreference(null));
+			thread.start();
+			thread.join();
+
+			assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.primary());
+			assertThat(other[0]).isEqualTo(ReadPreference.secondaryPreferred());
+		}
+	}
+
+	@Test
+	void doesNotRecordWritesOutsideOfScope() {
+
+		routing.onWrite(writeSession);
+
+		assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.secondaryPreferred());
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+			assertThat(routing.getReadPreference(null)).isEqualTo(ReadPreference.secondaryPreferred());
+		}
+	}
+
+	@Test
+	void advancesCausallyConsistentSessionToOperationTimeOfWrite() {
+
+		BsonTimestamp operationTime = new BsonTimestamp(42, 1);
+		when(session.isCausallyConsistent()).thenReturn(true);
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			routing.onWrite(writeSession);
+			when(writeSession.getOperationTime()).thenReturn(operationTime);
+
+			assertThat(routing.getReadPreference(session)).isEqualTo(ReadPreference.secondaryPreferred());
+			verify(session).advanceOperationTime(operationTime);
+		}
+	}
+
+	@Test
+	void retainsLatestOperationTimeAcrossSessions() {
+
+		BsonTimestamp operationTime = new BsonTimestamp(42, 1);
+		when(session.isCausallyConsistent()).thenReturn(true);
+		when(writeSession.getOperationTime()).thenReturn(operationTime);
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			routing.onWrite(writeSession);
+			routing.onWrite(null);
+
+			assertThat(routing.getReadPreference(session)).isEqualTo(ReadPreference.secondaryPreferred());
+			verify(session).advanceOperationTime(operationTime);
+		}
+	}
+
+	@Test
+	void pinsReadsWithoutOperationTimeToPrimary() {
+
+		when(session.isCausallyConsistent()).thenReturn(true);
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			routing.onWrite(null);
+
+			assertThat(routing.getReadPreference(session)).isEqualTo(ReadPreference.primary());
+			verify(session, never()).advanceOperationTime(any());
+		}
+	}
+
+	@Test
+	void doesNotRouteReadsWithinTransaction() {
+
+		when(session.hasActiveTransaction()).thenReturn(true);
+
+		assertThat(routing.getReadPreference(session)).isNull();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void templateRoutesReadsFollowingWrites() {
+
+		MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+		MongoCollection<Document> collection = mock(MongoCollection.class);
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(collection.withReadPreference(any())).thenReturn(collection);
+
+		MongoTemplate template = new MongoTemplate(factory,
+				new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		template.setReadRouting(routing);
+
+		try (ReadYourWritesRouting.Scope scope = routing.openScope()) {
+
+			template.prepareCollection(collection);
+			verify(collection).withReadPreference(ReadPreference.secondaryPreferred());
+
+			template.prepareWriteConcern(
+					new MongoAction(null, MongoActionOperation.INSERT, "person", Document.class, new Document(), null));
+			template.prepareCollection(collection);
+
+			verify(collection).withReadPreference(ReadPreference.primary());
+		}
+	}
+}
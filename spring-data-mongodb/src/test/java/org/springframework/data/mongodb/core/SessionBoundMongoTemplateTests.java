@@ -34,15 +34,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import org.aopalliance.aop.Advice;
 import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
-import org.springframework.aop.Advisor;
-import org.springframework.aop.framework.Advised;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.geo.Point;
@@ -124,18 +121,13 @@ public class SessionBoundMongoTemplateTests {
 
 				InvocationHandler handler = Proxy.getInvocationHandler(collection);
 
-				Advised advised = (Advised) ReflectionTestUtils.getField(handler, "advised");
+				if (handler instanceof SessionAwareMethodInterceptor) {
 
-				for (Advisor advisor : advised.getAdvisors()) {
-					Advice advice = advisor.getAdvice();
-					if (advice instanceof SessionAwareMethodInterceptor) {
+					MongoCollection<Document> spiedCollection = Mockito
+							.spy((MongoCollection<Document>) ReflectionTestUtils.getField(handler, "target"));
+					spiedCollections.add(spiedCollection);
 
-						MongoCollection<Document> spiedCollection = Mockito
-								.spy((MongoCollection<Document>) ReflectionTestUtils.getField(advice, "target"));
-						spiedCollections.add(spiedCollection);
-
-						ReflectionTestUtils.setField(advice, "target", spiedCollection);
-					}
+					ReflectionTestUtils.setField(handler, "target", spiedCollection);
 				}
 			}
 		};
@@ -26,8 +26,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.SessionAwareMethodInterceptor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.mongodb.ConnectionString;
@@ -97,10 +97,8 @@ class SimpleMongoClientDatabaseFactoryUnitTests {
 
 		InvocationHandler invocationHandler = Proxy.getInvocationHandler(wrapped.getMongoDatabase());
 
-		Object singletonTarget = AopProxyUtils
-				.getSingletonTarget(ReflectionTestUtils.getField(invocationHandler, "advised"));
-
-		assertThat(singletonTarget).isSameAs(database);
+		assertThat(invocationHandler).isInstanceOf(SessionAwareMethodInterceptor.class);
+		assertThat(ReflectionTestUtils.getField(invocationHandler, "target")).isSameAs(database);
 	}
 
 	private void rejectsDatabaseName(String databaseName) {
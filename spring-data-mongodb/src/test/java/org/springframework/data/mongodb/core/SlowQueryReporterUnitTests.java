@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.json.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.SlowQueryReporter.ByteCountingCodec;
+import org.springframework.data.mongodb.core.SlowQueryReporter.Tracker;
+import org.springframework.data.mongodb.core.metrics.SlowQuery;
+import org.springframework.data.mongodb.core.metrics.SlowQueryCapture;
+import org.springframework.data.mongodb.core.metrics.SlowQueryEvent;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Unit tests for {@link SlowQueryReporter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SlowQueryReporterUnitTests {
+
+	@Mock MongoCollection<Document> collection;
+	@Mock MongoDatabaseFactory databaseFactory;
+	@Mock MongoDatabase database;
+	@Mock ApplicationEventPublisher publisher;
+
+	@BeforeEach
+	void setUp() {
+
+		when(collection.getCodecRegistry()).thenReturn(MongoClientSettings.getDefaultCodecRegistry());
+		when(collection.withCodecRegistry(any())).thenReturn(collection);
+	}
+
+	@Test
+	void shouldReportQueryExceedingThreshold() {
+
+		SlowQueryReporter reporter = new SlowQueryReporter(SlowQueryCapture.threshold(Duration.ZERO), databaseFactory);
+
+		Tracker tracker = reporter.start(collection);
+		assertThat(tracker.<Object> convert(new Document("_id", 1), it -> "converted")).isEqualTo("converted");
+		assertThat(tracker.<Object> convert(null, it -> null)).isNull();
+		assertThat(tracker.stop()).isTrue();
+
+		tracker.report("person", new Document("lastname", "white"), new Document("age", 1), new Document(), publisher);
+
+		SlowQuery slowQuery = captureSlowQuery();
+		assertThat(slowQuery.getCollectionName()).isEqualTo("person");
+		assertThat(slowQuery.getFilter()).isEqualTo(new Document("lastname", "white"));
+		assertThat(slowQuery.getSort()).isEqualTo(new Document("age", 1));
+		assertThat(slowQuery.getDocumentCount()).isOne();
+		assertThat(slowQuery.getBytesReceived()).isZero();
+		assertThat(slowQuery.getPlan()).isNull();
+		verifyNoInteractions(databaseFactory);
+	}
+
+	@Test
+	void shouldNotReportQueryBelowThreshold() {
+
+		SlowQueryReporter reporter = new SlowQueryReporter(SlowQueryCapture.threshold(Duration.ofDays(1)),
+				databaseFactory);
+
+		assertThat(reporter.start(collection).stop()).isFalse();
+	}
+
+	@Test
+	void shouldExplainSlowQuery() {
+
+		Document winningPlan = new Document("stage", "FETCH").append("inputStage",
+				new Document("stage", "IXSCAN").append("indexName", "lastname_1"));
+
+		when(databaseFactory.getMongoDatabase()).thenReturn(database);
+		when(database.runCommand(any(Document.class)))
+				.thenReturn(new Document("queryPlanner", new Document("winningPlan", winningPlan)));
+
+		SlowQueryReporter reporter = new SlowQueryReporter(
+				SlowQueryCapture.threshold(Duration.ZERO).explainWith(Runnable::run), databaseFactory);
+
+		Tracker tracker = reporter.start(collection);
+		tracker.stop();
+		tracker.report("person", new Document("lastname", "white"), new Document(), new Document(), publisher);
+
+		ArgumentCaptor<Document> command = ArgumentCaptor.forClass(Document.class);
+		verify(database).runCommand(command.capture());
+		assertThat(command.getValue()).containsEntry("explain",
+				new Document("find", "person").append("filter", new Document("lastname", "white")));
+
+		SlowQuery slowQuery = captureSlowQuery();
+		assertThat(slowQuery.getPlan()).isEqualTo(winningPlan);
+		assertThat(slowQuery.getPlanSummary()).isEqualTo("FETCH <- IXSCAN(lastname_1)");
+	}
+
+	@Test
+	void shouldReportWithoutPlanIfExplainFails() {
+
+		when(databaseFactory.getMongoDatabase()).thenReturn(database);
+		when(database.runCommand(any(Document.class))).thenThrow(new IllegalStateException());
+
+		SlowQueryReporter reporter = new SlowQueryReporter(
+				SlowQueryCapture.threshold(Duration.ZERO).explainWith(Runnable::run), databaseFactory);
+
+		Tracker tracker = reporter.start(collection);
+		tracker.stop();
+		tracker.report("person", new Document(), new Document(), new Document(), publisher);
+
+		assertThat(captureSlowQuery().getPlan()).isNull();
+	}
+
+	@Test
+	void byteCountingCodecShouldCountDecodedBytes() {
+
+		RawBsonDocument raw = new RawBsonDocument(new Document("name", "Walter").append("age", 50), new DocumentCodec());
+		ByteCountingCodec codec = new ByteCountingCodec(new DocumentCodec());
+
+		Document decoded = codec.decode(new BsonBinaryReader(raw.getByteBuffer().asNIO()),
+				DecoderContext.builder().build());
+
+		assertThat(decoded).containsEntry("name", "Walter");
+		assertThat(codec.getBytes()).isEqualTo(raw.getByteBuffer().remaining());
+	}
+
+	@Test
+	void byteCountingCodecShouldReportUnknownBytesForNonBinaryReader() {
+
+		ByteCountingCodec codec = new ByteCountingCodec(new DocumentCodec());
+
+		codec.decode(new JsonReader("{ 'name' : 'Walter' }"), DecoderContext.builder().build());
+
+		assertThat(codec.getBytes()).isEqualTo(-1);
+	}
+
+	private SlowQuery captureSlowQuery() {
+
+		ArgumentCaptor<SlowQueryEvent> event = ArgumentCaptor.forClass(SlowQueryEvent.class);
+		verify(publisher).publishEvent(event.capture());
+
+		return event.getValue().getSource();
+	}
+}
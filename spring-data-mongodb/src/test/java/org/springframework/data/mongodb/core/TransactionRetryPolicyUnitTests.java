@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+
+import com.mongodb.MongoException;
+
+/**
+ * Unit tests for {@link TransactionRetryPolicy}.
+ */
+class TransactionRetryPolicyUnitTests {
+
+	@Test
+	void backsOffExponentiallyUpToMaximum() {
+
+		TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy()
+				.backoff(Duration.ofMillis(10), Duration.ofMillis(50)).jitter(0.5);
+
+		assertThat(policy.getBackoff(1, 0)).isEqualTo(Duration.ofMillis(10));
+		assertThat(policy.getBackoff(2, 0)).isEqualTo(Duration.ofMillis(20));
+		assertThat(policy.getBackoff(3, 0)).isEqualTo(Duration.ofMillis(40));
+		assertThat(policy.getBackoff(4, 0)).isEqualTo(Duration.ofMillis(50));
+		assertThat(policy.getBackoff(Integer.MAX_VALUE, 0)).isEqualTo(Duration.ofMillis(50));
+	}
+
+	@Test
+	void appliesJitter() {
+
+		TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy()
+				.backoff(Duration.ofMillis(100), Duration.ofSeconds(1)).jitter(0.5);
+
+		assertThat(policy.getBackoff(1, 1)).isEqualTo(Duration.ofMillis(50));
+		assertThat(policy.getBackoff(1, 0.5)).isEqualTo(Duration.ofMillis(75));
+		assertThat(policy.getBackoff(1)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+	}
+
+	@Test
+	void retriesTransactionOnTransientErrorLabel() {
+
+		MongoException error = new MongoException("WriteConflict");
+		error.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		DataAccessException translated = new DataAccessException("translated", error) {};
+
+		TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy().maxAttempts(2);
+
+		assertThat(policy.shouldRetryTransaction(1, translated)).isTrue();
+		assertThat(policy.shouldRetryTransaction(2, translated)).isFalse();
+		assertThat(policy.shouldRetryCommit(1, translated)).isFalse();
+		assertThat(policy.shouldRetryTransaction(1, new MongoException("other"))).isFalse();
+	}
+
+	@Test
+	void retriesCommitOnUnknownCommitResultLabel() {
+
+		MongoException error = new MongoException("NetworkTimeout");
+		error.addLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+
+		TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy();
+
+		assertThat(policy.shouldRetryCommit(1, error)).isTrue();
+		assertThat(policy.shouldRetryCommit(3, error)).isFalse();
+		assertThat(policy.shouldRetryTransaction(1, error)).isFalse();
+		assertThat(TransactionRetryPolicy.noRetry().shouldRetryCommit(1, error)).isFalse();
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+
+		TransactionRetryPolicy policy = TransactionRetryPolicy.defaultPolicy();
+
+		assertThatIllegalArgumentException().isThrownBy(() -> policy.maxAttempts(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> policy.jitter(1.5));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> policy.backoff(Duration.ofSeconds(1), Duration.ofMillis(1)));
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.test.util.Assertions.*;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.aggregation.AggregationPipelineOptimizer.Optimization;
+import org.springframework.data.mongodb.core.aggregation.AggregationPipelineOptimizer.RewriteType;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+/**
+ * Unit tests for {@link AggregationPipelineOptimizer}.
+ */
+class AggregationPipelineOptimizerUnitTests {
+
+	@Test
+	void mergesAdjacentMatches() {
+
+		Optimization optimization = optimize(match(where("status").is("A")), match(where("total").gt(10)),
+				match(where("status").ne("B")));
+
+		assertThat(render(optimization)).containsExactly(Document.parse(
+				"{ $match : { $and : [ { status : 'A', total : { $gt : 10 } }, { status : { $ne : 'B' } } ] } }"));
+		assertThat(optimization.getRewrites()).extracting("type").containsExactly(RewriteType.MERGE_MATCH,
+				RewriteType.MERGE_MATCH);
+	}
+
+	@Test
+	void movesMatchAheadOfLookupAndUnwind() {
+
+		Optimization optimization = optimize(lookup("customers", "customerId", "_id", "customer"), unwind("items"),
+				match(where("status").is("A")));
+
+		assertThat(render(optimization)).extracting(it -> it.keySet().iterator().next()).containsExactly("$match",
+				"$lookup", "$unwind");
+		assertThat(optimization.getRewrites()).extracting("type").containsExactly(RewriteType.MOVE_MATCH,
+				RewriteType.MOVE_MATCH);
+	}
+
+	@Test
+	void retainsMatchOnFieldsIntroducedByPrecedingStage() {
+
+		Optimization optimization = optimize(lookup("customers", "customerId", "_id", "customer"),
+				match(where("customer.name").is("Walter")), unwind("items"), match(where("items.sku").is("x")));
+
+		assertThat(render(optimization)).extracting(it -> it.keySet().iterator().next()).containsExactly("$lookup",
+				"$match", "$unwind", "$match");
+		assertThat(optimization.isRewritten()).isFalse();
+	}
+
+	@Test
+	void retainsMatchWithUnknownOperators() {
+
+		Optimization optimization = optimize(unwind("items"),
+				match(TextCriteria.forDefaultLanguage().matching("coffee")));
+
+		assertThat(optimization.isRewritten()).isFalse();
+	}
+
+	@Test
+	void movesMatchAheadOfProjectionRetainingFields() {
+
+		Optimization optimization = optimize(project("status", "total"),
+				match(new Criteria().orOperator(where("status").is("A"), where("_id").is(1))));
+
+		assertThat(render(optimization)).extracting(it -> it.keySet().iterator().next()).containsExactly("$match",
+				"$project");
+	}
+
+	@Test
+	void retainsMatchOnComputedProjectionFields() {
+
+		Optimization optimization = optimize(project("total").and("state").as("status"),
+				match(where("status").is("A")));
+
+		assertThat(optimization.isRewritten()).isFalse();
+	}
+
+	@Test
+	void movesLimitAheadOfLookupOnly() {
+
+		Optimization optimization = optimize(unwind("items"), lookup("customers", "customerId", "_id", "customer"),
+				limit(10));
+
+		assertThat(render(optimization)).extracting(it -> it.keySet().iterator().next()).containsExactly("$unwind",
+				"$limit", "$lookup");
+		assertThat(optimization.getRewrites()).extracting("type").containsExactly(RewriteType.MOVE_LIMIT);
+	}
+
+	@Test
+	void removesSortPrecedingOrderInsensitiveGroup() {
+
+		Optimization optimization = optimize(sort(Direction.ASC, "date"), group("customerId").sum("total").as("total"));
+
+		assertThat(render(optimization)).extracting(it -> it.keySet().iterator().next()).containsExactly("$group");
+		assertThat(optimization.getRewrites()).extracting("type").containsExactly(RewriteType.REMOVE_SORT);
+	}
+
+	@Test
+	void retainsSortPrecedingOrderSensitiveGroup() {
+
+		Optimization optimization = optimize(sort(Direction.ASC, "date"),
+				group("customerId").sum("total").as("total").first("date").as("firstOrder"));
+
+		assertThat(optimization.isRewritten()).isFalse();
+	}
+
+	@Test
+	void explainsRewrites() {
+
+		Optimization optimization = optimize(unwind("items"), match(where("status").is("A")),
+				match(where("total").gt(10)));
+
+		assertThat(optimization.explain()).isEqualTo(String.join(System.lineSeparator(),
+				"1. MOVE_MATCH: Moved $match at position 1 ahead of $unwind at position 0",
+				"2. MOVE_MATCH: Moved $match at position 2 ahead of $unwind at position 1",
+				"3. MERGE_MATCH: Merged $match stages at positions 0 and 1"));
+		assertThat(optimize(unwind("items")).explain()).isEqualTo("No rewrites applied.");
+	}
+
+	@Test
+	void optimizesTypedAggregation() {
+
+		TypedAggregation<Object> aggregation = newAggregation(Object.class, unwind("items"),
+				match(where("status").is("A"))).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+		TypedAggregation<Object> optimized = aggregation.optimize();
+
+		assertThat(optimized.getInputType()).isEqualTo(Object.class);
+		assertThat(optimized.getOptions().isAllowDiskUse()).isTrue();
+		assertThat(optimized.toPipeline(DEFAULT_CONTEXT).get(0))
+				.isEqualTo(Document.parse("{ $match : { status : 'A' } }"));
+		assertThat(aggregation.toPipeline(DEFAULT_CONTEXT).get(0)).isEqualTo(Document.parse("{ $unwind : '$items' }"));
+	}
+
+	private static Optimization optimize(AggregationOperation... operations) {
+		return AggregationPipelineOptimizer.optimize(newAggregation(operations).getPipeline());
+	}
+
+	private static List<Document> render(Optimization optimization) {
+		return optimization.getPipeline().toDocuments(DEFAULT_CONTEXT);
+	}
+}
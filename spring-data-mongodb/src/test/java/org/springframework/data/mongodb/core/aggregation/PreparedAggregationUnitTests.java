@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.aggregation;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.test.util.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for {@link PreparedAggregation}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PreparedAggregationUnitTests {
+
+	MongoMappingContext context;
+	MappingMongoConverter converter;
+	QueryMapper mapper;
+	@Mock DbRefResolver dbRefResolver;
+
+	@BeforeEach
+	void setUp() {
+
+		this.context = new MongoMappingContext();
+		this.converter = new MappingMongoConverter(dbRefResolver, context);
+		this.mapper = new QueryMapper(converter);
+	}
+
+	@Test
+	void bindsParametersIntoMappedPipeline() {
+
+		PreparedAggregation<Order> prepared = prepare(newAggregation(Order.class,
+				match(where("status").is(parameter("status")).and("total").gte(parameter("minTotal"))),
+				group("customerId").count().as("count")));
+
+		assertThat(prepared.getParameterNames()).containsExactly("status", "minTotal");
+
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("status", Status.SHIPPED);
+		parameters.put("minTotal", 10);
+
+		List<Document> pipeline = prepared.bind(parameters).toPipeline(DEFAULT_CONTEXT);
+
+		assertThat(pipeline.get(0))
+				.isEqualTo(Document.parse("{ $match : { 'order_status' : 'SHIPPED', total : { $gte : 10 } } }"));
+		assertThat(pipeline.get(1))
+				.isEqualTo(Document.parse("{ $group : { _id : '$customer_id', count : { $sum : 1 } } }"));
+	}
+
+	@Test
+	void sharesStagesWithoutParameters() {
+
+		PreparedAggregation<Order> prepared = prepare(newAggregation(Order.class,
+				match(where("status").is(parameter("status"))), group("customerId").count().as("count")));
+
+		List<Document> first = prepared.bind(Collections.singletonMap("status", "NEW")).toPipeline(DEFAULT_CONTEXT);
+		List<Document> second = prepared.bind(Collections.singletonMap("status", "SHIPPED"))
+				.toPipeline(DEFAULT_CONTEXT);
+
+		assertThat(first.get(0)).isNotSameAs(second.get(0));
+		assertThat(first.get(0)).isEqualTo(Document.parse("{ $match : { 'order_status' : 'NEW' } }"));
+		assertThat(second.get(0)).isEqualTo(Document.parse("{ $match : { 'order_status' : 'SHIPPED' } }"));
+		assertThat(first.get(1)).isSameAs(second.get(1));
+		assertThat(prepared.getPipeline().get(0)).containsEntry("$match.order_status", parameter("status"));
+	}
+
+	@Test
+	void expandsCollectionBoundToArrayElement() {
+
+		PreparedAggregation<Order> prepared = prepare(
+				newAggregation(Order.class, match(where("status").in(parameter("states")))));
+
+		List<Document> pipeline = prepared.bind(Collections.singletonMap("states", Arrays.asList(Status.NEW, "X")))
+				.toPipeline(DEFAULT_CONTEXT);
+
+		assertThat(pipeline.get(0))
+				.isEqualTo(Document.parse("{ $match : { 'order_status' : { $in : ['NEW', 'X'] } } }"));
+	}
+
+	@Test
+	void convertsBoundValuesAccordingToMatchedProperty() {
+
+		PreparedAggregation<Order> prepared = prepare(newAggregation(Order.class,
+				match(where("id").is(parameter("id")).and("ownerId").in(parameter("owners"))),
+				group("customerId").count().as("count")));
+
+		ObjectId id = new ObjectId();
+		ObjectId owner = new ObjectId();
+
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("id", id.toHexString());
+		parameters.put("owners", Collections.singletonList(owner.toHexString()));
+
+		List<Document> pipeline = prepared.bind(parameters).toPipeline(DEFAULT_CONTEXT);
+
+		assertThat(pipeline.get(0)).isEqualTo(new Document("$match",
+				new Document("_id", id).append("ownerId", new Document("$in", Collections.singletonList(owner)))));
+	}
+
+	@Test
+	void retainsOptionsWithoutMapping() {
+
+		AggregationOptions options = AggregationOptions.builder().allowDiskUse(true).comment("dashboard").build();
+		PreparedAggregation<Order> prepared = prepare(
+				newAggregation(Order.class, match(where("status").is(parameter("status")))).withOptions(options));
+
+		TypedAggregation<Order> bound = prepared.bind(Collections.singletonMap("status", null));
+
+		assertThat(bound.getInputType()).isEqualTo(Order.class);
+		assertThat(bound.getOptions().isAllowDiskUse()).isTrue();
+		assertThat(bound.getOptions().getComment()).contains("dashboard");
+		assertThat(bound.getOptions().getDomainTypeMapping()).isEqualTo(AggregationOptions.DomainTypeMapping.NONE);
+		assertThat(bound.toPipeline(DEFAULT_CONTEXT).get(0)).isEqualTo(new Document("$match",
+				new Document("order_status", null)));
+	}
+
+	@Test
+	void rejectsMissingParameter() {
+
+		PreparedAggregation<Order> prepared = prepare(
+				newAggregation(Order.class, match(where("status").is(parameter("status")))));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> prepared.bind(Collections.emptyMap()))
+				.withMessageContaining("status");
+	}
+
+	private <I> PreparedAggregation<I> prepare(TypedAggregation<I> aggregation) {
+
+		List<Document> pipeline = aggregation
+				.toPipeline(new TypeBasedAggregationOperationContext(aggregation.getInputType(), context, mapper));
+
+		return new PreparedAggregation<>(aggregation, pipeline, converter);
+	}
+
+	enum Status {
+		NEW, SHIPPED
+	}
+
+	static class Order {
+
+		@Id String id;
+		@Field("order_status") Status status;
+		@Field("customer_id") String customerId;
+		@Field(targetType = FieldType.OBJECT_ID) String ownerId;
+		int total;
+	}
+}
@@ -18,6 +18,7 @@ package org.springframework.data.mongodb.core.aggregation;
 import static org.assertj.core.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
@@ -946,6 +947,31 @@ public class SpelExpressionTransformerUnitTests {
 		assertThat(transform("round(field, 2)")).isEqualTo(Document.parse("{ \"$round\" : [\"$field\", 2]}"));
 	}
 
+	@Test
+	void returnsCopyOfCachedExpression() {
+
+		Document first = (Document) transformer.transform("a + b", Aggregation.DEFAULT_CONTEXT);
+		first.get("$add", List.class).add("$c");
+
+		assertThat(transformer.transform("a + b", Aggregation.DEFAULT_CONTEXT))
+				.isEqualTo(Document.parse("{ \"$add\" : [ \"$a\" , \"$b\"]}"));
+	}
+
+	@Test
+	void bindsParametersToCachedExpression() {
+
+		assertThat(transform("[0] + 1", 2)).isEqualTo(Document.parse("{ \"$add\" : [ 2 , 1]}"));
+		assertThat(transform("[0] + 1", 5)).isEqualTo(Document.parse("{ \"$add\" : [ 5 , 1]}"));
+	}
+
+	@Test
+	void evaluatesConstructorReferencesForEachTransformation() {
+
+		Object first = transformer.transform("new java.util.Date()", Aggregation.DEFAULT_CONTEXT);
+
+		assertThat(transformer.transform("new java.util.Date()", Aggregation.DEFAULT_CONTEXT)).isNotSameAs(first);
+	}
+
 	private Object transform(String expression, Object... params) {
 		Object result = transformer.transform(expression, Aggregation.DEFAULT_CONTEXT, params);
 		return result == null ? null : (!(result instanceof org.bson.Document) ? result.toString() : result);
@@ -108,6 +108,27 @@ public class DocumentAccessorUnitTests {
 		assertThat(accessor.hasValue(entity.getRequiredPersistentProperty("name"))).isFalse();
 	}
 
+	@Test
+	void accessesDeeplyNestedField() {
+
+		MongoPersistentProperty property = context.getRequiredPersistentEntity(TypeWithDeepNesting.class)
+				.getRequiredPersistentProperty("value");
+
+		assertThat(property.getFieldNameSegments()).containsExactly("a", "b", "c")
+				.isSameAs(property.getFieldNameSegments());
+
+		Document target = new Document("a", new Document("x", 1));
+		DocumentAccessor accessor = new DocumentAccessor(target);
+
+		assertThat(accessor.hasValue(property)).isFalse();
+
+		accessor.put(property, "value");
+
+		assertThat(target).isEqualTo(Document.parse("{ a : { x : 1, b : { c : 'value' } } }"));
+		assertThat(accessor.hasValue(property)).isTrue();
+		assertThat(accessor.get(property)).isEqualTo("value");
+	}
+
 	static class ProjectingType {
 
 		String name;
@@ -126,4 +147,9 @@ public class DocumentAccessorUnitTests {
 		@Field("a.b") String b;
 		@Field("a.c") String c;
 	}
+
+	static class TypeWithDeepNesting {
+
+		@Field("a.b.c") String value;
+	}
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.index;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Unit tests for {@link MongoPersistentEntityIndexSynchronizer}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MongoPersistentEntityIndexSynchronizerUnitTests {
+
+	@Mock IndexOperationsProvider indexOperationsProvider;
+	@Mock IndexOperations personIndexOps;
+	@Mock IndexOperations orderIndexOps;
+	@Mock ApplicationEventPublisher eventPublisher;
+
+	MongoMappingContext mappingContext;
+	MongoPersistentEntityIndexSynchronizer synchronizer;
+
+	@BeforeEach
+	void setUp() {
+
+		mappingContext = new MongoMappingContext();
+		mappingContext.setInitialEntitySet(new HashSet<>(Arrays.asList(Person.class, Order.class)));
+		mappingContext.initialize();
+
+		when(indexOperationsProvider.indexOps("person")).thenReturn(personIndexOps);
+		when(indexOperationsProvider.indexOps("order")).thenReturn(orderIndexOps);
+
+		when(personIndexOps.getIndexInfo())
+				.thenReturn(Arrays.asList(indexInfo("_id_", "_id", false), indexInfo("lastname", "lastname", false)));
+		when(personIndexOps.ensureIndexes(any())).thenReturn(Collections.singletonList("firstname"));
+		when(orderIndexOps.getIndexInfo()).thenReturn(
+				Arrays.asList(indexInfo("_id_", "_id", false), indexInfo("customerId_1", "customerId", false)));
+
+		synchronizer = new MongoPersistentEntityIndexSynchronizer(mappingContext, indexOperationsProvider);
+		synchronizer.setApplicationEventPublisher(eventPublisher);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void createsOnlyMissingIndexes() {
+
+		IndexSynchronizationResult result = synchronizer.synchronize().join();
+
+		ArgumentCaptor<List<IndexDefinition>> captor = ArgumentCaptor.forClass(List.class);
+		verify(personIndexOps).ensureIndexes(captor.capture());
+		verify(orderIndexOps, never()).ensureIndexes(any());
+
+		assertThat(captor.getValue()).hasSize(1);
+		assertThat(captor.getValue().get(0).getIndexOptions()).containsEntry("name", "firstname");
+		assertThat(result.getCreatedIndexes()).containsOnlyKeys("person")
+				.containsEntry("person", Collections.singletonList("firstname"));
+		assertThat(result.hasFailures()).isFalse();
+	}
+
+	@Test
+	void listsIndexesOncePerCollection() {
+
+		synchronizer.setExecutor(Runnable::run);
+		synchronizer.synchronize().join();
+
+		verify(personIndexOps).getIndexInfo();
+		verify(orderIndexOps).getIndexInfo();
+	}
+
+	@Test
+	void publishesCompletionEvent() {
+
+		synchronizer.setBlocking(false);
+		synchronizer.afterSingletonsInstantiated();
+
+		ArgumentCaptor<IndexSynchronizationCompletedEvent> captor = ArgumentCaptor
+				.forClass(IndexSynchronizationCompletedEvent.class);
+		verify(eventPublisher, timeout(5000)).publishEvent(captor.capture());
+
+		assertThat(captor.getValue().getResult().getCreatedIndexes()).containsOnlyKeys("person");
+	}
+
+	@Test
+	void capturesFailuresPerCollection() {
+
+		DataIntegrityViolationException exception = new DataIntegrityViolationException("conflict");
+		when(personIndexOps.ensureIndexes(any())).thenThrow(exception);
+
+		IndexSynchronizationResult result = synchronizer.synchronize().join();
+
+		assertThat(result.hasFailures()).isTrue();
+		assertThat(result.getFailures()).containsOnlyKeys("person").containsEntry("person", exception);
+	}
+
+	@Test
+	void blockingSynchronizationPropagatesFailure() {
+
+		when(personIndexOps.ensureIndexes(any())).thenThrow(new DataIntegrityViolationException("conflict"));
+
+		assertThatExceptionOfType(DataIntegrityViolationException.class)
+				.isThrownBy(() -> synchronizer.afterSingletonsInstantiated());
+	}
+
+	@Test
+	void failsOnIndexWithSameNameButDifferentOptions() {
+
+		when(personIndexOps.getIndexInfo())
+				.thenReturn(Collections.singletonList(indexInfo("lastname", "lastname", true)));
+
+		IndexSynchronizationResult result = synchronizer.synchronize().join();
+
+		assertThat(result.getFailures()).containsOnlyKeys("person");
+		assertThat(result.getFailures().get("person")).isInstanceOf(DataIntegrityViolationException.class)
+				.hasMessageContaining("lastname");
+		verify(personIndexOps, never()).ensureIndexes(any());
+	}
+
+	@Test
+	void comparesIndexKeysAndOptions() {
+
+		Index index = new Index().on("lastname", Direction.ASC).named("lastname");
+		IndexInfo existing = indexInfo("lastname", "lastname", false);
+
+		assertThat(MongoPersistentEntityIndexSynchronizer.isEquivalent(index, existing)).isTrue();
+		assertThat(MongoPersistentEntityIndexSynchronizer.isEquivalent(index.unique(), existing)).isFalse();
+		assertThat(MongoPersistentEntityIndexSynchronizer.isEquivalent(
+				new Index().on("lastname", Direction.DESC).named("lastname"), existing)).isFalse();
+		assertThat(MongoPersistentEntityIndexSynchronizer.isEquivalent(
+				new Index().on("lastname", Direction.ASC).named("lastname").expire(10), existing)).isFalse();
+	}
+
+	@Test
+	void derivesDefaultIndexName() {
+
+		Index index = new Index().on("lastname", Direction.ASC).on("age", Direction.DESC);
+		TextIndexDefinition textIndex = TextIndexDefinition.builder().onField("title").build();
+
+		assertThat(MongoPersistentEntityIndexSynchronizer.getIndexName(index)).isEqualTo("lastname_1_age_-1");
+		assertThat(MongoPersistentEntityIndexSynchronizer.getIndexName(index.named("custom"))).isEqualTo("custom");
+		assertThat(MongoPersistentEntityIndexSynchronizer.getIndexName(textIndex)).isEqualTo("title_text");
+	}
+
+	private static IndexInfo indexInfo(String name, String key, boolean unique) {
+		return new IndexInfo(Collections.singletonList(IndexField.create(key, Direction.ASC)), name, unique, false, "");
+	}
+
+	@Document
+	static class Person {
+
+		@Indexed String lastname;
+		@Indexed String firstname;
+	}
+
+	@Document
+	static class Order {
+
+		@Indexed(useGeneratedName = true) String customerId;
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.mapping.metadata;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mapping.model.SnakeCaseFieldNamingStrategy;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.util.ClassTypeInformation;
+
+/**
+ * Unit tests for {@link MappingMetadata} and {@link PrecomputedIndexResolver}.
+ */
+class MappingMetadataUnitTests {
+
+	static final String PACKAGE = MappingMetadataUnitTests.class.getPackage().getName();
+
+	MongoMappingContext mappingContext;
+
+	@BeforeEach
+	void setUp() {
+
+		mappingContext = new MongoMappingContext();
+		mappingContext.setInitialEntitySet(
+				new HashSet<>(Arrays.asList(Person.class, WithCollectionExpression.class, WithIndexExpression.class)));
+		mappingContext.afterPropertiesSet();
+	}
+
+	@Test
+	void shouldRoundTripMetadata() throws Exception {
+
+		MappingMetadata metadata = metadata();
+
+		StringWriter writer = new StringWriter();
+		metadata.write(writer);
+
+		MappingMetadata read = MappingMetadata.read(new StringReader(writer.toString()));
+
+		assertThat(read.getEntityTypes(PACKAGE, getClass().getClassLoader())).containsExactlyInAnyOrder(Person.class,
+				WithCollectionExpression.class, WithIndexExpression.class);
+
+		MappingMetadata.PersistentEntityMetadata entity = read.getEntity(Person.class);
+
+		assertThat(entity).isNotNull();
+		assertThat(entity.hasIndexDefinitions()).isTrue();
+
+		List<IndexDefinitionHolder> indexes = entity.getIndexDefinitions();
+
+		assertThat(indexes).hasSize(1);
+		assertThat(indexes.get(0).getCollection()).isEqualTo("person");
+		assertThat(indexes.get(0).getIndexKeys()).isEqualTo(new Document("last_name", 1));
+		assertThat(indexes.get(0).getIndexOptions()).containsEntry("name", "last_name");
+		assertThat(read.isCompatibleWith(mappingContext)).isTrue();
+	}
+
+	@Test
+	void shouldNotBeCompatibleWithDifferentFieldNamingStrategy() {
+
+		MongoMappingContext runtimeContext = new MongoMappingContext();
+		runtimeContext.setFieldNamingStrategy(new SnakeCaseFieldNamingStrategy());
+
+		assertThat(metadata().isCompatibleWith(runtimeContext)).isFalse();
+	}
+
+	@Test
+	void createsReflectiveIndexResolverForIncompatibleMetadata() {
+
+		MongoMappingContext runtimeContext = new MongoMappingContext();
+		runtimeContext.setFieldNamingStrategy(new SnakeCaseFieldNamingStrategy());
+
+		assertThat(PrecomputedIndexResolver.create(runtimeContext, metadata()))
+				.isNotInstanceOf(PrecomputedIndexResolver.class);
+		assertThat(PrecomputedIndexResolver.create(mappingContext, metadata()))
+				.isInstanceOf(PrecomputedIndexResolver.class);
+	}
+
+	@Test
+	void shouldCoverGeneratedPackagesOnly() {
+
+		MappingMetadata metadata = metadata();
+
+		assertThat(metadata.covers(PACKAGE)).isTrue();
+		assertThat(metadata.covers(PACKAGE + ".nested")).isTrue();
+		assertThat(metadata.covers("org.springframework.data.mongodb.core.mapping")).isFalse();
+		assertThat(metadata.getEntityTypes("org.springframework.data.mongodb.core.index", getClass().getClassLoader()))
+				.isEmpty();
+	}
+
+	@Test
+	void shouldNotPrecomputeIndexesDependingOnExpressions() {
+
+		MappingMetadata metadata = metadata();
+
+		assertThat(metadata.getEntity(WithCollectionExpression.class).hasIndexDefinitions()).isFalse();
+		assertThat(metadata.getEntity(WithIndexExpression.class).hasIndexDefinitions()).isFalse();
+	}
+
+	@Test
+	void precomputedIndexResolverDelegatesForExpressionDependentTypes() {
+
+		IndexResolver delegate = mock(IndexResolver.class);
+
+		PrecomputedIndexResolver resolver = new PrecomputedIndexResolver(metadata(), delegate);
+		resolver.resolveIndexFor(ClassTypeInformation.from(WithCollectionExpression.class));
+
+		verify(delegate).resolveIndexFor(ClassTypeInformation.from(WithCollectionExpression.class));
+	}
+
+	@Test
+	void readRejectsUnsupportedVersion() {
+
+		assertThatIllegalStateException()
+				.isThrownBy(() -> MappingMetadata.read(new StringReader("{ \"version\" : 42, \"entities\" : [] }")));
+	}
+
+	@Test
+	void precomputedIndexResolverServesIndexesFromMetadata() {
+
+		MappingMetadata metadata = metadata();
+		IndexResolver delegate = mock(IndexResolver.class);
+
+		PrecomputedIndexResolver resolver = new PrecomputedIndexResolver(metadata, delegate);
+
+		Iterable<? extends IndexDefinition> indexes = resolver.resolveIndexFor(ClassTypeInformation.from(Person.class));
+
+		assertThat(indexes).hasSize(1);
+		verifyNoInteractions(delegate);
+	}
+
+	@Test
+	void precomputedIndexResolverDelegatesForUnknownTypes() {
+
+		MappingMetadata metadata = metadata();
+		IndexResolver delegate = mock(IndexResolver.class);
+
+		PrecomputedIndexResolver resolver = new PrecomputedIndexResolver(metadata, delegate);
+		resolver.resolveIndexFor(ClassTypeInformation.from(Unknown.class));
+
+		verify(delegate).resolveIndexFor(ClassTypeInformation.from(Unknown.class));
+	}
+
+	private MappingMetadata metadata() {
+		return MappingMetadata.of(mappingContext, IndexResolver.create(mappingContext), Collections.singleton(PACKAGE));
+	}
+
+	@org.springframework.data.mongodb.core.mapping.Document
+	static class Person {
+
+		@Id String id;
+		@Indexed @Field("last_name") String lastname;
+	}
+
+	@org.springframework.data.mongodb.core.mapping.Document("#{'persons'}")
+	static class WithCollectionExpression {
+
+		@Id String id;
+		@Indexed String lastname;
+	}
+
+	@org.springframework.data.mongodb.core.mapping.Document
+	static class WithIndexExpression {
+
+		@Id String id;
+		Nested nested;
+	}
+
+	static class Nested {
+		@Indexed(expireAfter = "#{@ttl}") String created;
+	}
+
+	static class Unknown {
+		String name;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DocumentMatcher}.
+ */
+class DocumentMatcherUnitTests {
+
+	Document walter = new Document("_id", "1").append("name", "Walter").append("age", 50) //
+			.append("address", new Document("city", "Albuquerque")) //
+			.append("tags", Arrays.asList("chemistry", "teacher"));
+
+	@Test
+	void matchesEquality() {
+
+		assertThat(matcher(new Document("name", "Walter")).matches(walter)).isTrue();
+		assertThat(matcher(new Document("name", "Jesse")).matches(walter)).isFalse();
+		assertThat(matcher(new Document("address.city", "Albuquerque")).matches(walter)).isTrue();
+		assertThat(matcher(new Document("tags", "teacher")).matches(walter)).isTrue();
+		assertThat(matcher(new Document("name", Pattern.compile("^Wal"))).matches(walter)).isTrue();
+		assertThat(matcher(new Document("nickname", null)).matches(walter)).isTrue();
+	}
+
+	@Test
+	void matchesComparisonOperators() {
+
+		assertThat(matcher(new Document("age", new Document("$gt", 49L))).matches(walter)).isTrue();
+		assertThat(matcher(new Document("age", new Document("$gte", 50.0).append("$lt", 51))).matches(walter)).isTrue();
+		assertThat(matcher(new Document("age", new Document("$lte", 49))).matches(walter)).isFalse();
+		assertThat(matcher(new Document("age", new Document("$gt", "40"))).matches(walter)).isFalse();
+		assertThat(matcher(new Document("name", new Document("$in", Arrays.asList("Walter", "Skyler"))))
+				.matches(walter)).isTrue();
+		assertThat(matcher(new Document("tags", new Document("$nin", Arrays.asList("teacher")))).matches(walter))
+				.isFalse();
+		assertThat(matcher(new Document("name", new Document("$ne", "Jesse"))).matches(walter)).isTrue();
+		assertThat(matcher(new Document("nickname", new Document("$exists", false))).matches(walter)).isTrue();
+	}
+
+	@Test
+	void matchesLogicalOperators() {
+
+		Document filter = new Document("$or",
+				Arrays.asList(new Document("name", "Jesse"), new Document("$and", Arrays.asList(new Document("age", 50),
+						new Document("$nor", Arrays.asList(new Document("address.city", "Santa Fe"))))))));
+
+		assertThat(matcher(filter).matches(walter)).isTrue();
+	}
+
+	@Test
+	void rejectsUnsupportedOperators() {
+
+		assertThat(DocumentMatcher.of(new Document("tags", new Document("$size", 2)))).isNull();
+		assertThat(DocumentMatcher.of(new Document("$where", "this.age > 40"))).isNull();
+		assertThat(DocumentMatcher.of(new Document("$or", Arrays.asList(new Document("$text", "walter"))))).isNull();
+	}
+
+	@Test
+	void cannotEvaluateArraysAlongPath() {
+
+		Document document = new Document("addresses", Arrays.asList(new Document("city", "Albuquerque")));
+
+		assertThat(matcher(new Document("addresses.city", "Albuquerque")).matches(document)).isNull();
+	}
+
+	private static DocumentMatcher matcher(Document filter) {
+
+		DocumentMatcher matcher = DocumentMatcher.of(filter);
+
+		assertThat(matcher).isNotNull();
+
+		return matcher;
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.messaging;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.messaging.Message.MessageProperties;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.ErrorHandler;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Unit tests for {@link MaterializedCollection}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MaterializedCollectionUnitTests {
+
+	@Mock MongoTemplate template;
+	@Mock MessageListenerContainer container;
+	@Mock Subscription subscription;
+
+	@BeforeEach
+	void setUp() throws InterruptedException {
+
+		when(template.getConverter())
+				.thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		when(template.getCollectionName(Person.class)).thenReturn("person");
+		when(container.register(any(), eq(Document.class), any())).thenReturn(subscription);
+		when(subscription.await(any())).thenReturn(true);
+		when(subscription.isActive()).thenReturn(true);
+	}
+
+	@Test
+	void loadsDocumentsAndServesLookups() {
+
+		stubLoad(person("1", "Walter", "White"), person("2", "Skyler", "White"), person("3", "Jesse", "Pinkman"));
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class) //
+				.index("lastname", it -> it.lastname) //
+				.start();
+
+		assertThat(people.size()).isEqualTo(3);
+		assertThat(people.get("1").firstname).isEqualTo("Walter");
+		assertThat(people.get("4")).isNull();
+		assertThat(people.query("lastname", "White")).extracting(it -> it.firstname).containsExactlyInAnyOrder("Walter",
+				"Skyler");
+		assertThat(people.query(it -> it.firstname.startsWith("J"))).extracting(it -> it.id).containsExactly("3");
+		assertThat(people.query("lastname", "Goodman")).isEmpty();
+	}
+
+	@Test
+	void registersChangeStreamBeforeLoading() {
+
+		stubLoad();
+
+		MaterializedCollection.builder(template, container, Person.class).collection("people").start();
+
+		ArgumentCaptor<ChangeStreamRequest<Document>> request = requestCaptor();
+		InOrder inOrder = inOrder(container, template);
+
+		inOrder.verify(container).register(request.capture(), eq(Document.class), any());
+		inOrder.verify(template).stream(any(Query.class), eq(Document.class), eq("people"));
+		assertThat(request.getValue().getRequestOptions().getCollectionName()).isEqualTo("people");
+	}
+
+	@Test
+	void appliesChangeEvents() {
+
+		stubLoad(person("1", "Walter", "White"));
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class) //
+				.index("lastname", it -> it.lastname) //
+				.start();
+
+		emit(event(OperationType.INSERT, "2", person("2", "Jesse", "Pinkman")));
+		emit(event(OperationType.UPDATE, "1", person("1", "Heisenberg", "Unknown")));
+
+		assertThat(people.get("2").firstname).isEqualTo("Jesse");
+		assertThat(people.query("lastname", "White")).isEmpty();
+		assertThat(people.query("lastname", "Unknown")).extracting(it -> it.firstname).containsExactly("Heisenberg");
+
+		emit(event(OperationType.DELETE, "1", null));
+
+		assertThat(people.get("1")).isNull();
+		assertThat(people.query("lastname", "Unknown")).isEmpty();
+		assertThat(people.size()).isOne();
+	}
+
+	@Test
+	void removesDocumentsLeavingFilteredSubset() {
+
+		stubLoad(person("1", "Walter", "White"));
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class) //
+				.filter(where("lastname").is("White")) //
+				.start();
+
+		ArgumentCaptor<Query> load = ArgumentCaptor.forClass(Query.class);
+		verify(template).stream(load.capture(), eq(Document.class), eq("person"));
+		assertThat(load.getValue().getQueryObject()).isEqualTo(new Document("last_name", "White"));
+
+		emit(event(OperationType.UPDATE, "1", person("1", "Walter", "Heisenberg")));
+		emit(event(OperationType.INSERT, "2", person("2", "Skyler", "White")));
+
+		assertThat(people.get("1")).isNull();
+		assertThat(people.get("2").firstname).isEqualTo("Skyler");
+		verify(template, never()).findOne(any(Query.class), eq(Document.class), any());
+	}
+
+	@Test
+	void looksUpDocumentsIfFilterCannotBeEvaluated() {
+
+		stubLoad(person("1", "Walter", "White"));
+		when(template.findOne(any(Query.class), eq(Document.class), eq("person"))).thenReturn(null);
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class) //
+				.filter(where("aliases").size(1)) //
+				.start();
+
+		emit(event(OperationType.UPDATE, "1", person("1", "Walter", "White")));
+
+		assertThat(people.get("1")).isNull();
+		verify(template).findOne(any(Query.class), eq(Document.class), eq("person"));
+	}
+
+	@Test
+	void resumesAfterLastResumeTokenOnFailure() {
+
+		stubLoad();
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class)
+				.start();
+
+		emit(event(OperationType.INSERT, "1", person("1", "Walter", "White")));
+		when(subscription.isActive()).thenReturn(false);
+		errorHandler().handleError(new MongoException("connection reset"));
+
+		ArgumentCaptor<ChangeStreamRequest<Document>> request = requestCaptor();
+		verify(container, times(2)).register(request.capture(), eq(Document.class), any());
+		verify(container).remove(subscription);
+		verify(template).stream(any(Query.class), eq(Document.class), eq("person"));
+
+		assertThat(request.getValue().getRequestOptions().getChangeStreamOptions().getResumeToken())
+				.contains(new BsonDocument("_data", new BsonString("1")));
+		assertThat(people.get("1")).isNotNull();
+	}
+
+	@Test
+	void reloadsIfHistoryLost() {
+
+		stubLoad(person("1", "Walter", "White"), person("2", "Jesse", "Pinkman"));
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class)
+				.start();
+
+		stubLoad(person("2", "Jesse", "Pinkman"));
+		when(subscription.isActive()).thenReturn(false);
+		errorHandler().handleError(new MongoException(286, "history lost"));
+
+		ArgumentCaptor<ChangeStreamRequest<Document>> request = requestCaptor();
+		verify(container, times(2)).register(request.capture(), eq(Document.class), any());
+
+		assertThat(request.getValue().getRequestOptions().getChangeStreamOptions().getResumeToken()).isEmpty();
+		assertThat(people.get("1")).isNull();
+		assertThat(people.get("2")).isNotNull();
+	}
+
+	@Test
+	void failsIfChangeStreamDoesNotStart() throws InterruptedException {
+
+		when(subscription.await(any())).thenReturn(false);
+
+		assertThatExceptionOfType(DataAccessResourceFailureException.class)
+				.isThrownBy(() -> MaterializedCollection.builder(template, container, Person.class) //
+						.startTimeout(Duration.ZERO) //
+						.start());
+	}
+
+	@Test
+	void cancelRemovesSubscription() {
+
+		stubLoad();
+
+		MaterializedCollection<Person> people = MaterializedCollection.builder(template, container, Person.class)
+				.start();
+		people.cancel();
+
+		verify(container).remove(subscription);
+		assertThat(people.isActive()).isFalse();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ArgumentCaptor<ChangeStreamRequest<Document>> requestCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(ChangeStreamRequest.class);
+	}
+
+	private void stubLoad(Document... documents) {
+		when(template.stream(any(Query.class), eq(Document.class), any())).thenReturn(iterator(documents));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void emit(ChangeStreamDocument<Document> event) {
+
+		ArgumentCaptor<ChangeStreamRequest<Document>> request = requestCaptor();
+		verify(container, atLeastOnce()).register(request.capture(), eq(Document.class), any());
+
+		MessageListener<ChangeStreamDocument<Document>, Document> listener = (MessageListener) request.getValue()
+				.getMessageListener();
+		listener.onMessage(new SimpleMessage<>(event, event.getFullDocument(), MessageProperties.empty()));
+	}
+
+	private ErrorHandler errorHandler() {
+
+		ArgumentCaptor<ErrorHandler> errorHandler = ArgumentCaptor.forClass(ErrorHandler.class);
+		verify(container).register(any(), eq(Document.class), errorHandler.capture());
+
+		return errorHandler.getValue();
+	}
+
+	private static ChangeStreamDocument<Document> event(OperationType operationType, String id,
+			Document fullDocument) {
+
+		return new ChangeStreamDocument<>(operationType, new BsonDocument("_data", new BsonString(id)), null, null,
+				fullDocument, new BsonDocument("_id", new BsonString(id)), null, null, null, null);
+	}
+
+	private static Document person(String id, String firstname, String lastname) {
+		return new Document("_id", id).append("firstname", firstname).append("last_name", lastname);
+	}
+
+	private static CloseableIterator<Document> iterator(Document... documents) {
+
+		Iterator<Document> iterator = Arrays.asList(documents).iterator();
+
+		return new CloseableIterator<Document>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Document next() {
+				return iterator.next();
+			}
+
+			@Override
+			public void close() {}
+		};
+	}
+
+	static class Person {
+
+		@Id String id;
+		String firstname;
+		@Field("last_name") String lastname;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.mongodb.core.metrics.HedgedReadObserver.ReadAttempt;
+
+/**
+ * Unit tests for {@link MicrometerHedgedReadObserver}.
+ */
+class MicrometerHedgedReadObserverUnitTests {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	MicrometerHedgedReadObserver observer = new MicrometerHedgedReadObserver(registry);
+
+	@Test
+	void shouldCountReadsAndHedgesByCollection() {
+
+		observer.onRead("person");
+		observer.onRead("person");
+		observer.onHedge("person");
+
+		assertThat(registry.get("spring.data.mongodb.hedged-reads.reads") //
+				.tag("collection", "person") //
+				.counter().count()).isEqualTo(2);
+		assertThat(registry.get("spring.data.mongodb.hedged-reads.hedges") //
+				.tag("collection", "person") //
+				.counter().count()).isOne();
+	}
+
+	@Test
+	void shouldCountWinsByAttempt() {
+
+		observer.onWin("person", ReadAttempt.INITIAL);
+		observer.onWin("person", ReadAttempt.HEDGE);
+		observer.onWin("person", ReadAttempt.HEDGE);
+
+		assertThat(registry.get("spring.data.mongodb.hedged-reads.wins") //
+				.tag("collection", "person") //
+				.tag("attempt", "initial") //
+				.counter().count()).isOne();
+		assertThat(registry.get("spring.data.mongodb.hedged-reads.wins") //
+				.tag("collection", "person") //
+				.tag("attempt", "hedge") //
+				.counter().count()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
+
+/**
+ * Unit tests for {@link MicrometerMongoOperationObserver}.
+ */
+class MicrometerMongoOperationObserverUnitTests {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	MicrometerMongoOperationObserver observer = new MicrometerMongoOperationObserver(registry);
+
+	@Test
+	void shouldRecordOperationTimer() {
+
+		observer.onOperation(OperationSample.of("find", "person", Person.class, Outcome.SUCCESS, null,
+				Duration.ofMillis(10)));
+
+		Timer timer = registry.get("spring.data.mongodb.operations") //
+				.tag("operation", "find") //
+				.tag("collection", "person") //
+				.tag("entity", Person.class.getName()) //
+				.tag("outcome", "success") //
+				.tag("exception", "none") //
+				.timer();
+
+		assertThat(timer.count()).isOne();
+		assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+		assertThat(registry.find("spring.data.mongodb.operations.phase").timers()).isEmpty();
+	}
+
+	@Test
+	void shouldRecordPhaseTimers() {
+
+		AtomicLong ticker = new AtomicLong();
+
+		OperationRecorder.observe(observer, "count", null, null, () -> {
+
+			OperationRecorder.enter(OperationPhase.SERVER);
+			ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(7));
+			OperationRecorder.exit();
+			return null;
+		}, ticker::get);
+
+		Timer server = registry.get("spring.data.mongodb.operations.phase") //
+				.tag("operation", "count") //
+				.tag("collection", "none") //
+				.tag("phase", "server") //
+				.timer();
+
+		assertThat(server.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(7);
+		assertThat(registry.find("spring.data.mongodb.operations.phase").tag("phase", "other").timer()).isNull();
+		assertThat(registry.find("spring.data.mongodb.operations.phase").tag("phase", "read_conversion").timer()).isNull();
+	}
+
+	@Test
+	void shouldTagErrors() {
+
+		observer.onOperation(OperationSample.of("insert", "person", Person.class, Outcome.ERROR,
+				new IllegalStateException(), Duration.ofMillis(1)));
+
+		assertThat(registry.get("spring.data.mongodb.operations").tag("outcome", "error")
+				.tag("exception", "IllegalStateException").timer().count()).isOne();
+	}
+
+	static class Person {}
+}
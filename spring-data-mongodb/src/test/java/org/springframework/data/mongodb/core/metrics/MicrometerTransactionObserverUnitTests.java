@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.metrics.TransactionObserver.RetryScope;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+
+/**
+ * Unit tests for {@link MicrometerTransactionObserver}.
+ */
+class MicrometerTransactionObserverUnitTests {
+
+	SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	MicrometerTransactionObserver observer = new MicrometerTransactionObserver(registry);
+
+	@Test
+	void shouldCountRetriesByScopeAndCodeName() {
+
+		MongoCommandException error = new MongoCommandException(
+				BsonDocument.parse("{ ok : 0, code : 112, codeName : 'WriteConflict', errmsg : 'conflict' }"),
+				new ServerAddress());
+
+		observer.onRetry(RetryScope.TRANSACTION, 1, new DataAccessException("translated", error) {});
+		observer.onRetry(RetryScope.TRANSACTION, 2, error);
+
+		assertThat(registry.get("spring.data.mongodb.transactions.retries") //
+				.tag("scope", "transaction") //
+				.tag("cause", "WriteConflict") //
+				.counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCountAbortsByErrorLabel() {
+
+		MongoException error = new MongoException("commit failed");
+		error.addLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+
+		observer.onAbort(error);
+		observer.onAbort(new IllegalStateException());
+
+		assertThat(registry.get("spring.data.mongodb.transactions.aborts") //
+				.tag("cause", "UnknownTransactionCommitResult") //
+				.counter().count()).isOne();
+		assertThat(registry.get("spring.data.mongodb.transactions.aborts") //
+				.tag("cause", "IllegalStateException") //
+				.counter().count()).isOne();
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
+
+/**
+ * Unit tests for {@link OperationRecorder}.
+ */
+class OperationRecorderUnitTests {
+
+	AtomicLong ticker = new AtomicLong();
+	List<OperationSample> samples = new ArrayList<>();
+
+	@Test
+	void shouldRecordExclusivePhaseDurations() {
+
+		Object result = OperationRecorder.observe(samples::add, "find", "person", Person.class, () -> {
+
+			ticker.addAndGet(1);
+
+			OperationRecorder.enter(OperationPhase.SERVER);
+			ticker.addAndGet(10);
+
+			OperationRecorder.enter(OperationPhase.READ_CONVERSION);
+			ticker.addAndGet(5);
+			OperationRecorder.exit();
+
+			ticker.addAndGet(10);
+			OperationRecorder.exit();
+
+			return "result";
+		}, ticker::get);
+
+		assertThat(result).isEqualTo("result");
+		assertThat(samples).hasSize(1);
+
+		OperationSample sample = samples.get(0);
+		assertThat(sample.getOperation()).isEqualTo("find");
+		assertThat(sample.getCollectionName()).isEqualTo("person");
+		assertThat(sample.getEntityType()).isEqualTo(Person.class);
+		assertThat(sample.getOutcome()).isEqualTo(Outcome.SUCCESS);
+		assertThat(sample.getDuration()).isEqualTo(Duration.ofNanos(26));
+		assertThat(sample.getPhaseDuration(OperationPhase.SERVER)).isEqualTo(Duration.ofNanos(20));
+		assertThat(sample.getPhaseDuration(OperationPhase.READ_CONVERSION)).isEqualTo(Duration.ofNanos(5));
+		assertThat(sample.getPhaseDuration(OperationPhase.QUERY_MAPPING)).isEqualTo(Duration.ZERO);
+		assertThat(sample.getUnattributedDuration()).isEqualTo(Duration.ofNanos(1));
+	}
+
+	@Test
+	void shouldAccountNestedOperationsToOutermostOperation() {
+
+		OperationRecorder.observe(samples::add, "findOne", "person", Person.class, () -> {
+
+			return OperationRecorder.observe(samples::add, "find", "person", Person.class, () -> {
+
+				OperationRecorder.enter(OperationPhase.QUERY_MAPPING);
+				ticker.addAndGet(3);
+				OperationRecorder.exit();
+				return null;
+			}, ticker::get);
+		}, ticker::get);
+
+		assertThat(samples).hasSize(1);
+		assertThat(samples.get(0).getOperation()).isEqualTo("findOne");
+		assertThat(samples.get(0).getPhaseDuration(OperationPhase.QUERY_MAPPING)).isEqualTo(Duration.ofNanos(3));
+	}
+
+	@Test
+	void shouldReportOperationsNestedInInvocation() {
+
+		OperationRecorder.observe(samples::add, "Repository.findByName(String)", "person", Person.class, () -> {
+
+			ticker.addAndGet(1);
+
+			OperationRecorder.enter(OperationPhase.PARAMETER_BINDING);
+			ticker.addAndGet(2);
+			OperationRecorder.exit();
+
+			assertThat(OperationRecorder.isRecording()).isFalse();
+
+			return OperationRecorder.observe(samples::add, "find", "person", Person.class, () -> {
+
+				assertThat(OperationRecorder.isRecording()).isTrue();
+
+				OperationRecorder.enter(OperationPhase.SERVER);
+				ticker.addAndGet(4);
+				OperationRecorder.exit();
+				return null;
+			}, ticker::get);
+		}, ticker::get, true);
+
+		assertThat(samples).extracting(OperationSample::getOperation).containsExactly("find",
+				"Repository.findByName(String)");
+
+		OperationSample operation = samples.get(0);
+		assertThat(operation.getDuration()).isEqualTo(Duration.ofNanos(4));
+		assertThat(operation.getPhaseDuration(OperationPhase.SERVER)).isEqualTo(Duration.ofNanos(4));
+
+		OperationSample invocation = samples.get(1);
+		assertThat(invocation.getDuration()).isEqualTo(Duration.ofNanos(7));
+		assertThat(invocation.getPhaseDuration(OperationPhase.PARAMETER_BINDING)).isEqualTo(Duration.ofNanos(2));
+		assertThat(invocation.getPhaseDuration(OperationPhase.SERVER)).isEqualTo(Duration.ofNanos(4));
+		assertThat(invocation.getUnattributedDuration()).isEqualTo(Duration.ofNanos(1));
+	}
+
+	@Test
+	void shouldRecordFailedOperation() {
+
+		IllegalStateException exception = new IllegalStateException("boom");
+
+		assertThatIllegalStateException().isThrownBy(() -> OperationRecorder.observe(samples::add, "insert", "person",
+				Person.class, () -> {
+					throw exception;
+				}, ticker::get));
+
+		assertThat(samples).hasSize(1);
+		assertThat(samples.get(0).getOutcome()).isEqualTo(Outcome.ERROR);
+		assertThat(samples.get(0).getError()).isSameAs(exception);
+		assertThat(OperationRecorder.isRecording()).isFalse();
+	}
+
+	@Test
+	void shouldNotRecordWithoutObserver() {
+
+		OperationRecorder.observe(null, "find", "person", Person.class, () -> {
+
+			assertThat(OperationRecorder.isRecording()).isFalse();
+			OperationRecorder.enter(OperationPhase.SERVER);
+			OperationRecorder.exit();
+			return null;
+		});
+
+		assertThat(samples).isEmpty();
+	}
+
+	@Test
+	void shouldIgnoreUnbalancedExit() {
+
+		OperationRecorder.observe(samples::add, "find", "person", Person.class, () -> {
+
+			OperationRecorder.exit();
+			ticker.addAndGet(2);
+			return null;
+		}, ticker::get);
+
+		assertThat(samples.get(0).getUnattributedDuration()).isEqualTo(Duration.ofNanos(2));
+	}
+
+	@Test
+	void shouldNotPropagateObserverFailure() {
+
+		Object result = OperationRecorder.observe(sample -> {
+			throw new IllegalStateException("observer failure");
+		}, "find", "person", Person.class, () -> "result", ticker::get);
+
+		assertThat(result).isEqualTo("result");
+	}
+
+	static class Person {}
+}
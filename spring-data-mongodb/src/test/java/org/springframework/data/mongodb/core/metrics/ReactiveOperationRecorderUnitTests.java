@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
+
+/**
+ * Unit tests for {@link ReactiveOperationRecorder}.
+ */
+class ReactiveOperationRecorderUnitTests {
+
+	List<OperationSample> samples = new ArrayList<>();
+
+	@Test
+	void shouldRecordCompletion() {
+
+		Flux<String> flux = ReactiveOperationRecorder.observe(samples::add, "find", "person", String.class,
+				Flux.just("a", "b"));
+
+		assertThat(samples).isEmpty();
+
+		flux.as(StepVerifier::create).expectNext("a", "b").verifyComplete();
+
+		assertThat(samples).hasSize(1);
+		assertThat(samples.get(0).getOperation()).isEqualTo("find");
+		assertThat(samples.get(0).getOutcome()).isEqualTo(Outcome.SUCCESS);
+		assertThat(samples.get(0).hasPhases()).isFalse();
+	}
+
+	@Test
+	void shouldRecordError() {
+
+		IllegalStateException exception = new IllegalStateException();
+
+		ReactiveOperationRecorder.observe(samples::add, "findOne", "person", String.class, Mono.error(exception)) //
+				.as(StepVerifier::create) //
+				.verifyError(IllegalStateException.class);
+
+		assertThat(samples).hasSize(1);
+		assertThat(samples.get(0).getOutcome()).isEqualTo(Outcome.ERROR);
+		assertThat(samples.get(0).getError()).isSameAs(exception);
+	}
+
+	@Test
+	void shouldRecordCancellation() {
+
+		ReactiveOperationRecorder.observe(samples::add, "find", "person", String.class, Flux.just("a", "b")) //
+				.as(it -> StepVerifier.create(it, 1)) //
+				.expectNext("a") //
+				.thenCancel() //
+				.verify();
+
+		assertThat(samples).hasSize(1);
+		assertThat(samples.get(0).getOutcome()).isEqualTo(Outcome.CANCELLED);
+	}
+
+	@Test
+	void shouldRecordEachSubscription() {
+
+		Mono<String> mono = ReactiveOperationRecorder.observe(samples::add, "findOne", "person", String.class,
+				Mono.just("a"));
+
+		mono.as(StepVerifier::create).expectNext("a").verifyComplete();
+		mono.as(StepVerifier::create).expectNext("a").verifyComplete();
+
+		assertThat(samples).hasSize(2);
+	}
+
+	@Test
+	void shouldReturnSourceWithoutObserver() {
+
+		Mono<String> source = Mono.just("a");
+
+		assertThat(ReactiveOperationRecorder.observe(null, "findOne", "person", String.class, source)).isSameAs(source);
+	}
+}
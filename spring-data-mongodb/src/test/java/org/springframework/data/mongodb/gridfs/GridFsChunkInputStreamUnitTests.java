@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.gridfs.GridFsChunkInputStream.ChunkReader;
+import org.springframework.util.StreamUtils;
+
+import com.mongodb.MongoGridFSException;
+
+/**
+ * Unit tests for {@link GridFsChunkInputStream}.
+ */
+class GridFsChunkInputStreamUnitTests {
+
+	static final int CHUNK_SIZE = 10;
+
+	byte[] content = createContent(95);
+	List<String> fetched = new CopyOnWriteArrayList<>();
+
+	ChunkReader reader = (from, to) -> {
+
+		fetched.add(from + "-" + to);
+
+		List<byte[]> chunks = new ArrayList<>();
+		for (long chunkIndex = from; chunkIndex < to; chunkIndex++) {
+
+			int offset = (int) chunkIndex * CHUNK_SIZE;
+			chunks.add(Arrays.copyOfRange(content, offset, Math.min(content.length, offset + CHUNK_SIZE)));
+		}
+
+		return chunks;
+	};
+
+	@Test
+	void readsEntireContent() throws IOException {
+
+		GridFsChunkInputStream stream = new GridFsChunkInputStream(reader, Runnable::run, CHUNK_SIZE, 4, 2, 0,
+				content.length);
+
+		assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(content);
+		assertThat(fetched).containsExactly("0-4", "4-8", "8-10");
+	}
+
+	@Test
+	void readsRangeFetchingCoveringChunksOnly() throws IOException {
+
+		GridFsChunkInputStream stream = new GridFsChunkInputStream(reader, Runnable::run, CHUNK_SIZE, 4, 2, 25, 47);
+
+		assertThat(StreamUtils.copyToByteArray(stream)).isEqualTo(Arrays.copyOfRange(content, 25, 47));
+		assertThat(fetched).containsExactly("2-5");
+	}
+
+	@Test
+	void doesNotFetchBeforeFirstRead() {
+
+		new GridFsChunkInputStream(reader, Runnable::run, CHUNK_SIZE, 4, 2, 0, content.length);
+
+		assertThat(fetched).isEmpty();
+	}
+
+	@Test
+	void prefetchesBoundedNumberOfChunkRanges() throws IOException {
+
+		GridFsChunkInputStream stream = new GridFsChunkInputStream(reader, Runnable::run, CHUNK_SIZE, 2, 2, 0,
+				content.length);
+
+		assertThat(stream.read()).isEqualTo(content[0]);
+		assertThat(fetched).containsExactly("0-2", "2-4", "4-6");
+	}
+
+	@Test
+	void skipsChunks() throws IOException {
+
+		GridFsChunkInputStream stream = new GridFsChunkInputStream(reader, Runnable::run, CHUNK_SIZE, 2, 1, 0,
+				content.length);
+
+		assertThat(stream.read()).isEqualTo(content[0]);
+		assertThat(stream.skip(14)).isEqualTo(14);
+		assertThat(stream.read()).isEqualTo(content[15]);
+		assertThat(stream.skip(39)).isEqualTo(39);
+		assertThat(stream.read()).isEqualTo(content[55]);
+		assertThat(stream.skip(1000)).isEqualTo(39);
+		assertThat(stream.read()).isEqualTo(-1);
+		assertThat(fetched).containsExactly("0-2", "2-4", "5-7", "7-9");
+	}
+
+	@Test
+	void propagatesFetchErrors() {
+
+		GridFsChunkInputStream stream = new GridFsChunkInputStream((from, to) -> {
+			throw new MongoGridFSException("Could not find file chunk");
+		}, Runnable::run, CHUNK_SIZE, 4, 2, 0, content.length);
+
+		assertThatExceptionOfType(MongoGridFSException.class).isThrownBy(stream::read);
+		assertThatIOException().isThrownBy(stream::read);
+	}
+
+	private static byte[] createContent(int length) {
+
+		byte[] content = new byte[length];
+
+		for (int i = 0; i < length; i++) {
+			content[i] = (byte) i;
+		}
+
+		return content;
+	}
+}
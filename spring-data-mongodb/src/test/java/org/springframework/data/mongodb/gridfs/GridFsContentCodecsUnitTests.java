@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Unit tests for {@link GridFsContentCodecs}.
+ */
+class GridFsContentCodecsUnitTests {
+
+	@Test
+	void deflateRoundtrip() throws IOException {
+
+		byte[] content = new byte[50_000];
+		new Random(42).nextBytes(content);
+		Arrays.fill(content, 10_000, 40_000, (byte) 'x');
+
+		byte[] encoded = encode(GridFsContentCodecs.deflate(), content);
+
+		assertThat(encoded.length).isLessThan(content.length);
+		assertThat(decode(GridFsContentCodecs.deflate(9), encoded)).isEqualTo(content);
+	}
+
+	@Test
+	void deflateRoundtripOfEmptyContent() throws IOException {
+		assertThat(decode(GridFsContentCodecs.deflate(), encode(GridFsContentCodecs.deflate(), new byte[0]))).isEmpty();
+	}
+
+	@Test
+	void countsSourceBytes() throws IOException {
+
+		TransformingInputStream stream = new TransformingInputStream(new ByteArrayInputStream(new byte[1234]),
+				GridFsContentCodecs.deflate().createEncoder());
+
+		StreamUtils.drain(stream);
+
+		assertThat(stream.getSourceCount()).isEqualTo(1234);
+	}
+
+	@Test
+	void reportsSourceBytesOnceSourceIsExhausted() throws IOException {
+
+		List<Long> reported = new ArrayList<>();
+		TransformingInputStream stream = new TransformingInputStream(new ByteArrayInputStream(new byte[1234]),
+				GridFsContentCodecs.deflate().createEncoder(), reported::add);
+
+		assertThat(stream.read()).isNotEqualTo(-1);
+		assertThat(reported).isEmpty();
+
+		StreamUtils.drain(stream);
+
+		assertThat(reported).containsExactly(1234L);
+	}
+
+	@Test
+	void rejectsTruncatedContent() throws IOException {
+
+		byte[] encoded = encode(GridFsContentCodecs.deflate(), new byte[1000]);
+
+		assertThatExceptionOfType(MongoGridFSException.class)
+				.isThrownBy(() -> decode(GridFsContentCodecs.deflate(), Arrays.copyOf(encoded, encoded.length - 2)));
+	}
+
+	@Test
+	void rejectsCorruptContent() {
+
+		assertThatExceptionOfType(MongoGridFSException.class)
+				.isThrownBy(() -> decode(GridFsContentCodecs.deflate(), new byte[] { 1, 2, 3, 4 }));
+	}
+
+	@Test
+	void rejectsInvalidCompressionLevel() {
+		assertThatIllegalArgumentException().isThrownBy(() -> GridFsContentCodecs.deflate(10));
+	}
+
+	@Test
+	void resolvesCodecFromMetadata() {
+
+		GridFsContentCodec custom = new DelegatingCodec("custom");
+
+		assertThat(GridFsContentCodecs.getContentCodec(file(null), custom)).isNull();
+		assertThat(GridFsContentCodecs.getContentCodec(file("deflate"), null)).isSameAs(GridFsContentCodecs.deflate());
+		assertThat(GridFsContentCodecs.getContentCodec(file("custom"), custom)).isSameAs(custom);
+		assertThatExceptionOfType(MongoGridFSException.class)
+				.isThrownBy(() -> GridFsContentCodecs.getContentCodec(file("custom"), null));
+	}
+
+	private static GridFSFile file(String codec) {
+
+		Document metadata = new Document();
+		if (codec != null) {
+			metadata.put(GridFsResource.CONTENT_CODEC_FIELD, codec);
+		}
+
+		return new GridFSFile(new BsonObjectId(), "file", 10, 255, new Date(), metadata);
+	}
+
+	private static byte[] encode(GridFsContentCodec codec, byte[] content) throws IOException {
+
+		try (TransformingInputStream stream = new TransformingInputStream(new ByteArrayInputStream(content),
+				codec.createEncoder())) {
+			return StreamUtils.copyToByteArray(stream);
+		}
+	}
+
+	private static byte[] decode(GridFsContentCodec codec, byte[] content) throws IOException {
+
+		try (TransformingInputStream stream = new TransformingInputStream(new ByteArrayInputStream(content),
+				codec.createDecoder())) {
+			return StreamUtils.copyToByteArray(stream);
+		}
+	}
+
+	static class DelegatingCodec implements GridFsContentCodec {
+
+		private final String name;
+
+		DelegatingCodec(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public ContentTransformer createEncoder() {
+			return GridFsContentCodecs.deflate().createEncoder();
+		}
+
+		@Override
+		public ContentTransformer createDecoder() {
+			return GridFsContentCodecs.deflate().createDecoder();
+		}
+	}
+}
@@ -23,10 +23,14 @@ import static org.springframework.data.mongodb.gridfs.GridFsCriteria.*;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import org.bson.BsonObjectId;
@@ -43,12 +47,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.StreamUtils;
 
 import com.mongodb.MongoGridFSException;
+import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSFindIterable;
 import com.mongodb.client.gridfs.model.GridFSFile;
 
@@ -71,6 +77,7 @@ public class GridFsTemplateIntegrationTests {
 
 	@Autowired GridFsOperations operations;
 	@Autowired SimpleMongoClientDatabaseFactory mongoClient;
+	@Autowired MongoConverter converter;
 
 	@Before
 	public void setUp() {
@@ -330,6 +337,148 @@ public class GridFsTemplateIntegrationTests {
 		assertThat(filenames).containsExactly("c", "cc", "ccc");
 	}
 
+	@Test
+	public void storesAndReadsContentInParallel() throws IOException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+
+			GridFsTemplate template = new GridFsTemplate(mongoClient, converter);
+			template.setParallelism(4, executor);
+			template.setChunkBatchSize(2);
+
+			byte[] content = new byte[10_000];
+			new Random(42).nextBytes(content);
+
+			ObjectId id = template.store(GridFsUpload.fromStream(new ByteArrayInputStream(content))
+					.filename("random.bin").chunkSize(256).build());
+
+			GridFSFile file = template.findOne(query(where("_id").is(id)));
+
+			assertThat(file.getLength()).isEqualTo(content.length);
+			assertThat(file.getChunkSize()).isEqualTo(256);
+			assertThat(StreamUtils.copyToByteArray(template.getResource(file).getInputStream())).isEqualTo(content);
+			assertThat(StreamUtils.copyToByteArray(operations.getResource(file).getInputStream())).isEqualTo(content);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void readsByteRange() throws IOException {
+
+		byte[] content = new byte[10_000];
+		new Random(42).nextBytes(content);
+
+		ObjectId id = operations.store(GridFsUpload.fromStream(new ByteArrayInputStream(content)).filename("random.bin")
+				.chunkSize(256).build());
+
+		GridFSFile file = operations.findOne(query(where("_id").is(id)));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		GridFsTemplate parallel = new GridFsTemplate(mongoClient, converter);
+		parallel.setParallelism(4, executor);
+
+		try {
+
+			for (GridFsOperations ops : Arrays.asList(operations, parallel)) {
+
+				GridFsResource resource = ops.getResource(file);
+
+				assertThat(StreamUtils.copyToByteArray(resource.getInputStream(1000, 700)))
+						.isEqualTo(Arrays.copyOfRange(content, 1000, 1700));
+				assertThat(StreamUtils.copyToByteArray(resource.getInputStream(9900, 500)))
+						.isEqualTo(Arrays.copyOfRange(content, 9900, 10_000));
+				assertThat(StreamUtils.copyToByteArray(resource.getInputStream(20_000, 10))).isEmpty();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void storesIdenticalContentOnce() throws IOException {
+
+		MongoDatabase db = mongoClient.getMongoDatabase();
+		db.getCollection("fs.content.files").deleteMany(new Document());
+		db.getCollection("fs.content.chunks").deleteMany(new Document());
+
+		GridFsTemplate template = new GridFsTemplate(mongoClient, converter);
+		template.setContentDeduplication(true);
+
+		byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+
+		ObjectId first = template.store(new ByteArrayInputStream(content), "first.xml", "xml");
+		ObjectId second = template.store(new ByteArrayInputStream(content), "second.xml", "xml");
+		template.store(new ByteArrayInputStream("other".getBytes()), "other.txt");
+
+		assertThat(db.getCollection("fs.content.files").countDocuments()).isEqualTo(2);
+		assertThat(db.getCollection("fs.chunks").countDocuments()).isZero();
+
+		GridFsResource stored = template.getResource("second.xml");
+
+		assertThat(stored.getId()).isEqualTo(new BsonObjectId(second));
+		assertThat(stored.getContentType()).isEqualTo("xml");
+		assertThat(stored.contentLength()).isEqualTo(content.length);
+		assertThat(StreamUtils.copyToByteArray(stored.getInputStream())).isEqualTo(content);
+		assertThat(StreamUtils.copyToByteArray(operations.getResource("first.xml").getInputStream(10, 5)))
+				.isEqualTo(Arrays.copyOfRange(content, 10, 15));
+
+		template.delete(query(where("_id").is(first)));
+
+		assertThat(db.getCollection("fs.content.files").countDocuments()).isEqualTo(2);
+		assertThat(StreamUtils.copyToByteArray(template.getResource("second.xml").getInputStream())).isEqualTo(content);
+
+		operations.delete(query(whereFilename().is("second.xml")));
+
+		assertThat(db.getCollection("fs.content.files").countDocuments()).isEqualTo(1);
+		assertThat(db.getCollection("fs.content.chunks").countDocuments(new Document("files_id",
+				GridFsContentStore.getContentId(operations.findOne(query(whereFilename().is("other.txt"))))))).isOne();
+	}
+
+	@Test
+	public void storesDeduplicatedRetainingMetadata() throws IOException {
+
+		byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+		Document metadata = new Document("_contentId", "mine").append("_contentDigest", "mine");
+
+		ObjectId id = operations.storeDeduplicated(GridFsUpload.fromStream(new ByteArrayInputStream(content))
+				.filename("dedup.xml").metadata(metadata).build());
+
+		GridFSFile file = operations.findOne(query(where("_id").is(id)));
+
+		assertThat(file.getMetadata()).containsEntry("_contentId", "mine").containsEntry("_contentDigest", "mine");
+		assertThat(GridFsContentStore.getContentId(file)).isNotNull();
+		assertThat(metadata).doesNotContainKey(GridFsContentStore.CONTENT_FIELD);
+		assertThat(StreamUtils.copyToByteArray(operations.getResource(file).getInputStream())).isEqualTo(content);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> operations.storeDeduplicated(GridFsUpload
+				.fromStream(new ByteArrayInputStream(content)).metadata(new Document("_content", "mine")).build()));
+	}
+
+	@Test
+	public void storesCompressedContent() throws IOException {
+
+		GridFsTemplate template = new GridFsTemplate(mongoClient, converter);
+		template.setContentCodec(GridFsContentCodecs.deflate());
+
+		byte[] content = new byte[100_000];
+		Arrays.fill(content, (byte) 'a');
+
+		ObjectId reference = template.store(new ByteArrayInputStream(content), "compressed.txt", "text/plain");
+
+		GridFSFile file = operations.findOne(query(where("_id").is(reference)));
+
+		assertThat(file.getLength()).isLessThan(content.length);
+		assertThat(file.getMetadata()).containsEntry(GridFsResource.CONTENT_CODEC_FIELD, GridFsContentCodecs.DEFLATE);
+
+		GridFsResource stored = operations.getResource("compressed.txt");
+
+		assertThat(stored.contentLength()).isEqualTo(content.length);
+		assertThat(StreamUtils.copyToByteArray(stored.getInputStream())).isEqualTo(content);
+		assertThat(StreamUtils.copyToByteArray(operations.getResource(file).getInputStream(99_990, 20))).hasSize(10);
+	}
+
 	class Metadata {
 		String version;
 	}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.gridfs;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsChunkTransfer.ChunkCoalescer;
+
+/**
+ * Unit tests for {@link ReactiveGridFsChunkTransfer}.
+ */
+class ReactiveGridFsChunkTransferUnitTests {
+
+	DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+
+	@Test
+	void coalescesBuffersIntoChunks() {
+
+		ChunkCoalescer coalescer = new ChunkCoalescer(4);
+
+		assertThat(coalescer.append(factory.wrap(new byte[] { 1, 2 }))).isEmpty();
+		assertThat(coalescer.append(factory.wrap(new byte[] { 3, 4, 5, 6, 7, 8, 9, 10, 11 }))).containsExactly(
+				new byte[] { 1, 2, 3, 4 }, new byte[] { 5, 6, 7, 8 });
+		assertThat(coalescer.flush()).containsExactly(9, 10, 11);
+		assertThat(coalescer.flush()).isNull();
+	}
+
+	@Test
+	void doesNotEmitEmptyRemainder() {
+
+		ChunkCoalescer coalescer = new ChunkCoalescer(2);
+
+		assertThat(coalescer.append(factory.wrap(new byte[] { 1, 2 }))).containsExactly(new byte[] { 1, 2 });
+		assertThat(coalescer.append(factory.wrap(new byte[0]))).isEmpty();
+		assertThat(coalescer.flush()).isNull();
+	}
+
+	@Test
+	void releasesAppendedBuffers() {
+
+		PooledDataBuffer buffer = mock(PooledDataBuffer.class);
+		when(buffer.isAllocated()).thenReturn(true);
+
+		new ChunkCoalescer(2).append(buffer);
+
+		verify(buffer).release();
+	}
+}
@@ -27,6 +27,8 @@ import reactor.test.StepVerifier;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.bson.BsonObjectId;
 import org.bson.BsonString;
@@ -322,6 +324,123 @@ public class ReactiveGridFsTemplateTests {
 				.verifyComplete();
 	}
 
+	@Test
+	public void storesAndReadsChunksDirectly() {
+
+		ReactiveGridFsTemplate template = new ReactiveGridFsTemplate(dbFactory, mongoConverter);
+		template.setChunksInFlight(2);
+
+		byte[] content = new byte[1000];
+		new Random(42).nextBytes(content);
+
+		DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+		Flux<DataBuffer> source = Flux.just(Arrays.copyOfRange(content, 0, 300), Arrays.copyOfRange(content, 300, 310),
+				Arrays.copyOfRange(content, 310, 1000)).map(factory::wrap);
+
+		ObjectId reference = template
+				.store(GridFsUpload.fromPublisher(source).filename("random.bin").chunkSize(256).build()).block();
+
+		GridFSFile file = template.findOne(query(where("_id").is(reference))).block();
+
+		assertThat(file.getLength()).isEqualTo(content.length);
+		assertThat(file.getChunkSize()).isEqualTo(256);
+
+		template.getResource(file) //
+				.flatMapMany(ReactiveGridFsResource::getDownloadStream) //
+				.map(DataBuffer::readableByteCount) //
+				.as(StepVerifier::create) //
+				.expectNext(256, 256, 256, 232) //
+				.verifyComplete();
+
+		template.getResource(file) //
+				.flatMap(ReactiveGridFsResource::getInputStream) //
+				.map(it -> {
+					try {
+						return StreamUtils.copyToByteArray(it);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}) //
+				.as(StepVerifier::create) //
+				.consumeNextWith(actual -> assertThat(actual).isEqualTo(content)) //
+				.verifyComplete();
+
+		operations.getResource(file) //
+				.flatMap(ReactiveGridFsResource::getInputStream) //
+				.map(it -> {
+					try {
+						return StreamUtils.copyToByteArray(it);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}) //
+				.as(StepVerifier::create) //
+				.consumeNextWith(actual -> assertThat(actual).isEqualTo(content)) //
+				.verifyComplete();
+	}
+
+	@Test
+	public void rechunksDirectlyTransferredContent() {
+
+		ReactiveGridFsTemplate template = new ReactiveGridFsTemplate(dbFactory, mongoConverter);
+		template.setChunksInFlight(2);
+
+		byte[] content = new byte[1000];
+		new Random(42).nextBytes(content);
+
+		Flux<DataBuffer> source = Flux.just(new DefaultDataBufferFactory().wrap(content));
+
+		ObjectId reference = template
+				.store(GridFsUpload.fromPublisher(source).filename("random.bin").chunkSize(256).build()).block();
+
+		GridFSFile file = template.findOne(query(where("_id").is(reference))).block();
+
+		template.getResource(file) //
+				.flatMapMany(it -> it.getDownloadStream(300)) //
+				.map(DataBuffer::readableByteCount) //
+				.as(StepVerifier::create) //
+				.expectNext(300, 300, 300, 100) //
+				.verifyComplete();
+	}
+
+	@Test
+	public void storesCompressedContent() {
+
+		ReactiveGridFsTemplate template = new ReactiveGridFsTemplate(dbFactory, mongoConverter);
+		template.setContentCodec(GridFsContentCodecs.deflate());
+
+		byte[] content = new byte[100_000];
+		Arrays.fill(content, (byte) 'a');
+
+		DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+		Flux<DataBuffer> source = Flux.just(Arrays.copyOfRange(content, 0, 50_000),
+				Arrays.copyOfRange(content, 50_000, 100_000)).map(factory::wrap);
+
+		ObjectId reference = template.store(source, "compressed.txt").block();
+
+		template.findOne(query(where("_id").is(reference))) //
+				.as(StepVerifier::create) //
+				.consumeNextWith(actual -> {
+
+					assertThat(actual.getLength()).isLessThan(content.length);
+					assertThat(actual.getMetadata()).containsEntry(GridFsResource.CONTENT_CODEC_FIELD,
+							GridFsContentCodecs.DEFLATE).containsEntry(GridFsResource.CONTENT_LENGTH_FIELD, (long) content.length);
+				}) //
+				.verifyComplete();
+
+		operations.getResource("compressed.txt") //
+				.flatMap(it -> DataBufferUtils.join(it.getDownloadStream())) //
+				.map(it -> {
+
+					byte[] actual = new byte[it.readableByteCount()];
+					it.read(actual);
+					return actual;
+				}) //
+				.as(StepVerifier::create) //
+				.consumeNextWith(actual -> assertThat(actual).isEqualTo(content)) //
+				.verifyComplete();
+	}
+
 	static class Metadata {
 		String version;
 	}
@@ -20,6 +20,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -52,6 +54,8 @@ import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.mapping.BasicMongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.metrics.OperationSample;
+import org.springframework.data.mongodb.core.metrics.OperationSample.Outcome;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Query;
@@ -434,6 +438,48 @@ class AbstractMongoQueryUnitTests {
 				.contains(Collation.of("en_US").toDocument());
 	}
 
+	@Test
+	void reportsQueryMethodInvocationToObserver() {
+
+		List<OperationSample> samples = new ArrayList<>();
+		doReturn(Collections.emptyList()).when(withQueryMock).all();
+
+		MongoQueryFake query = createQueryForMethod("findByFirstname", String.class);
+		query.setOperationObserver(samples::add);
+		query.execute(new Object[] { "dalinar" });
+
+		assertThat(samples).hasSize(1);
+
+		OperationSample sample = samples.get(0);
+		assertThat(sample.getOperation()).isEqualTo(Repo.class.getName() + ".findByFirstname(String)");
+		assertThat(sample.getCollectionName()).isEqualTo("persons");
+		assertThat(sample.getEntityType()).isEqualTo(Person.class);
+		assertThat(sample.getOutcome()).isEqualTo(Outcome.SUCCESS);
+		assertThat(sample.hasPhases()).isTrue();
+	}
+
+	@Test
+	void reportsFailedQueryMethodInvocationToObserver() {
+
+		List<OperationSample> samples = new ArrayList<>();
+		doThrow(new IllegalStateException()).when(withQueryMock).all();
+
+		MongoQueryFake query = createQueryForMethod("findByFirstname", String.class);
+		query.setOperationObserver(samples::add);
+
+		assertThatIllegalStateException().isThrownBy(() -> query.execute(new Object[] { "dalinar" }));
+		assertThat(samples).extracting(OperationSample::getOutcome).containsExactly(Outcome.ERROR);
+	}
+
+	@Test
+	void reportsOverloadedQueryMethodsUsingTheirSignature() {
+
+		assertThat(createQueryForMethod("findByFirstname", String.class).getQueryMethod().getMethodSignature())
+				.isEqualTo(Repo.class.getName() + ".findByFirstname(String)");
+		assertThat(createQueryForMethod("findByFirstname", String.class, Pageable.class).getQueryMethod()
+				.getMethodSignature()).isEqualTo(Repo.class.getName() + ".findByFirstname(String,Pageable)");
+	}
+
 	private MongoQueryFake createQueryForMethod(String methodName, Class<?>... paramTypes) {
 		return createQueryForMethod(Repo.class, methodName, paramTypes);
 	}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.mongodb.repository.CachedQuery.Invalidation;
+
+/**
+ * Unit tests for {@link QueryResultCache}.
+ */
+class QueryResultCacheUnitTests {
+
+	MutableClock clock = new MutableClock();
+	QueryResultCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new QueryResultCache("person", Duration.ofSeconds(10), 2, Invalidation.DOCUMENT_KEY, () -> true, clock);
+	}
+
+	@Test
+	void shouldReturnCachedResult() {
+
+		cache.put("key", "value", Collections.singleton(1), cache.currentGeneration());
+
+		assertThat(cache.get("key").getValue()).isEqualTo("value");
+		assertThat(cache.get("other")).isNull();
+		assertThat(cache.getStatistics().getHitCount()).isOne();
+		assertThat(cache.getStatistics().getMissCount()).isOne();
+	}
+
+	@Test
+	void shouldCacheNullResult() {
+
+		cache.put("key", null, null, cache.currentGeneration());
+
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(cache.get("key").getValue()).isNull();
+	}
+
+	@Test
+	void shouldExpireEntriesAfterTtl() {
+
+		cache.put("key", "value", null, cache.currentGeneration());
+		clock.advance(Duration.ofSeconds(10));
+
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.getStatistics().getEvictionCount()).isOne();
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedEntry() {
+
+		cache.put("one", 1, null, cache.currentGeneration());
+		cache.put("two", 2, null, cache.currentGeneration());
+		cache.get("one");
+		cache.put("three", 3, null, cache.currentGeneration());
+
+		assertThat(cache.get("one")).isNotNull();
+		assertThat(cache.get("two")).isNull();
+		assertThat(cache.get("three")).isNotNull();
+	}
+
+	@Test
+	void shouldNotStoreResultComputedConcurrentlyToInvalidation() {
+
+		long generation = cache.currentGeneration();
+		cache.evictAll();
+		cache.put("key", "value", null, generation);
+
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	void evictDocumentShouldEvictMatchingAndUntrackedEntries() {
+
+		cache = new QueryResultCache("person", Duration.ofSeconds(10), 10, Invalidation.DOCUMENT_KEY, () -> true, clock);
+
+		cache.put("matching", "value", new HashSet<>(Arrays.asList(1, 2)), cache.currentGeneration());
+		cache.put("other", "value", Collections.singleton(3), cache.currentGeneration());
+		cache.put("untracked", "value", null, cache.currentGeneration());
+
+		cache.evictDocument(2);
+
+		assertThat(cache.get("matching")).isNull();
+		assertThat(cache.get("other")).isNotNull();
+		assertThat(cache.get("untracked")).isNull();
+	}
+
+	@Test
+	void shouldReportActiveState() {
+
+		cache = new QueryResultCache("person", Duration.ofSeconds(10), 10, Invalidation.COLLECTION, () -> false, clock);
+
+		assertThat(cache.isActive()).isFalse();
+	}
+
+	static class MutableClock extends Clock {
+
+		Instant instant = Instant.ofEpochMilli(1000);
+
+		void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.support;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.repository.CachedQuery;
+import org.springframework.data.mongodb.repository.query.AbstractMongoQuery;
+import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+
+/**
+ * Unit tests for {@link QueryResultCacheManager}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class QueryResultCacheManagerUnitTests {
+
+	@Mock MongoOperations operations;
+	@Mock MongoConverter converter;
+	@Mock MessageListenerContainer container;
+	@Mock Subscription subscription;
+	@Mock AbstractMongoQuery query;
+	@Mock MongoQueryMethod method;
+	@Mock MongoEntityInformation<Object, Object> entityInformation;
+
+	QueryResultCacheManager manager;
+
+	@BeforeEach
+	void setUp() throws NoSuchMethodException {
+
+		doReturn(new MongoMappingContext()).when(converter).getMappingContext();
+		when(operations.getConverter()).thenReturn(converter);
+		when(container.register(any(), eq(Document.class), any())).thenReturn(subscription);
+		when(query.getQueryMethod()).thenReturn(method);
+		when(method.getCachedQueryAnnotation())
+				.thenReturn(Repository.class.getMethod("findAll").getAnnotation(CachedQuery.class));
+		doReturn(entityInformation).when(method).getEntityInformation();
+		when(entityInformation.getCollectionName()).thenReturn("person");
+
+		manager = new QueryResultCacheManager(operations, container);
+	}
+
+	@Test
+	void subscribesOnStart() {
+
+		assertThat(manager.createCachingQuery(query)).isNotNull();
+		verifyNoInteractions(container);
+
+		manager.start();
+
+		verify(container).register(any(), eq(Document.class), any());
+		verify(container).start();
+	}
+
+	@Test
+	void subscribesQueriesCreatedAfterStartOncePerCollection() {
+
+		manager.start();
+		verifyNoInteractions(container);
+
+		manager.createCachingQuery(query);
+		manager.createCachingQuery(query);
+
+		verify(container).register(any(), eq(Document.class), any());
+	}
+
+	@Test
+	void removesSubscriptionsOnStop() {
+
+		manager.createCachingQuery(query);
+		manager.start();
+		manager.stop();
+
+		assertThat(manager.isRunning()).isFalse();
+		verify(container).remove(subscription);
+		verify(container, never()).stop();
+	}
+
+	interface Repository {
+
+		@CachedQuery
+		Object findAll();
+	}
+}
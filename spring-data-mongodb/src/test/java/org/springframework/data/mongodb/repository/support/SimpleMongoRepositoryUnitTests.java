@@ -19,6 +19,17 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,7 +43,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.IdChunking;
+import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * @author Christoph Strobl
@@ -133,8 +147,154 @@ public class SimpleMongoRepositoryUnitTests {
 		assertThat(query.getValue().getCollation()).contains(collation);
 	}
 
+	@Test
+	void findAllByIdWithChunkingShouldQueryIdsInSlices() {
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5), IdChunking.of(2))) {
+			assertThat(result.map(it -> ((TestEntity) it).id).collect(Collectors.toList())).containsExactly(2, 1, 4, 3, 5);
+		}
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations, times(3)).find(query.capture(), any(), any());
+
+		assertThat(query.getAllValues()).extracting(SimpleMongoRepositoryUnitTests::idsOf)
+				.containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5));
+	}
+
+	@Test
+	void findAllByIdWithChunkingShouldNotQueryBeforeConsumption() {
+
+		Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3), IdChunking.of(2));
+
+		verifyNoInteractions(mongoOperations);
+		result.close();
+	}
+
+	@Test
+	void findAllByIdWithOrderedChunkingShouldRetainIdOrder() {
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(entityInformation.getId(any())).thenAnswer(invocation -> ((TestEntity) invocation.getArgument(0)).id);
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5), IdChunking.of(2).ordered())) {
+			assertThat(result.map(it -> ((TestEntity) it).id).collect(Collectors.toList())).containsExactly(1, 2, 3, 4, 5);
+		}
+	}
+
+	@Test
+	void findAllByIdWithParallelChunkingShouldRetainIdOrder() {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+
+			when(entityInformation.getIdAttribute()).thenReturn("_id");
+			when(entityInformation.getId(any())).thenAnswer(invocation -> ((TestEntity) invocation.getArgument(0)).id);
+			when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+			try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5, 6, 7),
+					IdChunking.of(2).ordered().parallel(2, executor))) {
+				assertThat(result.map(it -> ((TestEntity) it).id).collect(Collectors.toList())).containsExactly(1, 2, 3, 4, 5,
+						6, 7);
+			}
+
+			verify(mongoOperations, times(4)).find(any(), any(), any());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void closingChunkedLookupShouldSkipQueuedChunks() {
+
+		List<Runnable> queued = new ArrayList<>();
+		Executor executor = task -> {
+
+			// run the first lookup right away and queue the following ones
+			if (queued.isEmpty()) {
+				queued.add(() -> {});
+				task.run();
+			} else {
+				queued.add(task);
+			}
+		};
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5),
+				IdChunking.of(2).parallel(2, executor))) {
+			assertThat(result.findFirst()).isPresent();
+		}
+
+		queued.forEach(Runnable::run);
+
+		verify(mongoOperations, times(1)).find(any(), any(), any());
+	}
+
+	@Test
+	void findAllByIdWithParallelChunkingShouldLookupOnCallingThreadWithinTransaction() {
+
+		Executor executor = mock(Executor.class);
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5),
+				IdChunking.of(2).parallel(2, executor))) {
+			assertThat(result.count()).isEqualTo(5);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		verifyNoInteractions(executor);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void defaultFindAllByIdWithChunkingShouldLookupChunksSequentially() {
+
+		MongoRepository<Object, Object> repository = mock(MongoRepository.class, CALLS_REAL_METHODS);
+		doAnswer(invocation -> invocation.getArgument(0)).when(repository).findAllById(any(Iterable.class));
+
+		try (Stream<Object> result = repository.findAllById(Arrays.asList(1, 2, 3, 4, 5), IdChunking.of(2))) {
+			assertThat(result.collect(Collectors.toList())).containsExactly(1, 2, 3, 4, 5);
+		}
+
+		verify(repository).findAllById(Arrays.asList(1, 2));
+		verify(repository).findAllById(Arrays.asList(3, 4));
+		verify(repository).findAllById(Collections.singletonList(5));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> idsOf(Query query) {
+		return (List<Object>) query.getQueryObject().get("_id", Document.class).get("$in");
+	}
+
+	private static List<Object> reversed(Query query) {
+
+		List<Object> result = new ArrayList<>();
+		idsOf(query).forEach(id -> result.add(0, new TestEntity(id)));
+		return result;
+	}
+
 	static class TestDummy {
 
 	}
 
+	static class TestEntity {
+
+		final Object id;
+
+		TestEntity(Object id) {
+			this.id = id;
+		}
+	}
+
 }
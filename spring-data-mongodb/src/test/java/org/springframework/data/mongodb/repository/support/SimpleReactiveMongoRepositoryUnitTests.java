@@ -37,7 +37,14 @@ import static org.mockito.Mockito.*;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,6 +57,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.IdChunking;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
 
 /**
@@ -149,8 +158,80 @@ class SimpleReactiveMongoRepositoryUnitTests {
 		assertThat(query.getValue().getCollation()).contains(collation);
 	}
 
+	@Test
+	void findAllByIdWithChunkingShouldQueryIdsInSlices() {
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		repository.findAllById(Arrays.asList("1", "2", "3", "4", "5"), IdChunking.of(2)) //
+				.map(it -> ((TestEntity) it).id) //
+				.as(StepVerifier::create) //
+				.expectNext("2", "1", "4", "3", "5") //
+				.verifyComplete();
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations, times(3)).find(query.capture(), any(), any());
+
+		assertThat(query.getAllValues()).extracting(SimpleReactiveMongoRepositoryUnitTests::idsOf)
+				.containsExactly(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Collections.singletonList("5"));
+	}
+
+	@Test
+	void findAllByIdWithOrderedChunkingShouldRetainIdOrder() {
+
+		when(entityInformation.getIdAttribute()).thenReturn("_id");
+		when(entityInformation.getId(any())).thenAnswer(invocation -> ((TestEntity) invocation.getArgument(0)).id);
+		when(mongoOperations.find(any(), any(), any())).thenAnswer(invocation -> reversed(invocation.getArgument(0)));
+
+		repository.findAllById(Arrays.asList("1", "2", "3", "4", "5"), IdChunking.of(2).ordered().parallel(2)) //
+				.map(it -> ((TestEntity) it).id) //
+				.as(StepVerifier::create) //
+				.expectNext("1", "2", "3", "4", "5") //
+				.verifyComplete();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void defaultFindAllByIdWithChunkingShouldLookupChunksSequentially() {
+
+		ReactiveMongoRepository<Object, Object> repository = mock(ReactiveMongoRepository.class, CALLS_REAL_METHODS);
+		doAnswer(invocation -> Flux.fromIterable((Iterable<Object>) invocation.getArgument(0))).when(repository)
+				.findAllById(any(Iterable.class));
+
+		repository.findAllById(Arrays.asList(1, 2, 3, 4, 5), IdChunking.of(2)) //
+				.as(StepVerifier::create) //
+				.expectNext(1, 2, 3, 4, 5) //
+				.verifyComplete();
+
+		verify(repository).findAllById(Arrays.asList(1, 2));
+		verify(repository).findAllById(Arrays.asList(3, 4));
+		verify(repository).findAllById(Collections.singletonList(5));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> idsOf(Query query) {
+		return (List<Object>) query.getQueryObject().get("_id", Document.class).get("$in");
+	}
+
+	private static Flux<Object> reversed(Query query) {
+
+		List<Object> result = new ArrayList<>();
+		idsOf(query).forEach(id -> result.add(0, new TestEntity(id)));
+		return Flux.fromIterable(result);
+	}
+
 	private static class TestDummy {
 
 	}
 
+	private static class TestEntity {
+
+		final Object id;
+
+		TestEntity(Object id) {
+			this.id = id;
+		}
+	}
+
 }